@@ -0,0 +1,91 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.api.java.contacting.caching.util.NamedThreadFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Watches a cache configuration file and runs a callback whenever it is created or modified, so that changed cache
+ * settings can be applied with {@link ContactingCache#reloadConfig()} instead of a restart.
+ * <p>
+ * The parent directory is watched, which also catches editors and config-map mounts that replace the file. Events
+ * arriving together are handled as one change.
+ */
+@Slf4j
+public final class CacheConfigWatcher implements AutoCloseable {
+
+    private final Path file;
+    private final Runnable onChange;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private CacheConfigWatcher(Path file, Runnable onChange) throws IOException {
+        this.file = file.toAbsolutePath().normalize();
+        this.onChange = onChange;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new NamedThreadFactory("cache-config-watcher").newThread(this::run);
+    }
+
+    /**
+     * Starts watching the given file.
+     *
+     * @param file     configuration file, it does not need to exist yet
+     * @param onChange callback run on the watcher thread after each change
+     * @return the running watcher, close it to stop watching
+     * @throws IOException if the directory of the file cannot be watched
+     */
+    public static CacheConfigWatcher watch(Path file, Runnable onChange) throws IOException {
+        CacheConfigWatcher watcher = new CacheConfigWatcher(file, onChange);
+        watcher.thread.start();
+        log.info("Watching {} for cache configuration changes", watcher.file);
+        return watcher;
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || file.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    notifyChange();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed, stop watching
+        }
+    }
+
+    private void notifyChange() {
+        try {
+            onChange.run();
+        } catch (RuntimeException e) {
+            // a half-written or invalid file must not stop the watcher, the next write is picked up again
+            log.warn("Failed to apply changed cache configuration from {}", file, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
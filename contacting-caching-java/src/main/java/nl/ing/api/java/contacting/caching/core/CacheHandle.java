@@ -0,0 +1,85 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import nl.ing.api.java.contacting.caching.util.RemovalListener;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Typed, pre-resolved access to one synchronous cache of a {@link ContactingCache}.
+ * <p>
+ * A handle is obtained once through {@link ContactingCache#handle(String, Function)} and kept in a field. It binds
+ * the cache, its configuration and the loader up front, so a lookup through the handle does no cache name hashing,
+ * no configuration lookup and no per-call lambda allocation. When the underlying cache is dropped with
+ * {@link ContactingCache#clearCache(String)} the handle transparently re-binds to the new cache on next use.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class CacheHandle<K, V> {
+
+    private final ContactingCache owner;
+    private final String cacheName;
+    private final Function<? super K, ? extends V> loader;
+    private final RemovalListener.RemovalListenerFunc<K, V> removalListener;
+
+    private volatile LoadingCache<K, V> cache;
+    private volatile ServeStale serveStale;
+
+    CacheHandle(ContactingCache owner,
+                String cacheName,
+                Function<? super K, ? extends V> loader,
+                RemovalListener.RemovalListenerFunc<K, V> removalListener) {
+        this.owner = owner;
+        this.cacheName = cacheName;
+        this.loader = loader;
+        this.removalListener = removalListener;
+    }
+
+    public String cacheName() {
+        return cacheName;
+    }
+
+    public V get(K key) {
+        return get(key, CacheOps.Flags.DEFAULT);
+    }
+
+    public V get(K key, CacheOps.Flags flags) {
+        LoadingCache<K, V> current = cache();
+        return owner.getSync(cacheName, serveStale, current, key, loader, flags);
+    }
+
+    /**
+     * Invalidates the key like {@link ContactingCache#invalidateCache}: in the shared tier and on the other nodes too.
+     */
+    public void invalidate(K key) {
+        owner.invalidateCache(cacheName, Optional.of(key));
+    }
+
+    /**
+     * Applies {@code update} to the cached value of the key in place, see {@link ContactingCache#updateIfPresent}.
+     */
+    public void updateIfPresent(K key, UnaryOperator<V> update) {
+        owner.updateIfPresent(cacheName, cache(), key, update);
+    }
+
+    void unbind() {
+        cache = null;
+    }
+
+    private LoadingCache<K, V> cache() {
+        LoadingCache<K, V> current = cache;
+        if (current == null) {
+            // clearCache removes the cache before unbinding handles, so re-check that the cache we bound is still live
+            do {
+                current = owner.getOrCreateSyncCache(cacheName, removalListener);
+                serveStale = owner.serveStale(cacheName, loader);
+                cache = current;
+            } while (!owner.isRegistered(cacheName, current));
+        }
+        return current;
+    }
+}
@@ -0,0 +1,195 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.typesafe.config.Config;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot files of caches configured with {@code snapshot.enabled = true}, one {@code <cache>.snapshot} file per
+ * cache in a directory, used by {@link ContactingCache#useSnapshots} to warm the caches after a restart.
+ * <p>
+ * A snapshot holds the hottest {@code snapshot.max-entries} entries of the cache with their write time. The file is a
+ * header ({@code magic, version, count}) followed per entry by the write time in epoch millis and the length-prefixed
+ * key and value bytes of the {@link SnapshotSerializer}. It is written through a memory mapped temporary file that
+ * replaces the previous snapshot atomically, so a crash never leaves a half written snapshot behind.
+ */
+@Slf4j
+public final class CacheSnapshots {
+
+    static final String DIRECTORY = "contacting.cache-snapshot.directory";
+    static final String SERIALIZER = "contacting.cache-snapshot.serializer";
+    static final String ALLOWED_CLASSES = "contacting.cache-snapshot.allowed-classes";
+
+    private static final int MAGIC = 0x43435331; // CCS1
+    private static final int VERSION = 1;
+    private static final int HEADER = 12;
+    private static final String SUFFIX = ".snapshot";
+
+    private final Path directory;
+    private final SnapshotSerializer serializer;
+
+    public CacheSnapshots(Path directory, SnapshotSerializer serializer) {
+        this.directory = directory;
+        this.serializer = serializer;
+    }
+
+    /**
+     * Snapshots in {@code contacting.cache-snapshot.directory}, serialized by the class named in
+     * {@code contacting.cache-snapshot.serializer}, or by a {@link JavaSnapshotSerializer} that reads the classes
+     * matching the patterns in {@code contacting.cache-snapshot.allowed-classes} besides JDK value types.
+     *
+     * @throws IllegalArgumentException if the serializer cannot be instantiated
+     */
+    public static CacheSnapshots fromConfig(Config config) {
+        Path directory = Path.of(config.getString(DIRECTORY));
+        if (config.hasPath(SERIALIZER)) {
+            return new CacheSnapshots(directory, instantiate(config.getString(SERIALIZER)));
+        }
+        List<String> allowed = config.hasPath(ALLOWED_CLASSES) ? config.getStringList(ALLOWED_CLASSES) : List.of();
+        return new CacheSnapshots(directory, new JavaSnapshotSerializer(allowed));
+    }
+
+    private static SnapshotSerializer instantiate(String className) {
+        try {
+            Class<?> type = Class.forName(className);
+            if (!SnapshotSerializer.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException(className + " does not implement " + SnapshotSerializer.class.getName());
+            }
+            return (SnapshotSerializer) type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Unknown snapshot serializer " + className, e);
+        }
+    }
+
+    /**
+     * Writes the hottest entries of the cache; entries the serializer cannot handle are left out.
+     *
+     * @return the number of written entries
+     */
+    int write(String cacheName, Cache<Object, Object> cache, int maxEntries) throws IOException {
+        Policy<Object, Object> policy = cache.policy();
+        Map<Object, Object> hottest = policy.eviction()
+                .map(eviction -> eviction.hottest(maxEntries))
+                .orElseGet(cache::asMap);
+        long now = System.currentTimeMillis();
+        List<byte[]> encoded = new ArrayList<>(2 * hottest.size());
+        List<Long> writeTimes = new ArrayList<>(hottest.size());
+        long size = HEADER;
+        int skipped = 0;
+        for (Map.Entry<Object, Object> entry : hottest.entrySet()) {
+            if (writeTimes.size() == maxEntries) {
+                break;
+            }
+            byte[] key;
+            byte[] value;
+            try {
+                key = serializer.serialize(entry.getKey());
+                value = serializer.serialize(entry.getValue());
+            } catch (IOException | RuntimeException e) {
+                skipped++;
+                continue;
+            }
+            encoded.add(key);
+            encoded.add(value);
+            writeTimes.add(now - age(policy, entry.getKey()));
+            size += Long.BYTES + Integer.BYTES + key.length + Integer.BYTES + value.length;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of cache " + cacheName + " exceeds 2GB, lower its snapshot.max-entries");
+        }
+        if (skipped > 0) {
+            log.warn("Left {} entries of cache {} out of its snapshot, they cannot be serialized", skipped, cacheName);
+        }
+
+        Files.createDirectories(directory);
+        Path target = file(cacheName);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(writeTimes.size());
+            for (int i = 0; i < writeTimes.size(); i++) {
+                byte[] key = encoded.get(2 * i);
+                byte[] value = encoded.get(2 * i + 1);
+                buffer.putLong(writeTimes.get(i));
+                buffer.putInt(key.length).put(key);
+                buffer.putInt(value.length).put(value);
+            }
+            buffer.force();
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return writeTimes.size();
+    }
+
+    /**
+     * @return the entries of the snapshot of the cache, none when it has no snapshot
+     */
+    List<Entry> read(String cacheName) throws IOException {
+        Path file = file(cacheName);
+        if (!Files.isRegularFile(file)) {
+            return List.of();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a cache snapshot: " + file);
+            }
+            int count = buffer.getInt();
+            List<Entry> entries = new ArrayList<>(Math.min(count, 10_000));
+            for (int i = 0; i < count; i++) {
+                long writtenAt = buffer.getLong();
+                Object key = serializer.deserialize(bytes(buffer, file));
+                Object value = serializer.deserialize(bytes(buffer, file));
+                entries.add(new Entry(key, value, writtenAt));
+            }
+            return entries;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated cache snapshot " + file, e);
+        }
+    }
+
+    private static byte[] bytes(ByteBuffer buffer, Path file) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Corrupt cache snapshot " + file);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static long age(Policy<Object, Object> policy, Object key) {
+        OptionalLong age = policy.expireAfterWrite()
+                .map(expiration -> expiration.ageOf(key, TimeUnit.MILLISECONDS))
+                .orElseGet(() -> policy.refreshAfterWrite()
+                        .map(refresh -> refresh.ageOf(key, TimeUnit.MILLISECONDS))
+                        .orElse(OptionalLong.empty()));
+        return age.orElse(0L);
+    }
+
+    private Path file(String cacheName) {
+        return directory.resolve(cacheName + SUFFIX);
+    }
+
+    /**
+     * A restored entry and the wall clock time it was written to the cache.
+     */
+    record Entry(Object key, Object value, long writtenAt) {
+    }
+}
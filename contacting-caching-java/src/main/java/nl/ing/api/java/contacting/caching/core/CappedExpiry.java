@@ -0,0 +1,76 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import nl.ing.api.java.contacting.caching.models.CacheConfig;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Expiry of a cache registered with {@link ContactingCache#expireAfter}, or of a cache with {@code negative-ttl}, capped
+ * at the expire duration of the current configuration of the cache, so reloaded durations apply to entries written
+ * after the reload. Without a registered expiry an entry lives as long as the cap allows. Negative results of a cache
+ * with {@code negative-ttl} live for the {@code negative-ttl} and never reach the registered expiry, which only knows
+ * the value type of the cache and not {@link NegativeCaching.NotFound}.
+ */
+final class CappedExpiry implements Expiry<Object, Object> {
+
+    private final Expiry<Object, Object> expiry;
+    private final Supplier<CacheConfig> config;
+
+    /**
+     * @param expiry the registered expiry, or null
+     */
+    CappedExpiry(Expiry<Object, Object> expiry, Supplier<CacheConfig> config) {
+        this.expiry = expiry;
+        this.config = config;
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        CacheConfig current = config.get();
+        if (negative(current, value)) {
+            return negativeTtl(current);
+        }
+        return cap(current, expiry == null ? Long.MAX_VALUE : expiry.expireAfterCreate(key, value, currentTime));
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        CacheConfig current = config.get();
+        if (negative(current, value)) {
+            return negativeTtl(current);
+        }
+        return cap(current, expiry == null
+                ? Long.MAX_VALUE
+                : expiry.expireAfterUpdate(key, value, currentTime, currentDuration));
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        CacheConfig current = config.get();
+        return expiry == null || negative(current, value)
+                ? currentDuration
+                : cap(current, expiry.expireAfterRead(key, value, currentTime, currentDuration));
+    }
+
+    private static boolean negative(CacheConfig current, Object value) {
+        return current.negativeTtl().isPresent() && NegativeCaching.isNegative(value);
+    }
+
+    private static long negativeTtl(CacheConfig current) {
+        return cap(current, saturatedNanos(current.negativeTtl().get()));
+    }
+
+    private static long cap(CacheConfig current, long nanos) {
+        return Math.max(Math.min(nanos, saturatedNanos(current.hardExpireDuration())), 0);
+    }
+
+    private static long saturatedNanos(Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
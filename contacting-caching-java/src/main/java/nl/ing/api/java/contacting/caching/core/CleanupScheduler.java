@@ -0,0 +1,38 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import com.github.benmanes.caffeine.cache.Scheduler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scheduler of one cache on the shared {@link ContactingCacheExecutor#scheduler()} thread. Caffeine asks it to run
+ * its maintenance when the next entry expires, so expired entries, and the values they hold, are freed even when the
+ * cache is not used anymore. The maintenance itself runs on the executor of the cache; the scheduler keeps the time
+ * the last one finished. It belongs to the cache name, so it survives {@link ContactingCache#clearCache}.
+ */
+final class CleanupScheduler implements Scheduler {
+
+    private final Scheduler delegate = Scheduler.forScheduledExecutorService(ContactingCacheExecutor.scheduler());
+    private final AtomicLong lastCleanup = new AtomicLong(System.nanoTime());
+
+    @Override
+    public Future<?> schedule(Executor executor, Runnable command, long delay, TimeUnit unit) {
+        return delegate.schedule(executor, () -> {
+            try {
+                command.run();
+            } finally {
+                lastCleanup.set(System.nanoTime());
+            }
+        }, delay, unit);
+    }
+
+    /**
+     * @return nanoseconds since the last scheduled maintenance of the cache finished, or since the cache was created
+     */
+    long nanosSinceCleanup() {
+        return System.nanoTime() - lastCleanup.get();
+    }
+}
@@ -1,19 +1,42 @@
 package nl.ing.api.java.contacting.caching.core;
 
 import com.github.benmanes.caffeine.cache.*;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import com.typesafe.config.Config;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
 import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
+import nl.ing.api.java.contacting.caching.metrics.ConfigBasedStatsCounter;
+import nl.ing.api.java.contacting.caching.metrics.ContactingStatsCounter;
 import nl.ing.api.java.contacting.caching.models.CacheConfig;
 import nl.ing.api.java.contacting.caching.util.CacheOps;
+import nl.ing.api.java.contacting.caching.util.ConfigConversions;
 import nl.ing.api.java.contacting.caching.util.RemovalListener;
+import nl.ing.api.java.contacting.caching.util.Weighers;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 @Slf4j
 public abstract class ContactingCache implements ConfigProvider {
@@ -21,9 +44,156 @@ public abstract class ContactingCache implements ConfigProvider {
     private static final CacheConfig DEFAULT_CONFIG =
             new CacheConfig("api-cache", Duration.ofSeconds(1), Duration.ofMillis(Long.MAX_VALUE), 1000, false);
 
+    private static final CacheLoader<Object, Object> NULL_LOADER = key -> null;
+
+    static final String INVALIDATION_BATCH_WINDOW = "contacting.cache-invalidation.batch-window";
+    static final String INVALIDATION_MAX_BATCH = "contacting.cache-invalidation.max-batch";
+
     private final ConcurrentMap<String, CacheConfig> configs = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, AsyncLoadingCache<Object, Object>> asyncCaches = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, LoadingCache<Object, Object>> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<CacheHandle<?, ?>>> handles = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, SingleFlight> singleFlights = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ServeStale> serveStales = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Executor> executors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, SecondLevelTier> tiers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, StatsCounter> statsCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, RemovalDispatcher.Stats> removalStats = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Expiry<Object, Object>> expiries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CleanupScheduler> cleanups = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NegativeCaching> negatives = new ConcurrentHashMap<>();
+    private volatile SecondLevelCache secondLevelCache;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final LongAdder remoteInvalidations = new LongAdder();
+    private volatile InvalidationBatcher invalidations;
+    private volatile WarmStart warmStart;
+
+    /**
+     * Installs the shared tier used by caches configured with {@code second-level = true}. Install it before the
+     * first use of those caches; caches created earlier stay local only.
+     */
+    public void useSecondLevelCache(SecondLevelCache secondLevelCache) {
+        this.secondLevelCache = secondLevelCache;
+    }
+
+    /**
+     * Shares the invalidations of this node with the other nodes on the bus and applies theirs locally. Local
+     * invalidations are published in batches per {@code contacting.cache-invalidation.batch-window} (100ms by
+     * default) of at most {@code contacting.cache-invalidation.max-batch} (500) distinct invalidations.
+     */
+    public void useInvalidationBus(InvalidationBus bus) {
+        Duration window = ConfigConversions.getDefaultDuration(config(), INVALIDATION_BATCH_WINDOW, Duration.ofMillis(100));
+        int maxBatch = ConfigConversions.getDefaultInt(config(), INVALIDATION_MAX_BATCH, 500);
+        InvalidationBatcher batcher = new InvalidationBatcher(nodeId, bus, window, maxBatch, ContactingCacheExecutor.scheduler(),
+                ContactingCacheExecutor.publisher());
+        bus.subscribe(batch -> {
+            if (!nodeId.equals(batch.origin())) {
+                batch.invalidations().forEach(invalidation -> {
+                    remoteInvalidations.increment();
+                    invalidateLocally(invalidation.cacheName(), invalidation.key());
+                });
+            }
+        });
+        ContactingCacheMeterRegistry.getRegistries().forEach(registry -> {
+            FunctionCounter.builder("cache.invalidation.published", batcher, InvalidationBatcher::published)
+                    .description("Invalidations published to the other nodes")
+                    .register(registry);
+            FunctionCounter.builder("cache.invalidation.batches", batcher, InvalidationBatcher::batches)
+                    .description("Invalidation batches published to the other nodes")
+                    .register(registry);
+            FunctionCounter.builder("cache.invalidation.coalesced", batcher, InvalidationBatcher::coalesced)
+                    .description("Invalidations merged into an already pending one")
+                    .register(registry);
+            FunctionCounter.builder("cache.invalidation.errors", batcher, InvalidationBatcher::errors)
+                    .description("Invalidation batches that could not be published")
+                    .register(registry);
+            FunctionCounter.builder("cache.invalidation.received", remoteInvalidations, LongAdder::sum)
+                    .description("Invalidations received from other nodes and applied locally")
+                    .register(registry);
+        });
+        invalidations = batcher;
+    }
+
+    /**
+     * Publishes the pending invalidations without waiting for the batch window, e.g. before the bus is closed.
+     */
+    public void flushInvalidations() {
+        InvalidationBatcher batcher = invalidations;
+        if (batcher != null) {
+            batcher.flush();
+        }
+    }
+
+    /**
+     * Warm start: reads the snapshots of the caches configured with {@code snapshot.enabled = true} and from then on
+     * writes them every {@code contacting.cache-snapshot.interval} (5 minutes by default). Restored entries enter a
+     * cache when it is created, with their original write time: entries past {@code expire-duration} are dropped, and
+     * entries past {@code refresh-duration} are refreshed right away, the others when they reach it.
+     *
+     * @return the number of restored entries
+     */
+    public int useSnapshots(CacheSnapshots snapshots) {
+        WarmStart started = new WarmStart(snapshots, configs, this::localCache);
+        warmStart = started;
+        return started.start(config());
+    }
+
+    /**
+     * Writes the snapshots of the live snapshot caches now, e.g. on shutdown.
+     */
+    public void writeSnapshots() {
+        WarmStart current = warmStart;
+        if (current != null) {
+            current.writeAll();
+        }
+    }
+
+    private Cache<Object, Object> localCache(String cacheName) {
+        LoadingCache<Object, Object> cache = caches.get(cacheName);
+        if (cache != null) {
+            return cache;
+        }
+        AsyncLoadingCache<Object, Object> asyncCache = asyncCaches.get(cacheName);
+        return asyncCache == null ? null : asyncCache.synchronous();
+    }
+
+    /**
+     * Build-time hook of the warm start: puts the restored entries of a new snapshot cache.
+     */
+    private void seed(CacheConfig config, LoadingCache<?, ?> newCache) {
+        WarmStart current = warmStart;
+        if (current != null) {
+            current.seed(config, newCache);
+        }
+    }
+
+    /**
+     * Lets the entries of a cache expire at a time of their own, e.g. derived from the value with
+     * {@link nl.ing.api.java.contacting.caching.util.Expiries#byValue}, instead of all at {@code expire-duration},
+     * which still caps every lifetime. Expired entries are removed by a scheduled cleanup rather than on their next
+     * access. Register the expiry before the first use of the cache; a cache built earlier picks it up after
+     * {@link #clearCache}.
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> void expireAfter(String cacheName, Expiry<? super K, ? super V> expiry) {
+        expiries.put(cacheName, (Expiry<Object, Object>) expiry);
+        if (caches.containsKey(cacheName) || asyncCaches.containsKey(cacheName)) {
+            log.warn("Cache {} already exists, its expiry takes effect once the cache is cleared", cacheName);
+        }
+    }
+
+    // ----------------- HANDLES -----------------
+    public <K, V> CacheHandle<K, V> handle(String cacheName, Function<? super K, ? extends V> loader) {
+        return handle(cacheName, loader, RemovalListener.noopRemovalListener());
+    }
+
+    public <K, V> CacheHandle<K, V> handle(String cacheName,
+                                           Function<? super K, ? extends V> loader,
+                                           RemovalListener.RemovalListenerFunc<K, V> removalListener) {
+        CacheHandle<K, V> handle = new CacheHandle<>(this, cacheName, loader, removalListener);
+        handles.computeIfAbsent(cacheName, k -> ConcurrentHashMap.newKeySet()).add(handle);
+        return handle;
+    }
 
     // ----------------- SYNC CACHE -----------------
     public <K, V> V fromCacheableSyncFunction(String cacheName, K key,
@@ -31,50 +201,155 @@ public abstract class ContactingCache implements ConfigProvider {
                                               RemovalListener.RemovalListenerFunc<K, V> removalListener,
                                               CacheOps.Flags flags) {
         LoadingCache<K, V> cache = getOrCreateSyncCache(cacheName, removalListener);
+        ServeStale serveStale = serveStale(cacheName);
+        if (serveStale != null && serveStale.firstUnboundRead()) {
+            log.warn("Cache {} is configured with serve-stale but read without a handle, its entries are loaded again "
+                    + "by the caller instead of refreshed in the background", cacheName);
+        }
+        return getSync(cacheName, serveStale, cache, key, loader, flags);
+    }
+
+    /**
+     * Cache-bypassing loads are coalesced per (cache, key): concurrent callers share the in-flight load and all of
+     * them leave the refreshed value in the cache. With a second level tier a local miss reads the shared tier first,
+     * and freshly loaded values are written to it.
+     */
+    <K, V> V getSync(String cacheName, ServeStale serveStale, LoadingCache<K, V> cache, K key,
+                     Function<? super K, ? extends V> loader, CacheOps.Flags flags) {
+        NegativeCaching negative = negatives.isEmpty() ? null : negatives.get(cacheName);
+        if (negative == null) {
+            return loadSync(cacheName, serveStale, cache, key, loader, flags);
+        }
+        if (!flags.skipCache()) {
+            negative.recordRead(cache.asMap().get(key));
+        }
+        return NegativeCaching.unwrap(loadSync(cacheName, serveStale, cache, key, NegativeCaching.storingNull(loader), flags));
+    }
+
+    private <K, V> V loadSync(String cacheName, ServeStale serveStale, LoadingCache<K, V> cache, K key,
+                              Function<? super K, ? extends V> loader, CacheOps.Flags flags) {
+        SecondLevelTier tier = tiers.isEmpty() ? null : tiers.get(cacheName);
         if (!flags.skipCache()) {
-            return cache.get(key, loader::apply);
+            if (serveStale != null) {
+                serveStale.beforeRead(key);
+            }
+            return tier == null ? cache.get(key, loader) : cache.get(key, k -> tier.load(k, loader));
+        } else if (tier == null) {
+            return singleFlight(cacheName).load(cache, key, loader);
+        } else {
+            return singleFlight(cacheName).load(cache, key, k -> tier.loadThrough(k, loader));
+        }
+    }
+
+    /**
+     * Bulk variant of {@link #fromCacheableSyncFunction}: hits are served from the cache and all misses are fetched
+     * with a single {@code bulkLoader} call (e.g. one {@code IN (...)} query), then stored. Keys the loader does not
+     * return are absent from the result and are not cached; keys cached as not found are absent as well.
+     */
+    public <K, V> Map<K, V> getAll(String cacheName, Collection<? extends K> keys,
+                                   Function<? super Set<? extends K>, ? extends Map<? extends K, ? extends V>> bulkLoader,
+                                   CacheOps.Flags flags) {
+        LoadingCache<K, V> cache = getOrCreateSyncCache(cacheName, RemovalListener.noopRemovalListener());
+        Map<K, V> values = getAllSync(cache, keys, bulkLoader, flags);
+        return negatives.isEmpty() ? values : NegativeCaching.withoutNotFound(values);
+    }
+
+    static <K, V> Map<K, V> getAllSync(LoadingCache<K, V> cache, Collection<? extends K> keys,
+                                       Function<? super Set<? extends K>, ? extends Map<? extends K, ? extends V>> bulkLoader,
+                                       CacheOps.Flags flags) {
+        if (!flags.skipCache()) {
+            return cache.getAll(keys, bulkLoader);
         } else {
-            V value = loader.apply(key);
-            cache.put(key, value);
-            return value;
+            Map<? extends K, ? extends V> loaded = bulkLoader.apply(new LinkedHashSet<>(keys));
+            cache.putAll(loaded);
+            return Map.copyOf(loaded);
         }
     }
 
+    /**
+     * Calls the loader and caches its value; when the loader fails the value still in the cache is returned. Runs
+     * the fallback path of {@link CacheOps#fallBack} on the caller thread.
+     */
     public <K, V> V fallBack(String cacheName, K key, Function<K, V> loader,
                              RemovalListener.RemovalListenerFunc<K, V> removalListener) {
+        LoadingCache<K, V> cache = getOrCreateSyncCache(cacheName, loader, removalListener);
+        CompletableFuture<V> result = CacheOps.fallBack(key,
+                k -> CompletableFuture.completedFuture(loader.apply(k)),
+                cache::put,
+                k -> CompletableFuture.completedFuture(NegativeCaching.unwrap(cache.get(k))),
+                Optional.empty());
         try {
-            V value = loader.apply(key);
-            getOrCreateSyncCache(cacheName, loader, removalListener).put(key, value);
-            return value;
-        } catch (Exception e) {
-            log.error("Error running loader for cache {}, returning cached value", cacheName, e);
-            return getOrCreateSyncCache(cacheName, loader, removalListener).get(key);
+            // complete already: loader and cache lookup ran on this thread
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
     }
 
+    /**
+     * Lookup of an existing cache is a plain {@link ConcurrentMap#get} and never blocks; only the first caller
+     * for a cache name builds it (and registers its meters) inside {@link ConcurrentMap#computeIfAbsent}.
+     */
+    @SuppressWarnings("unchecked")
     private <K, V> LoadingCache<K, V> getOrCreateSyncCacheInternal(String cacheName,
                                                                  CacheLoader<K, V> loader,
                                                                  RemovalListener.RemovalListenerFunc<K, V> removalListener) {
-        synchronized (caches) {
-            @SuppressWarnings("{unchecked}")
-            LoadingCache<K, V> cache = (LoadingCache<K, V>) caches.get(cacheName);
-            if (cache == null) {
-                LoadingCache<K, V> newCache = buildCache(getCacheConfig(cacheName), removalListener).build(loader);
-                ContactingCacheMeterRegistry.getRegistries()
-                        .forEach(registry -> CaffeineCacheMetrics.monitor(registry, newCache, getCacheConfig(cacheName).name(), new ArrayList<>()));
-                caches.put(cacheName, (LoadingCache<Object, Object>) newCache);
-                cache = newCache;
-            }
-            return cache;
+        LoadingCache<Object, Object> cache = caches.get(cacheName);
+        if (cache == null) {
+            cache = caches.computeIfAbsent(cacheName, name -> {
+                CacheConfig config = getCacheConfig(name);
+                SecondLevelTier tier = tierFor(name, config);
+                if (config.serveStale()) {
+                    ServeStale serveStale = getOrCreateServeStale(name, config);
+                    CacheLoader<K, V> staleLoader = (CacheLoader<K, V>) serveStale;
+                    LoadingCache<K, V> newCache = buildCache(name, config, removalListener)
+                            .build(tier == null ? staleLoader : tier.writingThrough(staleLoader));
+                    serveStale.bind(newCache.policy());
+                    monitor(name, config, newCache);
+                    seed(config, newCache);
+                    return (LoadingCache<Object, Object>) newCache;
+                }
+                // without a loader a due refresh drops the entry, and the next read loads it through the tier
+                LoadingCache<K, V> newCache = buildCache(name, config, removalListener)
+                        .build(tier == null || loader == NULL_LOADER ? loader : tier.writingThrough(loader));
+                monitor(name, config, newCache);
+                seed(config, newCache);
+                return (LoadingCache<Object, Object>) newCache;
+            });
         }
+        return (LoadingCache<K, V>) cache;
     }
 
-    private <K, V> LoadingCache<K, V> getOrCreateSyncCache(String cacheName,
-                                                           RemovalListener.RemovalListenerFunc<K, V> removalListener) {
-        return getOrCreateSyncCacheInternal(cacheName, new CacheLoader<K, V>() {
-            @Override
-            public V load(K key) { return null; }
-        }, removalListener);
+    @SuppressWarnings("unchecked")
+    <K, V> LoadingCache<K, V> getOrCreateSyncCache(String cacheName,
+                                                   RemovalListener.RemovalListenerFunc<K, V> removalListener) {
+        return getOrCreateSyncCacheInternal(cacheName, (CacheLoader<K, V>) NULL_LOADER, removalListener);
+    }
+
+    /**
+     * @return the serve-stale state of the cache, or null when the cache is not configured with {@code serve-stale}
+     */
+    ServeStale serveStale(String cacheName) {
+        return serveStales.get(cacheName);
+    }
+
+    /**
+     * @return the serve-stale state of the cache with the loader of a handle bound for its background refreshes, or
+     * null when the cache is not configured with {@code serve-stale}
+     */
+    ServeStale serveStale(String cacheName, Function<?, ?> handleLoader) {
+        ServeStale serveStale = serveStales.get(cacheName);
+        if (serveStale != null) {
+            serveStale.bindLoader(negatives.containsKey(cacheName) ? NegativeCaching.storingNull(handleLoader) : handleLoader);
+        }
+        return serveStale;
+    }
+
+    boolean isRegistered(String cacheName, LoadingCache<?, ?> cache) {
+        return caches.get(cacheName) == cache;
     }
 
     private <K, V> LoadingCache<K, V> getOrCreateSyncCache(String cacheName,
@@ -92,58 +367,330 @@ public abstract class ContactingCache implements ConfigProvider {
                                                              RemovalListener.RemovalListenerFunc<K, V> removalListener,
                                                              CacheOps.Flags flags) {
         AsyncLoadingCache<K, V> cache = getOrCreateAsyncCacheF(cacheName, loader, removalListener);
+        NegativeCaching negative = negatives.isEmpty() ? null : negatives.get(cacheName);
+        if (negative == null) {
+            return loadAsync(cacheName, cache, key, loader, flags);
+        }
         if (!flags.skipCache()) {
+            negative.recordRead(cache.asMap().get(key));
+        }
+        return loadAsync(cacheName, cache, key, NegativeCaching.storingNullAsync(loader), flags)
+                .thenApply(NegativeCaching::unwrap);
+    }
+
+    private <K, V> CompletableFuture<V> loadAsync(String cacheName, AsyncLoadingCache<K, V> cache, K key,
+                                                  Function<K, CompletableFuture<V>> loader, CacheOps.Flags flags) {
+        if (!flags.skipCache()) {
+            ServeStale serveStale = serveStale(cacheName);
+            if (serveStale != null) {
+                serveStale.beforeRead(key);
+            }
             return cache.get(key);
-        } else {
-            return loader.apply(key).thenApply(value -> {
-                cache.put(key, CompletableFuture.completedFuture(value));
-                return value;
-            });
         }
+        SecondLevelTier tier = tiers.get(cacheName);
+        if (tier == null) {
+            return singleFlight(cacheName).loadAsync(cache, key, loader);
+        }
+        return singleFlight(cacheName).loadAsync(cache, key, k -> tier.loadThroughAsync(k, loader));
     }
 
+    /**
+     * Asynchronous {@link #fallBack}: the failed load composes to the cached value, loading it when absent, without
+     * blocking the thread that completes the failed load. The fallback is bounded by {@code fallback-deadline}.
+     */
     public <K, V> CompletableFuture<V> fallBackAsyncF(String cacheName, K key,
                                                       Function<K, CompletableFuture<V>> loader,
                                                       RemovalListener.RemovalListenerFunc<K, V> removalListener) {
-        CompletableFuture<V> result = loader.apply(key);
-        result.thenAccept(value -> getOrCreateAsyncCacheF(cacheName, loader, removalListener).put(key, result));
-        return result.exceptionally(ex -> {
-            log.error("Error executing loader for cache {}, returning cached data", cacheName, ex);
-            return fromCacheableFunction(cacheName, key, loader, removalListener, CacheOps.Flags.DEFAULT).join();
-        });
+        AsyncLoadingCache<K, V> cache = getOrCreateAsyncCacheF(cacheName, loader, removalListener);
+        return CacheOps.fallBack(key, loader,
+                (k, value) -> cache.put(k, CompletableFuture.completedFuture(value)),
+                k -> fromCacheableFunction(cacheName, k, loader, removalListener, CacheOps.Flags.DEFAULT),
+                getCacheConfig(cacheName).fallbackDeadline());
+    }
+
+    /**
+     * Bulk variant of {@link #fromCacheableFunction}, backed by {@link AsyncCache#getAll(Iterable, java.util.function.BiFunction)}:
+     * present and in-flight entries are reused and all remaining keys are fetched with one {@code bulkLoader} call.
+     */
+    public <K, V> CompletableFuture<Map<K, V>> getAllF(String cacheName, Collection<? extends K> keys,
+                                                       Function<Set<? extends K>, CompletableFuture<Map<K, V>>> bulkLoader,
+                                                       CacheOps.Flags flags) {
+        AsyncLoadingCache<K, V> cache = getOrCreateAsyncCacheF(cacheName,
+                key -> bulkLoader.apply(Set.of(key)).thenApply(loaded -> loaded.get(key)),
+                RemovalListener.noopRemovalListener());
+        CompletableFuture<Map<K, V>> values = CacheOps.fromAsyncLoadingCacheAll(keys, bulkLoader, cache, flags);
+        return negatives.isEmpty() ? values : values.thenApply(NegativeCaching::withoutNotFound);
     }
 
+    @SuppressWarnings("unchecked")
     private <K, V> AsyncLoadingCache<K, V> getOrCreateAsyncCacheF(String cacheName,
-                                                                  Function<K, CompletableFuture<V>> loader,
+                                                                  Function<K, CompletableFuture<V>> cacheLoader,
                                                                   RemovalListener.RemovalListenerFunc<K, V> removalListener) {
-        synchronized (asyncCaches) {
-            @SuppressWarnings("{unchecked}")
-            AsyncLoadingCache<K, V> cache = (AsyncLoadingCache<K, V>) asyncCaches.get(cacheName);
-            if (cache == null) {
-                AsyncCacheLoader<K, V> asyncLoader = (key, executor) -> loader.apply(key);
-                AsyncLoadingCache<K, V> newCache = buildCache(getCacheConfig(cacheName), removalListener).buildAsync(asyncLoader);
+        AsyncLoadingCache<Object, Object> cache = asyncCaches.get(cacheName);
+        if (cache == null) {
+            cache = asyncCaches.computeIfAbsent(cacheName, name -> {
+                CacheConfig config = getCacheConfig(name);
+                Function<K, CompletableFuture<V>> loader = config.negativeTtl().isPresent()
+                        ? NegativeCaching.storingNullAsync(cacheLoader)
+                        : cacheLoader;
+                SecondLevelTier tier = tierFor(name, config);
+                if (config.serveStale()) {
+                    ServeStale serveStale = getOrCreateServeStale(name, config);
+                    AsyncCacheLoader<K, V> asyncLoader = new AsyncCacheLoader<>() {
+                        @Override
+                        public CompletableFuture<? extends V> asyncLoad(K key, Executor executor) {
+                            return tier == null ? loader.apply(key) : tier.loadAsync(key, loader, executor);
+                        }
+
+                        @Override
+                        public CompletableFuture<? extends V> asyncReload(K key, V oldValue, Executor executor) {
+                            serveStale.recordRefresh();
+                            return tier == null ? loader.apply(key) : tier.loadThroughAsync(key, loader);
+                        }
+                    };
+                    AsyncLoadingCache<K, V> newCache = buildCache(name, config, removalListener).buildAsync(asyncLoader);
+                    serveStale.bind(newCache.synchronous().policy());
+                    monitor(name, config, newCache.synchronous());
+                    seed(config, newCache.synchronous());
+                    return (AsyncLoadingCache<Object, Object>) newCache;
+                }
+                AsyncCacheLoader<K, V> asyncLoader = tier == null
+                        ? (key, executor) -> loader.apply(key)
+                        : new AsyncCacheLoader<>() {
+                            @Override
+                            public CompletableFuture<? extends V> asyncLoad(K key, Executor executor) {
+                                return tier.loadAsync(key, loader, executor);
+                            }
+
+                            @Override
+                            public CompletableFuture<? extends V> asyncReload(K key, V oldValue, Executor executor) {
+                                // a refresh is due because the value is old, the shared copy may be just as old
+                                return tier.loadThroughAsync(key, loader);
+                            }
+                        };
+                AsyncLoadingCache<K, V> newCache = buildCache(name, config, removalListener).buildAsync(asyncLoader);
+                monitor(name, config, newCache.synchronous());
+                seed(config, newCache.synchronous());
+                return (AsyncLoadingCache<Object, Object>) newCache;
+            });
+        }
+        return (AsyncLoadingCache<K, V>) cache;
+    }
+
+    private SingleFlight singleFlight(String cacheName) {
+        SingleFlight singleFlight = singleFlights.get(cacheName);
+        if (singleFlight == null) {
+            singleFlight = singleFlights.computeIfAbsent(cacheName, name -> {
+                SingleFlight newSingleFlight = new SingleFlight();
                 ContactingCacheMeterRegistry.getRegistries()
-                        .forEach(registry -> {
-                            CaffeineCacheMetrics.monitor(registry, newCache.synchronous(),
-                                    getCacheConfig(cacheName).name(), new ArrayList<>());
-                        });
-                asyncCaches.put(cacheName, (AsyncLoadingCache<Object, Object>) newCache);
-                cache = newCache;
-            }
-            return cache;
+                        .forEach(registry -> FunctionCounter.builder("cache.loads.coalesced", newSingleFlight, SingleFlight::loadsSaved)
+                                .tag("cache", name)
+                                .description("Cache-bypassing loads that joined an in-flight load instead of calling the loader")
+                                .register(registry));
+                return newSingleFlight;
+            });
         }
+        return singleFlight;
+    }
+
+    private ServeStale getOrCreateServeStale(String cacheName, CacheConfig config) {
+        return serveStales.computeIfAbsent(cacheName, name -> {
+            ServeStale serveStale = new ServeStale();
+            ContactingCacheMeterRegistry.getRegistries().forEach(registry -> {
+                FunctionCounter.builder("cache.stale.serves", serveStale, ServeStale::staleServes)
+                        .tag("cache", name)
+                        .description("Reads answered with an entry older than the refresh duration")
+                        .register(registry);
+                FunctionCounter.builder("cache.stale.refreshes", serveStale, ServeStale::refreshes)
+                        .tag("cache", name)
+                        .description("Background refreshes started by stale reads")
+                        .register(registry);
+            });
+            log.info("Cache {} serves stale entries for up to {} while refreshing", name, config.hardExpireDuration());
+            return serveStale;
+        });
+    }
+
+    /**
+     * @return the second level tier of the cache, or null when it is not configured or no shared tier is installed
+     */
+    private SecondLevelTier tierFor(String cacheName, CacheConfig config) {
+        SecondLevelCache shared = secondLevelCache;
+        if (!config.secondLevel() || shared == null) {
+            return null;
+        }
+        return tiers.computeIfAbsent(cacheName, name -> {
+            SecondLevelTier tier = new SecondLevelTier(name, shared, config.refreshDuration());
+            ContactingCacheMeterRegistry.getRegistries().forEach(registry -> {
+                FunctionCounter.builder("cache.tier.hits", tier, SecondLevelTier::hits)
+                        .tag("cache", name)
+                        .tag("tier", "l2")
+                        .description("Local misses answered by the second level cache")
+                        .register(registry);
+                FunctionCounter.builder("cache.tier.loads", tier, SecondLevelTier::loads)
+                        .tag("cache", name)
+                        .description("Loader calls of a cache with a second level cache")
+                        .register(registry);
+                FunctionCounter.builder("cache.tier.errors", tier, SecondLevelTier::errors)
+                        .tag("cache", name)
+                        .description("Failed calls to the second level cache")
+                        .register(registry);
+            });
+            log.info("Cache {} uses a second level cache", name);
+            return tier;
+        });
+    }
+
+    private void monitor(String cacheName, CacheConfig config, Cache<?, ?> cache) {
+        boolean tiered = tiers.containsKey(cacheName);
+        ContactingCacheMeterRegistry.getRegistries().forEach(registry -> {
+            CaffeineCacheMetrics.monitor(registry, cache, cacheName, new ArrayList<>());
+            if (tiered) {
+                FunctionCounter.builder("cache.tier.hits", cache, c -> c.stats().hitCount())
+                        .tag("cache", cacheName)
+                        .tag("tier", "l1")
+                        .description("Hits of the local cache")
+                        .register(registry);
+            }
+            if (config.weighted()) {
+                Gauge.builder("cache.weighted.size", cache,
+                                c -> c.policy().eviction().flatMap(e -> asOptional(e.weightedSize())).orElse(0L))
+                        .tag("cache", cacheName)
+                        .description("Summed weight of the entries in the cache")
+                        .register(registry);
+                Gauge.builder("cache.max.weight", cache,
+                                c -> c.policy().eviction().map(Policy.Eviction::getMaximum).orElse(0L))
+                        .tag("cache", cacheName)
+                        .description("Maximum weight of the cache")
+                        .register(registry);
+            }
+        });
+    }
+
+    private static Optional<Long> asOptional(OptionalLong value) {
+        return value.isPresent() ? Optional.of(value.getAsLong()) : Optional.empty();
     }
 
     // ----------------- COMMON BUILD -----------------
-    private <K, V> Caffeine<K, V> buildCache(CacheConfig config,
+    private <K, V> Caffeine<K, V> buildCache(String cacheName, CacheConfig config,
                                              RemovalListener.RemovalListenerFunc<K, V> removalListener) {
-        return Caffeine.newBuilder()
-                .expireAfterWrite(config.expireDuration())
-                .refreshAfterWrite(config.refreshDuration())
-                .maximumSize(config.maximumSize())
-                .removalListener((K key, V value, RemovalCause cause) -> removalListener.onRemoval(key, value, cause))
-                .recordStats()
-                .executor(ContactingCacheExecutor.executor());
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .refreshAfterWrite(config.refreshDuration());
+        Expiry<Object, Object> expiry = expiries.get(cacheName);
+        if (expiry == null && config.negativeTtl().isEmpty()) {
+            builder.expireAfterWrite(config.hardExpireDuration());
+        } else {
+            builder.expireAfter(new CappedExpiry(expiry, () -> getCacheConfig(cacheName)));
+        }
+        if (config.negativeTtl().isPresent()) {
+            negativeCachingFor(cacheName);
+        }
+        if (config.weighted()) {
+            Weigher<Object, Object> weigher = Weighers.forName(config.weigher());
+            builder.maximumWeight(config.maximum()).weigher(config.negativeTtl().isPresent()
+                    ? NegativeCaching.weighingNegativesOne(weigher)
+                    : weigher);
+        } else {
+            builder.maximumSize(config.maximumSize());
+        }
+        Executor executor = executorFor(config);
+        RemovalDispatcher<K, V> removals = new RemovalDispatcher<>(cacheName, removalListener,
+                config.removalListener(), executor, removalStatsFor(cacheName));
+        return builder
+                .removalListener((K key, V value, RemovalCause cause) ->
+                        removals.onRemoval(key, NegativeCaching.unwrap(value), cause))
+                .recordStats(() -> statsCounterFor(cacheName))
+                .scheduler(cleanupFor(cacheName))
+                .executor(executor);
+    }
+
+    private NegativeCaching negativeCachingFor(String cacheName) {
+        return negatives.computeIfAbsent(cacheName, name -> {
+            NegativeCaching negative = new NegativeCaching();
+            ContactingCacheMeterRegistry.getRegistries()
+                    .forEach(registry -> FunctionCounter.builder("cache.negative.hits", negative, NegativeCaching::hits)
+                            .tag("cache", name)
+                            .description("Reads answered with a cached not found result")
+                            .register(registry));
+            return negative;
+        });
+    }
+
+    private CleanupScheduler cleanupFor(String cacheName) {
+        return cleanups.computeIfAbsent(cacheName, name -> {
+            CleanupScheduler scheduler = new CleanupScheduler();
+            ContactingCacheMeterRegistry.getRegistries().forEach(registry -> {
+                Gauge.builder("cache.retained.entries", this, c -> c.retainedEntries(name))
+                        .tag("cache", name)
+                        .description("Estimated entries held by the cache, expired ones awaiting cleanup included")
+                        .register(registry);
+                TimeGauge.builder("cache.cleanup.age", scheduler, TimeUnit.NANOSECONDS, CleanupScheduler::nanosSinceCleanup)
+                        .tag("cache", name)
+                        .description("Time since the last scheduled cleanup of expired entries of the cache")
+                        .register(registry);
+            });
+            return scheduler;
+        });
+    }
+
+    /**
+     * Follows the cache of the name across {@link #clearCache}, unlike the size meter of {@link CaffeineCacheMetrics}.
+     */
+    private long retainedEntries(String cacheName) {
+        LoadingCache<Object, Object> cache = caches.get(cacheName);
+        if (cache != null) {
+            return cache.estimatedSize();
+        }
+        AsyncLoadingCache<Object, Object> asyncCache = asyncCaches.get(cacheName);
+        return asyncCache == null ? 0 : asyncCache.synchronous().estimatedSize();
+    }
+
+    private RemovalDispatcher.Stats removalStatsFor(String cacheName) {
+        return removalStats.computeIfAbsent(cacheName, name -> {
+            RemovalDispatcher.Stats stats = new RemovalDispatcher.Stats();
+            ContactingCacheMeterRegistry.getRegistries().forEach(registry -> {
+                for (RemovalCause cause : RemovalCause.values()) {
+                    FunctionCounter.builder("cache.removals", stats, s -> s.removals(cause))
+                            .tag("cache", name)
+                            .tag("cause", cause.name().toLowerCase(Locale.ROOT))
+                            .description("Entries removed from the cache, by cause")
+                            .register(registry);
+                }
+                Gauge.builder("cache.removal.backlog", stats, RemovalDispatcher.Stats::backlog)
+                        .tag("cache", name)
+                        .description("Removals waiting for the batched removal listener of the cache")
+                        .register(registry);
+            });
+            return stats;
+        });
+    }
+
+    /**
+     * The statistics of a cache are kept across {@link #clearCache}, like its meters.
+     */
+    private StatsCounter statsCounterFor(String cacheName) {
+        return statsCounters.computeIfAbsent(cacheName, name -> new ContactingStatsCounter(name,
+                statsCounterProvider(name).statsCounter(), ContactingCacheMeterRegistry.getRegistries()));
+    }
+
+    /**
+     * Counter fed with the statistics of a cache next to its Micrometer meters; by default the Graphite counter
+     * enabled with {@code caching.<name>.metrics-enabled}, see {@link ConfigBasedStatsCounter}.
+     */
+    protected StatsCounterProvider statsCounterProvider(String cacheName) {
+        return new ConfigBasedStatsCounter(config(), "caching." + cacheName);
+    }
+
+    /**
+     * Caches with {@code custom-executor} get an executor of their own, kept across {@link #clearCache} so a rebuilt
+     * cache reuses it.
+     */
+    private Executor executorFor(CacheConfig config) {
+        if (!config.customExecutor()) {
+            return ContactingCacheExecutor.executor();
+        }
+        return executors.computeIfAbsent(config.name(),
+                name -> ContactingCacheExecutor.dedicated(name, config.executor()));
     }
 
     private CacheConfig getCacheConfig(String cacheName) {
@@ -151,14 +698,116 @@ public abstract class ContactingCache implements ConfigProvider {
                 k -> CacheConfig.createFromConfig(cacheName, config()).orElse(DEFAULT_CONFIG));
     }
 
+    // ----------------- RELOAD -----------------
+
+    /**
+     * Re-reads {@link #config()} for every cache created so far and applies changed max-size, expire-duration and
+     * refresh-duration to the live caches through their {@link Policy}, keeping the cached entries. Switching
+     * {@code serve-stale} on or off needs the cache to be rebuilt, so that only takes effect after {@link #clearCache}.
+     */
+    public void reloadConfig() {
+        Config config = config();
+        configs.replaceAll((name, previous) -> {
+            CacheConfig updated = CacheConfig.createFromConfig(name, config).orElse(DEFAULT_CONFIG);
+            if (!updated.equals(previous)) {
+                applyConfig(name, previous, updated);
+            }
+            return updated;
+        });
+    }
+
+    private void applyConfig(String cacheName, CacheConfig previous, CacheConfig updated) {
+        List<Policy<Object, Object>> policies = new ArrayList<>(2);
+        Optional.ofNullable(caches.get(cacheName)).ifPresent(cache -> policies.add(cache.policy()));
+        Optional.ofNullable(asyncCaches.get(cacheName)).ifPresent(cache -> policies.add(cache.synchronous().policy()));
+
+        if (updated.weighted() != previous.weighted() || !updated.weigher().equals(previous.weigher())) {
+            log.warn("Cache {} switched between max-size and max-weight or changed its weigher, this takes effect "
+                    + "once the cache is cleared", cacheName);
+        } else if (updated.maximum() != previous.maximum()) {
+            policies.forEach(policy -> policy.eviction().ifPresent(eviction -> eviction.setMaximum(updated.maximum())));
+            recordConfigChange(cacheName, updated.weighted() ? "max-weight" : "max-size",
+                    previous.maximum(), updated.maximum());
+        }
+        if (!updated.hardExpireDuration().equals(previous.hardExpireDuration())) {
+            policies.forEach(policy -> policy.expireAfterWrite()
+                    .ifPresent(expiration -> expiration.setExpiresAfter(updated.hardExpireDuration())));
+            recordConfigChange(cacheName, "expire-duration", previous.hardExpireDuration(), updated.hardExpireDuration());
+        }
+        if (!updated.refreshDuration().equals(previous.refreshDuration())) {
+            policies.forEach(policy -> policy.refreshAfterWrite()
+                    .ifPresent(refresh -> refresh.setRefreshesAfter(updated.refreshDuration())));
+            recordConfigChange(cacheName, "refresh-duration", previous.refreshDuration(), updated.refreshDuration());
+        }
+        if (updated.customExecutor() != previous.customExecutor() || !updated.executor().equals(previous.executor())) {
+            log.warn("Cache {} executor settings changed, this takes effect after a restart", cacheName);
+        }
+        if (updated.serveStale() != previous.serveStale()) {
+            log.warn("Cache {} serve-stale changed to {}, this takes effect once the cache is cleared",
+                    cacheName, updated.serveStale());
+        }
+    }
+
+    private static void recordConfigChange(String cacheName, String setting, Object from, Object to) {
+        log.info("Cache {} {} changed from {} to {}", cacheName, setting, from, to);
+        ContactingCacheMeterRegistry.getRegistries().forEach(registry -> Counter.builder("cache.config.changes")
+                .tag("cache", cacheName)
+                .tag("setting", setting)
+                .description("Cache settings applied from a reloaded configuration")
+                .register(registry)
+                .increment());
+    }
+
     // ----------------- CLEAR / INVALIDATE -----------------
     public Optional<Object> clearCache(String cacheName) {
         Object removed = caches.remove(cacheName);
         if (removed == null) removed = asyncCaches.remove(cacheName);
+        handles.getOrDefault(cacheName, Set.of()).forEach(CacheHandle::unbind);
         return Optional.ofNullable(removed);
     }
 
+    /**
+     * Invalidates locally and, for caches with a second level tier, in the shared tier as well, so other nodes do not
+     * pick up the old value from it. With an invalidation bus the other nodes drop their local entry too.
+     */
     public Optional<Object> invalidateCache(String cacheName, Optional<Object> key) {
+        SecondLevelTier tier = tiers.get(cacheName);
+        if (tier != null) {
+            key.ifPresentOrElse(tier::invalidate, tier::invalidateAll);
+        }
+        Optional<Object> invalidated = invalidateLocally(cacheName, key);
+        InvalidationBatcher batcher = invalidations;
+        if (batcher != null) {
+            batcher.add(cacheName, key);
+        }
+        return invalidated;
+    }
+
+    /**
+     * Replaces the local value of the key with {@code update} applied to it, for values that are cheaper to patch than
+     * to load again. Keys that are not cached, or cached as not found, stay as they are and load on next use; an update
+     * that fails drops the entry. The shared tier and the other nodes cannot apply the update, so for them the key is
+     * invalidated as with {@link #invalidateCache}.
+     */
+    <K, V> void updateIfPresent(String cacheName, LoadingCache<K, V> cache, K key, UnaryOperator<V> update) {
+        SecondLevelTier tier = tiers.get(cacheName);
+        if (tier != null) {
+            tier.invalidate(key);
+        }
+        try {
+            cache.asMap().computeIfPresent(key, (k, value) -> NegativeCaching.isNegative(value) ? value : update.apply(value));
+        } catch (RuntimeException e) {
+            cache.invalidate(key);
+            throw e;
+        } finally {
+            InvalidationBatcher batcher = invalidations;
+            if (batcher != null) {
+                batcher.add(cacheName, Optional.of(key));
+            }
+        }
+    }
+
+    private Optional<Object> invalidateLocally(String cacheName, Optional<Object> key) {
         if (key.isPresent()) {
             Object k = key.get();
             AsyncLoadingCache<Object, Object> asyncCache = asyncCaches.get(cacheName);
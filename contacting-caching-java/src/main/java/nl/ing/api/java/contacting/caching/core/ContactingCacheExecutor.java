@@ -2,12 +2,24 @@ package nl.ing.api.java.contacting.caching.core;
 
 
 import com.ing.apisdk.toolkit.connectivity.api.LocalAwareDelegatingExecutorService;
+import com.typesafe.config.ConfigFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import nl.ing.api.java.contacting.caching.models.CacheConfig;
+import nl.ing.api.java.contacting.caching.util.ConfigConversions;
 import nl.ing.api.java.contacting.caching.util.NamedThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
 
 public final class ContactingCacheExecutor {
 
@@ -15,12 +27,24 @@ public final class ContactingCacheExecutor {
 
     private static final ExecutorService executor;
 
+    /**
+     * Same switch as the blocking executors of the application: run cache refreshes on virtual threads.
+     */
+    static final String VIRTUAL_THREADS = "contacting.executors.virtual-threads";
+
     static {
-        int poolSize = Math.max(Runtime.getRuntime().availableProcessors() - 1, 4);
-        executor = new LocalAwareDelegatingExecutorService(
-                Executors.newFixedThreadPool(poolSize, new NamedThreadFactory("caching"))
-        );
-        log.debug("Initialized ContactingCache executor with pool size {}", poolSize);
+        if (ConfigConversions.getDefaultBoolean(ConfigFactory.load(), VIRTUAL_THREADS, false)) {
+            executor = new LocalAwareDelegatingExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("caching-", 1).factory())
+            );
+            log.debug("Initialized ContactingCache executor with virtual threads");
+        } else {
+            int poolSize = Math.max(Runtime.getRuntime().availableProcessors() - 1, 4);
+            executor = new LocalAwareDelegatingExecutorService(
+                    Executors.newFixedThreadPool(poolSize, new NamedThreadFactory("caching"))
+            );
+            log.debug("Initialized ContactingCache executor with pool size {}", poolSize);
+        }
     }
 
     private ContactingCacheExecutor() {}
@@ -28,4 +52,78 @@ public final class ContactingCacheExecutor {
     public static ExecutorService executor() {
         return executor;
     }
+
+    /**
+     * Single daemon thread for the timed housekeeping of the caches, such as flushing batched invalidations. Tasks
+     * on it must be short and must not block.
+     */
+    static ScheduledExecutorService scheduler() {
+        return SchedulerHolder.SCHEDULER;
+    }
+
+    private static final class SchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER =
+                Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("caching-scheduler"));
+    }
+
+    /**
+     * Single daemon thread that publishes batched invalidations to the other nodes. Publishing may block on the bus,
+     * so it stays off the {@link #scheduler()} and the threads that invalidate.
+     */
+    static ExecutorService publisher() {
+        return PublisherHolder.PUBLISHER;
+    }
+
+    private static final class PublisherHolder {
+        private static final ExecutorService PUBLISHER =
+                Executors.newSingleThreadExecutor(new NamedThreadFactory("caching-invalidation-publisher"));
+    }
+
+    /**
+     * Creates the dedicated executor of a cache configured with {@code custom-executor = true} and registers its
+     * queue-depth, active and rejected meters. A rejected refresh is skipped by Caffeine and retried on a later read.
+     */
+    static ExecutorService dedicated(String cacheName, CacheConfig.ExecutorConfig config) {
+        String threadName = "caching-" + cacheName;
+        if (config.virtualThreads()) {
+            VirtualThreadExecutor virtual = new VirtualThreadExecutor(threadName, config.threads(), config.queueSize());
+            registerMeters(cacheName, virtual, VirtualThreadExecutor::queueDepth, VirtualThreadExecutor::activeCount,
+                    VirtualThreadExecutor::rejectedCount);
+            log.info("Initialized virtual thread executor for cache {} with {} active and {} queued tasks",
+                    cacheName, config.threads(), config.queueSize());
+            return new LocalAwareDelegatingExecutorService(virtual);
+        }
+        LongAdder rejected = new LongAdder();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(config.threads(), config.threads(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.queueSize()), new NamedThreadFactory(threadName), (task, saturated) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Executor of cache " + cacheName + " is saturated");
+                });
+        pool.allowCoreThreadTimeOut(true);
+        registerMeters(cacheName, pool, p -> p.getQueue().size(), ThreadPoolExecutor::getActiveCount,
+                p -> rejected.sum());
+        log.info("Initialized executor for cache {} with {} threads and queue size {}",
+                cacheName, config.threads(), config.queueSize());
+        return new LocalAwareDelegatingExecutorService(pool);
+    }
+
+    private static <T> void registerMeters(String cacheName, T executor, ToDoubleFunction<T> queueDepth,
+                                           ToDoubleFunction<T> active, ToDoubleFunction<T> rejected) {
+        ContactingCacheMeterRegistry.getRegistries().forEach(registry -> {
+            Gauge.builder("cache.executor.queue.depth", executor, queueDepth)
+                    .tag("cache", cacheName)
+                    .description("Tasks waiting for the dedicated executor of the cache")
+                    .strongReference(true)
+                    .register(registry);
+            Gauge.builder("cache.executor.active", executor, active)
+                    .tag("cache", cacheName)
+                    .description("Tasks running on the dedicated executor of the cache")
+                    .strongReference(true)
+                    .register(registry);
+            FunctionCounter.builder("cache.executor.rejected", executor, rejected)
+                    .tag("cache", cacheName)
+                    .description("Tasks rejected by the saturated dedicated executor of the cache")
+                    .register(registry);
+        });
+    }
 }
\ No newline at end of file
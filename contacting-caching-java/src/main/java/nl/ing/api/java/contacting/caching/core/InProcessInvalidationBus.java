@@ -0,0 +1,33 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Invalidation bus within one JVM, for tests and single node setups: a published batch is handed synchronously to
+ * every subscriber.
+ */
+@Slf4j
+public final class InProcessInvalidationBus implements InvalidationBus {
+
+    private final List<Consumer<Batch>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Batch batch) {
+        for (Consumer<Batch> listener : listeners) {
+            try {
+                listener.accept(batch);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation listener failed for batch from {}", batch.origin(), e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Batch> listener) {
+        listeners.add(listener);
+    }
+}
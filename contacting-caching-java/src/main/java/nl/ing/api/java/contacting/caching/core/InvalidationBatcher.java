@@ -0,0 +1,218 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the local invalidations of a {@link ContactingCache} and publishes them as one batch per window, or as soon
+ * as {@code maxBatch} distinct invalidations are pending. Repeated keys are sent once, and invalidating a whole cache
+ * replaces the pending keys of that cache, so a bulk update produces a handful of messages instead of one per key.
+ * <p>
+ * Publishing may block, e.g. while a Kafka producer waits for metadata, so batches are handed to {@code publisher}
+ * rather than sent on the thread that invalidates or on the scheduler. While the bus is unavailable at most
+ * {@value #MAX_READY_BATCHES} batches wait; older ones are dropped and counted as errors.
+ */
+@Slf4j
+final class InvalidationBatcher {
+
+    static final int MAX_READY_BATCHES = 64;
+
+    private final String origin;
+    private final InvalidationBus bus;
+    private final Duration window;
+    private final int maxBatch;
+    private final ScheduledExecutorService scheduler;
+    private final Executor publisher;
+
+    private final Map<String, Set<Object>> pendingKeys = new LinkedHashMap<>();
+    private final Set<String> pendingAll = new LinkedHashSet<>();
+    private final Deque<List<InvalidationBus.Invalidation>> ready = new ArrayDeque<>();
+    private int pending;
+    private boolean scheduled;
+    private boolean publishing;
+
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    InvalidationBatcher(String origin, InvalidationBus bus, Duration window, int maxBatch,
+                        ScheduledExecutorService scheduler, Executor publisher) {
+        this.origin = origin;
+        this.bus = bus;
+        this.window = window;
+        this.maxBatch = maxBatch;
+        this.scheduler = scheduler;
+        this.publisher = publisher;
+    }
+
+    void add(String cacheName, Optional<Object> key) {
+        boolean startPublishing = false;
+        synchronized (this) {
+            if (!addPending(cacheName, key)) {
+                coalesced.increment();
+                return;
+            }
+            if (pending >= maxBatch) {
+                enqueue(drain());
+                startPublishing = startPublishing();
+            } else if (!scheduled) {
+                scheduled = true;
+                scheduler.schedule(this::windowElapsed, window.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        if (startPublishing) {
+            submitPublishing();
+        }
+    }
+
+    /**
+     * Publishes the pending invalidations now, on the calling thread, e.g. before shutting down the bus.
+     */
+    void flush() {
+        synchronized (this) {
+            scheduled = false;
+            if (pending > 0) {
+                enqueue(drain());
+            }
+        }
+        List<InvalidationBus.Invalidation> next;
+        while ((next = nextReady()) != null) {
+            publish(next);
+        }
+    }
+
+    private void windowElapsed() {
+        boolean startPublishing;
+        synchronized (this) {
+            scheduled = false;
+            if (pending > 0) {
+                enqueue(drain());
+            }
+            startPublishing = startPublishing();
+        }
+        if (startPublishing) {
+            submitPublishing();
+        }
+    }
+
+    private void enqueue(List<InvalidationBus.Invalidation> batch) {
+        if (ready.size() >= MAX_READY_BATCHES) {
+            List<InvalidationBus.Invalidation> dropped = ready.poll();
+            errors.increment();
+            log.warn("Invalidation bus is behind, dropping {} cache invalidations, other nodes keep their entries "
+                    + "until they expire", dropped.size());
+        }
+        ready.add(batch);
+    }
+
+    /**
+     * @return true when the caller has to start publishing, outside the lock
+     */
+    private boolean startPublishing() {
+        if (publishing || ready.isEmpty()) {
+            return false;
+        }
+        publishing = true;
+        return true;
+    }
+
+    private void submitPublishing() {
+        try {
+            publisher.execute(this::publishReady);
+        } catch (RejectedExecutionException e) {
+            // shutting down: publish what is left on this thread rather than lose it
+            publishReady();
+        }
+    }
+
+    private void publishReady() {
+        while (true) {
+            List<InvalidationBus.Invalidation> next;
+            synchronized (this) {
+                next = ready.poll();
+                if (next == null) {
+                    publishing = false;
+                    return;
+                }
+            }
+            publish(next);
+        }
+    }
+
+    private synchronized List<InvalidationBus.Invalidation> nextReady() {
+        return ready.poll();
+    }
+
+    private boolean addPending(String cacheName, Optional<Object> key) {
+        if (pendingAll.contains(cacheName)) {
+            return false;
+        }
+        if (key.isEmpty()) {
+            Set<Object> replaced = pendingKeys.remove(cacheName);
+            if (replaced != null) {
+                pending -= replaced.size();
+                coalesced.add(replaced.size());
+            }
+            pendingAll.add(cacheName);
+        } else if (!pendingKeys.computeIfAbsent(cacheName, name -> new LinkedHashSet<>()).add(key.get())) {
+            return false;
+        }
+        pending++;
+        return true;
+    }
+
+    private List<InvalidationBus.Invalidation> drain() {
+        List<InvalidationBus.Invalidation> ready = new ArrayList<>(pending);
+        pendingAll.forEach(cacheName -> ready.add(InvalidationBus.Invalidation.all(cacheName)));
+        pendingKeys.forEach((cacheName, keys) ->
+                keys.forEach(key -> ready.add(InvalidationBus.Invalidation.of(cacheName, key))));
+        pendingAll.clear();
+        pendingKeys.clear();
+        pending = 0;
+        return ready;
+    }
+
+    private void publish(List<InvalidationBus.Invalidation> ready) {
+        try {
+            bus.publish(new InvalidationBus.Batch(origin, List.copyOf(ready)));
+            batches.increment();
+            published.add(ready.size());
+        } catch (RuntimeException e) {
+            errors.increment();
+            log.warn("Could not publish {} cache invalidations, other nodes keep their entries until they expire",
+                    ready.size(), e);
+        }
+    }
+
+    long coalesced() {
+        return coalesced.sum();
+    }
+
+    long published() {
+        return published.sum();
+    }
+
+    long batches() {
+        return batches.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
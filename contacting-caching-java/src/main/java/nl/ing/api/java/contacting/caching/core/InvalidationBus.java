@@ -0,0 +1,41 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Carries cache invalidations between the nodes of a cluster, see {@link ContactingCache#useInvalidationBus}.
+ * Every node publishes the invalidations it applied locally and applies the batches of the other nodes; a node
+ * recognizes its own batches by their origin.
+ */
+public interface InvalidationBus extends AutoCloseable {
+
+    void publish(Batch batch);
+
+    /**
+     * Registers a listener for all published batches, including the ones published by the subscriber itself.
+     */
+    void subscribe(Consumer<Batch> listener);
+
+    @Override
+    default void close() {
+    }
+
+    /**
+     * Invalidation of one key of a cache, or of the whole cache when the key is empty.
+     */
+    record Invalidation(String cacheName, Optional<Object> key) {
+
+        public static Invalidation of(String cacheName, Object key) {
+            return new Invalidation(cacheName, Optional.of(key));
+        }
+
+        public static Invalidation all(String cacheName) {
+            return new Invalidation(cacheName, Optional.empty());
+        }
+    }
+
+    record Batch(String origin, List<Invalidation> invalidations) {
+    }
+}
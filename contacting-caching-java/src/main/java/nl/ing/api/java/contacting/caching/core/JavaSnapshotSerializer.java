@@ -0,0 +1,63 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Default snapshot serializer, using Java serialization: keys and values of snapshot caches must be
+ * {@link java.io.Serializable}. Snapshots are only read by the node that wrote them.
+ * <p>
+ * Reading is limited to an allow-list: JDK value types, the not found marker of negative caching and the classes
+ * matching the given {@link ObjectInputFilter.Config#createFilter patterns}, so a tampered snapshot file cannot
+ * instantiate arbitrary classes. A snapshot holding any other class is rejected as a whole.
+ */
+public final class JavaSnapshotSerializer implements SnapshotSerializer {
+
+    private static final String JDK_CLASSES = "java.lang.*;java.util.*;java.time.*;java.math.*;"
+            + NegativeCaching.NotFound.class.getName();
+
+    private final ObjectInputFilter filter;
+
+    /**
+     * Reads JDK value types only.
+     */
+    public JavaSnapshotSerializer() {
+        this(List.of());
+    }
+
+    /**
+     * @param allowedClasses patterns of the key and value classes to read besides the JDK value types, e.g.
+     *                       {@code com.example.model.**} for a package and its subpackages
+     */
+    public JavaSnapshotSerializer(List<String> allowedClasses) {
+        String allowed = Stream.concat(Stream.of(JDK_CLASSES), allowedClasses.stream())
+                .collect(Collectors.joining(";"));
+        this.filter = ObjectInputFilter.Config.createFilter(allowed + ";!*");
+    }
+
+    @Override
+    public byte[] serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(filter);
+            return in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Snapshot refers to an unknown class", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Negative caching of a cache configured with {@code negative-ttl}: a load that finds nothing, {@code null} or an
+ * empty {@link Optional}, is cached as well, but only for {@code negative-ttl}, so repeated lookups of missing keys
+ * stop reaching the backend without hiding a key that appears later for long.
+ * <p>
+ * Caffeine does not store {@code null}, so a {@code null} load is stored as {@link NotFound#INSTANCE} and turned back
+ * into {@code null} before it reaches a caller or removal listener. Reads answered with a cached negative result are
+ * counted per cache name, so the count survives {@link ContactingCache#clearCache}.
+ */
+final class NegativeCaching {
+
+    /**
+     * Stand-in for a {@code null} load; an enum, so it survives snapshots and the second level cache as itself.
+     */
+    enum NotFound {
+        INSTANCE
+    }
+
+    private final LongAdder hits = new LongAdder();
+
+    static boolean isNegative(Object value) {
+        return value == NotFound.INSTANCE || value instanceof Optional<?> optional && optional.isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> Function<K, V> storingNull(Function<? super K, ? extends V> loader) {
+        return key -> {
+            V value = loader.apply(key);
+            return value == null ? (V) NotFound.INSTANCE : value;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> Function<K, CompletableFuture<V>> storingNullAsync(Function<K, CompletableFuture<V>> loader) {
+        return key -> loader.apply(key).thenApply(value -> value == null ? (V) NotFound.INSTANCE : value);
+    }
+
+    /**
+     * Weighs negative results 1 and passes other values to the configured weigher, which only knows the value type of
+     * the cache and not {@link NotFound}.
+     */
+    static Weigher<Object, Object> weighingNegativesOne(Weigher<Object, Object> weigher) {
+        return (key, value) -> isNegative(value) ? 1 : weigher.weigh(key, value);
+    }
+
+    static <V> V unwrap(V value) {
+        return value == NotFound.INSTANCE ? null : value;
+    }
+
+    /**
+     * @return the map without the keys cached as not found, like keys a bulk loader does not return
+     */
+    static <K, V> Map<K, V> withoutNotFound(Map<K, V> values) {
+        if (!values.containsValue(NotFound.INSTANCE)) {
+            return values;
+        }
+        Map<K, V> found = new HashMap<>(values);
+        found.values().removeIf(value -> value == NotFound.INSTANCE);
+        return Map.copyOf(found);
+    }
+
+    /**
+     * Counts the read if the entry present before it is a negative result.
+     */
+    void recordRead(Object present) {
+        if (present instanceof CompletableFuture<?> future) {
+            if (future.isDone() && !future.isCompletedExceptionally() && isNegative(future.join())) {
+                hits.increment();
+            }
+        } else if (present != null && isNegative(present)) {
+            hits.increment();
+        }
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+}
@@ -0,0 +1,126 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.api.java.contacting.caching.models.CacheConfig;
+import nl.ing.api.java.contacting.caching.util.RemovalListener;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Removal listener of a cache that counts removals per {@link RemovalCause} and hands them to the listener of the
+ * cache, directly or, with {@code removal-listener.batched}, through a queue that one task at a time drains in groups
+ * on the cache executor; when that executor rejects the task, the removing thread drains the queue itself. Counts and backlog belong to the cache name, so they survive {@link ContactingCache#clearCache}.
+ */
+@Slf4j
+final class RemovalDispatcher<K, V> {
+
+    private final String cacheName;
+    private final RemovalListener.RemovalListenerFunc<K, V> listener;
+    private final CacheConfig.RemovalConfig config;
+    private final Executor executor;
+    private final Stats stats;
+    private final Queue<Removal<K, V>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    RemovalDispatcher(String cacheName, RemovalListener.RemovalListenerFunc<K, V> listener,
+                      CacheConfig.RemovalConfig config, Executor executor, Stats stats) {
+        this.cacheName = cacheName;
+        this.listener = listener;
+        this.config = config;
+        this.executor = executor;
+        this.stats = stats;
+    }
+
+    void onRemoval(K key, V value, RemovalCause cause) {
+        stats.record(cause);
+        if (!config.batched()) {
+            notify(new Removal<>(key, value, cause));
+            return;
+        }
+        queue.add(new Removal<>(key, value, cause));
+        stats.backlog.incrementAndGet();
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // a saturated executor may not run a task for a long time, so the removing thread delivers the queue
+                log.debug("Executor of cache {} rejected the removal listener, delivering on the caller", cacheName);
+                drain(Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    /**
+     * Delivers one group and yields the executor before the next one.
+     */
+    private void drain() {
+        drain(config.batchSize());
+    }
+
+    private void drain(int maxRemovals) {
+        try {
+            for (int i = 0; i < maxRemovals; i++) {
+                Removal<K, V> removal = queue.poll();
+                if (removal == null) {
+                    break;
+                }
+                stats.backlog.decrementAndGet();
+                notify(removal);
+            }
+        } finally {
+            draining.set(false);
+        }
+        if (!queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void notify(Removal<K, V> removal) {
+        try {
+            listener.onRemoval(removal.key(), removal.value(), removal.cause());
+        } catch (RuntimeException e) {
+            log.warn("Removal listener of cache {} failed for key {}", cacheName, removal.key(), e);
+        }
+    }
+
+    private record Removal<K, V>(K key, V value, RemovalCause cause) {
+    }
+
+    /**
+     * Removals per cause and removals waiting for a batched listener.
+     */
+    static final class Stats {
+
+        private final LongAdder[] removals = new LongAdder[RemovalCause.values().length];
+        private final AtomicInteger backlog = new AtomicInteger();
+
+        Stats() {
+            for (int i = 0; i < removals.length; i++) {
+                removals[i] = new LongAdder();
+            }
+        }
+
+        private void record(RemovalCause cause) {
+            removals[cause.ordinal()].increment();
+        }
+
+        long removals(RemovalCause cause) {
+            return removals[cause.ordinal()].sum();
+        }
+
+        int backlog() {
+            return backlog.get();
+        }
+    }
+}
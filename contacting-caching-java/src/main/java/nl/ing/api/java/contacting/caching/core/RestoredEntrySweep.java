@@ -0,0 +1,116 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refreshes and expires the snapshot entries restored into one cache at the time their original write time calls for,
+ * which the fixed {@code refreshAfterWrite}/{@code expireAfterWrite} of Caffeine cannot backdate.
+ * <p>
+ * A single task per cache walks the restored keys, ordered by write time, and re-schedules itself on the shared caching
+ * scheduler for the next due key. It holds the keys and their deadlines only, not the values: a key still holds its
+ * restored value when its {@link Policy.FixedRefresh#ageOf age} shows no write since it was seeded, so keys refreshed
+ * or replaced in the meantime are left alone. Caches with a variable expiry have the remaining lifetime set on the
+ * entry when it is seeded and are only swept for the refresh.
+ */
+@Slf4j
+final class RestoredEntrySweep implements Runnable {
+
+    private final String cacheName;
+    private final LoadingCache<Object, Object> cache;
+    private final Object[] keys;
+    private final long[] refreshAt;
+    private final long[] expireAt;
+    private final long seededAt;
+    private int nextRefresh;
+    private int nextExpiry;
+
+    /**
+     * @param keys      restored keys, oldest write first
+     * @param refreshAt epoch millis at which each key reaches the refresh duration
+     * @param expireAt  epoch millis at which each key reaches the expire duration, or {@code null} when the cache
+     *                  expires the keys itself
+     * @param seededAt  {@link System#nanoTime()} after the last restored key was put
+     */
+    RestoredEntrySweep(String cacheName, LoadingCache<Object, Object> cache, Object[] keys, long[] refreshAt,
+                       long[] expireAt, long seededAt) {
+        this.cacheName = cacheName;
+        this.cache = cache;
+        this.keys = keys;
+        this.refreshAt = refreshAt;
+        this.expireAt = expireAt;
+        this.seededAt = seededAt;
+        this.nextExpiry = expireAt == null ? keys.length : 0;
+    }
+
+    /**
+     * Schedules the first run of the sweep.
+     */
+    void start() {
+        scheduleNext();
+    }
+
+    @Override
+    public void run() {
+        long now = System.currentTimeMillis();
+        for (; nextRefresh < keys.length && refreshAt[nextRefresh] <= now; nextRefresh++) {
+            refresh(keys[nextRefresh]);
+            if (nextRefresh < nextExpiry) {
+                keys[nextRefresh] = null;
+            }
+        }
+        for (; nextExpiry < keys.length && expireAt[nextExpiry] <= now; nextExpiry++) {
+            expire(keys[nextExpiry]);
+            if (nextExpiry < nextRefresh) {
+                keys[nextExpiry] = null;
+            }
+        }
+        scheduleNext();
+    }
+
+    private void refresh(Object key) {
+        try {
+            if (stillRestored(key)) {
+                cache.refresh(key);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot refresh restored entry {} of cache {}", key, cacheName, e);
+        }
+    }
+
+    private void expire(Object key) {
+        try {
+            Object value = cache.policy().getIfPresentQuietly(key);
+            if (value != null && stillRestored(key)) {
+                cache.asMap().remove(key, value);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cannot expire restored entry {} of cache {}", key, cacheName, e);
+        }
+    }
+
+    private boolean stillRestored(Object key) {
+        OptionalLong age = cache.policy().refreshAfterWrite()
+                .map(refresh -> refresh.ageOf(key, TimeUnit.NANOSECONDS))
+                .orElse(OptionalLong.empty());
+        return age.isPresent() && age.getAsLong() >= System.nanoTime() - seededAt;
+    }
+
+    private void scheduleNext() {
+        long next = Long.MAX_VALUE;
+        if (nextRefresh < keys.length) {
+            next = refreshAt[nextRefresh];
+        }
+        if (nextExpiry < keys.length) {
+            next = Math.min(next, expireAt[nextExpiry]);
+        }
+        if (next != Long.MAX_VALUE) {
+            ContactingCacheExecutor.scheduler().schedule(this, Math.max(next - System.currentTimeMillis(), 0),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Shared cache tier, for example a Hazelcast map, consulted by caches configured with {@code second-level = true}
+ * when an entry is missing locally, before the loader is called. Loaded values are written to it so other nodes find
+ * them there.
+ * <p>
+ * The tier is an optimisation only: a failing call is logged and counted, and the cache falls back to the loader.
+ */
+public interface SecondLevelCache {
+
+    /**
+     * @return the shared value, or null when absent
+     */
+    Object get(String cacheName, Object key);
+
+    void put(String cacheName, Object key, Object value, Duration timeToLive);
+
+    /**
+     * Whether the tier can store the value; values it cannot store stay in the local cache only, without calling
+     * {@link #put}. By default a value is accepted when it is {@link Serializable}, and so are the elements of a
+     * collection or the keys and values of a map, as Java serialization needs.
+     */
+    default boolean accepts(Object value) {
+        if (!(value instanceof Serializable)) {
+            return false;
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.stream().allMatch(element -> element == null || element instanceof Serializable);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map.entrySet().stream().allMatch(entry -> entry.getKey() instanceof Serializable
+                    && (entry.getValue() == null || entry.getValue() instanceof Serializable));
+        }
+        return true;
+    }
+
+    void invalidate(String cacheName, Object key);
+
+    void invalidateAll(String cacheName);
+}
@@ -0,0 +1,179 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * The {@link SecondLevelCache} of one cache, with its hit, load and error counts.
+ * <p>
+ * Only a load for a local miss reads the shared tier; a refresh calls the loader, so a refreshed entry is never older
+ * than the refresh duration. Every load writes its value through. Values the tier does not
+ * {@link SecondLevelCache#accepts accept} stay local, and the first of them and the first failing call of the cache
+ * are logged as a warning, later ones at debug level only, so a misconfigured cache does not flood the log.
+ */
+@Slf4j
+final class SecondLevelTier {
+
+    private final String cacheName;
+    private final SecondLevelCache secondLevel;
+    private final Duration timeToLive;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicBoolean rejectionReported = new AtomicBoolean();
+    private final AtomicBoolean failureReported = new AtomicBoolean();
+
+    /**
+     * @param timeToLive how long a shared entry is used; the refresh duration, so a refreshing node reaches the loader
+     */
+    SecondLevelTier(String cacheName, SecondLevelCache secondLevel, Duration timeToLive) {
+        this.cacheName = cacheName;
+        this.secondLevel = secondLevel;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Loads a value missing from the local cache: from the shared tier when present, otherwise from the loader.
+     */
+    @SuppressWarnings("unchecked")
+    <K, V> V load(K key, Function<? super K, ? extends V> loader) {
+        V shared = (V) get(key);
+        if (shared != null) {
+            hits.increment();
+            return shared;
+        }
+        return loadThrough(key, loader);
+    }
+
+    /**
+     * Calls the loader and shares its value, skipping the lookup in the shared tier.
+     */
+    <K, V> V loadThrough(K key, Function<? super K, ? extends V> loader) {
+        loads.increment();
+        V value = loader.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Wraps the loader of a synchronous cache: loads read the shared tier first, reloads skip it, and both write their
+     * value through.
+     */
+    <K, V> CacheLoader<K, V> writingThrough(CacheLoader<K, V> loader) {
+        return new CacheLoader<>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public V load(K key) throws Exception {
+                V shared = (V) get(key);
+                if (shared != null) {
+                    hits.increment();
+                    return shared;
+                }
+                loads.increment();
+                V value = loader.load(key);
+                put(key, value);
+                return value;
+            }
+
+            @Override
+            public V reload(K key, V oldValue) throws Exception {
+                loads.increment();
+                V value = loader.reload(key, oldValue);
+                put(key, value);
+                return value;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    <K, V> CompletableFuture<V> loadAsync(K key, Function<K, CompletableFuture<V>> loader, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> (V) get(key), executor)
+                .thenCompose(shared -> {
+                    if (shared != null) {
+                        hits.increment();
+                        return CompletableFuture.completedFuture(shared);
+                    }
+                    return loadThroughAsync(key, loader);
+                });
+    }
+
+    <K, V> CompletableFuture<V> loadThroughAsync(K key, Function<K, CompletableFuture<V>> loader) {
+        loads.increment();
+        return loader.apply(key).thenApply(value -> {
+            put(key, value);
+            return value;
+        });
+    }
+
+    void invalidate(Object key) {
+        try {
+            secondLevel.invalidate(cacheName, key);
+        } catch (RuntimeException e) {
+            failed("invalidate", e);
+        }
+    }
+
+    void invalidateAll() {
+        try {
+            secondLevel.invalidateAll(cacheName);
+        } catch (RuntimeException e) {
+            failed("invalidate all of", e);
+        }
+    }
+
+    private Object get(Object key) {
+        try {
+            return secondLevel.get(cacheName, key);
+        } catch (RuntimeException e) {
+            failed("read", e);
+            return null;
+        }
+    }
+
+    private void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (!secondLevel.accepts(value)) {
+            if (rejectionReported.compareAndSet(false, true)) {
+                log.warn("Second level cache {} cannot store values of type {}, keeping them in the local cache only",
+                        cacheName, value.getClass().getName());
+            }
+            return;
+        }
+        try {
+            secondLevel.put(cacheName, key, value, timeToLive);
+        } catch (RuntimeException e) {
+            failed("write", e);
+        }
+    }
+
+    private void failed(String operation, RuntimeException e) {
+        errors.increment();
+        if (failureReported.compareAndSet(false, true)) {
+            log.warn("Failed to {} second level cache {}, using the local cache only; further failures are counted "
+                    + "in cache.tier.errors and logged at debug level", operation, cacheName, e);
+        } else {
+            log.debug("Failed to {} second level cache {}, using the local cache only", operation, cacheName, e);
+        }
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long loads() {
+        return loads.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+}
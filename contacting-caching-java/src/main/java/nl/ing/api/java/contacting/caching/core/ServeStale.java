@@ -0,0 +1,90 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Policy;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Loader and bookkeeping of a cache configured with {@code serve-stale}.
+ * <p>
+ * Caffeine already returns the present value of an entry past {@code refreshAfterWrite} and reloads it once in the
+ * background on the cache executor; that reload needs a loader bound to the cache rather than one passed per call, so
+ * this loader delegates to the loader of the first {@link CacheHandle} of the cache. Loaders passed per call close over
+ * the state of their caller and are never used for a refresh: without a handle a stale entry is dropped and loaded
+ * again by the next caller, as without {@code serve-stale}. Stale serves and the refreshes they trigger are counted
+ * for metrics.
+ */
+final class ServeStale implements CacheLoader<Object, Object> {
+
+    private final LongAdder staleServes = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    private final AtomicReference<Function<Object, ?>> loader = new AtomicReference<>();
+    private final AtomicBoolean unboundReadReported = new AtomicBoolean();
+    private volatile Policy.FixedRefresh<?, ?> refreshPolicy;
+
+    void bind(Policy<?, ?> policy) {
+        refreshPolicy = policy.refreshAfterWrite().orElse(null);
+    }
+
+    /**
+     * Binds the loader of a handle for background refreshes; the first handle of the cache wins, as every handle of
+     * the cache loads the same value for a key.
+     */
+    @SuppressWarnings("unchecked")
+    void bindLoader(Function<?, ?> handleLoader) {
+        loader.compareAndSet(null, (Function<Object, ?>) handleLoader);
+    }
+
+    /**
+     * @return true for the first read without a bound loader, so the cache can report it once
+     */
+    boolean firstUnboundRead() {
+        return loader.get() == null && !unboundReadReported.get() && unboundReadReported.compareAndSet(false, true);
+    }
+
+    /**
+     * Called before a cached read; counts the read if it is going to be served stale.
+     */
+    @SuppressWarnings("unchecked")
+    void beforeRead(Object key) {
+        Policy.FixedRefresh<Object, ?> policy = (Policy.FixedRefresh<Object, ?>) refreshPolicy;
+        if (policy != null) {
+            OptionalLong age = policy.ageOf(key, TimeUnit.NANOSECONDS);
+            // read the duration from the policy, it changes when the cache configuration is reloaded
+            if (age.isPresent() && age.getAsLong() >= policy.getRefreshesAfter(TimeUnit.NANOSECONDS)) {
+                staleServes.increment();
+            }
+        }
+    }
+
+    @Override
+    public Object load(Object key) {
+        Function<Object, ?> current = loader.get();
+        return current == null ? null : current.apply(key);
+    }
+
+    @Override
+    public Object reload(Object key, Object oldValue) {
+        refreshes.increment();
+        return load(key);
+    }
+
+    void recordRefresh() {
+        refreshes.increment();
+    }
+
+    long staleServes() {
+        return staleServes.sum();
+    }
+
+    long refreshes() {
+        return refreshes.sum();
+    }
+}
@@ -0,0 +1,87 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent cache-bypassing loads of one cache: while a load for a key is in flight, other callers for
+ * the same key wait for it instead of calling the loader again. The leader writes the result to the cache, so every
+ * caller observes (and leaves behind) the refreshed value.
+ */
+final class SingleFlight {
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loadsSaved = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    <K, V> V load(Cache<K, V> cache, K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            loadsSaved.increment();
+            return (V) join(existing);
+        }
+        try {
+            V value = loader.apply(key);
+            cache.put(key, value);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <K, V> CompletableFuture<V> loadAsync(AsyncCache<K, V> cache, K key, Function<K, CompletableFuture<V>> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            loadsSaved.increment();
+            return (CompletableFuture<V>) existing.copy();
+        }
+        CompletableFuture<V> loaded;
+        try {
+            loaded = loader.apply(key);
+        } catch (RuntimeException e) {
+            loaded = CompletableFuture.failedFuture(e);
+        }
+        loaded.whenComplete((value, error) -> {
+            if (error == null) {
+                cache.put(key, CompletableFuture.completedFuture(value));
+            }
+            inFlight.remove(key, flight);
+            if (error == null) {
+                flight.complete(value);
+            } else {
+                flight.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            }
+        });
+        return (CompletableFuture<V>) flight.copy();
+    }
+
+    long loadsSaved() {
+        return loadsSaved.sum();
+    }
+
+    private static Object join(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // surface the leader's exception unchanged, as if this caller had run the loader itself
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+}
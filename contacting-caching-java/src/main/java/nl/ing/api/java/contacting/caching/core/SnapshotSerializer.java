@@ -0,0 +1,14 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import java.io.IOException;
+
+/**
+ * Turns the keys and values of a cache into bytes for its snapshot on disk, see {@link CacheSnapshots}.
+ * Implementations need a public no-arg constructor to be configured by class name.
+ */
+public interface SnapshotSerializer {
+
+    byte[] serialize(Object object) throws IOException;
+
+    Object deserialize(byte[] bytes) throws IOException;
+}
@@ -0,0 +1,170 @@
+package nl.ing.api.java.contacting.caching.core;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.typesafe.config.Config;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.api.java.contacting.caching.models.CacheConfig;
+import nl.ing.api.java.contacting.caching.util.ConfigConversions;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Warm start of the caches of a {@link ContactingCache} configured with {@code snapshot.enabled = true}: reads their
+ * {@link CacheSnapshots} once, seeds each cache with its restored entries when the cache is built, and writes the
+ * snapshots of the live caches every {@code contacting.cache-snapshot.interval} (5 minutes by default).
+ */
+@Slf4j
+final class WarmStart {
+
+    static final String SNAPSHOT_INTERVAL = "contacting.cache-snapshot.interval";
+
+    private final CacheSnapshots snapshots;
+    private final Map<String, CacheConfig> configs;
+    private final Function<String, Cache<Object, Object>> liveCaches;
+    private final ConcurrentMap<String, List<CacheSnapshots.Entry>> restored = new ConcurrentHashMap<>();
+
+    /**
+     * @param configs    the configurations of the caches created so far, by name
+     * @param liveCaches the live cache of a name, or null when it has not been built
+     */
+    WarmStart(CacheSnapshots snapshots, Map<String, CacheConfig> configs,
+              Function<String, Cache<Object, Object>> liveCaches) {
+        this.snapshots = snapshots;
+        this.configs = configs;
+        this.liveCaches = liveCaches;
+    }
+
+    /**
+     * Reads the snapshots of the snapshot caches in the configuration and schedules the periodic writes.
+     *
+     * @return the number of restored entries
+     */
+    int start(Config config) {
+        int count = 0;
+        for (String cacheName : snapshotCacheNames(config)) {
+            try {
+                List<CacheSnapshots.Entry> entries = snapshots.read(cacheName);
+                if (!entries.isEmpty()) {
+                    restored.put(cacheName, entries);
+                    count += entries.size();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Cannot restore the snapshot of cache {}, it starts empty", cacheName, e);
+            }
+        }
+        long interval = ConfigConversions.getDefaultDuration(config, SNAPSHOT_INTERVAL, Duration.ofMinutes(5)).toMillis();
+        ContactingCacheExecutor.scheduler().scheduleWithFixedDelay(
+                () -> ContactingCacheExecutor.executor().execute(this::writeAll),
+                interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Restored {} cache entries from snapshots, writing snapshots every {}ms", count, interval);
+        return count;
+    }
+
+    /**
+     * Writes the snapshots of the live snapshot caches.
+     */
+    void writeAll() {
+        configs.forEach((cacheName, config) -> {
+            Cache<Object, Object> cache = liveCaches.apply(cacheName);
+            if (!config.snapshot().enabled() || cache == null) {
+                return;
+            }
+            try {
+                int written = snapshots.write(cacheName, cache, config.snapshot().maxEntries());
+                log.debug("Wrote {} entries of cache {} to its snapshot", written, cacheName);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Cannot write the snapshot of cache {}", cacheName, e);
+            }
+        });
+    }
+
+    private static List<String> snapshotCacheNames(Config config) {
+        if (!config.hasPath("caching")) {
+            return List.of();
+        }
+        return config.getObject("caching").keySet().stream()
+                .filter(cacheName -> ConfigConversions.getDefaultBoolean(config,
+                        "caching.\"" + cacheName + "\".snapshot.enabled", false))
+                .toList();
+    }
+
+    /**
+     * Puts the restored entries of a new cache, keeping their age: each one is refreshed when it reaches the refresh
+     * duration and removed at the expire duration unless a refresh replaced it. A cache with a variable expiry gets the
+     * remaining lifetime set on the entry itself, the rest is done by one {@link RestoredEntrySweep} per cache.
+     */
+    @SuppressWarnings("unchecked")
+    void seed(CacheConfig config, LoadingCache<?, ?> newCache) {
+        List<CacheSnapshots.Entry> entries = restored.remove(config.name());
+        if (entries == null) {
+            return;
+        }
+        LoadingCache<Object, Object> cache = (LoadingCache<Object, Object>) newCache;
+        Optional<Policy.VarExpiration<Object, Object>> variable = cache.policy().expireVariably();
+        long refresh = saturatedMillis(config.refreshDuration());
+        long expire = saturatedMillis(config.hardExpireDuration());
+        boolean sweepExpiry = variable.isEmpty() && expire != Long.MAX_VALUE;
+        long now = System.currentTimeMillis();
+        List<CacheSnapshots.Entry> seeded = new ArrayList<>(entries.size());
+        for (CacheSnapshots.Entry entry : entries) {
+            long age = Math.max(now - entry.writtenAt(), 0);
+            if (age >= expire) {
+                continue;
+            }
+            cache.put(entry.key(), entry.value());
+            if (variable.isPresent() && expire != Long.MAX_VALUE) {
+                shortenExpiry(variable.get(), entry.key(), expire - age);
+            }
+            seeded.add(entry);
+        }
+        long seededAt = System.nanoTime();
+        seeded.sort(Comparator.comparingLong(CacheSnapshots.Entry::writtenAt));
+        Object[] keys = new Object[seeded.size()];
+        long[] refreshAt = new long[seeded.size()];
+        long[] expireAt = sweepExpiry ? new long[seeded.size()] : null;
+        for (int i = 0; i < keys.length; i++) {
+            CacheSnapshots.Entry entry = seeded.get(i);
+            long writtenAt = Math.min(entry.writtenAt(), now);
+            keys[i] = entry.key();
+            refreshAt[i] = saturatedAdd(writtenAt, refresh);
+            if (expireAt != null) {
+                expireAt[i] = saturatedAdd(writtenAt, expire);
+            }
+        }
+        new RestoredEntrySweep(config.name(), cache, keys, refreshAt, expireAt, seededAt).start();
+        log.info("Cache {} restored {} of {} snapshot entries", config.name(), keys.length, entries.size());
+    }
+
+    private static void shortenExpiry(Policy.VarExpiration<Object, Object> variable, Object key, long remaining) {
+        OptionalLong current = variable.getExpiresAfter(key, TimeUnit.MILLISECONDS);
+        if (current.isPresent() && current.getAsLong() > remaining) {
+            variable.setExpiresAfter(key, remaining, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static long saturatedAdd(long millis, long duration) {
+        long sum = millis + duration;
+        return ((millis ^ sum) & (duration ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMillis(Duration duration) {
+        try {
+            return duration.toMillis();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -11,7 +11,7 @@ import static nl.ing.api.java.contacting.caching.util.ConfigConversions.*;
 import static org.apache.commons.lang3.SystemUtils.getHostName;
 
 /**
- * Provides a StatsCounter based on configuration.
+ * Provides a StatsCounter based on configuration. Enabled counters report through the {@link SharedGraphiteReporter}.
  */
 @Slf4j
 public final class ConfigBasedStatsCounter implements StatsCounterProvider {
@@ -35,8 +35,6 @@ public final class ConfigBasedStatsCounter implements StatsCounterProvider {
                 String metricsPrefix = getDefaultString(config, metricConfigPrefix + ".metrics-prefix", metricConfigPrefix);
                 Duration metricsInterval = getDefaultDuration(config, metricConfigPrefix + ".metrics-interval", Duration.ofMillis(60000L));
 
-                MetricRegistry metricRegistry = new MetricRegistry();
-
                 MetricsStatsConfig metricsStatsConfig = new MetricsStatsConfig(
                         rootPrefix,
                         metricsPrefix,
@@ -45,7 +43,7 @@ public final class ConfigBasedStatsCounter implements StatsCounterProvider {
                         metricsInterval
                 );
 
-                GraphiteUtil.startGraphiteReporter(metricRegistry, metricsStatsConfig);
+                MetricRegistry metricRegistry = SharedGraphiteReporter.registry(metricsStatsConfig);
 
                 counter = new DefaultCacheMetricsStatsCounter(metricsPrefix, metricRegistry);
             } catch (Exception e) {
@@ -0,0 +1,85 @@
+package nl.ing.api.java.contacting.caching.metrics;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StatsCounter of one cache. It keeps Caffeine's own statistics, which back {@code Cache.stats()} and the Micrometer
+ * cache meters, feeds the configured {@link nl.ing.api.java.contacting.caching.core.StatsCounterProvider} counter, and
+ * records every load in a {@code cache.load.latency} timer with p50, p99 and p999 percentiles per cache and result.
+ */
+public final class ContactingStatsCounter implements StatsCounter {
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    private final ConcurrentStatsCounter stats = new ConcurrentStatsCounter();
+    private final StatsCounter delegate;
+    private final List<Timer> loadSuccess;
+    private final List<Timer> loadFailure;
+
+    public ContactingStatsCounter(String cacheName, StatsCounter delegate, Collection<MeterRegistry> registries) {
+        this.delegate = delegate;
+        this.loadSuccess = registries.stream().map(registry -> loadTimer(cacheName, "success", registry)).toList();
+        this.loadFailure = registries.stream().map(registry -> loadTimer(cacheName, "failure", registry)).toList();
+    }
+
+    private static Timer loadTimer(String cacheName, String result, MeterRegistry registry) {
+        return Timer.builder("cache.load.latency")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .description("Duration of the loader calls of the cache")
+                .publishPercentiles(PERCENTILES)
+                .percentilePrecision(3)
+                .register(registry);
+    }
+
+    @Override
+    public void recordHits(int count) {
+        stats.recordHits(count);
+        delegate.recordHits(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        stats.recordMisses(count);
+        delegate.recordMisses(count);
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        stats.recordLoadSuccess(loadTime);
+        delegate.recordLoadSuccess(loadTime);
+        loadSuccess.forEach(timer -> timer.record(loadTime, TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        stats.recordLoadFailure(loadTime);
+        delegate.recordLoadFailure(loadTime);
+        loadFailure.forEach(timer -> timer.record(loadTime, TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void recordEviction(int weight, RemovalCause cause) {
+        stats.recordEviction(weight, cause);
+        delegate.recordEviction(weight, cause);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return stats.snapshot();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
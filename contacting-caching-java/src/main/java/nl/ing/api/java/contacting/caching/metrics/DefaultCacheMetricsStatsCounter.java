@@ -8,6 +8,7 @@ import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.github.benmanes.caffeine.cache.stats.StatsCounter;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Tracks cache metrics using Dropwizard MetricRegistry.
@@ -21,6 +22,7 @@ public class DefaultCacheMetricsStatsCounter implements StatsCounter {
     private final Meter loadFailureCount;
     private final Meter evictionCount;
     private final Meter evictionWeight;
+    private final LongAdder totalLoadNanos = new LongAdder();
 
     public DefaultCacheMetricsStatsCounter(String cachePrefix, MetricRegistry metricRegistry) {
         this.hitCount = metricRegistry.meter(cachePrefix + ".hits");
@@ -46,18 +48,23 @@ public class DefaultCacheMetricsStatsCounter implements StatsCounter {
     public void recordLoadSuccess(long loadTime) {
         loadSuccessCount.mark();
         totalLoadTime.update(loadTime, TimeUnit.NANOSECONDS);
+        totalLoadNanos.add(loadTime);
     }
 
     @Override
     public void recordLoadFailure(long loadTime) {
         loadFailureCount.mark();
         totalLoadTime.update(loadTime, TimeUnit.NANOSECONDS);
+        totalLoadNanos.add(loadTime);
     }
 
+    /**
+     * Caffeine reports one eviction per call, with the weight of the evicted entry (1 for unweighted caches).
+     */
     @Override
-    public void recordEviction(int count, RemovalCause removalCause) {
-        evictionCount.mark(count);
-        // Optionally, track eviction weight if available
+    public void recordEviction(int weight, RemovalCause removalCause) {
+        evictionCount.mark();
+        evictionWeight.mark(weight);
     }
 
     @Override
@@ -67,7 +74,7 @@ public class DefaultCacheMetricsStatsCounter implements StatsCounter {
             missCount.getCount(),
             loadSuccessCount.getCount(),
             loadFailureCount.getCount(),
-            totalLoadTime.getCount(),
+            totalLoadNanos.sum(),
             evictionCount.getCount(),
             evictionWeight.getCount()
         );
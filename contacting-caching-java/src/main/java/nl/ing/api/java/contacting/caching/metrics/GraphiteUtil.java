@@ -4,7 +4,9 @@ import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.graphite.Graphite;
 import com.codahale.metrics.graphite.GraphiteReporter;
+import nl.ing.api.java.contacting.caching.util.NamedThreadFactory;
 
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -16,7 +18,11 @@ public final class GraphiteUtil {
         // Utility class; prevent instantiation
     }
 
-    public static void startGraphiteReporter(MetricRegistry registry, MetricsStatsConfig metricConfig) {
+    /**
+     * Starts a reporter on a thread of its own. Every report opens one connection and writes all metrics through a
+     * buffer that is flushed once at the end; stopping the reporter sends a final report.
+     */
+    public static GraphiteReporter startGraphiteReporter(MetricRegistry registry, MetricsStatsConfig metricConfig) {
         Graphite graphite = new Graphite(metricConfig.graphiteHost(), metricConfig.graphitePort());
 
         GraphiteReporter reporter = GraphiteReporter.forRegistry(registry)
@@ -24,8 +30,11 @@ public final class GraphiteUtil {
             .convertRatesTo(TimeUnit.SECONDS)
             .convertDurationsTo(TimeUnit.MILLISECONDS)
             .filter(MetricFilter.ALL)
+            .scheduleOn(Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("cache-metrics-reporter")))
+            .shutdownExecutorOnStop(true)
             .build(graphite);
 
         reporter.start(metricConfig.metricsInterval().toMillis(), TimeUnit.MILLISECONDS);
+        return reporter;
     }
 }
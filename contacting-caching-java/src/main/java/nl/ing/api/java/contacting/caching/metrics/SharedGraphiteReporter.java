@@ -0,0 +1,69 @@
+package nl.ing.api.java.contacting.caching.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.graphite.GraphiteReporter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The single Graphite reporting pipeline of the process: the counters of all caches register their metrics in one
+ * registry, and one reporter thread sends them all per interval over one connection. The first configuration starts
+ * the reporter; it is stopped, with a final report, by a shutdown hook or by {@link #stop()}.
+ */
+@Slf4j
+public final class SharedGraphiteReporter {
+
+    private static final MetricRegistry REGISTRY = new MetricRegistry();
+
+    private static GraphiteReporter reporter;
+    private static MetricsStatsConfig reporting;
+    private static Thread shutdownHook;
+
+    private SharedGraphiteReporter() {
+        // Utility class; prevent instantiation
+    }
+
+    /**
+     * @return the shared registry, reported with the first configuration it was requested with
+     */
+    public static synchronized MetricRegistry registry(MetricsStatsConfig config) {
+        if (reporter == null) {
+            reporter = GraphiteUtil.startGraphiteReporter(REGISTRY, config);
+            reporting = config;
+            shutdownHook = new Thread(SharedGraphiteReporter::stop, "cache-metrics-reporter-shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+            log.info("Reporting cache metrics to {}:{} every {} as {}", config.graphiteHost(), config.graphitePort(),
+                    config.metricsInterval(), config.rootPrefix());
+        } else if (!sameTarget(reporting, config)) {
+            log.warn("Cache metrics {} are reported to {}:{} every {} as {}, not as configured for them", config.prefix(),
+                    reporting.graphiteHost(), reporting.graphitePort(), reporting.metricsInterval(), reporting.rootPrefix());
+        }
+        return REGISTRY;
+    }
+
+    /**
+     * Sends a final report and stops the reporter; a later {@link #registry} call starts a new one.
+     */
+    public static synchronized void stop() {
+        if (reporter == null) {
+            return;
+        }
+        reporter.stop();
+        reporter = null;
+        reporting = null;
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // already shutting down
+            }
+        }
+        shutdownHook = null;
+    }
+
+    private static boolean sameTarget(MetricsStatsConfig current, MetricsStatsConfig requested) {
+        return current.graphiteHost().equals(requested.graphiteHost())
+                && current.graphitePort() == requested.graphitePort()
+                && current.rootPrefix().equals(requested.rootPrefix())
+                && current.metricsInterval().equals(requested.metricsInterval());
+    }
+}
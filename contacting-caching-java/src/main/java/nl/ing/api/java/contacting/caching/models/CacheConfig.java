@@ -1,19 +1,144 @@
 package nl.ing.api.java.contacting.caching.models;
 
 import com.typesafe.config.Config;
+import nl.ing.api.java.contacting.caching.util.ConfigConversions;
+
 import java.time.Duration;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * Case class representation for cache configuration.
+ * <p>
+ * With {@code serve-stale = true} an entry older than {@code refresh-duration} is still returned immediately while a
+ * single background refresh runs. {@code max-staleness} bounds how long past {@code refresh-duration} that may go on;
+ * after it the entry expires and callers block on the loader. Without {@code max-staleness} the bound is
+ * {@code expire-duration}. The background refresh runs the loader of the {@code CacheHandle} of a synchronous cache;
+ * read without a handle, a stale entry is loaded again by the next caller instead.
+ * <p>
+ * With {@code max-weight} the cache is bounded by the summed weight of its values instead of {@code max-size} entries.
+ * The weight comes from {@code weigher}: {@code list-size} (default), {@code estimated-bytes} or the class name of a
+ * {@link com.github.benmanes.caffeine.cache.Weigher}, see {@link nl.ing.api.java.contacting.caching.util.Weighers}.
+ * <p>
+ * With {@code custom-executor = true} refreshes and maintenance of the cache run on its own executor, sized by the
+ * {@code executor} block, so a slow backend cannot starve the refreshes of other caches.
+ * <p>
+ * With {@code second-level = true} a local miss first consults the shared
+ * {@link nl.ing.api.java.contacting.caching.core.SecondLevelCache}, if one is installed, before calling the loader.
+ * <p>
+ * With {@code snapshot.enabled = true} the hottest {@code snapshot.max-entries} entries are saved to disk periodically
+ * and restored after a restart, see {@link nl.ing.api.java.contacting.caching.core.CacheSnapshots}.
+ * <p>
+ * With {@code removal-listener.batched = true} the removal listener of the cache is called from a queue, drained in
+ * groups of {@code removal-listener.batch-size} on the cache executor.
+ * <p>
+ * With {@code negative-ttl} loads that find nothing, {@code null} or an empty {@code Optional}, are cached too, but
+ * expire after {@code negative-ttl} instead of {@code expire-duration}.
+ * <p>
+ * With {@code fallback-deadline} an asynchronous fallback to the cached value that has not answered in time fails
+ * instead of waiting on.
  */
 public record CacheConfig(
     String name,
     Duration refreshDuration,
     Duration expireDuration,
     long maximumSize,
-    boolean customExecutor
+    boolean customExecutor,
+    boolean serveStale,
+    Optional<Duration> maxStaleness,
+    OptionalLong maxWeight,
+    String weigher,
+    ExecutorConfig executor,
+    boolean secondLevel,
+    SnapshotConfig snapshot,
+    RemovalConfig removalListener,
+    Optional<Duration> negativeTtl,
+    Optional<Duration> fallbackDeadline
 ) {
+
+    public static final String DEFAULT_WEIGHER = "list-size";
+
+    public CacheConfig(String name, Duration refreshDuration, Duration expireDuration, long maximumSize, boolean customExecutor) {
+        this(name, refreshDuration, expireDuration, maximumSize, customExecutor, false, Optional.empty(),
+                OptionalLong.empty(), DEFAULT_WEIGHER, ExecutorConfig.DEFAULT, false, SnapshotConfig.DISABLED,
+                RemovalConfig.DEFAULT, Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * Sizing of the dedicated executor of a cache with {@code custom-executor = true}: at most {@code threads} tasks
+     * run at once and at most {@code queue-size} wait, further tasks are rejected. With {@code virtual-threads} each
+     * task runs on its own virtual thread, still limited to {@code threads} at once.
+     */
+    public record ExecutorConfig(int threads, int queueSize, boolean virtualThreads) {
+
+        public static final ExecutorConfig DEFAULT = new ExecutorConfig(2, 1000, false);
+
+        static ExecutorConfig createFromConfig(Config config, String path) {
+            return new ExecutorConfig(
+                    ConfigConversions.getDefaultInt(config, path + ".threads", DEFAULT.threads()),
+                    ConfigConversions.getDefaultInt(config, path + ".queue-size", DEFAULT.queueSize()),
+                    ConfigConversions.getDefaultBoolean(config, path + ".virtual-threads", DEFAULT.virtualThreads()));
+        }
+    }
+
+    /**
+     * Warm start of a cache from its last snapshot on disk, limited to its {@code max-entries} hottest entries.
+     */
+    public record SnapshotConfig(boolean enabled, int maxEntries) {
+
+        public static final SnapshotConfig DISABLED = new SnapshotConfig(false, 1000);
+
+        static SnapshotConfig createFromConfig(Config config, String path) {
+            return new SnapshotConfig(
+                    ConfigConversions.getDefaultBoolean(config, path + ".enabled", DISABLED.enabled()),
+                    ConfigConversions.getDefaultInt(config, path + ".max-entries", DISABLED.maxEntries()));
+        }
+    }
+
+    /**
+     * Delivery of removals to the removal listener of a cache: directly per removal, or queued and handed over in
+     * groups of at most {@code batchSize}.
+     */
+    public record RemovalConfig(boolean batched, int batchSize) {
+
+        public static final RemovalConfig DEFAULT = new RemovalConfig(false, 100);
+
+        static RemovalConfig createFromConfig(Config config, String path) {
+            return new RemovalConfig(
+                    ConfigConversions.getDefaultBoolean(config, path + ".batched", DEFAULT.batched()),
+                    ConfigConversions.getDefaultInt(config, path + ".batch-size", DEFAULT.batchSize()));
+        }
+    }
+
+    /**
+     * Whether the cache is bounded by {@link #maxWeight()} rather than by {@link #maximumSize()}.
+     */
+    public boolean weighted() {
+        return maxWeight.isPresent();
+    }
+
+    /**
+     * The bound of the cache: the maximum weight for weighted caches, otherwise the maximum number of entries.
+     */
+    public long maximum() {
+        return maxWeight.orElse(maximumSize);
+    }
+
+    /**
+     * Age after which an entry is no longer served, not even as stale data.
+     */
+    public Duration hardExpireDuration() {
+        if (!serveStale || maxStaleness.isEmpty()) {
+            return expireDuration;
+        }
+        try {
+            Duration bound = refreshDuration.plus(maxStaleness.get());
+            return bound.compareTo(expireDuration) < 0 ? bound : expireDuration;
+        } catch (ArithmeticException e) {
+            return expireDuration;
+        }
+    }
+
     /**
      * Creates an object representation of cache configuration from the given configuration.
      *
@@ -43,7 +168,27 @@ public record CacheConfig(
             } catch (Exception e) {
                 customExecutor = false;
             }
-            return Optional.of(new CacheConfig(name, refreshDuration, expireDuration, maxSize, customExecutor));
+            boolean serveStale = ConfigConversions.getDefaultBoolean(config, cacheConfigPath + ".serve-stale", false);
+            Optional<Duration> maxStaleness = config.hasPath(cacheConfigPath + ".max-staleness")
+                    ? Optional.of(config.getDuration(cacheConfigPath + ".max-staleness"))
+                    : Optional.empty();
+            OptionalLong maxWeight = config.hasPath(cacheConfigPath + ".max-weight")
+                    ? OptionalLong.of(config.getLong(cacheConfigPath + ".max-weight"))
+                    : OptionalLong.empty();
+            String weigher = ConfigConversions.getDefaultString(config, cacheConfigPath + ".weigher", DEFAULT_WEIGHER);
+            Optional<Duration> negativeTtl = config.hasPath(cacheConfigPath + ".negative-ttl")
+                    ? Optional.of(config.getDuration(cacheConfigPath + ".negative-ttl"))
+                    : Optional.empty();
+            Optional<Duration> fallbackDeadline = config.hasPath(cacheConfigPath + ".fallback-deadline")
+                    ? Optional.of(config.getDuration(cacheConfigPath + ".fallback-deadline"))
+                    : Optional.empty();
+            return Optional.of(new CacheConfig(name, refreshDuration, expireDuration, maxSize, customExecutor,
+                    serveStale, maxStaleness, maxWeight, weigher,
+                    ExecutorConfig.createFromConfig(config, cacheConfigPath + ".executor"),
+                    ConfigConversions.getDefaultBoolean(config, cacheConfigPath + ".second-level", false),
+                    SnapshotConfig.createFromConfig(config, cacheConfigPath + ".snapshot"),
+                    RemovalConfig.createFromConfig(config, cacheConfigPath + ".removal-listener"),
+                    negativeTtl, fallbackDeadline));
         } else {
             return Optional.empty();
         }
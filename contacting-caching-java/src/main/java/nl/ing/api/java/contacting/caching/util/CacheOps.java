@@ -4,8 +4,18 @@ import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
 import com.github.benmanes.caffeine.cache.Cache;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 /**
@@ -21,6 +31,11 @@ public final class CacheOps {
     public record Flags(boolean skipCache) {
 
         public static final Flags DEFAULT = new Flags(false);
+        public static final Flags SKIP_CACHE = new Flags(true);
+
+        public static Flags of(boolean skipCache) {
+            return skipCache ? SKIP_CACHE : DEFAULT;
+        }
 
     }
 
@@ -50,26 +65,136 @@ public final class CacheOps {
                 .orElseGet(() -> retrieveAndStoreInAsyncCache(key, loader, cache));
     }
 
+    /**
+     * Serves the present keys from {@code cache} and fetches all missing keys with one {@code loader} call.
+     */
+    public static <K, V> CompletableFuture<Map<K, V>> fromCacheAll(
+            Collection<? extends K> keys,
+            Function<Set<? extends K>, CompletableFuture<Map<K, V>>> loader,
+            Cache<K, V> cache,
+            Flags flags
+    ) {
+        if (flags.skipCache()) {
+            return retrieveAndStoreAll(new LinkedHashSet<>(keys), loader, cache);
+        }
+        Map<K, V> present = cache.getAllPresent(keys);
+        Set<K> missing = new LinkedHashSet<>(keys);
+        missing.removeAll(present.keySet());
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(present);
+        }
+        return retrieveAndStoreAll(missing, loader, cache).thenApply(loaded -> {
+            Map<K, V> result = new HashMap<>(present);
+            result.putAll(loaded);
+            return result;
+        });
+    }
+
+    /**
+     * Delegates to {@link AsyncLoadingCache#getAll(Iterable, java.util.function.BiFunction)}, so all keys that are
+     * neither present nor in flight are fetched with one {@code loader} call.
+     */
+    public static <K, V> CompletableFuture<Map<K, V>> fromAsyncLoadingCacheAll(
+            Collection<? extends K> keys,
+            Function<Set<? extends K>, CompletableFuture<Map<K, V>>> loader,
+            AsyncLoadingCache<K, V> cache,
+            Flags flags
+    ) {
+        if (flags.skipCache()) {
+            return loader.apply(new LinkedHashSet<>(keys)).thenApply(loaded -> {
+                loaded.forEach((key, value) -> storeInAsyncCache(key, value, cache));
+                return loaded;
+            });
+        }
+        return cache.getAll(keys, (missing, executor) -> loader.apply(missing));
+    }
+
+    /**
+     * Calls the loader and caches its value; when the loader fails the value still in the cache is returned. Without
+     * a cached value the result fails with a {@link RuntimeException} wrapping the error of the loader.
+     */
     public static <K, V> CompletableFuture<V> fallBack(
             K key,
             Function<K, CompletableFuture<V>> loader,
             Cache<K, V> cache
     ) {
-        return loader.apply(key).handle((result, error) -> {
+        return fallBack(key, loader, (k, value) -> storeInCache(k, value, cache), k -> {
+            V cachedValue = cache.getIfPresent(k);
+            return cachedValue == null
+                    ? CompletableFuture.failedFuture(new NoSuchElementException("No cached value for key " + k))
+                    : CompletableFuture.completedFuture(cachedValue);
+        }, Optional.empty(), RuntimeException::new);
+    }
+
+    /**
+     * The fallback path of all caches: calls the loader and stores what it returns, and when the loader fails
+     * composes to {@code cached}, the value the cache still holds. Nothing waits: the fallback runs on the thread that
+     * completes the failed load and only chains on {@code cached}. With a {@code deadline} a fallback that has not
+     * answered in time fails, like a fallback without a cached value, with the error of the loader as cause.
+     */
+    public static <K, V> CompletableFuture<V> fallBack(
+            K key,
+            Function<K, CompletableFuture<V>> loader,
+            BiConsumer<K, V> store,
+            Function<K, CompletableFuture<V>> cached,
+            Optional<Duration> deadline
+    ) {
+        return fallBack(key, loader, store, cached, deadline, loadError -> new CompletionException(unwrap(loadError)));
+    }
+
+    private static <K, V> CompletableFuture<V> fallBack(
+            K key,
+            Function<K, CompletableFuture<V>> loader,
+            BiConsumer<K, V> store,
+            Function<K, CompletableFuture<V>> cached,
+            Optional<Duration> deadline,
+            Function<Throwable, RuntimeException> miss
+    ) {
+        return attempt(key, loader).handle((result, error) -> {
             if (error == null) {
-                storeInCache(key, result, cache);
-                return result;
+                try {
+                    store.accept(key, result);
+                } catch (Exception e) {
+                    log.warn("Failed to write to cache. Key = {}", key, e);
+                }
+                return CompletableFuture.completedFuture(result);
             }
             log.warn("Fetching data from cache because of error in underlying service", error);
-            V cachedValue = cache.getIfPresent(key);
-            if (cachedValue == null) {
-                log.error("Cache miss during fallBack for key {}", key);
-                throw new RuntimeException(error);
+            return fallBackTo(key, cached, deadline, error, miss);
+        }).thenCompose(Function.identity());
+    }
+
+    private static <K, V> CompletableFuture<V> fallBackTo(
+            K key,
+            Function<K, CompletableFuture<V>> cached,
+            Optional<Duration> deadline,
+            Throwable loadError,
+            Function<Throwable, RuntimeException> miss
+    ) {
+        // a copy, so the deadline never completes a future the cache holds
+        CompletableFuture<V> fallback = attempt(key, cached).copy();
+        deadline.ifPresent(timeout -> fallback.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS));
+        return fallback.handle((cachedValue, error) -> {
+            if (error == null) {
+                return cachedValue;
             }
-            return cachedValue;
+            log.error("Cache miss during fallBack for key {}", key, unwrap(error));
+            throw miss.apply(loadError);
         });
     }
 
+    private static <K, V> CompletableFuture<V> attempt(K key, Function<K, CompletableFuture<V>> loader) {
+        try {
+            return loader.apply(key);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
     private static <K, V> CompletableFuture<V> retrieveAndStore(
             K key,
             Function<K, CompletableFuture<V>> loader,
@@ -78,6 +203,21 @@ public final class CacheOps {
         return loader.apply(key).thenApply(value -> { storeInCache(key, value, cache); return value; });
     }
 
+    private static <K, V> CompletableFuture<Map<K, V>> retrieveAndStoreAll(
+            Set<? extends K> keys,
+            Function<Set<? extends K>, CompletableFuture<Map<K, V>>> loader,
+            Cache<K, V> cache
+    ) {
+        return loader.apply(keys).thenApply(values -> {
+            try {
+                cache.putAll(values);
+            } catch (Exception e) {
+                log.warn("Failed to write to cache. Keys = {}", values.keySet(), e);
+            }
+            return values;
+        });
+    }
+
     private static <K, V> CompletableFuture<V> retrieveAndStoreInAsyncCache(
             K key,
             Function<K, CompletableFuture<V>> loader,
@@ -18,6 +18,10 @@ public final class ConfigConversions {
         return config.hasPath(path) ? config.getBoolean(path) : defaultValue;
     }
 
+    public static int getDefaultInt(Config config, String path, int defaultValue) {
+        return config.hasPath(path) ? config.getInt(path) : defaultValue;
+    }
+
     public static String getDefaultString(Config config, String path, String defaultValue) {
         return config.hasPath(path) ? config.getString(path) : defaultValue;
     }
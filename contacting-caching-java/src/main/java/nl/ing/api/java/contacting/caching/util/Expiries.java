@@ -0,0 +1,50 @@
+package nl.ing.api.java.contacting.caching.util;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Expiry policies for {@link nl.ing.api.java.contacting.caching.core.ContactingCache#expireAfter}.
+ */
+public final class Expiries {
+
+    private Expiries() {
+        // Utility class; prevent instantiation
+    }
+
+    /**
+     * Expires an entry at the moment its value declares, e.g. the earliest end date of the items in it; a value
+     * without such a moment lives as long as the expire duration of the cache allows. Reads do not extend the
+     * lifetime, a new value for the key starts a new one.
+     */
+    public static <K, V> Expiry<K, V> byValue(Function<? super V, Optional<Instant>> staleAt) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(K key, V value, long currentTime) {
+                return staleAt.apply(value).map(Expiries::nanosUntil).orElse(Long.MAX_VALUE);
+            }
+
+            @Override
+            public long expireAfterUpdate(K key, V value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(K key, V value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static long nanosUntil(Instant moment) {
+        try {
+            return Math.max(Duration.between(Instant.now(), moment).toNanos(), 0);
+        } catch (ArithmeticException e) {
+            return moment.isBefore(Instant.now()) ? 0 : Long.MAX_VALUE;
+        }
+    }
+}
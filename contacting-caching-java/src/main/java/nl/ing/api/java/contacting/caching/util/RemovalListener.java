@@ -16,10 +16,17 @@ public final class RemovalListener {
         void onRemoval(K key, V value, RemovalCause cause);
     }
 
+    private static final RemovalListenerFunc<Object, Object> NOOP = (key, value, cause) -> {};
+
     public static <K, V> RemovalListenerFunc<K, V> logRemovalListener() {
         return (key, value, cause) -> log.debug("Cache evicted for {}, cause: {}", key, cause);
     }
 
+    @SuppressWarnings("unchecked")
+    public static <K, V> RemovalListenerFunc<K, V> noopRemovalListener() {
+        return (RemovalListenerFunc<K, V>) NOOP;
+    }
+
     private RemovalListener() {
         // Utility class; prevent instantiation
     }
@@ -0,0 +1,165 @@
+package nl.ing.api.java.contacting.caching.util;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Weighers for caches configured with {@code max-weight}.
+ * <ul>
+ *     <li>{@code list-size}: a collection or map weighs its number of elements, an array its length, any other
+ *     value 1; the weight is never below 1, so empty lists still count</li>
+ *     <li>{@code estimated-bytes}: a rough estimate of the retained heap of the value, see {@link #estimatedBytes()}</li>
+ *     <li>the class name of a {@link Weigher} with a public no-arg constructor</li>
+ * </ul>
+ */
+public final class Weighers {
+
+    public static final String LIST_SIZE = "list-size";
+    public static final String ESTIMATED_BYTES = "estimated-bytes";
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 8;
+    private static final int DEFAULT_OBJECT = 64;
+
+    private static final ClassValue<Shape> SHAPES = new ClassValue<>() {
+        @Override
+        protected Shape computeValue(Class<?> type) {
+            return Shape.of(type);
+        }
+    };
+
+    private Weighers() {
+        // Utility class; prevent instantiation
+    }
+
+    /**
+     * Resolves a weigher by its configured name.
+     *
+     * @throws IllegalArgumentException if the name is neither a known weigher nor an instantiable {@link Weigher} class
+     */
+    public static Weigher<Object, Object> forName(String name) {
+        return switch (name) {
+            case LIST_SIZE -> listSize();
+            case ESTIMATED_BYTES -> estimatedBytes();
+            default -> instantiate(name);
+        };
+    }
+
+    public static Weigher<Object, Object> listSize() {
+        return (key, value) -> saturated(Math.max(elementCount(value), 1));
+    }
+
+    /**
+     * Estimates the heap held by a value: collections, maps and arrays are walked, strings and boxed primitives are
+     * sized, and other objects count their header plus their fields, following only string and boxed fields. Nested
+     * collections inside such objects are not walked, so lazily loaded entity associations are never initialized.
+     */
+    public static Weigher<Object, Object> estimatedBytes() {
+        return (key, value) -> saturated(Math.max(estimate(value, true), 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Weigher<Object, Object> instantiate(String className) {
+        try {
+            Class<?> type = Class.forName(className);
+            if (!Weigher.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException(className + " does not implement " + Weigher.class.getName());
+            }
+            return (Weigher<Object, Object>) type.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Unknown cache weigher " + className, e);
+        }
+    }
+
+    private static long elementCount(Object value) {
+        if (value instanceof Collection<?> collection) return collection.size();
+        if (value instanceof Map<?, ?> map) return map.size();
+        if (value instanceof Optional<?> optional) return optional.isPresent() ? elementCount(optional.get()) : 1;
+        if (value instanceof Object[] array) return array.length;
+        return 1;
+    }
+
+    private static long estimate(Object value, boolean walkContainers) {
+        if (value == null) return 0;
+        if (value instanceof String string) return OBJECT_HEADER + 24 + string.length();
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character) return OBJECT_HEADER + 8;
+        if (value instanceof Enum<?>) return 0;
+        boolean container = value instanceof Collection<?> || value instanceof Map<?, ?>
+                || value instanceof Optional<?> || value instanceof Object[];
+        if (container && !walkContainers) return DEFAULT_OBJECT;
+        if (value instanceof Collection<?> collection) {
+            long bytes = OBJECT_HEADER + 24 + (long) REFERENCE * collection.size();
+            for (Object element : collection) {
+                bytes += estimate(element, false);
+            }
+            return bytes;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = OBJECT_HEADER + 32 + 32L * map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                bytes += estimate(entry.getKey(), false) + estimate(entry.getValue(), false);
+            }
+            return bytes;
+        }
+        if (value instanceof Optional<?> optional) {
+            return OBJECT_HEADER + optional.map(present -> estimate(present, true)).orElse(0L);
+        }
+        if (value instanceof Object[] array) {
+            long bytes = OBJECT_HEADER + (long) REFERENCE * array.length;
+            for (Object element : array) {
+                bytes += estimate(element, false);
+            }
+            return bytes;
+        }
+        return estimateObject(value);
+    }
+
+    private static long estimateObject(Object value) {
+        Shape shape = SHAPES.get(value.getClass());
+        long bytes = OBJECT_HEADER + (long) REFERENCE * shape.slots();
+        for (Field field : shape.followed()) {
+            try {
+                bytes += estimate(field.get(value), false);
+            } catch (IllegalAccessException e) {
+                // counted as a slot already
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Number of instance fields of a type and the accessible string and boxed fields among them.
+     */
+    private record Shape(int slots, List<Field> followed) {
+
+        static Shape of(Class<?> type) {
+            int slots = 0;
+            List<Field> followed = new ArrayList<>();
+            boolean jdkType = type.getName().startsWith("java.");
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) continue;
+                    slots++;
+                    Class<?> fieldType = field.getType();
+                    boolean sized = fieldType == String.class || fieldType == Boolean.class
+                            || Number.class.isAssignableFrom(fieldType);
+                    if (sized && !jdkType && field.trySetAccessible()) {
+                        followed.add(field);
+                    }
+                }
+            }
+            return new Shape(slots, List.copyOf(followed));
+        }
+    }
+
+    private static int saturated(long weight) {
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+}
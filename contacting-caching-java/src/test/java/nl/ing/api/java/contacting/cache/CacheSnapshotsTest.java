@@ -0,0 +1,127 @@
+package nl.ing.api.java.contacting.cache;
+
+import nl.ing.api.java.contacting.cache.CacheTestSupport.ReloadableCache;
+import nl.ing.api.java.contacting.caching.core.CacheSnapshots;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.core.JavaSnapshotSerializer;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CacheSnapshotsTest {
+
+    @Test
+    void snapshots_shouldRestoreHotEntriesAfterRestart(@TempDir Path directory) {
+        String config = """
+                caching.snapshotCache { refresh-duration = 1h, snapshot { enabled = true } }
+                contacting.cache-snapshot.interval = 1h
+                """;
+        ContactingCache before = new ReloadableCache(config);
+        before.useSnapshots(new CacheSnapshots(directory, new JavaSnapshotSerializer()));
+        for (String key : List.of("a", "b", "c")) {
+            before.fromCacheableSyncFunction("snapshotCache", key, k -> List.of(k, k), (k, v, c) -> {
+            }, CacheOps.Flags.DEFAULT);
+        }
+        before.writeSnapshots();
+
+        ContactingCache after = new ReloadableCache(config);
+        assertEquals(3, after.useSnapshots(new CacheSnapshots(directory, new JavaSnapshotSerializer())));
+        AtomicInteger loads = new AtomicInteger();
+        for (String key : List.of("a", "b", "c")) {
+            assertEquals(List.of(key, key), after.fromCacheableSyncFunction("snapshotCache", key, k -> {
+                loads.incrementAndGet();
+                return List.of();
+            }, (k, v, c) -> {
+            }, CacheOps.Flags.DEFAULT));
+        }
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void snapshots_shouldOnlyRestoreAllowedClasses(@TempDir Path directory) {
+        String config = """
+                caching.allowListSnapshotCache { refresh-duration = 1h, snapshot { enabled = true } }
+                contacting.cache-snapshot.interval = 1h
+                """;
+        ContactingCache before = new ReloadableCache(config);
+        before.useSnapshots(new CacheSnapshots(directory, new JavaSnapshotSerializer()));
+        before.fromCacheableSyncFunction("allowListSnapshotCache", "key", k -> new SnapshotValue(k, new int[]{1, 2}),
+                (k, v, c) -> {
+                }, CacheOps.Flags.DEFAULT);
+        before.writeSnapshots();
+
+        assertEquals(0, new ReloadableCache(config)
+                .useSnapshots(new CacheSnapshots(directory, new JavaSnapshotSerializer())));
+        ContactingCache after = new ReloadableCache(config);
+        assertEquals(1, after.useSnapshots(new CacheSnapshots(directory,
+                new JavaSnapshotSerializer(List.of(SnapshotValue.class.getName())))));
+        SnapshotValue restored = after.fromCacheableSyncFunction("allowListSnapshotCache", "key",
+                k -> new SnapshotValue("loaded", new int[0]), (k, v, c) -> {
+                }, CacheOps.Flags.DEFAULT);
+        assertEquals("key", restored.name());
+    }
+
+    record SnapshotValue(String name, int[] counts) implements Serializable {
+    }
+
+    @Test
+    void snapshots_shouldDropEntriesPastTheirExpiry(@TempDir Path directory) throws Exception {
+        String config = """
+                caching.expiringSnapshotCache { refresh-duration = 1h, expire-duration = 200ms, snapshot { enabled = true } }
+                contacting.cache-snapshot.interval = 1h
+                """;
+        ContactingCache before = new ReloadableCache(config);
+        before.useSnapshots(new CacheSnapshots(directory, new JavaSnapshotSerializer()));
+        before.fromCacheableFunction("expiringSnapshotCache", "key", k -> CompletableFuture.completedFuture("old"),
+                (k, v, c) -> {
+                }, CacheOps.Flags.DEFAULT).get();
+        before.writeSnapshots();
+        Thread.sleep(300);
+
+        ContactingCache after = new ReloadableCache(config);
+        assertEquals(1, after.useSnapshots(new CacheSnapshots(directory, new JavaSnapshotSerializer())));
+        assertEquals("new", after.fromCacheableFunction("expiringSnapshotCache", "key",
+                k -> CompletableFuture.completedFuture("new"), (k, v, c) -> {
+                }, CacheOps.Flags.DEFAULT).get());
+    }
+
+    @Test
+    void snapshots_shouldExpireRestoredEntriesAtTheirOriginalExpiry(@TempDir Path directory) throws Exception {
+        String config = """
+                caching.agingSnapshotCache { refresh-duration = 1h, expire-duration = 2s, snapshot { enabled = true } }
+                contacting.cache-snapshot.interval = 1h
+                """;
+        ContactingCache before = new ReloadableCache(config);
+        before.useSnapshots(new CacheSnapshots(directory, new JavaSnapshotSerializer()));
+        before.fromCacheableFunction("agingSnapshotCache", "key", k -> CompletableFuture.completedFuture("old"),
+                (k, v, c) -> {
+                }, CacheOps.Flags.DEFAULT).get();
+        before.writeSnapshots();
+        Thread.sleep(1500);
+
+        ContactingCache after = new ReloadableCache(config);
+        assertEquals(1, after.useSnapshots(new CacheSnapshots(directory, new JavaSnapshotSerializer())));
+        Function<String, CompletableFuture<String>> loader = k -> CompletableFuture.completedFuture("new");
+        assertEquals("old", after.fromCacheableFunction("agingSnapshotCache", "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT).get());
+        // the snapshot entry is 1.5s old, so it goes after 0.5s instead of the 2s a fresh write would live
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1500);
+        String value = "old";
+        while ("old".equals(value) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+            value = after.fromCacheableFunction("agingSnapshotCache", "key", loader, (k, v, c) -> {
+            }, CacheOps.Flags.DEFAULT).get();
+        }
+        assertEquals("new", value);
+    }
+}
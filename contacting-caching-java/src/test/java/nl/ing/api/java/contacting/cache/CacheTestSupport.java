@@ -0,0 +1,84 @@
+package nl.ing.api.java.contacting.cache;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.core.SecondLevelCache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caches and helpers shared by the {@link ContactingCacheTest} family of tests.
+ */
+final class CacheTestSupport {
+
+    private CacheTestSupport() {
+    }
+
+    static <T> T awaitValue(Supplier<T> read, T expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        T value = read.get();
+        while (!expected.equals(value) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            value = read.get();
+        }
+        return value;
+    }
+
+    static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static double removals(SimpleMeterRegistry registry, String cacheName, String cause) {
+        return registry.get("cache.removals").tags("cache", cacheName, "cause", cause).functionCounter().count();
+    }
+
+    static class MapSecondLevelCache implements SecondLevelCache {
+
+        private final Map<String, Object> entries = new ConcurrentHashMap<>();
+
+        @Override
+        public Object get(String cacheName, Object key) {
+            return entries.get(cacheName + "/" + key);
+        }
+
+        @Override
+        public void put(String cacheName, Object key, Object value, Duration timeToLive) {
+            entries.put(cacheName + "/" + key, value);
+        }
+
+        @Override
+        public void invalidate(String cacheName, Object key) {
+            entries.remove(cacheName + "/" + key);
+        }
+
+        @Override
+        public void invalidateAll(String cacheName) {
+            entries.keySet().removeIf(entry -> entry.startsWith(cacheName + "/"));
+        }
+    }
+
+    static class ReloadableCache extends ContactingCache {
+
+        volatile Config config;
+
+        ReloadableCache(String config) {
+            this.config = ConfigFactory.parseString(config);
+        }
+
+        @Override
+        public Config config() {
+            return config;
+        }
+    }
+}
@@ -1,18 +1,49 @@
 package nl.ing.api.java.contacting.cache;
 
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.ing.api.java.contacting.cache.CacheTestSupport.MapSecondLevelCache;
+import nl.ing.api.java.contacting.cache.CacheTestSupport.ReloadableCache;
+import nl.ing.api.java.contacting.caching.core.CacheConfigWatcher;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
 import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.core.ContactingCacheMeterRegistry;
+import nl.ing.api.java.contacting.caching.core.InProcessInvalidationBus;
+import nl.ing.api.java.contacting.caching.core.InvalidationBus;
+import nl.ing.api.java.contacting.caching.core.StatsCounterProvider;
 import nl.ing.api.java.contacting.caching.util.CacheOps;
+import nl.ing.api.java.contacting.caching.util.Weighers;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static nl.ing.api.java.contacting.cache.CacheTestSupport.awaitQuietly;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
@@ -21,8 +52,8 @@ class ContactingCacheTest {
     static class TestCache extends ContactingCache {
 
         @Override
-        public com.typesafe.config.Config config() {
-            return com.typesafe.config.ConfigFactory.empty();
+        public Config config() {
+            return ConfigFactory.empty();
         }
 
     }
@@ -51,26 +82,6 @@ class ContactingCacheTest {
 
     }
 
-    @Test
-    void fallBack_shouldReturnValueAndCacheIt() {
-
-        final int[] count = {0};
-        Function<String, String> loader = k -> {
-            count[0]++;
-            if (count[0] == 1) return "first";
-            throw new RuntimeException("fail");
-        };
-
-        String val1 = cache.fallBack("testCache", "key", loader, (k, v, c) -> {
-        });
-
-        assertEquals("first", val1);
-        String val2 = cache.fallBack("testCache", "key", loader, (k, v, c) -> {
-        });
-        assertEquals("first", val2); // fallback to cached value
-
-    }
-
     @Test
     void fromCacheableFunction_shouldReturnAsyncValue() throws ExecutionException, InterruptedException {
 
@@ -81,29 +92,6 @@ class ContactingCacheTest {
 
     }
 
-    @Test
-    void fallBackAsyncF_shouldReturnAsyncValueAndFallback() throws ExecutionException, InterruptedException {
-
-        final int[] count = {0};
-
-        Function<String, CompletableFuture<String>> loader = k -> {
-            count[0]++;
-            if (count[0] == 1) return CompletableFuture.completedFuture("first");
-            CompletableFuture<String> failed = new CompletableFuture<>();
-            failed.completeExceptionally(new RuntimeException("fail"));
-            return failed;
-
-        };
-
-        CompletableFuture<String> val1 = cache.fallBackAsyncF("testCache", "key", loader, (k, v, c) -> {
-        });
-        assertEquals("first", val1.get());
-        CompletableFuture<String> val2 = cache.fallBackAsyncF("testCache", "key", loader, (k, v, c) -> {
-        });
-        assertEquals("first", val2.get()); // fallback cached
-
-    }
-
     @Test
     void clearCache_shouldRemoveCache() {
 
@@ -178,5 +166,553 @@ class ContactingCacheTest {
 
     }
 
-}
+    @Test
+    void fromCacheableSyncFunction_concurrentFirstAccess_shouldShareOneCache() throws InterruptedException {
+
+        int threads = 32;
+        AtomicInteger loads = new AtomicInteger();
+        Function<Integer, String> loader = k -> {
+            loads.incrementAndGet();
+            return "val" + k;
+        };
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                int key = i;
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    cache.fromCacheableSyncFunction("testCache", key, loader, (k, v, c) -> {
+                    }, CacheOps.Flags.DEFAULT);
+                });
+            }
+            start.countDown();
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        for (int i = 0; i < threads; i++) {
+            assertEquals("val" + i, cache.fromCacheableSyncFunction("testCache", i, loader, (k, v, c) -> {
+            }, CacheOps.Flags.DEFAULT));
+        }
+        assertEquals(threads, loads.get()); // every entry landed in the same cache instance
+
+    }
+
+    @Test
+    void handle_shouldLoadOnceAndServeFromCache() {
+
+        final int[] count = {0};
+        CacheHandle<String, String> handle = cache.handle("testCache", k -> {
+            count[0]++;
+            return "val-" + k;
+        });
+
+        assertEquals("val-key", handle.get("key"));
+        assertEquals("val-key", handle.get("key"));
+        assertEquals(1, count[0]);
+        assertEquals("val-key", handle.get("key", CacheOps.Flags.SKIP_CACHE));
+        assertEquals(2, count[0]);
 
+    }
+
+    @Test
+    void handle_shouldShareEntriesWithStringBasedApi() {
+
+        CacheHandle<String, String> handle = cache.handle("testCache", k -> "fromHandle");
+        handle.get("key");
+
+        assertEquals("fromHandle", cache.fromCacheableSyncFunction("testCache", "key", k -> "fromFunction", (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+
+        cache.invalidateCache("testCache", Optional.of("key"));
+        assertEquals("fromFunction", cache.fromCacheableSyncFunction("testCache", "key", k -> "fromFunction", (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+
+    }
+
+    @Test
+    void handle_shouldRebindAfterClearCache() {
+
+        final int[] count = {0};
+        CacheHandle<String, String> handle = cache.handle("testCache", k -> "val" + ++count[0]);
+        assertEquals("val1", handle.get("key"));
+
+        cache.clearCache("testCache");
+
+        assertEquals("val2", handle.get("key"));
+        assertEquals("val2", cache.fromCacheableSyncFunction("testCache", "key", k -> "other", (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+
+    }
+
+    @Test
+    void handle_updateIfPresent_shouldPatchCachedValueAndInvalidateOtherNodes() {
+        List<InvalidationBus.Batch> batches = new CopyOnWriteArrayList<>();
+        InProcessInvalidationBus bus = new InProcessInvalidationBus();
+        bus.subscribe(batches::add);
+        ContactingCache node = new ReloadableCache("contacting.cache-invalidation.batch-window = 1h");
+        node.useInvalidationBus(bus);
+        AtomicInteger loads = new AtomicInteger();
+        CacheHandle<String, String> handle = node.handle("patchedCache", k -> "value-" + loads.incrementAndGet());
+
+        handle.updateIfPresent("key", value -> value + "-patched");
+        assertEquals(0, loads.get());
+
+        assertEquals("value-1", handle.get("key"));
+        handle.updateIfPresent("key", value -> value + "-patched");
+        assertEquals("value-1-patched", handle.get("key"));
+        assertEquals(1, loads.get());
+
+        node.flushInvalidations();
+        assertEquals(List.of(InvalidationBus.Invalidation.of("patchedCache", "key")), batches.get(0).invalidations());
+    }
+
+    @Test
+    void handle_invalidate_shouldInvalidateOtherNodesAndSharedTier() {
+        List<InvalidationBus.Batch> batches = new CopyOnWriteArrayList<>();
+        InProcessInvalidationBus bus = new InProcessInvalidationBus();
+        bus.subscribe(batches::add);
+        MapSecondLevelCache shared = new MapSecondLevelCache();
+        ContactingCache node = new ReloadableCache("""
+                caching.sharedHandleCache { refresh-duration = 1h, second-level = true }
+                contacting.cache-invalidation.batch-window = 1h
+                """);
+        node.useSecondLevelCache(shared);
+        node.useInvalidationBus(bus);
+        AtomicInteger loads = new AtomicInteger();
+        CacheHandle<String, String> handle = node.handle("sharedHandleCache", k -> "value-" + loads.incrementAndGet());
+
+        assertEquals("value-1", handle.get("key"));
+        handle.invalidate("key");
+        node.flushInvalidations();
+
+        assertEquals("value-2", handle.get("key"));
+        assertEquals(List.of(InvalidationBus.Invalidation.of("sharedHandleCache", "key")), batches.get(0).invalidations());
+    }
+
+    @Test
+    void handle_updateIfPresent_shouldDropEntryWhenUpdateFails() {
+        AtomicInteger loads = new AtomicInteger();
+        CacheHandle<String, String> handle = cache.handle("testCache", k -> "value-" + loads.incrementAndGet());
+        handle.get("key");
+
+        assertThrows(IllegalStateException.class,
+                () -> handle.updateIfPresent("key", value -> {
+                    throw new IllegalStateException("broken update");
+                }));
+
+        assertEquals("value-2", handle.get("key"));
+    }
+
+    @Test
+    void getAll_shouldServeHitsAndLoadAllMissesInOneCall() {
+        List<Set<? extends Integer>> batches = new ArrayList<>();
+        Function<Set<? extends Integer>, Map<Integer, String>> bulkLoader = keys -> {
+            batches.add(Set.copyOf(keys));
+            return keys.stream().collect(Collectors.toMap(k -> k, String::valueOf));
+        };
+
+        assertEquals(Map.of(1, "1", 2, "2"), cache.getAll("testCache", List.of(1, 2), bulkLoader, CacheOps.Flags.DEFAULT));
+        assertEquals(Map.of(1, "1", 2, "2", 3, "3", 4, "4"),
+                cache.getAll("testCache", List.of(1, 2, 3, 4), bulkLoader, CacheOps.Flags.DEFAULT));
+
+        assertEquals(List.of(Set.of(1, 2), Set.of(3, 4)), batches);
+        // entries loaded in bulk are visible to single-key lookups
+        assertEquals("3", cache.fromCacheableSyncFunction("testCache", 3, k -> "reloaded", (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+    }
+
+    @Test
+    void getAll_shouldLeaveKeysMissingFromLoaderUncached() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<Set<? extends Integer>, Map<Integer, String>> bulkLoader = keys -> {
+            calls.incrementAndGet();
+            return Map.of(1, "1");
+        };
+
+        assertEquals(Map.of(1, "1"), cache.getAll("testCache", List.of(1, 2), bulkLoader, CacheOps.Flags.DEFAULT));
+        assertEquals(Map.of(1, "1"), cache.getAll("testCache", List.of(1, 2), bulkLoader, CacheOps.Flags.DEFAULT));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void getAll_skipCacheShouldReloadAllKeys() {
+        AtomicInteger version = new AtomicInteger();
+        Function<Set<? extends Integer>, Map<Integer, String>> bulkLoader = keys -> {
+            int v = version.incrementAndGet();
+            return keys.stream().collect(Collectors.toMap(k -> k, k -> k + "-v" + v));
+        };
+
+        cache.getAll("testCache", List.of(1, 2), bulkLoader, CacheOps.Flags.DEFAULT);
+        assertEquals(Map.of(1, "1-v2", 2, "2-v2"), cache.getAll("testCache", List.of(1, 2), bulkLoader, CacheOps.Flags.SKIP_CACHE));
+        assertEquals(Map.of(1, "1-v2", 2, "2-v2"), cache.getAll("testCache", List.of(1, 2), bulkLoader, CacheOps.Flags.DEFAULT));
+    }
+
+    @Test
+    void getAllF_shouldServeHitsAndLoadAllMissesInOneCall() throws ExecutionException, InterruptedException {
+        List<Set<? extends Integer>> batches = new CopyOnWriteArrayList<>();
+        Function<Set<? extends Integer>, CompletableFuture<Map<Integer, String>>> bulkLoader = keys -> {
+            batches.add(Set.copyOf(keys));
+            return CompletableFuture.completedFuture(keys.stream().collect(Collectors.toMap(k -> k, String::valueOf)));
+        };
+
+        assertEquals(Map.of(1, "1", 2, "2"), cache.getAllF("testCache", List.of(1, 2), bulkLoader, CacheOps.Flags.DEFAULT).get());
+        assertEquals(Map.of(1, "1", 2, "2", 3, "3"),
+                cache.getAllF("testCache", List.of(1, 2, 3), bulkLoader, CacheOps.Flags.DEFAULT).get());
+
+        assertEquals(List.of(Set.of(1, 2), Set.of(3)), batches);
+    }
+
+    @Test
+    void fromCacheableSyncFunction_concurrentSkipCache_shouldShareOneLoad() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        String cacheName = "coalescingCache";
+        cache.clearCache(cacheName);
+
+        int threads = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, String> loader = k -> {
+            loads.incrementAndGet();
+            loaderEntered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "fresh";
+        };
+        List<String> results = new CopyOnWriteArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            pool.execute(() -> results.add(cache.fromCacheableSyncFunction(cacheName, "key", loader, (k, v, c) -> {
+            }, CacheOps.Flags.SKIP_CACHE)));
+            loaderEntered.await(5, TimeUnit.SECONDS);
+            for (int i = 1; i < threads; i++) {
+                pool.execute(() -> results.add(cache.fromCacheableSyncFunction(cacheName, "key", loader, (k, v, c) -> {
+                }, CacheOps.Flags.SKIP_CACHE)));
+            }
+            // followers are parked on the in-flight load once they are counted as saved
+            while (registry.get("cache.loads.coalesced").tag("cache", cacheName).functionCounter().count() < threads - 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(Collections.nCopies(threads, "fresh"), results);
+        assertEquals("fresh", cache.fromCacheableSyncFunction(cacheName, "key", k -> "stale", (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+        cache.clearCache(cacheName);
+    }
+
+    @Test
+    void fromCacheableSyncFunction_skipCacheFailure_shouldPropagateAndNotBlockNextLoad() {
+        Function<String, String> failing = k -> {
+            throw new IllegalStateException("db down");
+        };
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> cache.fromCacheableSyncFunction("testCache", "key", failing, (k, v, c) -> {
+                }, CacheOps.Flags.SKIP_CACHE));
+        assertEquals("db down", error.getMessage());
+        assertEquals("ok", cache.fromCacheableSyncFunction("testCache", "key", k -> "ok", (k, v, c) -> {
+        }, CacheOps.Flags.SKIP_CACHE));
+    }
+
+    @Test
+    void fromCacheableFunction_concurrentSkipCache_shouldShareOneLoad() throws ExecutionException, InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        Function<String, CompletableFuture<String>> loader = k -> {
+            loads.incrementAndGet();
+            return pending;
+        };
+
+        CompletableFuture<String> first = cache.fromCacheableFunction("testCache", "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.SKIP_CACHE);
+        CompletableFuture<String> second = cache.fromCacheableFunction("testCache", "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.SKIP_CACHE);
+        pending.complete("fresh");
+
+        assertEquals("fresh", first.get());
+        assertEquals("fresh", second.get());
+        assertEquals(1, loads.get());
+        assertEquals("fresh", cache.fromCacheableFunction("testCache", "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT).get());
+    }
+
+    @Test
+    void reloadConfig_shouldApplyChangedSettingsToLiveCacheAndKeepEntries() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        ReloadableCache reloadable = new ReloadableCache(
+                "caching.reloadCache { refresh-duration = 1h, expire-duration = 2h, max-size = 100 }");
+        String cacheName = "reloadCache";
+        reloadable.fromCacheableSyncFunction(cacheName, "key", k -> "value", (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT);
+
+        reloadable.config = ConfigFactory.parseString(
+                "caching.reloadCache { refresh-duration = 1h, expire-duration = 200ms, max-size = 10 }");
+        reloadable.reloadConfig();
+
+        assertEquals("value", reloadable.fromCacheableSyncFunction(cacheName, "key", k -> "reloaded", (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+        Thread.sleep(300);
+        assertEquals("reloaded", reloadable.fromCacheableSyncFunction(cacheName, "key", k -> "reloaded", (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+        assertEquals(1, registry.get("cache.config.changes").tags("cache", cacheName, "setting", "max-size")
+                .counter().count());
+        assertEquals(1, registry.get("cache.config.changes").tags("cache", cacheName, "setting", "expire-duration")
+                .counter().count());
+
+        reloadable.reloadConfig();
+        assertEquals(1, registry.get("cache.config.changes").tags("cache", cacheName, "setting", "max-size")
+                .counter().count());
+        reloadable.clearCache(cacheName);
+    }
+
+    @Test
+    void cacheConfigWatcher_shouldNotifyOnFileChange() throws Exception {
+        Path dir = Files.createTempDirectory("cache-conf");
+        Path file = dir.resolve("cache.conf");
+        Files.writeString(file, "caching {}");
+        CountDownLatch changed = new CountDownLatch(1);
+
+        CacheConfigWatcher watcher = CacheConfigWatcher.watch(file, changed::countDown);
+        try {
+            Files.writeString(dir.resolve("other.conf"), "ignored");
+            Files.writeString(file, "caching.reloadCache { refresh-duration = 1m }");
+            // polling watch services may take a few seconds to notice the change
+            assertTrue(changed.await(20, TimeUnit.SECONDS));
+        } finally {
+            watcher.close();
+        }
+    }
+
+    @Test
+    void fromCacheableSyncFunction_maxWeight_shouldEvictByListSizeAndReportWeightedSize() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        ContactingCache weighted = new ReloadableCache(
+                "caching.weightedCache { refresh-duration = 1h, max-weight = 10, weigher = list-size }");
+        String cacheName = "weightedCache";
+        for (int account = 0; account < 5; account++) {
+            int accountSize = account;
+            weighted.fromCacheableSyncFunction(cacheName, account, k -> Collections.nCopies(4 + accountSize, "x"),
+                    (k, v, c) -> {
+                    }, CacheOps.Flags.DEFAULT);
+        }
+
+        // writes are weighed and evicted by the cache maintenance on the cache executor, wait for it to catch up
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        double weightedSize;
+        do {
+            weightedSize = registry.get("cache.weighted.size").tag("cache", cacheName).gauge().value();
+        } while ((weightedSize == 0 || weightedSize > 10) && System.nanoTime() < deadline);
+        assertTrue(weightedSize > 0 && weightedSize <= 10, "weighted size " + weightedSize);
+        assertEquals(10, registry.get("cache.max.weight").tag("cache", cacheName).gauge().value());
+        weighted.clearCache(cacheName);
+    }
+
+    @Test
+    void weighers_shouldWeighValues() {
+        record Contact(String name, Long accountId, List<String> lazyRoles) {
+        }
+        List<Contact> contacts = List.of(new Contact("alice", 1L, List.of("a", "b")), new Contact("bob", 2L, null));
+
+        assertEquals(2, Weighers.forName("list-size").weigh("key", contacts));
+        assertEquals(1, Weighers.listSize().weigh("key", List.of()));
+        assertEquals(1, Weighers.listSize().weigh("key", "value"));
+        int bytes = Weighers.forName("estimated-bytes").weigh("key", contacts);
+        assertTrue(bytes > Weighers.estimatedBytes().weigh("key", contacts.subList(0, 1)));
+        assertTrue(bytes < 1_000, "nested collections of elements are not walked: " + bytes);
+        assertThrows(IllegalArgumentException.class,
+                () -> Weighers.forName("no.such.Weigher"));
+    }
+
+    @Test
+    void customExecutor_shouldRefreshOnDedicatedExecutor() throws InterruptedException {
+        assertRefreshRunsOn("dedicatedCache", "executor { threads = 1, queue-size = 10 }");
+    }
+
+    @Test
+    void customExecutor_virtualThreads_shouldRefreshOnDedicatedExecutor() throws InterruptedException {
+        assertRefreshRunsOn("virtualCache", "executor { threads = 1, queue-size = 10, virtual-threads = true }");
+    }
+
+    private void assertRefreshRunsOn(String cacheName, String executorConfig) throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        ContactingCache dedicated = new ReloadableCache("caching." + cacheName + " { refresh-duration = 50ms, "
+                + "serve-stale = true, custom-executor = true, " + executorConfig + " }");
+        CompletableFuture<String> refreshThread = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+        CacheHandle<String, String> handle = dedicated.handle(cacheName, k -> {
+            if (loads.incrementAndGet() > 1) {
+                refreshThread.complete(Thread.currentThread().getName());
+            }
+            return "value";
+        });
+
+        handle.get("key");
+        Thread.sleep(100);
+        handle.get("key");
+
+        assertTrue(refreshThread.orTimeout(5, TimeUnit.SECONDS).join().startsWith("caching-" + cacheName));
+        // the removal notification of the refreshed value may still be queued behind the refresh
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline
+                && registry.get("cache.executor.queue.depth").tag("cache", cacheName).gauge().value() > 0) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, registry.get("cache.executor.queue.depth").tag("cache", cacheName).gauge().value());
+        assertTrue(registry.get("cache.executor.active").tag("cache", cacheName).gauge().value() <= 1);
+        assertEquals(0, registry.get("cache.executor.rejected").tag("cache", cacheName).functionCounter().count());
+        dedicated.clearCache(cacheName);
+    }
+
+    @Test
+    void invalidationBus_shouldEvictEntriesOnOtherNodes() {
+        InProcessInvalidationBus bus = new InProcessInvalidationBus();
+        String config = "contacting.cache-invalidation.batch-window = 10ms";
+        ContactingCache node1 = new ReloadableCache(config);
+        ContactingCache node2 = new ReloadableCache(config);
+        node1.useInvalidationBus(bus);
+        node2.useInvalidationBus(bus);
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, String> loader = k -> "value-" + loads.incrementAndGet();
+
+        assertEquals("value-1", node2.fromCacheableSyncFunction("busCache", "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+        node1.invalidateCache("busCache", Optional.of("key"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String value;
+        do {
+            value = node2.fromCacheableSyncFunction("busCache", "key", loader, (k, v, c) -> {
+            }, CacheOps.Flags.DEFAULT);
+        } while ("value-1".equals(value) && System.nanoTime() < deadline);
+        assertEquals("value-2", value);
+    }
+
+    @Test
+    void invalidationBus_shouldCoalesceBulkInvalidationsIntoOneBatch() {
+        List<InvalidationBus.Batch> batches = new CopyOnWriteArrayList<>();
+        InProcessInvalidationBus bus = new InProcessInvalidationBus();
+        bus.subscribe(batches::add);
+        ContactingCache node = new ReloadableCache("contacting.cache-invalidation.batch-window = 1h");
+        node.useInvalidationBus(bus);
+
+        for (int i = 0; i < 100; i++) {
+            node.invalidateCache("bulkCache", Optional.of("key-" + i % 50));
+        }
+        node.invalidateCache("otherCache", Optional.of("key"));
+        node.invalidateCache("otherCache", Optional.empty());
+        node.flushInvalidations();
+
+        assertEquals(1, batches.size());
+        List<InvalidationBus.Invalidation> invalidations = batches.get(0).invalidations();
+        assertEquals(51, invalidations.size());
+        assertTrue(invalidations.contains(InvalidationBus.Invalidation.all("otherCache")));
+        assertTrue(invalidations.stream().noneMatch(i -> i.equals(InvalidationBus.Invalidation.of("otherCache", "key"))));
+    }
+
+    @Test
+    void invalidationBus_shouldPublishFullBatchWithoutWaitingForWindow() {
+        List<InvalidationBus.Batch> batches = new CopyOnWriteArrayList<>();
+        InProcessInvalidationBus bus = new InProcessInvalidationBus();
+        bus.subscribe(batches::add);
+        ContactingCache node = new ReloadableCache("""
+                contacting.cache-invalidation { batch-window = 1h, max-batch = 10 }
+                """);
+        node.useInvalidationBus(bus);
+
+        for (int i = 0; i < 25; i++) {
+            node.invalidateCache("bulkCache", Optional.of(i));
+        }
+
+        // full batches are published on the publisher thread, the remaining 5 wait for the window
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (batches.size() < 2 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(2, batches.size());
+        assertTrue(batches.stream().allMatch(batch -> batch.invalidations().size() == 10));
+    }
+
+    @Test
+    void invalidationBus_shouldNotPublishOnTheInvalidatingThread() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> publishingThreads = new CopyOnWriteArrayList<>();
+        InvalidationBus blockingBus = new InvalidationBus() {
+            @Override
+            public void publish(Batch batch) {
+                publishingThreads.add(Thread.currentThread().getName());
+                // a producer waiting for broker metadata
+                awaitQuietly(release);
+            }
+
+            @Override
+            public void subscribe(Consumer<Batch> listener) {
+            }
+        };
+        ContactingCache node = new ReloadableCache("""
+                contacting.cache-invalidation { batch-window = 10ms, max-batch = 2 }
+                """);
+        node.useInvalidationBus(blockingBus);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            node.invalidateCache("bulkCache", Optional.of(i));
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 1, "invalidating waited for the bus");
+        Thread.sleep(50);
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (publishingThreads.size() < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(5, publishingThreads.size());
+        assertTrue(publishingThreads.stream().allMatch(name -> name.startsWith("caching-invalidation-publisher")),
+                publishingThreads::toString);
+    }
+
+    @Test
+    void statsCounter_shouldFeedProviderCounterAndLoadLatencyPercentiles() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        ConcurrentStatsCounter provided = new ConcurrentStatsCounter();
+        ContactingCache counted = new TestCache() {
+            @Override
+            protected StatsCounterProvider statsCounterProvider(String cacheName) {
+                return () -> provided;
+            }
+        };
+        String cacheName = "latencyCache";
+
+        for (String key : List.of("a", "b", "a", "c")) {
+            counted.fromCacheableFunction(cacheName, key, k -> CompletableFuture.completedFuture(k), (k, v, c) -> {
+            }, CacheOps.Flags.DEFAULT).join();
+        }
+
+        assertEquals(3, provided.snapshot().loadSuccessCount());
+        assertEquals(1, provided.snapshot().hitCount());
+        Timer latency = registry.get("cache.load.latency").tags("cache", cacheName, "result", "success").timer();
+        assertEquals(3, latency.count());
+        assertEquals(3, latency.takeSnapshot().percentileValues().length);
+        assertEquals(3, registry.get("cache.load").tags("cache", cacheName, "result", "success").functionCounter().count());
+    }
+}
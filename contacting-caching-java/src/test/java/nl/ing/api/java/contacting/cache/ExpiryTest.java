@@ -0,0 +1,99 @@
+package nl.ing.api.java.contacting.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.ing.api.java.contacting.cache.CacheTestSupport.ReloadableCache;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.core.ContactingCacheMeterRegistry;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import nl.ing.api.java.contacting.caching.util.Expiries;
+import nl.ing.api.java.contacting.caching.util.RemovalListener;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiryTest {
+
+    @Test
+    void expireAfter_shouldRemoveEntriesAtTheMomentTheirValueDeclaresWithoutAccess() throws InterruptedException {
+        String cacheName = "variableExpiryCache";
+        ContactingCache variable = new ReloadableCache("caching." + cacheName + " { refresh-duration = 1h }");
+        variable.expireAfter(cacheName, Expiries.<String, Optional<Instant>>byValue(Function.identity()));
+        Map<String, RemovalCause> removed = new ConcurrentHashMap<>();
+        CountDownLatch expired = new CountDownLatch(1);
+        RemovalListener.RemovalListenerFunc<String, Optional<Instant>> listener = (key, value, cause) -> {
+            removed.put(key, cause);
+            expired.countDown();
+        };
+
+        variable.fromCacheableSyncFunction(cacheName, "short",
+                k -> Optional.of(Instant.now().plusMillis(100)), listener, CacheOps.Flags.DEFAULT);
+        variable.fromCacheableSyncFunction(cacheName, "open", k -> Optional.empty(), listener, CacheOps.Flags.DEFAULT);
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertEquals(Map.of("short", RemovalCause.EXPIRED), removed);
+        AtomicInteger loads = new AtomicInteger();
+        variable.fromCacheableSyncFunction(cacheName, "open",
+                k -> Optional.of(Instant.now().plusSeconds(loads.incrementAndGet())), listener, CacheOps.Flags.DEFAULT);
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void expireAfter_shouldNotOutliveExpireDuration() throws InterruptedException {
+        String cacheName = "cappedExpiryCache";
+        ContactingCache capped = new ReloadableCache(
+                "caching." + cacheName + " { refresh-duration = 1h, expire-duration = 100ms }");
+        capped.expireAfter(cacheName, Expiries.<String, Optional<Instant>>byValue(Function.identity()));
+        CountDownLatch expired = new CountDownLatch(1);
+        RemovalListener.RemovalListenerFunc<String, Optional<Instant>> listener = (key, value, cause) -> {
+            if (cause == RemovalCause.EXPIRED) {
+                expired.countDown();
+            }
+        };
+
+        capped.fromCacheableSyncFunction(cacheName, "long",
+                k -> Optional.of(Instant.now().plus(Duration.ofDays(1))), listener, CacheOps.Flags.DEFAULT);
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void scheduledCleanup_shouldReleaseExpiredValuesWithoutFurtherAccess() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        String cacheName = "idleAccountCache";
+        ContactingCache idle = new ReloadableCache(
+                "caching." + cacheName + " { refresh-duration = 1h, expire-duration = 200ms }");
+        WeakReference<List<byte[]>> released = loadLargeValue(idle, cacheName);
+        assertEquals(1, registry.get("cache.retained.entries").tag("cache", cacheName).gauge().value());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline && released.get() != null) {
+            System.gc();
+            Thread.sleep(50);
+        }
+
+        assertTrue(released.get() == null, "expired value is still referenced");
+        assertEquals(0, registry.get("cache.retained.entries").tag("cache", cacheName).gauge().value());
+        assertTrue(registry.get("cache.cleanup.age").tag("cache", cacheName).timeGauge().value(TimeUnit.SECONDS) < 5);
+    }
+
+    private static WeakReference<List<byte[]>> loadLargeValue(ContactingCache cache, String cacheName) {
+        List<byte[]> value = cache.fromCacheableSyncFunction(cacheName, "account-1",
+                k -> List.of(new byte[4 * 1024 * 1024]), RemovalListener.noopRemovalListener(), CacheOps.Flags.DEFAULT);
+        return new WeakReference<>(value);
+    }
+}
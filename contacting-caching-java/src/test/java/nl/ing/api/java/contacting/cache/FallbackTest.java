@@ -0,0 +1,108 @@
+package nl.ing.api.java.contacting.cache;
+
+import nl.ing.api.java.contacting.cache.CacheTestSupport.ReloadableCache;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FallbackTest {
+
+    private final ContactingCache cache = new ReloadableCache("");
+
+    @AfterEach
+    void tearDown() {
+        cache.clearCache("testCache");
+    }
+
+    @Test
+    void fallBack_shouldReturnValueAndCacheIt() {
+
+        final int[] count = {0};
+        Function<String, String> loader = k -> {
+            count[0]++;
+            if (count[0] == 1) return "first";
+            throw new RuntimeException("fail");
+        };
+
+        String val1 = cache.fallBack("testCache", "key", loader, (k, v, c) -> {
+        });
+
+        assertEquals("first", val1);
+        String val2 = cache.fallBack("testCache", "key", loader, (k, v, c) -> {
+        });
+        assertEquals("first", val2); // fallback to cached value
+
+    }
+
+    @Test
+    void fallBackAsyncF_shouldReturnAsyncValueAndFallback() throws ExecutionException, InterruptedException {
+
+        final int[] count = {0};
+
+        Function<String, CompletableFuture<String>> loader = k -> {
+            count[0]++;
+            if (count[0] == 1) return CompletableFuture.completedFuture("first");
+            CompletableFuture<String> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new RuntimeException("fail"));
+            return failed;
+
+        };
+
+        CompletableFuture<String> val1 = cache.fallBackAsyncF("testCache", "key", loader, (k, v, c) -> {
+        });
+        assertEquals("first", val1.get());
+        CompletableFuture<String> val2 = cache.fallBackAsyncF("testCache", "key", loader, (k, v, c) -> {
+        });
+        assertEquals("first", val2.get()); // fallback cached
+
+    }
+
+    @Test
+    void fallBackAsyncF_shouldNotParkTheThreadCompletingTheFailedLoad() throws Exception {
+        CompletableFuture<String> failedLoad = new CompletableFuture<>();
+        CompletableFuture<String> cachedLoad = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, CompletableFuture<String>> loader = k -> calls.incrementAndGet() == 1 ? failedLoad : cachedLoad;
+
+        CompletableFuture<String> result = cache.fallBackAsyncF("nonBlockingFallbackCache", "key", loader, (k, v, c) -> {
+        });
+        Thread completer = new Thread(() -> failedLoad.completeExceptionally(new RuntimeException("backend down")),
+                "db-callback");
+        completer.start();
+        completer.join(1000);
+
+        assertFalse(completer.isAlive(), "thread completing the failed load is parked in the fallback");
+        assertFalse(result.isDone());
+        cachedLoad.complete("cached");
+        assertEquals("cached", result.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void fallBackAsyncF_shouldFailWithLoadErrorPastFallbackDeadline() {
+        ContactingCache bounded = new ReloadableCache(
+                "caching.deadlineFallbackCache { refresh-duration = 1h, fallback-deadline = 100ms }");
+        RuntimeException backendDown = new RuntimeException("backend down");
+        AtomicInteger calls = new AtomicInteger();
+        Function<String, CompletableFuture<String>> loader = k -> calls.incrementAndGet() == 1
+                ? CompletableFuture.failedFuture(backendDown)
+                : new CompletableFuture<>();
+
+        CompletableFuture<String> result = bounded.fallBackAsyncF("deadlineFallbackCache", "key", loader, (k, v, c) -> {
+        });
+
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> result.get(5, TimeUnit.SECONDS));
+        assertEquals(backendDown, failure.getCause());
+        assertEquals(2, calls.get());
+    }
+}
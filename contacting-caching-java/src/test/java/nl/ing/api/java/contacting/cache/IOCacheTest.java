@@ -7,11 +7,17 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class IOCacheTest {
 
@@ -153,6 +159,19 @@ class IOCacheTest {
         assertEquals(5, counter);
     }
 
+    @Test
+    @DisplayName("fail a fallback without cached value with a RuntimeException around the loader error")
+    void testFallbackCacheMiss() {
+        Cache<String, Integer> cache = createCache(5, Duration.ofSeconds(1));
+        IllegalStateException loadError = new IllegalStateException("service down");
+
+        CompletableFuture<Integer> result = CacheOps.fallBack("123", key -> CompletableFuture.failedFuture(loadError), cache);
+
+        ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+        assertEquals(RuntimeException.class, thrown.getCause().getClass());
+        assertSame(loadError, thrown.getCause().getCause());
+    }
+
     @Test
     @DisplayName("skip the cache")
     void testSkipTheCache() throws ExecutionException, InterruptedException {
@@ -179,4 +198,25 @@ class IOCacheTest {
         assertEquals(3, memoized.apply("123").get());
         assertEquals(6, counter);
     }
+
+    @Test
+    @DisplayName("load all misses with one call")
+    void testLoadAllMissesWithOneCall() throws ExecutionException, InterruptedException {
+        counter = 0;
+        Cache<String, Integer> cache = createCache(5, Duration.ofSeconds(1));
+
+        Function<Set<? extends String>, CompletableFuture<Map<String, Integer>>> service = keys -> {
+            counter++;
+            return CompletableFuture.completedFuture(keys.stream().collect(Collectors.toMap(k -> k, String::length)));
+        };
+
+        assertEquals(Map.of("1", 1, "12", 2), CacheOps.fromCacheAll(List.of("1", "12"), service, cache, CacheOps.Flags.DEFAULT).get());
+        assertEquals(Map.of("1", 1, "12", 2, "123", 3),
+                CacheOps.fromCacheAll(List.of("1", "12", "123"), service, cache, CacheOps.Flags.DEFAULT).get());
+        assertEquals(Map.of("1", 1, "123", 3), CacheOps.fromCacheAll(List.of("1", "123"), service, cache, CacheOps.Flags.DEFAULT).get());
+        assertEquals(2, counter);
+
+        CacheOps.fromCacheAll(List.of("1", "12"), service, cache, CacheOps.Flags.SKIP_CACHE).get();
+        assertEquals(3, counter);
+    }
 }
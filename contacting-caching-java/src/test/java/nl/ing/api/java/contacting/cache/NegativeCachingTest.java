@@ -0,0 +1,126 @@
+package nl.ing.api.java.contacting.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.ing.api.java.contacting.cache.CacheTestSupport.ReloadableCache;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.core.ContactingCacheMeterRegistry;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import nl.ing.api.java.contacting.caching.util.Expiries;
+import nl.ing.api.java.contacting.caching.util.RemovalListener;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NegativeCachingTest {
+
+    @Test
+    void negativeTtl_shouldCacheNotFoundResultsShorterThanFoundOnes() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        String cacheName = "negativeSyncCache";
+        ContactingCache negative = new ReloadableCache(
+                "caching." + cacheName + " { refresh-duration = 1h, expire-duration = 1h, negative-ttl = 200ms }");
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, Optional<String>> loader = k -> {
+            loads.incrementAndGet();
+            return k.startsWith("missing") ? Optional.empty() : Optional.of("value-" + k);
+        };
+        Function<String, String> nullLoader = k -> {
+            loads.incrementAndGet();
+            return null;
+        };
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Optional.empty(), negative.fromCacheableSyncFunction(cacheName, "missing", loader,
+                    RemovalListener.noopRemovalListener(), CacheOps.Flags.DEFAULT));
+            assertEquals(Optional.of("value-present"), negative.fromCacheableSyncFunction(cacheName, "present", loader,
+                    RemovalListener.noopRemovalListener(), CacheOps.Flags.DEFAULT));
+            assertEquals(null, negative.<String, String>fromCacheableSyncFunction(cacheName, "null", nullLoader,
+                    RemovalListener.noopRemovalListener(), CacheOps.Flags.DEFAULT));
+        }
+        assertEquals(3, loads.get());
+        assertEquals(4, registry.get("cache.negative.hits").tag("cache", cacheName).functionCounter().count());
+
+        Thread.sleep(300);
+        negative.fromCacheableSyncFunction(cacheName, "missing", loader, RemovalListener.noopRemovalListener(),
+                CacheOps.Flags.DEFAULT);
+        negative.fromCacheableSyncFunction(cacheName, "present", loader, RemovalListener.noopRemovalListener(),
+                CacheOps.Flags.DEFAULT);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void negativeTtl_async_shouldCacheNullResults() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        String cacheName = "negativeAsyncCache";
+        ContactingCache negative = new ReloadableCache(
+                "caching." + cacheName + " { refresh-duration = 1h, negative-ttl = 1h }");
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, CompletableFuture<String>> loader = k -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        };
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(null, negative.fromCacheableFunction(cacheName, 42L, loader, (k, v, c) -> {
+            }, CacheOps.Flags.DEFAULT).get());
+        }
+        Map<Long, String> all = negative.<Long, String>getAllF(cacheName, List.of(42L),
+                keys -> CompletableFuture.completedFuture(Map.of()), CacheOps.Flags.DEFAULT).get();
+
+        assertEquals(1, loads.get());
+        assertEquals(2, registry.get("cache.negative.hits").tag("cache", cacheName).functionCounter().count());
+        assertTrue(all.isEmpty());
+    }
+
+    @Test
+    void negativeTtl_shouldKeepNullLoadsAwayFromRegisteredExpiryAndWeigher() throws InterruptedException {
+        String cacheName = "negativeVariableExpiryCache";
+        ContactingCache negative = new ReloadableCache("caching." + cacheName + " { refresh-duration = 1h, "
+                + "expire-duration = 1h, negative-ttl = 200ms, max-weight = 100, weigher = \""
+                + InstantWeigher.class.getName() + "\" }");
+        negative.expireAfter(cacheName, Expiries.<String, Instant>byValue(Optional::of));
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, Instant> loader = k -> {
+            loads.incrementAndGet();
+            return k.equals("missing") ? null : Instant.now().plusSeconds(3600);
+        };
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(null, negative.fromCacheableSyncFunction(cacheName, "missing", loader,
+                    RemovalListener.noopRemovalListener(), CacheOps.Flags.DEFAULT));
+            negative.fromCacheableSyncFunction(cacheName, "present", loader, RemovalListener.noopRemovalListener(),
+                    CacheOps.Flags.DEFAULT);
+        }
+        assertEquals(2, loads.get());
+
+        Thread.sleep(300);
+        assertEquals(null, negative.fromCacheableSyncFunction(cacheName, "missing", loader,
+                RemovalListener.noopRemovalListener(), CacheOps.Flags.DEFAULT));
+        negative.fromCacheableSyncFunction(cacheName, "present", loader, RemovalListener.noopRemovalListener(),
+                CacheOps.Flags.DEFAULT);
+        assertEquals(3, loads.get());
+    }
+
+    /**
+     * Weigher that, like most custom weighers, only knows the value type of its cache.
+     */
+    public static class InstantWeigher implements Weigher<Object, Object> {
+
+        @Override
+        public int weigh(Object key, Object value) {
+            return ((Instant) value).getNano() % 10 + 1;
+        }
+    }
+}
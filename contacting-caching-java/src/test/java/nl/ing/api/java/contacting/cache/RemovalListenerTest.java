@@ -0,0 +1,115 @@
+package nl.ing.api.java.contacting.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.ing.api.java.contacting.cache.CacheTestSupport.ReloadableCache;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.core.ContactingCacheMeterRegistry;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import nl.ing.api.java.contacting.caching.util.RemovalListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static nl.ing.api.java.contacting.cache.CacheTestSupport.awaitQuietly;
+import static nl.ing.api.java.contacting.cache.CacheTestSupport.removals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RemovalListenerTest {
+
+    @Test
+    void removalCounters_shouldCountRemovalsByCause() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        String cacheName = "removalCauseCache";
+        ContactingCache counted = new ReloadableCache("caching." + cacheName + " { refresh-duration = 1h, max-size = 2 }");
+
+        for (int i = 0; i < 5; i++) {
+            counted.fromCacheableSyncFunction(cacheName, i, k -> "value-" + k, RemovalListener.noopRemovalListener(),
+                    CacheOps.Flags.DEFAULT);
+        }
+        counted.invalidateCache(cacheName, Optional.empty());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline
+                && removals(registry, cacheName, "size") + removals(registry, cacheName, "explicit") < 5) {
+            Thread.sleep(10);
+        }
+        // the size bound evicts lazily, whatever it has not evicted yet is removed by the invalidation
+        assertEquals(5, removals(registry, cacheName, "size") + removals(registry, cacheName, "explicit"));
+        assertTrue(removals(registry, cacheName, "explicit") >= 2);
+        assertEquals(0, removals(registry, cacheName, "expired"));
+    }
+
+    @Test
+    void batchedRemovalListener_shouldDeliverRemovalsOffTheCallerThread() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        String cacheName = "batchedRemovalCache";
+        ContactingCache batched = new ReloadableCache(
+                "caching." + cacheName + " { refresh-duration = 1h, removal-listener { batched = true, batch-size = 8 } }");
+        Set<String> listenerThreads = ConcurrentHashMap.newKeySet();
+        CountDownLatch removed = new CountDownLatch(50);
+        RemovalListener.RemovalListenerFunc<Integer, String> listener = (key, value, cause) -> {
+            listenerThreads.add(Thread.currentThread().getName());
+            removed.countDown();
+        };
+
+        for (int i = 0; i < 50; i++) {
+            batched.fromCacheableSyncFunction(cacheName, i, k -> "value-" + k, listener, CacheOps.Flags.DEFAULT);
+        }
+        batched.invalidateCache(cacheName, Optional.empty());
+
+        assertTrue(removed.await(5, TimeUnit.SECONDS));
+        assertTrue(listenerThreads.stream().noneMatch(name -> name.equals(Thread.currentThread().getName())));
+        assertEquals(50, removals(registry, cacheName, "explicit"));
+        assertEquals(0, registry.get("cache.removal.backlog").tag("cache", cacheName).gauge().value());
+    }
+
+    @Test
+    void batchedRemovalListener_shouldDeliverOnTheCallerWhenTheExecutorIsSaturated() throws InterruptedException {
+        String cacheName = "saturatedRemovalCache";
+        ContactingCache batched = new ReloadableCache("caching." + cacheName + " { refresh-duration = 50ms, "
+                + "serve-stale = true, custom-executor = true, executor { threads = 1, queue-size = 1 }, "
+                + "removal-listener { batched = true, batch-size = 8 } }");
+        CountDownLatch refreshing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch removed = new CountDownLatch(1);
+        CacheHandle<String, String> handle = batched.handle(cacheName, k -> {
+            if (loads.incrementAndGet() > 3) {
+                refreshing.countDown();
+                awaitQuietly(release);
+            }
+            return "value-" + k;
+        }, (key, value, cause) -> {
+            if (key.equals("evicted") && cause == RemovalCause.EXPLICIT) {
+                removed.countDown();
+            }
+        });
+        for (String key : List.of("blocking", "queued", "evicted")) {
+            handle.get(key);
+        }
+        Thread.sleep(100);
+
+        try {
+            // the refresh of the first key holds the only thread, the refresh of the second fills the queue
+            handle.get("blocking");
+            assertTrue(refreshing.await(5, TimeUnit.SECONDS));
+            handle.get("queued");
+            batched.invalidateCache(cacheName, Optional.of("evicted"));
+
+            assertTrue(removed.await(1, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+}
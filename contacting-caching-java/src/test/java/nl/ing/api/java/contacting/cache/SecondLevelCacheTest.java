@@ -0,0 +1,175 @@
+package nl.ing.api.java.contacting.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.ing.api.java.contacting.cache.CacheTestSupport.MapSecondLevelCache;
+import nl.ing.api.java.contacting.cache.CacheTestSupport.ReloadableCache;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.core.ContactingCacheMeterRegistry;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static nl.ing.api.java.contacting.cache.CacheTestSupport.awaitValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SecondLevelCacheTest {
+
+    @Test
+    void secondLevel_shouldShareLoadedValuesBetweenNodes() {
+        MapSecondLevelCache shared = new MapSecondLevelCache();
+        String config = "caching.sharedCache { refresh-duration = 1h, second-level = true }";
+        ContactingCache node1 = new ReloadableCache(config);
+        ContactingCache node2 = new ReloadableCache(config);
+        node1.useSecondLevelCache(shared);
+        node2.useSecondLevelCache(shared);
+        String cacheName = "sharedCache";
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, String> loader = k -> "value-" + loads.incrementAndGet();
+
+        assertEquals("value-1", node1.fromCacheableSyncFunction(cacheName, "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+        assertEquals("value-1", node2.fromCacheableSyncFunction(cacheName, "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+        assertEquals("value-1", node2.fromCacheableSyncFunction(cacheName, "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+
+        assertEquals(1, loads.get());
+
+        node1.invalidateCache(cacheName, Optional.of("key"));
+        assertEquals("value-2", node1.fromCacheableSyncFunction(cacheName, "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+        assertEquals("value-3", node2.fromCacheableSyncFunction(cacheName, "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.SKIP_CACHE));
+        assertEquals("value-3", shared.get(cacheName, "key"));
+    }
+
+    @Test
+    void secondLevel_shouldCountLocalHitsSharedHitsAndLoads() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        MapSecondLevelCache shared = new MapSecondLevelCache();
+        String cacheName = "countedSharedCache";
+        ContactingCache node = new ReloadableCache("caching." + cacheName + " { refresh-duration = 1h, second-level = true }");
+        node.useSecondLevelCache(shared);
+        shared.put(cacheName, "shared", "value", Duration.ofHours(1));
+
+        for (String key : List.of("shared", "shared", "other")) {
+            node.fromCacheableSyncFunction(cacheName, key, k -> "loaded", (k, v, c) -> {
+            }, CacheOps.Flags.DEFAULT);
+        }
+
+        assertEquals(1, registry.get("cache.tier.hits").tags("cache", cacheName, "tier", "l1").functionCounter().count());
+        assertEquals(1, registry.get("cache.tier.hits").tags("cache", cacheName, "tier", "l2").functionCounter().count());
+        assertEquals(1, registry.get("cache.tier.loads").tag("cache", cacheName).functionCounter().count());
+    }
+
+    @Test
+    void secondLevel_async_shouldReadSharedValueBeforeLoader() throws Exception {
+        MapSecondLevelCache shared = new MapSecondLevelCache();
+        ContactingCache node = new ReloadableCache("caching.sharedAsyncCache { refresh-duration = 1h, second-level = true }");
+        node.useSecondLevelCache(shared);
+        shared.put("sharedAsyncCache", "key", "shared", Duration.ofHours(1));
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, CompletableFuture<String>> loader =
+                k -> CompletableFuture.completedFuture("loaded-" + loads.incrementAndGet());
+
+        assertEquals("shared", node.fromCacheableFunction("sharedAsyncCache", "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT).get());
+        assertEquals("loaded-1", node.fromCacheableFunction("sharedAsyncCache", "other", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT).get());
+        assertEquals("loaded-1", shared.get("sharedAsyncCache", "other"));
+    }
+
+    @Test
+    void secondLevel_async_refreshShouldCallLoaderAndShareItsValue() throws Exception {
+        MapSecondLevelCache shared = new MapSecondLevelCache();
+        String cacheName = "refreshedSharedAsyncCache";
+        ContactingCache node = new ReloadableCache("caching." + cacheName + " { refresh-duration = 50ms, second-level = true }");
+        node.useSecondLevelCache(shared);
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, CompletableFuture<String>> loader =
+                k -> CompletableFuture.completedFuture("loaded-" + Math.min(loads.incrementAndGet(), 2));
+
+        assertEquals("loaded-1", node.fromCacheableFunction(cacheName, "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT).get());
+        // the shared copy is as old as the local one, a refresh must not take it
+        shared.put(cacheName, "key", "shared", Duration.ofHours(1));
+        Thread.sleep(100);
+        node.fromCacheableFunction(cacheName, "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT).get();
+
+        assertEquals("loaded-2", awaitValue(() -> node.fromCacheableFunction(cacheName, "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT).join(), "loaded-2"));
+        assertEquals("loaded-2", shared.get(cacheName, "key"));
+    }
+
+    @Test
+    void secondLevel_serveStale_refreshShouldShareItsValue() throws Exception {
+        MapSecondLevelCache shared = new MapSecondLevelCache();
+        String cacheName = "staleSharedCache";
+        ContactingCache node = new ReloadableCache("caching." + cacheName
+                + " { refresh-duration = 50ms, expire-duration = 1h, serve-stale = true, second-level = true }");
+        node.useSecondLevelCache(shared);
+        AtomicInteger loads = new AtomicInteger();
+        CacheHandle<String, String> handle = node.handle(cacheName, k -> "loaded-" + Math.min(loads.incrementAndGet(), 2));
+
+        assertEquals("loaded-1", handle.get("key"));
+        shared.put(cacheName, "key", "shared", Duration.ofHours(1));
+        Thread.sleep(100);
+        handle.get("key");
+
+        assertEquals("loaded-2", awaitValue(() -> handle.get("key"), "loaded-2"));
+        assertEquals("loaded-2", shared.get(cacheName, "key"));
+    }
+
+    @Test
+    void secondLevel_shouldKeepValuesTheTierCannotStoreLocal() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        AtomicInteger puts = new AtomicInteger();
+        String cacheName = "unshareableCache";
+        ContactingCache node = new ReloadableCache("caching." + cacheName + " { refresh-duration = 1h, second-level = true }");
+        node.useSecondLevelCache(new MapSecondLevelCache() {
+            @Override
+            public void put(String cacheName, Object key, Object value, Duration timeToLive) {
+                puts.incrementAndGet();
+                super.put(cacheName, key, value, timeToLive);
+            }
+        });
+        Function<String, Object> loader = k -> new Object();
+
+        node.fromCacheableSyncFunction(cacheName, "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT);
+        node.fromCacheableSyncFunction(cacheName, "list", k -> List.of(new Object()), (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT);
+        node.fromCacheableSyncFunction(cacheName, "string", k -> "shareable", (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT);
+
+        assertEquals(1, puts.get());
+        assertEquals(0, registry.get("cache.tier.errors").tag("cache", cacheName).functionCounter().count());
+    }
+
+    @Test
+    void secondLevel_failing_shouldFallBackToLoader() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        ContactingCache node = new ReloadableCache("caching.brokenSharedCache { refresh-duration = 1h, second-level = true }");
+        node.useSecondLevelCache(new MapSecondLevelCache() {
+            @Override
+            public Object get(String cacheName, Object key) {
+                throw new IllegalStateException("cluster unreachable");
+            }
+        });
+
+        assertEquals("loaded", node.fromCacheableSyncFunction("brokenSharedCache", "key", k -> "loaded", (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+        assertEquals(1, registry.get("cache.tier.errors").tag("cache", "brokenSharedCache").functionCounter().count());
+    }
+}
@@ -0,0 +1,137 @@
+package nl.ing.api.java.contacting.cache;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.core.ContactingCacheMeterRegistry;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static nl.ing.api.java.contacting.cache.CacheTestSupport.awaitQuietly;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServeStaleTest {
+
+    @Test
+    void handle_serveStale_shouldReturnStaleValueAndRefreshInBackground() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContactingCacheMeterRegistry.add(registry);
+        ContactingCache staleCache = new StaleCache();
+        String cacheName = "staleCache";
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CacheHandle<String, String> handle = staleCache.handle(cacheName, k -> {
+            int load = loads.incrementAndGet();
+            if (load > 1) {
+                // keep the background refresh pending while the stale read returns
+                awaitQuietly(release);
+            }
+            return "v" + load;
+        });
+
+        assertEquals("v1", handle.get("key"));
+        Thread.sleep(150);
+        assertEquals("v1", handle.get("key"));
+        release.countDown();
+
+        String value;
+        do {
+            value = handle.get("key");
+        } while (!"v2".equals(value));
+        assertEquals(2, loads.get());
+        // reads racing the completing refresh are served stale as well
+        assertTrue(registry.get("cache.stale.serves").tag("cache", cacheName).functionCounter().count() >= 1);
+        assertEquals(1, registry.get("cache.stale.refreshes").tag("cache", cacheName).functionCounter().count());
+        staleCache.clearCache(cacheName);
+    }
+
+    @Test
+    void fromCacheableSyncFunction_serveStale_shouldNotRefreshWithTheLoaderOfAnotherCall() throws InterruptedException {
+        ContactingCache staleCache = new StaleCache();
+        String cacheName = "staleCache";
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("a1", staleCache.fromCacheableSyncFunction(cacheName, "a", k -> "a" + loads.incrementAndGet(),
+                (k, v, c) -> {
+                }, CacheOps.Flags.DEFAULT));
+        assertEquals("b2", staleCache.fromCacheableSyncFunction(cacheName, "b", k -> "b" + loads.incrementAndGet(),
+                (k, v, c) -> {
+                }, CacheOps.Flags.DEFAULT));
+        Thread.sleep(150);
+
+        // without a handle the stale entry is dropped and loaded by the caller, never by the loader of "b"
+        String value = staleCache.fromCacheableSyncFunction(cacheName, "a", k -> "a" + loads.incrementAndGet(),
+                (k, v, c) -> {
+                }, CacheOps.Flags.DEFAULT);
+        while ("a1".equals(value)) {
+            value = staleCache.fromCacheableSyncFunction(cacheName, "a", k -> "a" + loads.incrementAndGet(),
+                    (k, v, c) -> {
+                    }, CacheOps.Flags.DEFAULT);
+        }
+        assertEquals("a3", value);
+        staleCache.clearCache(cacheName);
+    }
+
+    @Test
+    void fromCacheableSyncFunction_serveStale_shouldLoadOnCallerPastMaxStaleness() throws InterruptedException {
+        ContactingCache staleCache = new StaleCache();
+        String cacheName = "staleCache";
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, String> loader = k -> "v" + loads.incrementAndGet();
+
+        assertEquals("v1", staleCache.fromCacheableSyncFunction(cacheName, "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+        Thread.sleep(600);
+        assertEquals("v2", staleCache.fromCacheableSyncFunction(cacheName, "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT));
+        staleCache.clearCache(cacheName);
+    }
+
+    @Test
+    void fromCacheableFunction_serveStale_shouldReturnStaleValueAndRefreshInBackground() throws Exception {
+        ContactingCache staleCache = new StaleCache();
+        String cacheName = "staleAsyncCache";
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        Function<String, CompletableFuture<String>> loader = k -> {
+            int load = loads.incrementAndGet();
+            return load == 1 ? CompletableFuture.completedFuture("v1") : release.thenApply(ignored -> "v" + load);
+        };
+
+        assertEquals("v1", staleCache.fromCacheableFunction(cacheName, "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT).get());
+        Thread.sleep(150);
+        assertEquals("v1", staleCache.fromCacheableFunction(cacheName, "key", loader, (k, v, c) -> {
+        }, CacheOps.Flags.DEFAULT).get());
+        release.complete(null);
+
+        String value;
+        do {
+            value = staleCache.fromCacheableFunction(cacheName, "key", loader, (k, v, c) -> {
+            }, CacheOps.Flags.DEFAULT).get();
+        } while (!"v2".equals(value));
+        assertEquals(2, loads.get());
+        staleCache.clearCache(cacheName);
+    }
+
+    static class StaleCache extends ContactingCache {
+
+        @Override
+        public Config config() {
+            return ConfigFactory.parseString("""
+                    caching {
+                      staleCache { refresh-duration = 100ms, expire-duration = 1h, serve-stale = true, max-staleness = 400ms }
+                      staleAsyncCache { refresh-duration = 100ms, expire-duration = 1h, serve-stale = true }
+                    }
+                    """);
+        }
+    }
+}
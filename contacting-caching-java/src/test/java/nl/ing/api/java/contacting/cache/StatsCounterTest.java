@@ -0,0 +1,127 @@
+package nl.ing.api.java.contacting.cache;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import nl.ing.api.java.contacting.caching.metrics.DefaultCacheMetricsStatsCounter;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import nl.ing.api.java.contacting.caching.metrics.ConfigBasedStatsCounter;
+import nl.ing.api.java.contacting.caching.metrics.SharedGraphiteReporter;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatsCounterTest {
+
+    @Test
+    void defaultCacheMetricsStatsCounter_shouldCountEvictionWeightAndTotalLoadTime() {
+        MetricRegistry registry = new MetricRegistry();
+        DefaultCacheMetricsStatsCounter counter = new DefaultCacheMetricsStatsCounter("test", registry);
+
+        counter.recordLoadSuccess(1_000);
+        counter.recordLoadFailure(500);
+        counter.recordEviction(7, RemovalCause.SIZE);
+        counter.recordEviction(3, RemovalCause.SIZE);
+
+        CacheStats stats = counter.snapshot();
+        assertEquals(1_500, stats.totalLoadTime());
+        assertEquals(2, stats.evictionCount());
+        assertEquals(10, stats.evictionWeight());
+        assertEquals(10, registry.meter("test.evictions-weight").getCount());
+    }
+
+    @Test
+    void configBasedStatsCounters_shouldShareOneReporterSendingAllCachesPerConnection() throws Exception {
+        try (GraphiteStandIn graphite = new GraphiteStandIn()) {
+            Config config = ConfigFactory.parseString("""
+                    graphite { prefix = "contacting", host = "localhost", port = %d }
+                    cacheA { metrics-enabled = true, metrics-interval = 100ms }
+                    cacheB { metrics-enabled = true, metrics-interval = 100ms }
+                    """.formatted(graphite.port()));
+            try {
+                new ConfigBasedStatsCounter(config, "cacheA").statsCounter().recordHits(3);
+                new ConfigBasedStatsCounter(config, "cacheB").statsCounter().recordMisses(2);
+
+                assertEquals(1, reporterThreads());
+                List<String> report = graphite.awaitConnection(lines ->
+                        lines.stream().anyMatch(line -> line.contains(".cacheA.hits.count 3"))
+                                && lines.stream().anyMatch(line -> line.contains(".cacheB.misses.count 2")));
+                assertTrue(report.stream().allMatch(line -> line.startsWith("contacting.")));
+            } finally {
+                SharedGraphiteReporter.stop();
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (reporterThreads() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, reporterThreads());
+        }
+    }
+
+    private static long reporterThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("cache-metrics-reporter") && thread.isAlive())
+                .count();
+    }
+
+    /**
+     * Plain text Graphite server on a local port, keeping the lines received per connection.
+     */
+    static final class GraphiteStandIn implements AutoCloseable {
+
+        private final ServerSocket server = new ServerSocket(0);
+        private final List<List<String>> connections = new CopyOnWriteArrayList<>();
+        private final Thread acceptor = new Thread(this::accept, "graphite-stand-in");
+
+        GraphiteStandIn() throws IOException {
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        List<String> awaitConnection(java.util.function.Predicate<List<String>> complete) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (System.nanoTime() < deadline) {
+                for (List<String> lines : connections) {
+                    if (complete.test(lines)) {
+                        return lines;
+                    }
+                }
+                Thread.sleep(20);
+            }
+            throw new AssertionError("No report with the expected metrics, received " + connections);
+        }
+
+        private void accept() {
+            while (!server.isClosed()) {
+                try (Socket socket = server.accept();
+                     BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                    List<String> lines = reader.lines().toList();
+                    connections.add(lines);
+                } catch (IOException e) {
+                    // closed
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+        }
+    }
+}
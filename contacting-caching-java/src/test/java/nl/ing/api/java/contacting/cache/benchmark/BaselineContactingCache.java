@@ -0,0 +1,115 @@
+package nl.ing.api.java.contacting.cache.benchmark;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import nl.ing.api.java.contacting.caching.core.ConfigProvider;
+import nl.ing.api.java.contacting.caching.core.ContactingCacheExecutor;
+import nl.ing.api.java.contacting.caching.core.ContactingCacheMeterRegistry;
+import nl.ing.api.java.contacting.caching.models.CacheConfig;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import nl.ing.api.java.contacting.caching.util.RemovalListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Copy of the synchronous {@code ContactingCache} path as it was before the registry became lock free, so
+ * {@link CacheRegistryBenchmark} can compare both registry lookups with everything else on the hit path equal.
+ * <p>
+ * {@code lockFree} selects the lookup: the former {@code synchronized (caches)} block, or a plain
+ * {@link ConcurrentMap#get} falling back to {@link ConcurrentMap#computeIfAbsent} as {@code ContactingCache} does now.
+ */
+abstract class BaselineContactingCache implements ConfigProvider {
+
+    private static final CacheConfig DEFAULT_CONFIG =
+            new CacheConfig("api-cache", Duration.ofSeconds(1), Duration.ofMillis(Long.MAX_VALUE), 1000, false);
+
+    private final ConcurrentMap<String, CacheConfig> configs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LoadingCache<Object, Object>> caches = new ConcurrentHashMap<>();
+    private final boolean lockFree;
+
+    BaselineContactingCache(boolean lockFree) {
+        this.lockFree = lockFree;
+    }
+
+    public <K, V> V fromCacheableSyncFunction(String cacheName, K key,
+                                              Function<K, V> loader,
+                                              RemovalListener.RemovalListenerFunc<K, V> removalListener,
+                                              CacheOps.Flags flags) {
+        LoadingCache<K, V> cache = getOrCreateSyncCache(cacheName, removalListener);
+        if (!flags.skipCache()) {
+            return cache.get(key, loader::apply);
+        } else {
+            V value = loader.apply(key);
+            cache.put(key, value);
+            return value;
+        }
+    }
+
+    private <K, V> LoadingCache<K, V> getOrCreateSyncCache(String cacheName,
+                                                           RemovalListener.RemovalListenerFunc<K, V> removalListener) {
+        CacheLoader<K, V> loader = new CacheLoader<K, V>() {
+            @Override
+            public V load(K key) { return null; }
+        };
+        return lockFree
+                ? getOrCreateLockFree(cacheName, loader, removalListener)
+                : getOrCreateSynchronized(cacheName, loader, removalListener);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> LoadingCache<K, V> getOrCreateSynchronized(String cacheName,
+                                                              CacheLoader<K, V> loader,
+                                                              RemovalListener.RemovalListenerFunc<K, V> removalListener) {
+        synchronized (caches) {
+            LoadingCache<K, V> cache = (LoadingCache<K, V>) caches.get(cacheName);
+            if (cache == null) {
+                LoadingCache<K, V> newCache = buildCache(getCacheConfig(cacheName), removalListener).build(loader);
+                ContactingCacheMeterRegistry.getRegistries()
+                        .forEach(registry -> CaffeineCacheMetrics.monitor(registry, newCache, getCacheConfig(cacheName).name(), new ArrayList<>()));
+                caches.put(cacheName, (LoadingCache<Object, Object>) newCache);
+                cache = newCache;
+            }
+            return cache;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> LoadingCache<K, V> getOrCreateLockFree(String cacheName,
+                                                          CacheLoader<K, V> loader,
+                                                          RemovalListener.RemovalListenerFunc<K, V> removalListener) {
+        LoadingCache<Object, Object> cache = caches.get(cacheName);
+        if (cache == null) {
+            cache = caches.computeIfAbsent(cacheName, name -> {
+                CacheConfig config = getCacheConfig(name);
+                LoadingCache<K, V> newCache = buildCache(config, removalListener).build(loader);
+                ContactingCacheMeterRegistry.getRegistries()
+                        .forEach(registry -> CaffeineCacheMetrics.monitor(registry, newCache, config.name(), new ArrayList<>()));
+                return (LoadingCache<Object, Object>) newCache;
+            });
+        }
+        return (LoadingCache<K, V>) cache;
+    }
+
+    private <K, V> Caffeine<K, V> buildCache(CacheConfig config,
+                                             RemovalListener.RemovalListenerFunc<K, V> removalListener) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(config.expireDuration())
+                .refreshAfterWrite(config.refreshDuration())
+                .maximumSize(config.maximumSize())
+                .removalListener((K key, V value, RemovalCause cause) -> removalListener.onRemoval(key, value, cause))
+                .recordStats()
+                .executor(ContactingCacheExecutor.executor());
+    }
+
+    private CacheConfig getCacheConfig(String cacheName) {
+        return configs.computeIfAbsent(cacheName,
+                k -> CacheConfig.createFromConfig(cacheName, config()).orElse(DEFAULT_CONFIG));
+    }
+}
@@ -0,0 +1,89 @@
+package nl.ing.api.java.contacting.cache.benchmark;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Throughput of cache hits through the lock free registry lookup compared with the former
+ * {@code synchronized (caches)} one. Both run the same {@link BaselineContactingCache} hit path, so the
+ * registry lookup is the only difference between the two benchmarks.
+ * <p>
+ * Run with {@code main} to sweep 1 to 64 threads, e.g. from the IDE or with
+ * {@code mvn -B test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=...CacheRegistryBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheRegistryBenchmark {
+
+    private static final String CACHE_NAME = "benchmark-cache";
+    private static final int KEYS = 1024;
+
+    private final Function<Integer, String> loader = String::valueOf;
+    private final Config config = ConfigFactory.parseString(
+            "caching." + CACHE_NAME + " { refresh-duration = 10m, expire-duration = 10m, max-size = " + KEYS * 2 + " }");
+    private final BaselineContactingCache lockFreeCache = new BaselineContactingCache(true) {
+        @Override
+        public Config config() {
+            return config;
+        }
+    };
+    private final BaselineContactingCache synchronizedCache = new BaselineContactingCache(false) {
+        @Override
+        public Config config() {
+            return config;
+        }
+    };
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < KEYS; i++) {
+            lockFreeCache.fromCacheableSyncFunction(CACHE_NAME, i, loader, (k, v, c) -> {}, CacheOps.Flags.DEFAULT);
+            synchronizedCache.fromCacheableSyncFunction(CACHE_NAME, i, loader, (k, v, c) -> {}, CacheOps.Flags.DEFAULT);
+        }
+    }
+
+    @Benchmark
+    public String lockFreeRegistry() {
+        int key = ThreadLocalRandom.current().nextInt(KEYS);
+        return lockFreeCache.fromCacheableSyncFunction(CACHE_NAME, key, loader, (k, v, c) -> {}, CacheOps.Flags.DEFAULT);
+    }
+
+    @Benchmark
+    public String synchronizedRegistry() {
+        int key = ThreadLocalRandom.current().nextInt(KEYS);
+        return synchronizedCache.fromCacheableSyncFunction(CACHE_NAME, key, loader, (k, v, c) -> {}, CacheOps.Flags.DEFAULT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8, 16, 32, 64}) {
+            Options options = new OptionsBuilder()
+                    .include(CacheRegistryBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -1,33 +1,74 @@
 package nl.ing.api.contacting.conf.configuration;
 
+import com.hazelcast.core.HazelcastInstance;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import lombok.extern.slf4j.Slf4j;
+import nl.ing.api.java.contacting.caching.core.CacheConfigWatcher;
+import nl.ing.api.java.contacting.caching.core.CacheSnapshots;
 import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.io.File;
+import java.io.IOException;
 
 @Configuration
 @Slf4j
-public class CacheConfiguration {
+public class CacheConfiguration implements DisposableBean {
+
+    private static final File CACHE_CONF = new File("cache.conf");
+    private static final String CACHE_DEFAULTS = "cache-defaults.conf";
+    private static final String SNAPSHOT_DIRECTORY = "contacting.cache-snapshot.directory";
 
     private final ContactingCache contactingCache;
+    private volatile Config config;
+    private CacheConfigWatcher watcher;
 
-    public CacheConfiguration() {
+    public CacheConfiguration(ObjectProvider<HazelcastInstance> hazelcastInstance) {
+        config = loadConfig();
         contactingCache = new ContactingCache() {
             @Override
             public Config config() {
-                return ConfigFactory.parseFile(new File("cache.conf"))
-                        .withFallback(ConfigFactory.load());
+                return config;
             }
         };
+        // used by the caches configured with second-level = true
+        contactingCache.useSecondLevelCache(new HazelcastSecondLevelCache(hazelcastInstance));
+        // restored while the context starts, so before the readiness probe reports the node as ready
+        if (config.hasPath(SNAPSHOT_DIRECTORY)) {
+            contactingCache.useSnapshots(CacheSnapshots.fromConfig(config));
+        }
+        try {
+            watcher = CacheConfigWatcher.watch(CACHE_CONF.toPath(), this::reload);
+        } catch (IOException e) {
+            log.warn("Cannot watch {}, cache configuration changes need a restart", CACHE_CONF.getAbsolutePath(), e);
+        }
     }
 
     @Bean
     public ContactingCache contactingCache() {
         return contactingCache;
     }
-}
 
+    @Override
+    public void destroy() throws IOException {
+        contactingCache.writeSnapshots();
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    private void reload() {
+        config = loadConfig();
+        contactingCache.reloadConfig();
+    }
+
+    private static Config loadConfig() {
+        return ConfigFactory.parseFile(CACHE_CONF)
+                .withFallback(ConfigFactory.parseResources(CACHE_DEFAULTS))
+                .withFallback(ConfigFactory.load());
+    }
+}
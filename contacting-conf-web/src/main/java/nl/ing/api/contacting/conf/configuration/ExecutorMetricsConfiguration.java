@@ -0,0 +1,18 @@
+package nl.ing.api.contacting.conf.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import nl.ing.api.contacting.conf.modules.ExecutionContextConfig;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the queue-depth, active, permit and rejected meters of the permit limited datasource executors of
+ * {@link ExecutionContextConfig}.
+ */
+@Configuration
+public class ExecutorMetricsConfiguration {
+
+    public ExecutorMetricsConfiguration(ObjectProvider<MeterRegistry> meterRegistry) {
+        meterRegistry.ifAvailable(ExecutionContextConfig.oracleExecutor()::registerMeters);
+    }
+}
@@ -0,0 +1,54 @@
+package nl.ing.api.contacting.conf.configuration;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import nl.ing.api.java.contacting.caching.core.SecondLevelCache;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Second level of the {@link nl.ing.api.java.contacting.caching.core.ContactingCache}: one Hazelcast map per cache,
+ * shared by all conf-web nodes, so a node with a cold cache takes values loaded by the others instead of querying
+ * Oracle and Cassandra again. Keys of the caches using it must be serializable; values that are not are rejected by
+ * {@link SecondLevelCache#accepts} and stay in the local cache.
+ */
+public class HazelcastSecondLevelCache implements SecondLevelCache {
+
+    static final String MAP_PREFIX = "contacting-cache-";
+
+    private final ObjectProvider<HazelcastInstance> hazelcastInstance;
+
+    public HazelcastSecondLevelCache(ObjectProvider<HazelcastInstance> hazelcastInstance) {
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        return map(cacheName).get(key);
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value, Duration timeToLive) {
+        map(cacheName).set(key, value, timeToLive.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void invalidate(String cacheName, Object key) {
+        map(cacheName).delete(key);
+    }
+
+    @Override
+    public void invalidateAll(String cacheName) {
+        map(cacheName).clear();
+    }
+
+    private IMap<Object, Object> map(String cacheName) {
+        HazelcastInstance instance = hazelcastInstance.getIfAvailable();
+        if (instance == null) {
+            throw new IllegalStateException("No Hazelcast instance available for cache " + cacheName);
+        }
+        return instance.getMap(MAP_PREFIX + cacheName);
+    }
+}
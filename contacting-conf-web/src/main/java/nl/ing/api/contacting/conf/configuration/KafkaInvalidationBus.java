@@ -0,0 +1,190 @@
+package nl.ing.api.contacting.conf.configuration;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.api.contacting.conf.util.AccountKey;
+import nl.ing.api.contacting.conf.util.AccountNameKey;
+import nl.ing.api.contacting.conf.util.EmployeeKey;
+import nl.ing.api.java.contacting.caching.core.InvalidationBus;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Invalidation bus over a Kafka topic. Every batch is one record keyed by the publishing node; every node assigns
+ * itself all partitions of the topic without a consumer group and starts at their end, since invalidations older
+ * than the node do not concern its caches. Without a group nothing is committed and no group is left on the broker
+ * when a node goes away.
+ * <p>
+ * The record value holds one line per invalidation: the cache name, followed by a tab and the encoded key unless the
+ * whole cache is invalidated. String, {@link AccountKey}, {@link AccountNameKey} and {@link EmployeeKey} keys are
+ * encoded; an invalidation of any other key is sent as an invalidation of the whole cache.
+ */
+@Slf4j
+public class KafkaInvalidationBus implements InvalidationBus {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final String topic;
+    private final Producer<String, String> producer;
+    private final Supplier<Consumer<String, String>> consumerFactory;
+    private final List<java.util.function.Consumer<Batch>> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private volatile Consumer<String, String> consumer;
+    private Thread pollThread;
+
+    public KafkaInvalidationBus(String topic, Producer<String, String> producer,
+                                Supplier<Consumer<String, String>> consumerFactory) {
+        this.topic = topic;
+        this.producer = producer;
+        this.consumerFactory = consumerFactory;
+    }
+
+    @Override
+    public void publish(Batch batch) {
+        producer.send(new ProducerRecord<>(topic, batch.origin(), encode(batch.invalidations())), (metadata, e) -> {
+            if (e != null) {
+                log.warn("Could not send {} cache invalidations to {}", batch.invalidations().size(), topic, e);
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(java.util.function.Consumer<Batch> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts consuming the invalidations of the other nodes on a daemon thread.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        pollThread = new Thread(this::poll, "cache-invalidation-consumer");
+        pollThread.setDaemon(true);
+        pollThread.start();
+    }
+
+    @Override
+    public synchronized void close() {
+        running = false;
+        Consumer<String, String> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        producer.close(Duration.ofSeconds(5));
+    }
+
+    private void poll() {
+        try (Consumer<String, String> kafkaConsumer = consumerFactory.get()) {
+            consumer = kafkaConsumer;
+            List<TopicPartition> partitions = Optional.ofNullable(kafkaConsumer.partitionsFor(topic)).orElse(List.of())
+                    .stream()
+                    .map(partition -> new TopicPartition(partition.topic(), partition.partition()))
+                    .toList();
+            if (partitions.isEmpty()) {
+                log.error("Cache invalidation topic {} has no partitions, caches rely on their expiry", topic);
+                return;
+            }
+            kafkaConsumer.assign(partitions);
+            kafkaConsumer.seekToEnd(partitions);
+            while (running) {
+                for (ConsumerRecord<String, String> record : kafkaConsumer.poll(POLL_TIMEOUT)) {
+                    try {
+                        deliver(new Batch(record.key(), decode(record.value())));
+                    } catch (IllegalArgumentException e) {
+                        log.warn("Skipping unreadable cache invalidations at offset {} of {}", record.offset(), topic, e);
+                    }
+                }
+            }
+        } catch (WakeupException e) {
+            // closed
+        } catch (RuntimeException e) {
+            log.error("Cache invalidation consumer of {} stopped, caches rely on their expiry", topic, e);
+        } finally {
+            consumer = null;
+        }
+    }
+
+    private void deliver(Batch batch) {
+        for (java.util.function.Consumer<Batch> listener : listeners) {
+            try {
+                listener.accept(batch);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation listener failed for batch from {}", batch.origin(), e);
+            }
+        }
+    }
+
+    static String encode(List<Invalidation> invalidations) {
+        StringBuilder value = new StringBuilder();
+        for (Invalidation invalidation : invalidations) {
+            value.append(invalidation.cacheName());
+            Optional<String> key = invalidation.key().map(KafkaInvalidationBus::encodeKey);
+            if (key.isPresent()) {
+                value.append('\t').append(key.get());
+            } else if (invalidation.key().isPresent()) {
+                log.debug("Cannot encode key {} of cache {}, invalidating the whole cache on the other nodes",
+                        invalidation.key().get(), invalidation.cacheName());
+            }
+            value.append('\n');
+        }
+        return value.toString();
+    }
+
+    static List<Invalidation> decode(String value) {
+        List<Invalidation> invalidations = new ArrayList<>();
+        for (String line : value.split("\n")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            int tab = line.indexOf('\t');
+            invalidations.add(tab < 0
+                    ? Invalidation.all(line)
+                    : Invalidation.of(line.substring(0, tab), decodeKey(line.substring(tab + 1))));
+        }
+        return invalidations;
+    }
+
+    private static String encodeKey(Object key) {
+        String encoded = switch (key) {
+            case String string -> "s:" + string;
+            case AccountKey accountKey -> "a:" + accountKey.accountId();
+            case AccountNameKey nameKey -> "n:" + nameKey.accountId() + ":" + nameKey.name();
+            case EmployeeKey employeeKey -> employeeKey.employeeId().indexOf(':') >= 0 ? null
+                    : "e:" + employeeKey.accountId() + ":" + employeeKey.employeeId() + ":" + employeeKey.accountFriendlyName();
+            default -> null;
+        };
+        return encoded == null || encoded.indexOf('\n') >= 0 ? null : encoded;
+    }
+
+    private static Object decodeKey(String encoded) {
+        String value = encoded.substring(2);
+        return switch (encoded.charAt(0)) {
+            case 's' -> value;
+            case 'a' -> AccountKey.of(Long.parseLong(value));
+            case 'n' -> {
+                int separator = value.indexOf(':');
+                yield AccountNameKey.of(Long.parseLong(value.substring(0, separator)), value.substring(separator + 1));
+            }
+            case 'e' -> {
+                int first = value.indexOf(':');
+                int second = value.indexOf(':', first + 1);
+                yield EmployeeKey.of(Long.parseLong(value.substring(0, first)), value.substring(second + 1),
+                        value.substring(first + 1, second));
+            }
+            default -> throw new IllegalArgumentException("Unknown cache key encoding " + encoded);
+        };
+    }
+}
@@ -12,6 +12,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.io.Serializable;
+
 @Entity
 @Table(name = "ACTIVE_CONNECTIONS")
 @Getter
@@ -19,7 +21,7 @@ import lombok.Setter;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class ActiveConnectionEntity {
+public class ActiveConnectionEntity implements Serializable {
 
     @Id
     @Column(name = "CONNECTION_ID")
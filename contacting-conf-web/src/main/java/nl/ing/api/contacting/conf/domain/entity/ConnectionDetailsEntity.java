@@ -15,6 +15,8 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.Builder;
 
+import java.io.Serializable;
+
 @Entity
 @Table(name = "CONNECTIONS_DETAILS")
 @Getter
@@ -22,7 +24,7 @@ import lombok.Builder;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class ConnectionDetailsEntity {
+public class ConnectionDetailsEntity implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
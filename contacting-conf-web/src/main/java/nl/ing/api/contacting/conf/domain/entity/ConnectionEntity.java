@@ -14,6 +14,7 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.Builder;
 
+import java.io.Serializable;
 import java.util.List;
 
 @Entity
@@ -23,7 +24,7 @@ import java.util.List;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class ConnectionEntity {
+public class ConnectionEntity implements Serializable {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -13,6 +13,8 @@ import lombok.NoArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 
+import java.io.Serializable;
+
 @Entity
 @Table(name = "PLATFORM_ACCOUNT_SETTINGS")
 @Getter
@@ -21,7 +23,7 @@ import lombok.EqualsAndHashCode;
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
-public class PlatformAccountSettingsEntity {
+public class PlatformAccountSettingsEntity implements Serializable {
 
     @Id
     @EqualsAndHashCode.Include
@@ -10,13 +10,15 @@ import org.springframework.data.cassandra.core.mapping.Column;
 import org.springframework.data.cassandra.core.mapping.Table;
 import org.springframework.data.cassandra.core.cql.PrimaryKeyType;
 
+import java.io.Serializable;
+
 @Table("business_functions_on_teams")
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class BusinessFunctionOnTeamEntity {
+public class BusinessFunctionOnTeamEntity implements Serializable {
 
     @PrimaryKeyColumn(name = "account_friendly_name", ordinal = 0, type = PrimaryKeyType.PARTITIONED)
     private String accountFriendlyName;
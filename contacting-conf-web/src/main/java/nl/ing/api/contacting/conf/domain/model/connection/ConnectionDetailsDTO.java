@@ -4,8 +4,10 @@ import nl.ing.api.contacting.conf.domain.entity.ActiveConnectionEntity;
 import nl.ing.api.contacting.conf.domain.entity.ConnectionDetailsEntity;
 import nl.ing.api.contacting.conf.domain.entity.ConnectionEntity;
 
+import java.io.Serializable;
+
 public record ConnectionDetailsDTO(
         ConnectionDetailsEntity details,
         ConnectionEntity connection,
         ActiveConnectionEntity active
-) {}
+) implements Serializable {}
@@ -0,0 +1,217 @@
+package nl.ing.api.contacting.conf.domain.model.organisation;
+
+import nl.ing.api.contacting.java.domain.OrganisationVO;
+import nl.ing.api.contacting.java.repository.model.organisation.OrganisationEntity;
+import nl.ing.api.contacting.java.repository.model.organisation.OrganisationLevelEnumeration;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The organisation hierarchy of one account, as {@link nl.ing.api.contacting.conf.mapper.OrganisationMapperJava}
+ * maps it, with the organisations indexed by id and by parent.
+ * <p>
+ * The tree holds the organisations reachable from its roots, the parentless organisations of the root level. Every
+ * organisation is kept as a subtree with its children ordered by name, so reading a subtree is a lookup. A tree is
+ * immutable: {@link #withOrganisation} and {@link #withoutOrganisation} return a new tree that shares all subtrees
+ * except those on the path from the changed organisation up to its root.
+ */
+public final class OrganisationTree {
+
+    private static final Comparator<OrganisationVO> BY_NAME = Comparator.comparing(OrganisationVO::name);
+
+    private final OrganisationLevelEnumeration rootLevel;
+    private final Map<Long, Node> nodes;
+    private final Map<Long, List<Long>> childIds;
+    private final Map<Long, OrganisationVO> subtrees;
+    private final List<OrganisationVO> roots;
+
+    private OrganisationTree(OrganisationLevelEnumeration rootLevel, Map<Long, Node> nodes, Map<Long, List<Long>> childIds,
+                             Map<Long, OrganisationVO> subtrees) {
+        this.rootLevel = rootLevel;
+        this.nodes = nodes;
+        this.childIds = childIds;
+        this.subtrees = subtrees;
+        this.roots = nodes.values().stream()
+                .filter(node -> node.parentId() == null)
+                .map(node -> subtrees.get(node.id()))
+                .sorted(BY_NAME)
+                .toList();
+    }
+
+    /**
+     * @param tree      the rows of the hierarchy query, each holding organisations of one branch
+     * @param rootLevel the level of the organisations the query starts from
+     */
+    public static OrganisationTree of(List<OrganisationEntity[]> tree, OrganisationLevelEnumeration rootLevel) {
+        Map<Long, Node> found = new HashMap<>();
+        tree.stream()
+                .flatMap(row -> Arrays.stream(row).filter(Objects::nonNull))
+                .filter(entity -> entity.getId() != null)
+                .forEach(entity -> found.putIfAbsent(entity.getId(), Node.of(entity)));
+
+        Map<Long, List<Long>> childIds = new HashMap<>();
+        found.values().forEach(node -> {
+            if (node.parentId() != null) {
+                childIds.computeIfAbsent(node.parentId(), id -> new ArrayList<>()).add(node.id());
+            }
+        });
+
+        Map<Long, Node> nodes = new HashMap<>();
+        Map<Long, OrganisationVO> subtrees = new HashMap<>();
+        found.values().stream()
+                .filter(node -> node.parentId() == null && node.level() == rootLevel)
+                .forEach(root -> addReachable(root, found, childIds, nodes, subtrees));
+        childIds.keySet().retainAll(nodes.keySet());
+        childIds.values().forEach(ids -> ids.retainAll(nodes.keySet()));
+        return new OrganisationTree(rootLevel, nodes, childIds, subtrees);
+    }
+
+    /**
+     * @return the roots, ordered by name
+     */
+    public List<OrganisationVO> roots() {
+        return roots;
+    }
+
+    /**
+     * @return the roots with one of the given ids, ordered by name
+     */
+    public List<OrganisationVO> roots(Set<Long> ids) {
+        return ids.stream()
+                .map(nodes::get)
+                .filter(node -> node != null && node.parentId() == null)
+                .map(node -> subtrees.get(node.id()))
+                .sorted(BY_NAME)
+                .toList();
+    }
+
+    /**
+     * @return the organisation with its children, or empty when it is not in the tree
+     */
+    public Optional<OrganisationVO> find(Long id) {
+        return Optional.ofNullable(subtrees.get(id));
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @return a tree with the organisation added, or replaced when it was in the tree already. The organisation keeps
+     * its children; moved under a parent outside the tree, or below itself, it leaves the tree with them.
+     */
+    public OrganisationTree withOrganisation(OrganisationEntity organisation) {
+        Node node = Node.of(organisation);
+        boolean inTree = node.parentId() == null ? node.level() == rootLevel : nodes.containsKey(node.parentId());
+        if (!inTree || isAncestor(node.id(), node.parentId())) {
+            return withoutOrganisation(node.id());
+        }
+        Map<Long, Node> newNodes = new HashMap<>(nodes);
+        Map<Long, List<Long>> newChildIds = new HashMap<>(childIds);
+        Map<Long, OrganisationVO> newSubtrees = new HashMap<>(subtrees);
+
+        Node previous = newNodes.put(node.id(), node);
+        if (previous != null && !Objects.equals(previous.parentId(), node.parentId())) {
+            detach(previous, newChildIds);
+            rebuildUpwards(previous.parentId(), newNodes, newChildIds, newSubtrees);
+        }
+        if (node.parentId() != null && (previous == null || !Objects.equals(previous.parentId(), node.parentId()))) {
+            List<Long> siblings = new ArrayList<>(newChildIds.getOrDefault(node.parentId(), List.of()));
+            siblings.add(node.id());
+            newChildIds.put(node.parentId(), siblings);
+        }
+        rebuildUpwards(node.id(), newNodes, newChildIds, newSubtrees);
+        return new OrganisationTree(rootLevel, newNodes, newChildIds, newSubtrees);
+    }
+
+    /**
+     * @return a tree without the organisation and everything below it
+     */
+    public OrganisationTree withoutOrganisation(Long id) {
+        Node removed = nodes.get(id);
+        if (removed == null) {
+            return this;
+        }
+        Map<Long, Node> newNodes = new HashMap<>(nodes);
+        Map<Long, List<Long>> newChildIds = new HashMap<>(childIds);
+        Map<Long, OrganisationVO> newSubtrees = new HashMap<>(subtrees);
+
+        Deque<Long> pending = new ArrayDeque<>(List.of(id));
+        while (!pending.isEmpty()) {
+            Long current = pending.pop();
+            newNodes.remove(current);
+            newSubtrees.remove(current);
+            pending.addAll(newChildIds.getOrDefault(current, List.of()));
+            newChildIds.remove(current);
+        }
+        detach(removed, newChildIds);
+        rebuildUpwards(removed.parentId(), newNodes, newChildIds, newSubtrees);
+        return new OrganisationTree(rootLevel, newNodes, newChildIds, newSubtrees);
+    }
+
+    private boolean isAncestor(Long id, Long parentId) {
+        for (Node node = parentId == null ? null : nodes.get(parentId); node != null;
+             node = node.parentId() == null ? null : nodes.get(node.parentId())) {
+            if (node.id().equals(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static OrganisationVO addReachable(Node node, Map<Long, Node> found, Map<Long, List<Long>> childIds,
+                                               Map<Long, Node> nodes, Map<Long, OrganisationVO> subtrees) {
+        if (nodes.putIfAbsent(node.id(), node) != null) {
+            return subtrees.get(node.id());
+        }
+        List<OrganisationVO> children = childIds.getOrDefault(node.id(), List.of()).stream()
+                .map(childId -> addReachable(found.get(childId), found, childIds, nodes, subtrees))
+                .sorted(BY_NAME)
+                .toList();
+        OrganisationVO subtree = node.toVO(children);
+        subtrees.put(node.id(), subtree);
+        return subtree;
+    }
+
+    private static void detach(Node node, Map<Long, List<Long>> childIds) {
+        if (node.parentId() != null) {
+            List<Long> siblings = new ArrayList<>(childIds.getOrDefault(node.parentId(), List.of()));
+            siblings.remove(node.id());
+            childIds.put(node.parentId(), siblings);
+        }
+    }
+
+    private static void rebuildUpwards(Long id, Map<Long, Node> nodes, Map<Long, List<Long>> childIds,
+                                       Map<Long, OrganisationVO> subtrees) {
+        Node node = id == null ? null : nodes.get(id);
+        while (node != null) {
+            List<OrganisationVO> children = childIds.getOrDefault(node.id(), List.of()).stream()
+                    .map(subtrees::get)
+                    .sorted(BY_NAME)
+                    .toList();
+            subtrees.put(node.id(), node.toVO(children));
+            node = node.parentId() == null ? null : nodes.get(node.parentId());
+        }
+    }
+
+    private record Node(Long id, String name, OrganisationLevelEnumeration level, Long parentId) {
+
+        static Node of(OrganisationEntity entity) {
+            return new Node(entity.getId(), entity.getName(), entity.getOrgLevel(), entity.getParentId());
+        }
+
+        OrganisationVO toVO(List<OrganisationVO> children) {
+            return new OrganisationVO(Optional.of(id), name, level, Optional.empty(), children);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package nl.ing.api.contacting.conf.domain.model.permission;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import nl.ing.api.contacting.conf.domain.ContactingBusinessFunctions;
 
 /**
  * Business functions data class for Permissions based on business functions
@@ -18,4 +19,21 @@ public record BusinessFunctionVO(
         String role,
         OrganisationalRestrictionLevel restriction,
         int organisationId
-) {}
\ No newline at end of file
+) {
+
+    /**
+     * Organisation id of business functions that hold for the whole account.
+     */
+    public static final int ORG_ID_FOR_ACCOUNT = -1;
+
+    /**
+     * The system tooling business function, granted on account level to the CONTACTING role of every account.
+     */
+    public static final BusinessFunctionVO SYSTEM_TOOLING_BUSINESS_FUNCTION = new BusinessFunctionVO(
+            "",
+            ContactingBusinessFunctions.SYSTEM_TOOLING,
+            "CONTACTING",
+            OrganisationalRestrictionLevel.ACCOUNT,
+            ORG_ID_FOR_ACCOUNT
+    );
+}
\ No newline at end of file
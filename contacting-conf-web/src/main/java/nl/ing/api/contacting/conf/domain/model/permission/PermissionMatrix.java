@@ -0,0 +1,124 @@
+package nl.ing.api.contacting.conf.domain.model.permission;
+
+import nl.ing.api.contacting.conf.util.GroupKey;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The business functions of one account compiled for permission lookups, the result of
+ * {@link nl.ing.api.contacting.conf.util.PermissionUtils#filterMaxRestrictions} for any set of roles.
+ * <p>
+ * Roles and (business function, organisation) pairs are numbered in order of appearance. Per role a bitset holds the
+ * pairs the role grants, and per pair the business functions are ordered from the highest restriction down. Resolving
+ * a role set ORs the bitsets of its roles and takes, per granted pair, the first business function of one of the
+ * roles. Employees of an account share a handful of role sets, so the result is kept per role set.
+ */
+public final class PermissionMatrix {
+
+    private static final int MAX_RESOLVED_ROLE_SETS = 1024;
+
+    private final List<BusinessFunctionVO> businessFunctions;
+    private final Map<String, Integer> roleIds;
+    private final BitSet[] pairsByRole;
+    private final BusinessFunctionVO[][] candidates;
+    private final int[][] candidateRoles;
+    private final ConcurrentMap<BitSet, List<BusinessFunctionVO>> resolved = new ConcurrentHashMap<>();
+
+    private PermissionMatrix(List<BusinessFunctionVO> businessFunctions, Map<String, Integer> roleIds,
+                             BitSet[] pairsByRole, BusinessFunctionVO[][] candidates, int[][] candidateRoles) {
+        this.businessFunctions = businessFunctions;
+        this.roleIds = roleIds;
+        this.pairsByRole = pairsByRole;
+        this.candidates = candidates;
+        this.candidateRoles = candidateRoles;
+    }
+
+    public static PermissionMatrix compile(List<BusinessFunctionVO> businessFunctions) {
+        Map<String, Integer> roleIds = new HashMap<>();
+        Map<GroupKey, List<BusinessFunctionVO>> pairs = new LinkedHashMap<>();
+        for (BusinessFunctionVO businessFunction : businessFunctions) {
+            roleIds.putIfAbsent(businessFunction.role(), roleIds.size());
+            pairs.computeIfAbsent(new GroupKey(businessFunction.businessFunction(), businessFunction.organisationId()),
+                    key -> new ArrayList<>()).add(businessFunction);
+        }
+
+        BitSet[] pairsByRole = new BitSet[roleIds.size()];
+        for (int role = 0; role < pairsByRole.length; role++) {
+            pairsByRole[role] = new BitSet(pairs.size());
+        }
+        BusinessFunctionVO[][] candidates = new BusinessFunctionVO[pairs.size()][];
+        int[][] candidateRoles = new int[pairs.size()][];
+        int pair = 0;
+        for (List<BusinessFunctionVO> ofPair : pairs.values()) {
+            // stable, so of equal restrictions the first one wins, as with Collections.max
+            ofPair.sort(Comparator.comparingInt((BusinessFunctionVO bf) -> bf.restriction().getLevel()).reversed());
+            candidates[pair] = ofPair.toArray(BusinessFunctionVO[]::new);
+            candidateRoles[pair] = new int[ofPair.size()];
+            for (int i = 0; i < ofPair.size(); i++) {
+                int role = roleIds.get(ofPair.get(i).role());
+                candidateRoles[pair][i] = role;
+                pairsByRole[role].set(pair);
+            }
+            pair++;
+        }
+        return new PermissionMatrix(List.copyOf(businessFunctions), Map.copyOf(roleIds), pairsByRole, candidates,
+                candidateRoles);
+    }
+
+    /**
+     * @return all business functions of the account, as compiled
+     */
+    public List<BusinessFunctionVO> businessFunctions() {
+        return businessFunctions;
+    }
+
+    /**
+     * @return per business function and organisation the business function with the highest restriction among the
+     * given roles, in order of first appearance
+     */
+    public List<BusinessFunctionVO> maxRestrictions(Set<String> roles) {
+        BitSet roleSet = new BitSet(pairsByRole.length);
+        for (String role : roles) {
+            Integer id = roleIds.get(role);
+            if (id != null) {
+                roleSet.set(id);
+            }
+        }
+        List<BusinessFunctionVO> known = resolved.get(roleSet);
+        if (known != null) {
+            return known;
+        }
+        List<BusinessFunctionVO> result = resolve(roleSet);
+        if (resolved.size() < MAX_RESOLVED_ROLE_SETS) {
+            resolved.putIfAbsent(roleSet, result);
+        }
+        return result;
+    }
+
+    private List<BusinessFunctionVO> resolve(BitSet roleSet) {
+        BitSet granted = new BitSet(candidates.length);
+        for (int role = roleSet.nextSetBit(0); role >= 0; role = roleSet.nextSetBit(role + 1)) {
+            granted.or(pairsByRole[role]);
+        }
+        List<BusinessFunctionVO> result = new ArrayList<>(granted.cardinality());
+        for (int pair = granted.nextSetBit(0); pair >= 0; pair = granted.nextSetBit(pair + 1)) {
+            int[] roles = candidateRoles[pair];
+            for (int i = 0; i < roles.length; i++) {
+                if (roleSet.get(roles[i])) {
+                    result.add(candidates[pair][i]);
+                    break;
+                }
+            }
+        }
+        return List.copyOf(result);
+    }
+}
@@ -0,0 +1,90 @@
+package nl.ing.api.contacting.conf.domain.model.settingsmetadata;
+
+import com.ing.api.contacting.dto.java.resource.organisation.FlatOrganisationUnitDto;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The organisation settings of one account indexed for employee lookups.
+ * <p>
+ * The settings are grouped per organisation id and per key once. The effective settings of an organisation take a key
+ * from the team first, then the circle, then the super circle; keys none of them set fall back to the organisation
+ * with the lowest id that sets them, as the settings arrive ordered by organisation id. Organisations of an account
+ * are shared by many employees, so the result is kept per organisation.
+ */
+public final class OrganisationSettingsHierarchy {
+
+    private static final int MAX_RESOLVED_ORGANISATIONS = 4096;
+
+    private final List<OrganisationSettingVO> settings;
+    private final Map<Long, Map<String, OrganisationSettingVO>> settingsByOrg;
+    private final Map<String, OrganisationSettingVO> accountSettings;
+    private final ConcurrentMap<OrganisationPath, List<OrganisationSettingVO>> resolved = new ConcurrentHashMap<>();
+
+    private OrganisationSettingsHierarchy(List<OrganisationSettingVO> settings,
+                                          Map<Long, Map<String, OrganisationSettingVO>> settingsByOrg,
+                                          Map<String, OrganisationSettingVO> accountSettings) {
+        this.settings = settings;
+        this.settingsByOrg = settingsByOrg;
+        this.accountSettings = accountSettings;
+    }
+
+    /**
+     * @param settings the settings of one account, ordered by organisation id
+     */
+    public static OrganisationSettingsHierarchy compile(List<OrganisationSettingVO> settings) {
+        Map<Long, Map<String, OrganisationSettingVO>> settingsByOrg = new HashMap<>();
+        Map<String, OrganisationSettingVO> accountSettings = new LinkedHashMap<>();
+        for (OrganisationSettingVO setting : settings) {
+            settingsByOrg.computeIfAbsent(setting.orgId(), orgId -> new LinkedHashMap<>()).putIfAbsent(setting.key(), setting);
+            accountSettings.putIfAbsent(setting.key(), setting);
+        }
+        return new OrganisationSettingsHierarchy(List.copyOf(settings), settingsByOrg, accountSettings);
+    }
+
+    /**
+     * @return all settings of the account, as compiled
+     */
+    public List<OrganisationSettingVO> settings() {
+        return settings;
+    }
+
+    /**
+     * @return one setting per key of the account, the one that applies to the given organisation
+     */
+    public List<OrganisationSettingVO> effectiveSettings(FlatOrganisationUnitDto organisation) {
+        OrganisationPath path = new OrganisationPath(organisation.cltId(), organisation.circleId(), organisation.superCircleId());
+        List<OrganisationSettingVO> known = resolved.get(path);
+        if (known != null) {
+            return known;
+        }
+        List<OrganisationSettingVO> result = resolve(path);
+        if (resolved.size() < MAX_RESOLVED_ORGANISATIONS) {
+            resolved.putIfAbsent(path, result);
+        }
+        return result;
+    }
+
+    private List<OrganisationSettingVO> resolve(OrganisationPath path) {
+        Map<String, OrganisationSettingVO> effective = new LinkedHashMap<>(accountSettings.size() * 4 / 3 + 1);
+        inherit(effective, settingsByOrg.get(path.teamId()));
+        inherit(effective, settingsByOrg.get(path.circleId()));
+        inherit(effective, settingsByOrg.get(path.superCircleId()));
+        inherit(effective, accountSettings);
+        return List.copyOf(effective.values());
+    }
+
+    private static void inherit(Map<String, OrganisationSettingVO> effective, Map<String, OrganisationSettingVO> level) {
+        if (level != null) {
+            level.forEach(effective::putIfAbsent);
+        }
+    }
+
+    private record OrganisationPath(long teamId, long circleId, long superCircleId) {
+    }
+}
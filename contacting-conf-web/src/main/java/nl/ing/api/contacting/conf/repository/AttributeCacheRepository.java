@@ -4,45 +4,37 @@ import com.ing.api.contacting.dto.java.context.ContactingContext;
 import lombok.extern.slf4j.Slf4j;
 import nl.ing.api.contacting.conf.domain.entity.AttributeEntity;
 import nl.ing.api.contacting.conf.repository.support.CacheAwareRepository;
+import nl.ing.api.contacting.conf.util.AccountKey;
 import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
 import nl.ing.api.java.contacting.caching.core.ContactingCache;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Supplier;
 
 @Repository
 @Slf4j
-public class AttributeCacheRepository extends CacheAwareRepository {
+public class AttributeCacheRepository extends CacheAwareRepository<AttributeEntity, Long> {
 
-    private static final String CACHE_KEY_PREFIX = "attributes-by-account-";
     private final AttributeJpaRepository jpaRepository;
+    private final CacheHandle<AccountKey, List<AttributeEntity>> attributesByAccount;
 
     public AttributeCacheRepository(ContactingCache contactingCache, AttributeJpaRepository jpaRepository) {
         super(contactingCache);
         this.jpaRepository = jpaRepository;
+        this.attributesByAccount = cacheHandle(CacheType.ATTRIBUTES_BY_ACCOUNT, AccountKey.class,
+                key -> jpaRepository.findByAccountId(key.accountId()));
     }
 
     public List<AttributeEntity> findAllForAccount(ContactingContext contactingContext) {
-        Long accountId = contactingContext.accountId();
-
-        return findAllInCacheSync(
-                contactingContext,
-                CacheType.ATTRIBUTES_BY_ACCOUNT.cacheName(),
-                CACHE_KEY_PREFIX.concat(String.valueOf(accountId)),
-                () -> jpaRepository.findByAccountId(accountId)
-        );
+        return findInCache(contactingContext, attributesByAccount, AccountKey.of(contactingContext.accountId()));
     }
 
     public Optional<AttributeEntity> findById(Long attributeId, ContactingContext contactingContext) {
-
-        return findOptionalInCacheSync(
-                contactingContext,
-                CacheType.ATTRIBUTES_BY_ACCOUNT.cacheName(),
-                CACHE_KEY_PREFIX.concat(String.valueOf(attributeId)),
-                () -> jpaRepository.findById(attributeId)
-        );
+        return findAllForAccount(contactingContext).stream()
+                .filter(attribute -> attributeId.equals(attribute.getId()))
+                .findFirst();
     }
 
-}
\ No newline at end of file
+}
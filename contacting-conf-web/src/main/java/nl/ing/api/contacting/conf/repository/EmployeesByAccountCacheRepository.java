@@ -0,0 +1,48 @@
+package nl.ing.api.contacting.conf.repository;
+
+import com.ing.api.contacting.dto.java.context.ContactingContext;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.api.contacting.conf.domain.entity.cassandra.EmployeesByAccountEntity;
+import nl.ing.api.contacting.conf.repository.support.CacheAwareRepository;
+import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.contacting.conf.util.EmployeeKey;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Employees by account friendly name, cached per employee in {@code employees-by-account}.
+ * <p>
+ * Unknown employees are cached as an empty Optional, for {@code caching.employees-by-account.negative-ttl} when that
+ * is configured, so repeated lookups of them do not reach Cassandra either. Concurrent lookups of the same employee
+ * share one load. The roles of employees are changed outside this service and no eviction reaches this cache, so an
+ * employee is only as fresh as the {@code expire-duration} of the cache, kept short in {@code cache-defaults.conf}.
+ */
+@Repository
+@Slf4j
+public class EmployeesByAccountCacheRepository extends CacheAwareRepository<EmployeesByAccountEntity, String> {
+
+    private final EmployeesByAccountRepository cassandraRepository;
+    private final CacheHandle<EmployeeKey, Optional<EmployeesByAccountEntity>> employeesByAccount;
+
+    public EmployeesByAccountCacheRepository(ContactingCache contactingCache, EmployeesByAccountRepository cassandraRepository) {
+        super(contactingCache);
+        this.cassandraRepository = cassandraRepository;
+        this.employeesByAccount = cacheHandle(CacheType.EMPLOYEES_BY_ACCOUNT, EmployeeKey.class, this::loadByEmployeeId);
+    }
+
+    public Optional<EmployeesByAccountEntity> findByEmployeeIdAndAccountFriendlyName(ContactingContext contactingContext,
+                                                                                     String employeeId,
+                                                                                     String accountFriendlyName) {
+        return findInCache(contactingContext, employeesByAccount,
+                EmployeeKey.of(contactingContext.accountId(), accountFriendlyName, employeeId));
+    }
+
+    private Optional<EmployeesByAccountEntity> loadByEmployeeId(EmployeeKey key) {
+        log.info("Cache miss/bypass for employee {} in EmployeesByAccountEntity {}", key.employeeId(), key.accountFriendlyName());
+        return Optional.ofNullable(cassandraRepository.findByEmployeeIdAndAccountFriendlyName(key.employeeId(), key.accountFriendlyName()))
+                .orElse(Optional.empty());
+    }
+}
@@ -41,7 +41,7 @@ public class OrganisationSettingsAuditRepository extends AuditAwareRepository<Or
     }
 
     public List<OrganisationSettingsEntity> findAll(ContactingContext context) {
-        return jpaRepository.findAllByOrderByOrgId();
+        return jpaRepository.findByAccountIdOrderByOrgId(context.accountId());
     }
 
     public Optional<OrganisationSettingsEntity> findById(Long id, ContactingContext context) {
@@ -0,0 +1,63 @@
+package nl.ing.api.contacting.conf.repository;
+
+import com.ing.api.contacting.dto.java.context.ContactingContext;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.api.contacting.conf.domain.entity.OrganisationSettingsEntity;
+import nl.ing.api.contacting.conf.domain.model.settingsmetadata.OrganisationSettingsHierarchy;
+import nl.ing.api.contacting.conf.mapper.OrganisationSettingMapperJava;
+import nl.ing.api.contacting.conf.repository.support.CacheAwareRepository;
+import nl.ing.api.contacting.conf.util.AccountKey;
+import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The organisation settings of an account, read in one query and cached per account in {@code org-settings-by-account}
+ * as an {@link OrganisationSettingsHierarchy}. Any change to a setting of the account evicts it. Within a transaction
+ * the eviction waits for the commit, so a read in between cannot cache the old settings again and a rolled back change
+ * evicts nothing.
+ */
+@Repository
+@Slf4j
+public class OrganisationSettingsCacheRepository extends CacheAwareRepository<OrganisationSettingsEntity, Long> {
+
+    private final OrganisationSettingsJpaRepository jpaRepository;
+    private final CacheHandle<AccountKey, OrganisationSettingsHierarchy> settingsByAccount;
+
+    public OrganisationSettingsCacheRepository(ContactingCache contactingCache, OrganisationSettingsJpaRepository jpaRepository) {
+        super(contactingCache);
+        this.jpaRepository = jpaRepository;
+        this.settingsByAccount = cacheHandle(CacheType.ORGANISATION_SETTINGS, AccountKey.class, this::compileHierarchy);
+    }
+
+    public OrganisationSettingsHierarchy findHierarchyByAccount(ContactingContext contactingContext) {
+        return findInCache(contactingContext, settingsByAccount, AccountKey.of(contactingContext.accountId()));
+    }
+
+    public void evictCacheAfterUpdate(Long accountId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(accountId);
+                }
+            });
+        } else {
+            evict(accountId);
+        }
+    }
+
+    private void evict(Long accountId) {
+        evictCache(CacheType.ORGANISATION_SETTINGS, AccountKey.of(accountId));
+    }
+
+    private OrganisationSettingsHierarchy compileHierarchy(AccountKey key) {
+        log.info("Cache miss/bypass for organisation settings of account {}", key.accountId());
+        return OrganisationSettingsHierarchy.compile(jpaRepository.findByAccountIdOrderByOrgId(key.accountId()).stream()
+                .map(OrganisationSettingMapperJava::toVO)
+                .toList());
+    }
+}
@@ -15,7 +15,7 @@ public interface OrganisationSettingsJpaRepository extends JpaRepository<Organis
 
     List<OrganisationSettingsEntity> findByCapabilitiesContainingAndAccountIdOrderByOrgId(String capabilities, Long accountId);
 
-    List<OrganisationSettingsEntity> findAllByOrderByOrgId();
+    List<OrganisationSettingsEntity> findByAccountIdOrderByOrgId(Long accountId);
 
     Optional<OrganisationSettingsEntity> findByIdAndAccountId(Long id, Long accountId);
 
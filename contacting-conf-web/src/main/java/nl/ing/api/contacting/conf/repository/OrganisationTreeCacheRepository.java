@@ -0,0 +1,79 @@
+package nl.ing.api.contacting.conf.repository;
+
+import com.ing.api.contacting.dto.java.context.ContactingContext;
+import lombok.extern.slf4j.Slf4j;
+import nl.ing.api.contacting.conf.domain.model.organisation.OrganisationTree;
+import nl.ing.api.contacting.conf.repository.support.CacheAwareRepository;
+import nl.ing.api.contacting.conf.util.AccountKey;
+import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.contacting.java.repository.model.organisation.OrganisationEntity;
+import nl.ing.api.contacting.java.repository.model.organisation.OrganisationLevelEnumeration;
+import nl.ing.api.contacting.java.repository.organisation.OrganisationJpaRepository;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * The organisation tree of an account, cached per account in {@code org-tree-by-account} as an
+ * {@link OrganisationTree}.
+ * <p>
+ * Saving or deleting an organisation patches the cached tree of this node instead of reading the hierarchy again;
+ * the other nodes drop their tree and read it on next use. Within a transaction the patch waits for the commit, so a
+ * rolled back change never shows. A patch that fails drops the tree here as well.
+ */
+@Repository
+@Slf4j
+public class OrganisationTreeCacheRepository extends CacheAwareRepository<OrganisationEntity, Long> {
+
+    private final OrganisationJpaRepository jpaRepository;
+    private final CacheHandle<AccountKey, OrganisationTree> treeByAccount;
+
+    public OrganisationTreeCacheRepository(ContactingCache contactingCache, OrganisationJpaRepository jpaRepository) {
+        super(contactingCache);
+        this.jpaRepository = jpaRepository;
+        this.treeByAccount = cacheHandle(CacheType.ORGANISATION_TREE, AccountKey.class, this::loadTree);
+    }
+
+    public OrganisationTree findOrgTree(ContactingContext contactingContext) {
+        return findInCache(contactingContext, treeByAccount, AccountKey.of(contactingContext.accountId()));
+    }
+
+    public void updateAfterSave(Long accountId, OrganisationEntity organisation) {
+        update(accountId, tree -> tree.withOrganisation(organisation));
+    }
+
+    public void updateAfterDelete(Long accountId, Long id) {
+        update(accountId, tree -> tree.withoutOrganisation(id));
+    }
+
+    private void update(Long accountId, UnaryOperator<OrganisationTree> update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    patch(accountId, update);
+                }
+            });
+        } else {
+            patch(accountId, update);
+        }
+    }
+
+    private void patch(Long accountId, UnaryOperator<OrganisationTree> update) {
+        try {
+            treeByAccount.updateIfPresent(AccountKey.of(accountId), update);
+        } catch (Exception e) {
+            log.error("Failed to update the organisation tree of account {}, it is read again on next use: {}", accountId, e.getMessage());
+        }
+    }
+
+    private OrganisationTree loadTree(AccountKey key) {
+        log.info("Cache miss/bypass for organisation tree of account {}", key.accountId());
+        return OrganisationTree.of(jpaRepository.findOrgTree(key.accountId(), OrganisationLevelEnumeration.SUPER_CIRCLE),
+                OrganisationLevelEnumeration.SUPER_CIRCLE);
+    }
+}
@@ -4,57 +4,65 @@ import com.ing.api.contacting.dto.java.context.ContactingContext;
 import lombok.extern.slf4j.Slf4j;
 import nl.ing.api.contacting.conf.domain.entity.cassandra.BusinessFunctionOnTeamEntity;
 import nl.ing.api.contacting.conf.domain.model.permission.BusinessFunctionVO;
+import nl.ing.api.contacting.conf.domain.model.permission.PermissionMatrix;
+import nl.ing.api.contacting.conf.mapper.BusinessFunctionMapper;
 import nl.ing.api.contacting.conf.repository.support.CacheAwareRepository;
+import nl.ing.api.contacting.conf.util.AccountNameKey;
 import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
 import nl.ing.api.java.contacting.caching.core.ContactingCache;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Supplier;
 
 @Repository
 @Slf4j
-public class PermissionCacheRepository extends CacheAwareRepository {
+public class PermissionCacheRepository extends CacheAwareRepository<BusinessFunctionOnTeamEntity, String> {
 
     private final BusinessFunctionOnTeamRepository jpaCassandraRepository;
+    private final CacheHandle<AccountNameKey, List<BusinessFunctionOnTeamEntity>> permissionsByAccount;
+    private final CacheHandle<AccountNameKey, PermissionMatrix> permissionMatrixByAccount;
 
     public PermissionCacheRepository(ContactingCache contactingCache, BusinessFunctionOnTeamRepository jpaCassandraRepository) {
         super(contactingCache);
         this.jpaCassandraRepository = jpaCassandraRepository;
+        this.permissionsByAccount = cacheHandle(CacheType.CONNECTING_PERMISSION, AccountNameKey.class, this::loadByAccountFriendlyName);
+        this.permissionMatrixByAccount = cacheHandle(CacheType.PERMISSION_MATRIX, AccountNameKey.class, this::compilePermissionMatrix);
     }
 
     public List<BusinessFunctionOnTeamEntity> findByAccountFriendlyNameCache(ContactingContext contactingContext, String accountFriendlyName) {
+        return findInCache(contactingContext, permissionsByAccount, AccountNameKey.of(contactingContext.accountId(), accountFriendlyName));
+    }
 
-        Supplier<List<BusinessFunctionOnTeamEntity>> supplier = () ->
-        {
-            log.info("Cache miss/bypass for accountId in BusinessFunctionOnTeamEntity {}", accountFriendlyName);
-            return jpaCassandraRepository.findByAccountFriendlyName(accountFriendlyName);
-        };
-
-
-        return findAllInCacheSync(
-                contactingContext,
-                CacheType.CONNECTING_PERMISSION.cacheName(),
-                contactingContext.accountId().toString().concat(String.valueOf(accountFriendlyName)),
-                supplier
-        );
+    /**
+     * The business functions of the account, including system tooling, compiled for permission lookups. A cache
+     * bypass reloads the business functions from the database and stores the matrix compiled from them, so later
+     * readers see the fresh matrix too.
+     */
+    public PermissionMatrix findPermissionMatrixCache(ContactingContext contactingContext, String accountFriendlyName) {
+        if (contactingContext.byPassCache()) {
+            // the matrix is compiled from the cached business functions, so those are refreshed first
+            findByAccountFriendlyNameCache(contactingContext, accountFriendlyName);
+        }
+        return findInCache(contactingContext, permissionMatrixByAccount, AccountNameKey.of(contactingContext.accountId(), accountFriendlyName));
     }
 
     public List<BusinessFunctionOnTeamEntity> upsertAll(ContactingContext contactingContext, String accountFriendlyName, List<BusinessFunctionOnTeamEntity> entities) {
         List<BusinessFunctionOnTeamEntity> savedEntities = Optional.ofNullable(findByAccountFriendlyNameCache(contactingContext, accountFriendlyName))
                                                             .orElse(Collections.emptyList());
         if (savedEntities.isEmpty()) {
-            evictCache(CacheType.CONNECTING_PERMISSION.cacheName(), CacheType.CONNECTING_PERMISSION.cacheName().concat(accountFriendlyName));
+            evictCacheAfterUpdate(contactingContext.accountId(), accountFriendlyName);
             log.warn("Error in deleting data into db, reverting DCache delete");
             return List.of();
         }
         return savedEntities;
     }
 
-    public void deletePermission(BusinessFunctionVO businessFunctionVO, String accountFriendlyName) {
-        evictCacheAfterUpdate(accountFriendlyName);
+    public void deletePermission(ContactingContext contactingContext, BusinessFunctionVO businessFunctionVO, String accountFriendlyName) {
+        evictCacheAfterUpdate(contactingContext.accountId(), accountFriendlyName);
         jpaCassandraRepository.deleteByAccountFriendlyNameAndBusinessFunctionAndOrganisationIdAndRole(
                 accountFriendlyName,
                 businessFunctionVO.businessFunction(),
@@ -63,8 +71,26 @@ public class PermissionCacheRepository extends CacheAwareRepository {
         );
     }
 
-    public void evictCacheAfterUpdate(String accountFriendlyName) {
-        evictCache(CacheType.CONNECTING_PERMISSION.cacheName(), CacheType.CONNECTING_PERMISSION.cacheName().concat(accountFriendlyName));
+    public void evictCacheAfterUpdate(Long accountId, String accountFriendlyName) {
+        AccountNameKey key = AccountNameKey.of(accountId, accountFriendlyName);
+        evictCache(CacheType.CONNECTING_PERMISSION, key);
+        evictCache(CacheType.PERMISSION_MATRIX, key);
+    }
+
+    private List<BusinessFunctionOnTeamEntity> loadByAccountFriendlyName(AccountNameKey key) {
+        log.info("Cache miss/bypass for accountId in BusinessFunctionOnTeamEntity {}", key.name());
+        return jpaCassandraRepository.findByAccountFriendlyName(key.name());
+    }
+
+    private PermissionMatrix compilePermissionMatrix(AccountNameKey key) {
+        return compile(permissionsByAccount.get(key));
+    }
+
+    private static PermissionMatrix compile(List<BusinessFunctionOnTeamEntity> entities) {
+        List<BusinessFunctionVO> businessFunctions = new ArrayList<>();
+        businessFunctions.add(BusinessFunctionVO.SYSTEM_TOOLING_BUSINESS_FUNCTION);
+        businessFunctions.addAll(BusinessFunctionMapper.toVOList(Optional.ofNullable(entities).orElse(Collections.emptyList())));
+        return PermissionMatrix.compile(businessFunctions);
     }
 
 }
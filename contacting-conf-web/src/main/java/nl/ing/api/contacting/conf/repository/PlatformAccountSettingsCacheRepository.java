@@ -4,35 +4,30 @@ import com.ing.api.contacting.dto.java.context.ContactingContext;
 import lombok.extern.slf4j.Slf4j;
 import nl.ing.api.contacting.conf.domain.entity.PlatformAccountSettingsEntity;
 import nl.ing.api.contacting.conf.repository.support.CacheAwareRepository;
+import nl.ing.api.contacting.conf.util.AccountKey;
 import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
 import nl.ing.api.java.contacting.caching.core.ContactingCache;
 import org.springframework.stereotype.Repository;
-import zio.logging.log;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Supplier;
 
 @Repository
-public class PlatformAccountSettingsCacheRepository extends CacheAwareRepository {
+public class PlatformAccountSettingsCacheRepository extends CacheAwareRepository<PlatformAccountSettingsEntity, Long> {
 
     private final PlatformAccountSettingsJpaRepository jpaRepository;
+    private final CacheHandle<AccountKey, List<PlatformAccountSettingsEntity>> settingsByAccount;
 
     public PlatformAccountSettingsCacheRepository(ContactingCache contactingCache, PlatformAccountSettingsJpaRepository jpaRepository) {
         super(contactingCache);
         this.jpaRepository = jpaRepository;
+        this.settingsByAccount = cacheHandle(CacheType.PLATFORM_ACCOUNT_SETTINGS, AccountKey.class,
+                key -> jpaRepository.findByAccountId(key.accountId()));
     }
 
     public List<PlatformAccountSettingsEntity> findByAccountId(ContactingContext contactingContext) {
-
-        final Long accountId = contactingContext.accountId();
-
-        return findAllInCacheSync(
-                contactingContext,
-                CacheType.PLATFORM_ACCOUNT_SETTINGS.cacheName(),
-                contactingContext.accountCacheKey(),
-                () -> jpaRepository.findByAccountId(accountId)
-        );
+        return findInCache(contactingContext, settingsByAccount, AccountKey.of(contactingContext.accountId()));
     }
 
     public Optional<PlatformAccountSettingsEntity> findById(Long id, ContactingContext contactingContext) {
@@ -47,7 +42,7 @@ public class PlatformAccountSettingsCacheRepository extends CacheAwareRepository
             PlatformAccountSettingsEntity savedEntity = jpaRepository.save(platformAccountSettingsEntity);
             return savedEntity;
         } finally {
-            evictCache(CacheType.PLATFORM_ACCOUNT_SETTINGS.cacheName(), contactingContext.accountCacheKey());
+            evictCache(CacheType.PLATFORM_ACCOUNT_SETTINGS, AccountKey.of(contactingContext.accountId()));
         }
     }
 
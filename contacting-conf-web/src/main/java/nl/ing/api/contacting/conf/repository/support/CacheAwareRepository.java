@@ -2,11 +2,15 @@ package nl.ing.api.contacting.conf.repository.support;
 
 import com.ing.api.contacting.dto.java.context.ContactingContext;
 import lombok.extern.slf4j.Slf4j;
+import nl.ing.api.contacting.conf.util.CacheKey;
+import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
 import nl.ing.api.java.contacting.caching.core.ContactingCache;
 import nl.ing.api.java.contacting.caching.util.CacheOps;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 @Slf4j
@@ -18,10 +22,23 @@ public abstract class CacheAwareRepository<T, ID> {
         this.contactingCache = contactingCache;
     }
 
+    //Resolve a typed handle once (typically in the constructor) and keep it in a field
+    protected <K extends CacheKey, V> CacheHandle<K, V> cacheHandle(CacheType cacheType, Class<K> keyType, Function<? super K, ? extends V> loader) {
+        if (!cacheType.accepts(keyType)) {
+            throw new IllegalArgumentException("Cache " + cacheType.cacheName() + " is keyed by " + cacheType.keyType().getSimpleName()
+                    + ", not by " + keyType.getSimpleName());
+        }
+        return contactingCache.handle(cacheType.cacheName(), loader);
+    }
+
+    public <K, V> V findInCache(ContactingContext contactingContext, CacheHandle<K, V> handle, K key) {
+        return handle.get(key, CacheOps.Flags.of(contactingContext.byPassCache()));
+    }
+
     //Implementation for custom key based cache retrieval
     public List<T> findAllInCacheSync(ContactingContext contactingContext, String cacheName, String key, Supplier<List<T>> supplier) {
         final boolean byPassCache = contactingContext.byPassCache();
-        CacheOps.Flags flags = new CacheOps.Flags(byPassCache);
+        CacheOps.Flags flags = CacheOps.Flags.of(byPassCache);
 
         return contactingCache.fromCacheableSyncFunction(
                 cacheName,
@@ -34,7 +51,7 @@ public abstract class CacheAwareRepository<T, ID> {
 
     public Optional<T> findOptionalInCacheSync(ContactingContext contactingContext, String cacheName, String key, Supplier<Optional<T>> supplier) {
         boolean byPassCache = contactingContext.byPassCache();
-        CacheOps.Flags flags = new CacheOps.Flags(byPassCache);
+        CacheOps.Flags flags = CacheOps.Flags.of(byPassCache);
 
         return contactingCache.fromCacheableSyncFunction(
                 cacheName,
@@ -45,7 +62,15 @@ public abstract class CacheAwareRepository<T, ID> {
         );
     }
 
-    public void evictCache(String cacheName, String key) {
+    public void evictCache(CacheType cacheType, CacheKey key) {
+        if (!cacheType.accepts(key.getClass())) {
+            throw new IllegalArgumentException("Cache " + cacheType.cacheName() + " is keyed by " + cacheType.keyType().getSimpleName()
+                    + ", not by " + key.getClass().getSimpleName());
+        }
+        evictCache(cacheType.cacheName(), key);
+    }
+
+    public void evictCache(String cacheName, Object key) {
         log.info("Evicting cache {} for key {}", cacheName, key);
         contactingCache.invalidateCache(cacheName, Optional.of(key));
     }
@@ -33,8 +33,8 @@ import java.util.concurrent.CompletionStage;
 
 import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.createdResponseWithLocationHeader;
 import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.emptyOkResponse;
-import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.noContentAsync;
-import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.okAsync;
+import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.noContentOracleAsync;
+import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.okOracleAsync;
 
 @Slf4j
 @Produces(MediaType.APPLICATION_JSON)
@@ -59,7 +59,7 @@ public class AttributeResourceJava extends BaseResourceJava {
     @Permissions({ContactingBusinessFunctions.CONTACT_HANDLING,
             ContactingBusinessFunctions.ATTRIBUTE_MANAGEMENT})
     public CompletableFuture<Response> getAllAttributes( @QueryParam("bypassCache") @DefaultValue("true") boolean bypassCache) {
-        return okAsync(() ->  new AttributeDtos(attributeService.getAll(getContactingContext().withCache(bypassCache))));
+        return okOracleAsync(() ->  new AttributeDtos(attributeService.getAll(getContactingContext().withCache(bypassCache))));
     }
 
     @GET
@@ -73,7 +73,7 @@ public class AttributeResourceJava extends BaseResourceJava {
     @Permissions({ContactingBusinessFunctions.CONTACT_HANDLING,
             ContactingBusinessFunctions.ATTRIBUTE_MANAGEMENT})
     public CompletableFuture<Response> getGroupedAttributes( @QueryParam("bypassCache") @DefaultValue("true") boolean bypassCache) {
-        return okAsync(() ->  new AttributeDtos(attributeService.getAll(getContactingContext().withCache(bypassCache))).toGroupedDtos());
+        return okOracleAsync(() ->  new AttributeDtos(attributeService.getAll(getContactingContext().withCache(bypassCache))).toGroupedDtos());
     }
 
 
@@ -94,7 +94,7 @@ public class AttributeResourceJava extends BaseResourceJava {
                                                     @QueryParam("bypassCache") @DefaultValue("true") boolean bypassCache) {
         log.debug("Fetching attribute for id {}", id);
 
-        return okAsync(() -> attributeService.findById(id, getContactingContext().withCache(bypassCache)));
+        return okOracleAsync(() -> attributeService.findById(id, getContactingContext().withCache(bypassCache)));
     }
 
     @POST
@@ -130,7 +130,7 @@ public class AttributeResourceJava extends BaseResourceJava {
                                                        @RequestBody AttributeDto attributeDto) {
         log.debug("Received attribute update request for account {}, attribute - {}", getContactingContext().accountId(), attributeDto);
 
-        return okAsync(() -> attributeService.update(id, attributeDto, getContactingContext()));
+        return okOracleAsync(() -> attributeService.update(id, attributeDto, getContactingContext()));
     }
 
     @PUT
@@ -172,6 +172,6 @@ public class AttributeResourceJava extends BaseResourceJava {
 
         log.debug("Received attribute delete request for account {}, attribute id - {}", getContactingContext().accountId(), attributeId);
 
-        return noContentAsync(() -> attributeService.deleteById(attributeId, getContactingContext()));
+        return noContentOracleAsync(() -> attributeService.deleteById(attributeId, getContactingContext()));
     }
 }
@@ -35,8 +35,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
-import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.noContent;
-import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.okAsync;
+import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.noContentOracleAsync;
+import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.okOracleAsync;
 
 @Path("/contacting-conf/connections")
 @Produces(MediaType.APPLICATION_JSON)
@@ -78,7 +78,7 @@ public class ConnectionResourceJava extends BaseResourceJava {
     })
     @Permissions({ContactingBusinessFunctions.SYSTEM_TOOLING})
     public CompletableFuture<Response> getAllConnections() {
-        return okAsync(() ->
+        return okOracleAsync(() ->
                 connectionDetailsService.getAllConnections()
         );
     }
@@ -98,7 +98,7 @@ public class ConnectionResourceJava extends BaseResourceJava {
     @Permissions({ContactingBusinessFunctions.SYSTEM_TOOLING})
     public CompletableFuture<Response> getAllConnectionForAccount(@QueryParam("bypassCache") @DefaultValue("false") boolean bypassCache) {
 
-        return okAsync(() ->
+        return okOracleAsync(() ->
                 connectionDetailsService.getAllConnectionsForAccount(getContactingContext().withCache(bypassCache))
         );
 
@@ -119,7 +119,7 @@ public class ConnectionResourceJava extends BaseResourceJava {
     })
     @Permissions({ContactingBusinessFunctions.SYSTEM_TOOLING})
     public CompletableFuture<Response> getAllBackend(@PathParam("accountId") Long accountId) {
-        return okAsync(() ->
+        return okOracleAsync(() ->
                 connectionDetailsService.getAllBackend(accountId)
         );
     }
@@ -140,7 +140,7 @@ public class ConnectionResourceJava extends BaseResourceJava {
     @Permissions({ContactingBusinessFunctions.SYSTEM_TOOLING})
     public CompletableFuture<Response> getAllFrontEnd(@PathParam("accountId") Long accountId) {
         final Long effectiveAccountId = (accountId != null) ? accountId : getContactingContext().accountId();
-        return okAsync(() ->
+        return okOracleAsync(() ->
                 connectionDetailsService.getAllFrontEnd(effectiveAccountId)
         );
     }
@@ -164,9 +164,7 @@ public class ConnectionResourceJava extends BaseResourceJava {
     })
     @Permissions({ContactingBusinessFunctions.SYSTEM_TOOLING})
     public CompletableFuture<Response> activateConnections(ActivateDto activateDto) {
-        return noContent(() -> CompletableFuture.runAsync(
-                () -> connectionDetailsService.createActivateConnections(activateDto)
-        ));
+        return noContentOracleAsync(() -> connectionDetailsService.createActivateConnections(activateDto));
     }
 
     @GET
@@ -190,7 +188,7 @@ public class ConnectionResourceJava extends BaseResourceJava {
                 .orElse("");
         log.info("Fetching all connections for employee {} for account: {}", employeeContext.employeeId(), accountName);
 
-        return okAsync(() ->
+        return okOracleAsync(() ->
                 connectionDetailsService.getAgentConnectionSettings(getContactingContext(), ipAddresses));
     }
 
@@ -205,7 +203,7 @@ public class ConnectionResourceJava extends BaseResourceJava {
     })
     @Permissions(ContactingBusinessFunctions.SYSTEM_TOOLING)
     public CompletableFuture<Response> getAllConnectionsV2() {
-        return okAsync(() -> connectionDetailsService.getAllConnectionsV2());
+        return okOracleAsync(() -> connectionDetailsService.getAllConnectionsV2());
     }
 
     @PUT
@@ -220,7 +218,7 @@ public class ConnectionResourceJava extends BaseResourceJava {
     })
     @Permissions(ContactingBusinessFunctions.SYSTEM_TOOLING)
     public CompletableFuture<Response> updateWebhookDetails(@ApiParam(value = "dtos", required = true) List<WebhookDto> dtos) {
-        return okAsync(() ->
+        return okOracleAsync(() ->
                 connectionDetailsService.updateWebhookDetails(dtos)
         );
     }
@@ -241,7 +239,7 @@ public class ConnectionResourceJava extends BaseResourceJava {
             @PathParam("detailId") @ApiParam(value = "Detail Id", required = true) Long detailId,
             ConnectionDetailsDtoJava connectionDetailsDto) {
 
-        return okAsync( () ->
+        return okOracleAsync( () ->
                 connectionDetailsService.updateConnectionDetails(connectionDetailsDto, connectionId, detailId)
         );
     }
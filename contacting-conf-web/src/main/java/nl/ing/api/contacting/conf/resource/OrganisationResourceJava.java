@@ -36,7 +36,7 @@ import static nl.ing.api.contacting.conf.domain.ContactingBusinessFunctions.SYST
 import static nl.ing.api.contacting.conf.domain.ContactingBusinessFunctions.TWILIO_LOGIN;
 import static nl.ing.api.contacting.conf.domain.ContactingBusinessFunctions.USER_ADMINISTRATION;
 import static nl.ing.api.contacting.conf.mapper.OrganisationMapperJava.toEntity;
-import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.noContentAsync;
+import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.noContentOracleAsync;
 import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.okAsync;
 
 @Path("/contacting-conf/organisations/")
@@ -88,7 +88,7 @@ public class OrganisationResourceJava extends BaseResourceJava {
             @PathParam("id") @ApiParam(value = "organisations id", required = true) Long organisationId,
             @ApiParam(value = "organisations dto", required = true) @RequestBody OrganisationSaveDto organisationDto) {
 
-        return noContentAsync(() -> {
+        return noContentOracleAsync(() -> {
             organisationService.update(
                     toEntity(organisationDto.withId(organisationId), getContactingContext().accountId()),
                     getContactingContext()
@@ -168,7 +168,7 @@ public class OrganisationResourceJava extends BaseResourceJava {
             @PathParam("id") @ApiParam(value = "organisation id", required = true) Long id) {
         log.debug("JAVA [DELETE] /contacting-conf/organisations/{}", id);
 
-        return noContentAsync(() -> {
+        return noContentOracleAsync(() -> {
             int deletedRows = organisationService.delete(id, getContactingContext());
             if (deletedRows == 0) {
                 throw Errors.notFound(String.format("Organisation with id %d not found", id));
@@ -34,9 +34,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
-import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.created;
+import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.createdOracleAsync;
 import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.okAsync;
-import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.okDataAsync;
+import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.okDataOracleAsync;
+import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.okOracleAsync;
 
 @Path("/contacting-conf/organisation-settings")
 @Produces(MediaType.APPLICATION_JSON)
@@ -58,7 +59,7 @@ public class OrganisationSettingsResourceJava extends BaseResourceJava {
     @Permissions(ContactingBusinessFunctions.ACCOUNT_SETTING_MANAGEMENT)
     public CompletableFuture<Response> getAllOrgSettings(@QueryParam("capabilities")
                                                          @ApiParam(value = "capabilities", required = false) String capabilities) {
-        return okDataAsync(() -> {
+        return okDataOracleAsync(() -> {
             if (capabilities == null || capabilities.isBlank()) {
                 return organisationSettingService.getOrganisationSettingsWithOutCapabilities(getContactingContext());
             } else {
@@ -89,7 +90,7 @@ public class OrganisationSettingsResourceJava extends BaseResourceJava {
     public CompletableFuture<Response> saveOrganisationSetting(
             @RequestBody OrganisationSettingDto orgSetting) {
 
-        return created(() -> organisationSettingService
+        return createdOracleAsync(() -> organisationSettingService
                 .createOrganisationSetting(orgSetting, getContactingContext()));
 
     }
@@ -104,7 +105,7 @@ public class OrganisationSettingsResourceJava extends BaseResourceJava {
     public CompletableFuture<Response> updateOrganisationSetting(
             @PathParam("id") @ApiParam Long id, @RequestBody OrganisationSettingDto orgSetting) {
 
-        return okAsync(() -> organisationSettingService
+        return okOracleAsync(() -> organisationSettingService
                 .updateOrganisationSetting(orgSetting, id, getContactingContext()));
 
     }
@@ -137,6 +138,6 @@ public class OrganisationSettingsResourceJava extends BaseResourceJava {
             @QueryParam("numRows") @ApiParam(value = "number of revisions to fetch, default 21", required = false) Integer numRows
     ) {
         int rows = Optional.ofNullable(numRows).orElse(DEFAULT_MAX_ROWS);
-        return okDataAsync(() -> organisationSettingService.getAuditedVersions(id, rows, getContactingContext()));
+        return okDataOracleAsync(() -> organisationSettingService.getAuditedVersions(id, rows, getContactingContext()));
     }
 }
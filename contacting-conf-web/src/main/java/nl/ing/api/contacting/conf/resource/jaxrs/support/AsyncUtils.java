@@ -22,13 +22,25 @@ public class AsyncUtils {
 
     private static final long DEFAULT_TIMEOUT_SECONDS = 10;
 
-    //Using scala configured executor. This executor service is suitable for DB operations
+    //Using scala configured executor. This executor service is suitable for DB operations; resources reading from
+    //Cassandra or the caches run here as well, so it is not limited to the permits of a datasource
     private static final Executor dbExecutor = nl.ing.api.contacting.conf.modules.ExecutionContextConfig.listeningExecutorService();
 
+    //Limited to the permits of the Oracle datasource; only for suppliers that run JPA calls
+    private static final Executor oracleExecutor = nl.ing.api.contacting.conf.modules.ExecutionContextConfig.oracleExecutor();
+
     public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
         return CompletableFuture.supplyAsync(supplier, dbExecutor);
     }
 
+    /**
+     * Runs a supplier that reads or writes through JPA, queueing it for one of the permits of the Oracle datasource
+     * instead of starting a thread that would block on the connection pool.
+     */
+    public static <T> CompletableFuture<T> supplyOracleAsync(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, oracleExecutor);
+    }
+
     /**
      * Wraps a synchronous/blocking supplier into a CompletableFuture and handles it via AsyncResponseHandler.
      *
@@ -43,6 +55,18 @@ public class AsyncUtils {
         return handleFuture(future, successHandler);
     }
 
+    /**
+     * Like {@link #handleAsyncExecution(Supplier, Function)}, for suppliers that run JPA calls.
+     *
+     * @see #supplyOracleAsync(Supplier)
+     */
+    public static <T> CompletableFuture<Response> handleOracleExecution(
+            Supplier<T> supplier,
+            Function<T, Response> successHandler) {
+
+        return handleFuture(supplyOracleAsync(supplier), successHandler);
+    }
+
     public static <T> CompletableFuture<Response> handleSyncExecution(
             Supplier<T> supplier,
             Function<T, Response> successHandler) {
@@ -55,6 +79,10 @@ public class AsyncUtils {
         return handleAsyncExecution(supplier, ResponseWrapper::okJsonResponse);
     }
 
+    public static <T> CompletableFuture<Response> okOracleAsync(Supplier<T> supplier) {
+        return handleOracleExecution(supplier, ResponseWrapper::okJsonResponse);
+    }
+
     public static CompletableFuture<Response> emptyOkResponse() {
         return CompletableFuture.completedFuture(ResponseWrapper.emptyOkResponse());
     }
@@ -67,6 +95,10 @@ public class AsyncUtils {
         return handleAsyncExecution(supplier, ResponseWrapper::created);
     }
 
+    public static <T> CompletableFuture<Response> createdOracleAsync(Supplier<T> supplier) {
+        return handleOracleExecution(supplier, ResponseWrapper::created);
+    }
+
     public static CompletableFuture<Response> notFound(String msg) {
         return CompletableFuture.completedFuture(ResponseWrapper.notFound(msg));
     }
@@ -75,6 +107,10 @@ public class AsyncUtils {
         return handleAsyncExecution(supplier, result -> ResponseWrapper.toData(result));
     }
 
+    public static <T> CompletableFuture<Response> okDataOracleAsync(Supplier<T> supplier) {
+        return handleOracleExecution(supplier, result -> ResponseWrapper.toData(result));
+    }
+
     public static <T> CompletableFuture<Response> okFuture(CompletableFuture<T> future) {
         return handleFuture(future, ResponseWrapper::okJsonResponse);
     }
@@ -90,6 +126,13 @@ public class AsyncUtils {
         }, result -> ResponseWrapper.noContentResponse());
     }
 
+    public static CompletableFuture<Response> noContentOracleAsync(Runnable runnable) {
+        return handleOracleExecution(() -> {
+            runnable.run();
+            return null;
+        }, result -> ResponseWrapper.noContentResponse());
+    }
+
     /**
      * Handles the result of a CompletableFuture and maps it to an appropriate HTTP response,
      * with standardized error handling.
@@ -4,6 +4,8 @@ import com.ing.api.contacting.dto.java.resource.connection.ActivateDto;
 import com.ing.api.contacting.dto.java.resource.connection.ActiveConnectionsDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import nl.ing.api.contacting.conf.domain.entity.ActiveConnectionEntity;
+import nl.ing.api.contacting.conf.domain.entity.ConnectionDetailsEntity;
 import nl.ing.api.contacting.conf.domain.model.connection.ConnectionWithDetails;
 import nl.ing.api.contacting.conf.exception.Errors;
 import nl.ing.api.contacting.conf.mapper.ConnectionDetailsMapper;
@@ -14,7 +16,12 @@ import nl.ing.api.java.contacting.caching.core.ContactingCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -34,23 +41,30 @@ public class ActiveConnectionServiceJava {
         if (connections == null || connections.isEmpty()) {
             log.warn("No ActiveConnectionsDto to update");
         } else {
-            connections.forEach(dto ->
-                    activeConnectionJpaRepository.findById(dto.connectionId())
-                            .flatMap(existing ->
-                                    connectionDetailsJpaRepository.findById(dto.connectionDetailsId())
-                                            .map(details -> {
-                                                existing.setConnectionDetails(details);
-                                                activeConnectionJpaRepository.save(existing);
-                                                log.debug("Connection ID {} found and updated", dto.connectionId());
-                                                connectionDetailsCacheRepository.evictCacheAfterUpdate(existing.getConnection().getAccountId());
-                                                return true;
-                                            })
-                            )
-                            .orElseGet(() -> {
-                                log.warn("Connection ID {} or ConnectionDetails ID {} not found, skipping update", dto.connectionId(), dto.connectionDetailsId());
-                                return false;
-                            })
-            );
+            // One IN (...) query per table instead of two lookups per connection
+            Map<Long, ActiveConnectionEntity> existingById = activeConnectionJpaRepository
+                    .findAllById(connections.stream().map(ActiveConnectionsDto::connectionId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(ActiveConnectionEntity::getConnectionId, Function.identity()));
+            Map<Long, ConnectionDetailsEntity> detailsById = connectionDetailsJpaRepository
+                    .findAllById(connections.stream().map(ActiveConnectionsDto::connectionDetailsId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(ConnectionDetailsEntity::getId, Function.identity()));
+
+            Set<Long> updatedAccountIds = new LinkedHashSet<>();
+            connections.forEach(dto -> {
+                ActiveConnectionEntity existing = existingById.get(dto.connectionId());
+                ConnectionDetailsEntity details = detailsById.get(dto.connectionDetailsId());
+                if (existing == null || details == null) {
+                    log.warn("Connection ID {} or ConnectionDetails ID {} not found, skipping update", dto.connectionId(), dto.connectionDetailsId());
+                    return;
+                }
+                existing.setConnectionDetails(details);
+                activeConnectionJpaRepository.save(existing);
+                log.debug("Connection ID {} found and updated", dto.connectionId());
+                updatedAccountIds.add(existing.getConnection().getAccountId());
+            });
+            updatedAccountIds.forEach(connectionDetailsCacheRepository::evictCacheAfterUpdate);
         }
         // Activate webhooks (side effect, result not used)
         webhookConnectionService.activate(activateDto.webhooks());
@@ -1,30 +1,172 @@
 package nl.ing.api.contacting.conf.service;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
 import nl.ing.api.contacting.conf.domain.entity.cassandra.ContactingConfigEntity;
+import nl.ing.api.contacting.conf.domain.model.permission.ContactingConfigVO;
 import nl.ing.api.contacting.conf.mapper.ContactingConfigMapper;
 import nl.ing.api.contacting.conf.repository.ContactingConfigRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * The contacting configs, served from an immutable in-memory snapshot of the whole table.
+ * <p>
+ * The snapshot is read on first use and, while the application context runs, re-read every
+ * {@link #REFRESH_INTERVAL} by a background thread that Spring starts and stops through {@link SmartLifecycle}; it is
+ * only replaced when a key changed, and a failed refresh keeps the current snapshot. Reads never touch Cassandra after
+ * the first load and hand out immutable {@link ContactingConfigVO}s, so callers cannot change the snapshot.
+ * {@code contacting.config.snapshot.age} and {@code contacting.config.snapshot.size} show the time since the last
+ * successful read and the number of keys.
+ */
 @Service
-public class ContactingConfigService {
+@Slf4j
+public class ContactingConfigService implements SmartLifecycle {
+
+    static final Duration REFRESH_INTERVAL = Duration.ofMinutes(1);
 
     private final ContactingConfigRepository contactingConfigRepository;
+    private final Duration refreshInterval;
+    private ScheduledExecutorService refresher;
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public ContactingConfigService(ContactingConfigRepository contactingConfigRepository, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(contactingConfigRepository, REFRESH_INTERVAL, meterRegistry.getIfAvailable());
+    }
 
-    public ContactingConfigService(ContactingConfigRepository contactingConfigRepository) {
+    ContactingConfigService(ContactingConfigRepository contactingConfigRepository, Duration refreshInterval, MeterRegistry meterRegistry) {
         this.contactingConfigRepository = contactingConfigRepository;
+        this.refreshInterval = refreshInterval;
+        if (meterRegistry != null) {
+            registerMeters(meterRegistry);
+        }
     }
 
     public Set<String> findByKey(String key) {
-        return contactingConfigRepository.findByKey(key).stream()
-                .flatMap(entity -> ContactingConfigMapper.toVO(entity).valuesAsSet().stream())
-                .collect(Collectors.toSet());
+        return snapshot().valuesByKey().getOrDefault(key, Set.of());
+    }
+
+    public List<ContactingConfigVO> findAll() {
+        return snapshot().configs();
+    }
+
+    /**
+     * Re-reads the table and swaps the snapshot when a key changed.
+     */
+    void refresh() {
+        try {
+            Snapshot current = snapshot;
+            Snapshot loaded = load();
+            if (current == null || !current.valuesByKey().equals(loaded.valuesByKey())) {
+                if (current != null) {
+                    log.info("Contacting configs changed for keys {}", changedKeys(current, loaded));
+                }
+                snapshot = loaded;
+            } else {
+                snapshot = current.reloadedAt(loaded.loadedAt());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh the contacting configs, keeping a snapshot of {} ms old", ageMillis(), e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (refresher != null) {
+            return;
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "contacting-config-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(this::refresh, refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return refresher != null;
     }
 
-    public List<ContactingConfigEntity> findAll() {
-        return contactingConfigRepository.findAll();
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : loadInitial();
+    }
+
+    private synchronized Snapshot loadInitial() {
+        if (snapshot == null) {
+            snapshot = load();
+        }
+        return snapshot;
+    }
+
+    private Snapshot load() {
+        List<ContactingConfigEntity> entities = contactingConfigRepository.findAll();
+        List<ContactingConfigVO> configs = entities.stream()
+                .map(ContactingConfigMapper::toVO)
+                .toList();
+        Map<String, Set<String>> valuesByKey = new HashMap<>();
+        for (ContactingConfigVO config : configs) {
+            if (config.values() == null) {
+                continue;
+            }
+            valuesByKey.computeIfAbsent(config.key(), key -> new HashSet<>())
+                    .addAll(config.valuesAsSet());
+        }
+        Map<String, Set<String>> immutable = new HashMap<>();
+        valuesByKey.forEach((key, values) -> immutable.put(key, Set.copyOf(values)));
+        return new Snapshot(Map.copyOf(immutable), configs, System.nanoTime());
+    }
+
+    private static Set<String> changedKeys(Snapshot current, Snapshot loaded) {
+        Set<String> keys = new HashSet<>(current.valuesByKey().keySet());
+        keys.addAll(loaded.valuesByKey().keySet());
+        keys.removeIf(key -> Objects.equals(current.valuesByKey().get(key), loaded.valuesByKey().get(key)));
+        return keys;
+    }
+
+    private double ageMillis() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : (System.nanoTime() - current.loadedAt()) / 1_000_000d;
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        TimeGauge.builder("contacting.config.snapshot.age", this, TimeUnit.MILLISECONDS, ContactingConfigService::ageMillis)
+                .description("Time since the contacting configs were last read from Cassandra")
+                .register(registry);
+        Gauge.builder("contacting.config.snapshot.size", this, service -> service.snapshot == null ? 0 : service.snapshot.valuesByKey().size())
+                .description("Keys in the contacting config snapshot")
+                .register(registry);
+    }
+
+    private record Snapshot(Map<String, Set<String>> valuesByKey, List<ContactingConfigVO> configs, long loadedAt) {
+
+        Snapshot reloadedAt(long loadedAt) {
+            return new Snapshot(valuesByKey, configs, loadedAt);
+        }
     }
-}
\ No newline at end of file
+}
@@ -9,6 +9,7 @@ import nl.ing.api.contacting.conf.exception.Errors;
 
 import nl.ing.api.contacting.conf.mapper.OrganisationMapperJava;
 import nl.ing.api.contacting.conf.repository.OrganisationAuditRepository;
+import nl.ing.api.contacting.conf.repository.OrganisationTreeCacheRepository;
 
 import nl.ing.api.contacting.conf.util.OrganisationFilter;
 import nl.ing.api.contacting.java.repository.model.organisation.OrganisationEntity;
@@ -28,15 +29,20 @@ public class OrganisationServiceJava {
 
     private final OrganisationAuditRepository organisationRepository;
     private final EntityEventSenderJava entityEventSender;
+    private final OrganisationTreeCacheRepository organisationTreeCacheRepository;
 
     @Transactional(readOnly = true)
     public List<OrganisationVO> getOrganisationTree(ContactingContext context) {
-        return OrganisationMapperJava.organisationHierarchyToVo(organisationRepository.findOrgTree(context));
+        return organisationTreeCacheRepository.findOrgTree(context).roots();
     }
 
+    /**
+     * Served from the cached tree; organisations outside of it, not below a super circle, are read from the database.
+     */
     @Transactional(readOnly = true)
     public Optional<OrganisationVO> getById(Long id, ContactingContext context) {
-        return OrganisationMapperJava.organisationSubtreeById(id, organisationRepository.findOrgById(id, context));
+        return organisationTreeCacheRepository.findOrgTree(context).find(id)
+                .or(() -> OrganisationMapperJava.organisationSubtreeById(id, organisationRepository.findOrgById(id, context)));
     }
 
     @Transactional
@@ -50,6 +56,7 @@ public class OrganisationServiceJava {
         }
 
         OrganisationEntity saved = organisationRepository.auditSave(organisationModel, context);
+        organisationTreeCacheRepository.updateAfterSave(context.accountId(), saved);
         return saved.getId();
     }
 
@@ -62,6 +69,7 @@ public class OrganisationServiceJava {
         try {
             int deletedRows = organisationRepository.auditDeleteById(id, context);
             if (deletedRows > 0) {
+                organisationTreeCacheRepository.updateAfterDelete(context.accountId(), id);
                 entityEventSender.sendEntityEvent(ContactingEntityKafkaEventDataSyntaxJava.toEventDeleteData(orgOpt.get(), context.accountId(), Optional.of(orgOpt.get().name())))
                         .exceptionally(ex -> {
                             log.warn("Unable to send org entity delete message to kafka", ex);
@@ -92,7 +100,9 @@ public class OrganisationServiceJava {
             throw Errors.badRequest("requirement failed: Name is not unique");
         }
 
-        return organisationRepository.auditUpdate(organisationEntity, context);
+        OrganisationEntity updated = organisationRepository.auditUpdate(organisationEntity, context);
+        organisationTreeCacheRepository.updateAfterSave(context.accountId(), updated);
+        return updated;
     }
 
     private boolean isUniqueName(OrganisationEntity org, ContactingContext context) {
@@ -105,7 +115,6 @@ public class OrganisationServiceJava {
         if(sessionContext.isEmpty()) {
             return Collections.emptyList();
         }
-        List<OrganisationVO> organisations = getOrganisationTree(contactingContext);
-        return OrganisationFilter.getAllowedOrganisations(sessionContext.get(), organisations);
+        return OrganisationFilter.getAllowedOrganisations(sessionContext.get(), organisationTreeCacheRepository.findOrgTree(contactingContext));
     }
 }
@@ -11,11 +11,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import nl.ing.api.contacting.conf.domain.entity.OrganisationSettingsEntity;
 import nl.ing.api.contacting.conf.domain.model.settingsmetadata.OrganisationSettingVO;
+import nl.ing.api.contacting.conf.domain.model.settingsmetadata.OrganisationSettingsHierarchy;
 import nl.ing.api.contacting.conf.domain.model.settingsmetadata.SettingCapability;
 import nl.ing.api.contacting.conf.domain.model.settingsmetadata.SettingsMetadataVO;
 import nl.ing.api.contacting.conf.exception.Errors;
 import nl.ing.api.contacting.conf.mapper.OrganisationSettingMapperJava;
 import nl.ing.api.contacting.conf.repository.OrganisationSettingsAuditRepository;
+import nl.ing.api.contacting.conf.repository.OrganisationSettingsCacheRepository;
 import nl.ing.api.contacting.conf.repository.OrganisationSettingsJpaRepository;
 import nl.ing.api.contacting.trust.rest.feature.permissions.RestrictionOrganisationalUnitDto;
 import org.springframework.stereotype.Service;
@@ -27,7 +29,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -40,6 +41,8 @@ public class OrganisationSettingsServiceJava {
 
     private final OrganisationSettingsJpaRepository organisationSettingsRepository;
 
+    private final OrganisationSettingsCacheRepository organisationSettingsCacheRepository;
+
     /**
      * Fetches organisation settings by orgIds and accountId, returns mapped VO list.
      * Returns empty list if repository returns null or empty.
@@ -96,6 +99,7 @@ public class OrganisationSettingsServiceJava {
         } else {
             OrganisationSettingsEntity organisationSettingsEntity = organisationSettingsRepositoryWrapper.saveAndAudit(
                     orgSettingsEntity, context);
+            organisationSettingsCacheRepository.evictCacheAfterUpdate(context.accountId());
             return OrganisationSettingMapperJava.toVO(organisationSettingsEntity);
         }
     }
@@ -118,8 +122,8 @@ public class OrganisationSettingsServiceJava {
                 flatOrganisationDtoJavaOptional = OrganisationSettingMapperJava.scalaDtoToJavaDtoOpt(flatOrganisationUnitDtoSet);
 
 
-        List<OrganisationSettingVO> allOrgSettings = getOrganisationSettings(context);
-        List<OrganisationSettings> settings = getSettingsForEmployee(context, allOrgSettings, flatOrganisationDtoJava);
+        OrganisationSettingsHierarchy hierarchy = organisationSettingsCacheRepository.findHierarchyByAccount(context);
+        List<OrganisationSettings> settings = getSettingsForEmployee(hierarchy, flatOrganisationDtoJava);
 
         List<OrganisationSettings> primarySettings = flatOrganisationDtoJavaOptional
                 .map(org -> settings.stream()
@@ -154,29 +158,15 @@ public class OrganisationSettingsServiceJava {
     }
 
     private List<OrganisationSettings> getSettingsForEmployee(
-            ContactingContext context,
-            List<OrganisationSettingVO> allOrgSettings,
+            OrganisationSettingsHierarchy hierarchy,
             Set<FlatOrganisationUnitDto> organisations
     ) {
         return organisations.stream().map(organisation -> {
-            List<OrganisationSetting> accountSettings = organisationSettingsRepositoryWrapper.findAll(context)
-                    .stream()
-                    .map(setting -> new OrganisationSetting(setting.getKey(), true, setting.getValue()))
-                    .toList();
-
-            List<OrganisationSetting> orgSettings = getSettingsForOrganisation(allOrgSettings, organisation)
+            List<OrganisationSetting> allSettings = hierarchy.effectiveSettings(organisation)
                     .stream()
                     .map(s -> new OrganisationSetting(s.key(), true, s.value()))
                     .toList();
 
-            List<OrganisationSetting> allSettings = Stream.concat(orgSettings.stream(), accountSettings.stream())
-                    .collect(Collectors.groupingBy(
-                            OrganisationSetting::name,
-                            Collectors.collectingAndThen(Collectors.toList(), list -> list.get(0))))
-                    .values()
-                    .stream()
-                    .toList();
-
             return new OrganisationSettings(organisation.cltId(), allSettings);
         }).toList();
     }
@@ -188,6 +178,7 @@ public class OrganisationSettingsServiceJava {
 
         OrganisationSettingsEntity organisationSettingsEntity = organisationSettingsRepositoryWrapper.updateAndAudit(
                 orgSettingsEntity, context);
+        organisationSettingsCacheRepository.evictCacheAfterUpdate(context.accountId());
 
         return OrganisationSettingMapperJava.toVO(organisationSettingsEntity);
     }
@@ -214,6 +205,7 @@ public class OrganisationSettingsServiceJava {
     public void deleteOrganisationSetting(long id, ContactingContext context) {
         findById(id, context);
         organisationSettingsRepositoryWrapper.deleteById(id);
+        organisationSettingsCacheRepository.evictCacheAfterUpdate(context.accountId());
     }
 
     @Transactional(readOnly = true)
@@ -249,13 +241,13 @@ public class OrganisationSettingsServiceJava {
                                                                          FlatOrganisationUnitDto organisationalUnitDto) {
         List<OrganisationSettingVO> teamLevelSettings =
                 getOrganisationSettingsForOrg(allOrgSettings, organisationalUnitDto.cltId());
-        List<String> teamSettingKeys = teamLevelSettings.stream().map(OrganisationSettingVO::key).toList();
+        Set<String> teamSettingKeys = teamLevelSettings.stream().map(OrganisationSettingVO::key).collect(Collectors.toSet());
         List<OrganisationSettingVO> circleLevelSettings = getOrganisationSettingsForOrg(
                 allOrgSettings.stream()
                         .filter(x -> !teamSettingKeys.contains(x.key()))
                         .toList(),
                 organisationalUnitDto.circleId());
-        List<String> circleSettingKeys = circleLevelSettings.stream().map(OrganisationSettingVO::key).toList();
+        Set<String> circleSettingKeys = circleLevelSettings.stream().map(OrganisationSettingVO::key).collect(Collectors.toSet());
         List<OrganisationSettingVO> superCircleLevelSettings = getOrganisationSettingsForOrg(
                 allOrgSettings.stream()
                         .filter(x -> !(teamSettingKeys.contains(x.key()) && circleSettingKeys.contains(x.key())))
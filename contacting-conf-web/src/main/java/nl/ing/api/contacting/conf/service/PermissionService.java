@@ -14,7 +14,6 @@ import lombok.extern.slf4j.Slf4j;
 import nl.ing.api.contacting.conf.configuration.AuditLoggerService;
 import nl.ing.api.contacting.conf.domain.ContactingBusinessFunctions;
 import nl.ing.api.contacting.conf.domain.entity.cassandra.BusinessFunctionOnTeamEntity;
-import nl.ing.api.contacting.conf.domain.entity.cassandra.ContactingConfigEntity;
 import nl.ing.api.contacting.conf.domain.entity.cassandra.EmployeesByAccountEntity;
 import nl.ing.api.contacting.conf.domain.enums.CONTACTING;
 import nl.ing.api.contacting.conf.domain.enums.CUSTOMER_AUTHENTICATED;
@@ -22,9 +21,8 @@ import nl.ing.api.contacting.conf.domain.enums.CUSTOMER_UNAUTHENTICATED;
 import nl.ing.api.contacting.conf.domain.enums.FOREIGN_API;
 import nl.ing.api.contacting.conf.domain.model.permission.*;
 import nl.ing.api.contacting.conf.mapper.BusinessFunctionMapper;
-import nl.ing.api.contacting.conf.mapper.ContactingConfigMapper;
 import nl.ing.api.contacting.conf.mapper.EmployeeAccountMapper;
-import nl.ing.api.contacting.conf.repository.EmployeesByAccountRepository;
+import nl.ing.api.contacting.conf.repository.EmployeesByAccountCacheRepository;
 import nl.ing.api.contacting.conf.repository.PermissionCacheRepository;
 import nl.ing.api.contacting.conf.util.PermissionUtils;
 import nl.ing.api.contacting.trust.rest.context.*;
@@ -41,37 +39,43 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import static nl.ing.api.contacting.conf.domain.model.permission.OrganisationalRestrictionLevel.ACCOUNT;
-
 @Slf4j
 @Service
 @Transactional
 @AllArgsConstructor
 public class PermissionService {
 
-    public static final int ORG_ID_FOR_ACCOUNT = -1;
+    public static final int ORG_ID_FOR_ACCOUNT = BusinessFunctionVO.ORG_ID_FOR_ACCOUNT;
     private static final String READONLY_BUSINESS_FUNCTIONS = "BUSINESS_FUNCTIONS_HIDDEN";
     public static final String BUSINESS_FUNCTIONS_AT_TEAM_LEVEL = "BUSINESS_FUNCTIONS_AT_TEAM_LEVEL";
     public static final String BUSINESS_FUNCTIONS = "BUSINESS_FUNCTIONS";
     public static final String ROLES = "ROLES";
 
     private final ContactingConfigService contactingConfigService;
-    private final EmployeesByAccountRepository employeesByAccountRepository;
+    private final EmployeesByAccountCacheRepository employeesByAccountCacheRepository;
     private final PermissionCacheRepository permissionCacheRepository;
     private final AuditLoggerService auditLoggerService;
 
 
     public Map<String, Object> fetchPermissions(AuthorizationContext authContext, ContactingContext contactingContext, String accountFriendlyName) {
-        List<BusinessFunctionVO> businessFunctionVOS = getAllBusinessFunctions(contactingContext, accountFriendlyName);
-        return getPermissions(authContext, accountFriendlyName, businessFunctionVOS);
+        PermissionMatrix permissionMatrix = getPermissionMatrix(contactingContext, accountFriendlyName);
+        return getPermissions(authContext, contactingContext, accountFriendlyName, permissionMatrix);
 
     }
 
     public Map<String, Object> getPermissions(AuthorizationContext authContext,
+                                              ContactingContext contactingContext,
                                               String accountFriendlyName,
                                               List<BusinessFunctionVO> businessFunctions) {
+        return getPermissions(authContext, contactingContext, accountFriendlyName, PermissionMatrix.compile(businessFunctions));
+    }
+
+    public Map<String, Object> getPermissions(AuthorizationContext authContext,
+                                              ContactingContext contactingContext,
+                                              String accountFriendlyName,
+                                              PermissionMatrix businessFunctions) {
         if (authContext instanceof EmployeeContext employeeContext) {
-            return getPermissionsForEmployeeContext(employeeContext.employeeId(), accountFriendlyName, businessFunctions);
+            return getPermissionsForEmployeeContext(contactingContext, employeeContext.employeeId(), accountFriendlyName, businessFunctions);
         }
         if (authContext instanceof CustomerContext) {
             return createNonEmployeePermissionVO(businessFunctions, Set.of(CUSTOMER_AUTHENTICATED.role()));
@@ -85,15 +89,21 @@ public class PermissionService {
         return createNonEmployeePermissionVO(businessFunctions, Set.of(CUSTOMER_UNAUTHENTICATED.role()));
     }
 
-    Map<String, Object> getPermissionsForEmployeeContext(String employeeId,
+    Map<String, Object> getPermissionsForEmployeeContext(ContactingContext contactingContext,
+                                                         String employeeId,
                                                          String accountFriendlyName,
-                                                         List<BusinessFunctionVO> businessFunctions) {
-        return getPermissionsForEmployeeMap(employeeId, accountFriendlyName, businessFunctions, false);
+                                                         PermissionMatrix businessFunctions) {
+        return getPermissionsForEmployeeMap(contactingContext, employeeId, accountFriendlyName, businessFunctions, false);
     }
 
     public Map<String, Object> createNonEmployeePermissionVO(List<BusinessFunctionVO> businessFunctions,
                                                              Set<String> roles) {
-        NonEmployeeBusinessFunctionVO nonEmployeeBusinessFunctionVO = new NonEmployeeBusinessFunctionVO(PermissionUtils.filterMaxRestrictions(businessFunctions, roles));
+        return createNonEmployeePermissionVO(PermissionMatrix.compile(businessFunctions), roles);
+    }
+
+    public Map<String, Object> createNonEmployeePermissionVO(PermissionMatrix businessFunctions,
+                                                             Set<String> roles) {
+        NonEmployeeBusinessFunctionVO nonEmployeeBusinessFunctionVO = new NonEmployeeBusinessFunctionVO(businessFunctions.maxRestrictions(roles));
         return PermissionUtils.getPermissionsForEmployeeContextVO(Optional.empty(), nonEmployeeBusinessFunctionVO.businessFunctions());
     }
 
@@ -118,20 +128,19 @@ public class PermissionService {
 
 
     public void syncBusinessFunctions(ContactingContext contactingContext, List<BusinessFunctionVO> businessFunctions, AccountDto accountDto, AuditContext auditContext) {
-        List<ContactingConfigEntity> allConfig = Optional.ofNullable(contactingConfigService.findAll())
-                                                .orElse(Collections.emptyList());
-        List<ContactingConfigVO> contactingConfigVOs = allConfig.stream()
-                .map(ContactingConfigMapper::toVO)
-                .toList();
+        List<ContactingConfigVO> contactingConfigVOs = Optional.ofNullable(contactingConfigService.findAll())
+                .orElse(Collections.emptyList());
         if (PermissionUtils.validate(contactingConfigVOs, businessFunctions)) {
             List<BusinessFunctionVO> editableBusinessFunctions = getEditableBusinessFunctions(contactingContext, accountDto.friendlyName());
-            List<BusinessFunctionVO> removedRoles = removeRoles(accountDto.friendlyName(), editableBusinessFunctions, businessFunctions, auditContext);
+            List<BusinessFunctionVO> removedRoles = removeRoles(contactingContext, accountDto.friendlyName(), editableBusinessFunctions, businessFunctions, auditContext);
             addRoles(contactingContext, accountDto.friendlyName(), removedRoles, businessFunctions, auditContext);
+            permissionCacheRepository.evictCacheAfterUpdate(contactingContext.accountId(), accountDto.friendlyName());
         }
     }
 
     @Transactional
-    public List<BusinessFunctionVO> removeRoles(String accountFriendlyName,
+    public List<BusinessFunctionVO> removeRoles(ContactingContext contactingContext,
+                                                String accountFriendlyName,
                                                 List<BusinessFunctionVO> currentPermissions,
                                                 List<BusinessFunctionVO> newPermissionsRoleVO,
                                                 AuditContext auditContext) {
@@ -145,7 +154,7 @@ public class PermissionService {
         }
 
         for (BusinessFunctionVO vo : toRemoveRoles) {
-            permissionCacheRepository.deletePermission(vo, accountFriendlyName);
+            permissionCacheRepository.deletePermission(contactingContext, vo, accountFriendlyName);
         }
 
         String removedRolesStr = toRemoveRoles.stream()
@@ -195,43 +204,33 @@ public class PermissionService {
     }
 
     public Map<String, Object> getPermissionsForEmployeeAndAccountFriendlyName(ContactingContext contactingContext, String employeeId, String accountFriendlyName) {
-        List<BusinessFunctionVO> businessFunctionVOS = getAllBusinessFunctions(contactingContext, accountFriendlyName);
-        return getPermissionsForEmployeeMap(employeeId, accountFriendlyName, businessFunctionVOS, true);
+        PermissionMatrix permissionMatrix = getPermissionMatrix(contactingContext, accountFriendlyName);
+        return getPermissionsForEmployeeMap(contactingContext, employeeId, accountFriendlyName, permissionMatrix, true);
     }
 
-    @Transactional
-    protected List<BusinessFunctionVO> getAllBusinessFunctions(ContactingContext contactingContext, String accountFriendlyName) {
-
-        List<BusinessFunctionOnTeamEntity> businessFunctionEntities =
-                Optional.ofNullable(permissionCacheRepository.findByAccountFriendlyNameCache(contactingContext, accountFriendlyName))
-                        .orElse(Collections.emptyList());
-
-        // Convert entities to VO list
-        List<BusinessFunctionVO> businessFunctionVOList =
-                new ArrayList<>(BusinessFunctionMapper.toVOList(businessFunctionEntities));
-
-        // Create systemTooling VO
-        BusinessFunctionVO systemTooling = new BusinessFunctionVO(
-                "",
-                ContactingBusinessFunctions.SYSTEM_TOOLING,
-                "CONTACTING",
-                ACCOUNT,
-                ORG_ID_FOR_ACCOUNT
-        );
-
-        businessFunctionVOList.add(0, systemTooling);
-
-        return businessFunctionVOList;
+    protected PermissionMatrix getPermissionMatrix(ContactingContext contactingContext, String accountFriendlyName) {
+        return permissionCacheRepository.findPermissionMatrixCache(contactingContext, accountFriendlyName);
     }
 
     public Map<String, Object> getPermissionsForEmployeeMap(
+            ContactingContext contactingContext,
             String employeeId,
             String accountFriendlyName,
             List<BusinessFunctionVO> businessFunctionVOS,
             boolean isPermissionsForWithAndAccountFriendlyName) {
+        return getPermissionsForEmployeeMap(contactingContext, employeeId, accountFriendlyName,
+                PermissionMatrix.compile(businessFunctionVOS), isPermissionsForWithAndAccountFriendlyName);
+    }
+
+    public Map<String, Object> getPermissionsForEmployeeMap(
+            ContactingContext contactingContext,
+            String employeeId,
+            String accountFriendlyName,
+            PermissionMatrix businessFunctionVOS,
+            boolean isPermissionsForWithAndAccountFriendlyName) {
 
         Optional<EmployeesByAccountEntity> employeeAccountEntity =
-                Optional.ofNullable(employeesByAccountRepository.findByEmployeeIdAndAccountFriendlyName(employeeId, accountFriendlyName))
+                Optional.ofNullable(employeesByAccountCacheRepository.findByEmployeeIdAndAccountFriendlyName(contactingContext, employeeId, accountFriendlyName))
                         .orElse(Optional.empty());
         EmployeeAccountsVO employeeAccountsVO = employeeAccountEntity
                 .map(EmployeeAccountMapper::toVO)
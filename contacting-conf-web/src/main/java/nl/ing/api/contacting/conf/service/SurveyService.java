@@ -19,7 +19,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+
+import static nl.ing.api.contacting.conf.resource.jaxrs.support.AsyncUtils.supplyOracleAsync;
 
 @Service
 @RequiredArgsConstructor
@@ -32,9 +33,6 @@ public class SurveyService {
     private final SurveyTaskQueueMappingJpaRepository surveyTaskQMappingRepository;
     private final SurveyCallRecordRepository surveyCallRecordRepository;
 
-    //Using scala configured executor. This executor service is suitable for DB operations
-    private static final Executor dbExecutor = nl.ing.api.contacting.conf.modules.ExecutionContextConfig.listeningExecutorService();
-
     public List<SurveyCallRecordVO> getOfferedSurveyCalls(String accountFriendlyName, String phoneNumber) {
         return surveyCallRecordRepository.findByKeyAccountFriendlyNameAndKeyPhoneNum(accountFriendlyName, phoneNumber)
                 .stream().map(SurveyMapperJava::surveyCallRecordEntityToVO).toList();
@@ -59,13 +57,13 @@ public class SurveyService {
 
         // Fetch related entities in parallel
         CompletableFuture<List<SurveyPhoneNumberFormatEntity>> phFormatsFuture =
-                CompletableFuture.supplyAsync(() -> surveyPhNumberFormatRepo.findBySurveyId(surveyId), dbExecutor);
+                supplyOracleAsync(() -> surveyPhNumberFormatRepo.findBySurveyId(surveyId));
 
         CompletableFuture<List<SurveyTaskQMappingWithName>> taskQueuesFuture =
-                CompletableFuture.supplyAsync(() -> surveyTaskQRepository.findTaskQueuesBySurveyId(surveyId), dbExecutor);
+                supplyOracleAsync(() -> surveyTaskQRepository.findTaskQueuesBySurveyId(surveyId));
 
         CompletableFuture<List<SurveyOrgDetails>> orgsFuture =
-                CompletableFuture.supplyAsync(() -> surveyOrgRepository.findBySurveyIdWithHierarchy(surveyId), dbExecutor);
+                supplyOracleAsync(() -> surveyOrgRepository.findBySurveyIdWithHierarchy(surveyId));
 
         // Combine results
         return CompletableFuture.allOf(phFormatsFuture, taskQueuesFuture, orgsFuture)
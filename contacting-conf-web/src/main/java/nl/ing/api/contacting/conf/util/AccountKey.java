@@ -0,0 +1,62 @@
+package nl.ing.api.contacting.conf.util;
+
+import java.io.Serial;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache key for data that is scoped to an account only.
+ * Instances are interned per accountId; the number of accounts is small and stable.
+ */
+public final class AccountKey implements CacheKey {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final ConcurrentMap<Long, AccountKey> KEYS = new ConcurrentHashMap<>();
+
+    private final long accountId;
+    private final int hash;
+
+    private AccountKey(long accountId) {
+        this.accountId = accountId;
+        this.hash = Long.hashCode(accountId);
+    }
+
+    /**
+     * Takes the boxed accountId as it comes from the ContactingContext, so a lookup of an
+     * existing key does not box again.
+     */
+    public static AccountKey of(Long accountId) {
+        if (accountId == null) {
+            throw new IllegalArgumentException("accountId is required for an account scoped cache key");
+        }
+        AccountKey key = KEYS.get(accountId);
+        return key != null ? key : KEYS.computeIfAbsent(accountId, AccountKey::new);
+    }
+
+    @Serial
+    private Object readResolve() {
+        return of(accountId);
+    }
+
+    @Override
+    public long accountId() {
+        return accountId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof AccountKey other && other.accountId == accountId);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountKey[accountId=" + accountId + "]";
+    }
+}
@@ -0,0 +1,71 @@
+package nl.ing.api.contacting.conf.util;
+
+import java.io.Serial;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache key for data that is scoped to an account and a name within it, e.g. an account friendly name.
+ * Instances are interned per (accountId, name) and cache their hash code.
+ */
+public final class AccountNameKey implements CacheKey {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final ConcurrentMap<Long, ConcurrentMap<String, AccountNameKey>> KEYS = new ConcurrentHashMap<>();
+
+    private final long accountId;
+    private final String name;
+    private final int hash;
+
+    private AccountNameKey(long accountId, String name) {
+        this.accountId = accountId;
+        this.name = name;
+        this.hash = 31 * Long.hashCode(accountId) + name.hashCode();
+    }
+
+    public static AccountNameKey of(Long accountId, String name) {
+        if (accountId == null || name == null) {
+            throw new IllegalArgumentException("accountId and name are required for an account scoped cache key");
+        }
+        ConcurrentMap<String, AccountNameKey> keysForAccount = KEYS.get(accountId);
+        if (keysForAccount == null) {
+            keysForAccount = KEYS.computeIfAbsent(accountId, id -> new ConcurrentHashMap<>());
+        }
+        AccountNameKey key = keysForAccount.get(name);
+        return key != null ? key : keysForAccount.computeIfAbsent(name, n -> new AccountNameKey(accountId, n));
+    }
+
+    @Serial
+    private Object readResolve() {
+        return of(accountId, name);
+    }
+
+    @Override
+    public long accountId() {
+        return accountId;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof AccountNameKey other
+                && other.hash == hash
+                && other.accountId == accountId
+                && other.name.equals(name));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountNameKey[accountId=" + accountId + ", name=" + name + "]";
+    }
+}
@@ -0,0 +1,14 @@
+package nl.ing.api.contacting.conf.util;
+
+import java.io.Serializable;
+
+/**
+ * Key of an account scoped cache entry.
+ * Implementations are interned and carry a precomputed hash code, so resolving the key
+ * of a cache hit does not allocate. Keys are serializable for the shared second level cache and
+ * resolve to the interned instance when deserialized.
+ */
+public sealed interface CacheKey extends Serializable permits AccountKey, AccountNameKey, EmployeeKey {
+
+    long accountId();
+}
@@ -2,20 +2,26 @@ package nl.ing.api.contacting.conf.util;
 
 public enum CacheType {
 
-    HAZELCAST_MAP("hazelcast-map"),
-    DATABASE_ALL("database-all"),
-    DATABASE_BY_ID("database-by-id"),
-    ATTRIBUTES_BY_ACCOUNT("attributes-by-account"),
-    ORACLE_UP("oracle-up"),
-    PLATFORM_ACCOUNT_SETTINGS("pf-as-by-account"),
-    ACTIVE_CONNECTION("active-connection-all"),
-    CONNECTING_PERMISSION("bf-by-account");
+    HAZELCAST_MAP("hazelcast-map", CacheKey.class),
+    DATABASE_ALL("database-all", CacheKey.class),
+    DATABASE_BY_ID("database-by-id", CacheKey.class),
+    ATTRIBUTES_BY_ACCOUNT("attributes-by-account", AccountKey.class),
+    ORACLE_UP("oracle-up", CacheKey.class),
+    PLATFORM_ACCOUNT_SETTINGS("pf-as-by-account", AccountKey.class),
+    ACTIVE_CONNECTION("active-connection-all", AccountKey.class),
+    CONNECTING_PERMISSION("bf-by-account", AccountNameKey.class),
+    PERMISSION_MATRIX("permission-matrix-by-account", AccountNameKey.class),
+    EMPLOYEES_BY_ACCOUNT("employees-by-account", EmployeeKey.class),
+    ORGANISATION_SETTINGS("org-settings-by-account", AccountKey.class),
+    ORGANISATION_TREE("org-tree-by-account", AccountKey.class);
 
     private final String cacheName;
+    private final Class<? extends CacheKey> keyType;
 
-    // Constructor to initialize the cacheName field
-    CacheType(String cacheName) {
+    // Constructor to initialize the cacheName and keyType fields
+    CacheType(String cacheName, Class<? extends CacheKey> keyType) {
         this.cacheName = cacheName;
+        this.keyType = keyType;
     }
 
     /**
@@ -24,4 +30,18 @@ public enum CacheType {
     public String cacheName() {
         return cacheName;
     }
+
+    /**
+     * Returns the type of key the entries of this cache are stored under.
+     */
+    public Class<? extends CacheKey> keyType() {
+        return keyType;
+    }
+
+    /**
+     * Returns true when keys of the given type can be stored in this cache.
+     */
+    public boolean accepts(Class<? extends CacheKey> type) {
+        return keyType.isAssignableFrom(type);
+    }
 }
@@ -0,0 +1,63 @@
+package nl.ing.api.contacting.conf.util;
+
+import java.io.Serial;
+
+/**
+ * Cache key for data of one employee within an account friendly name of an account.
+ * Not interned like the account keys, the set of employees keeps changing; instances are immutable and cache their
+ * hash code.
+ */
+public final class EmployeeKey implements CacheKey {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final AccountNameKey account;
+    private final String employeeId;
+    private final int hash;
+
+    private EmployeeKey(AccountNameKey account, String employeeId) {
+        this.account = account;
+        this.employeeId = employeeId;
+        this.hash = 31 * account.hashCode() + employeeId.hashCode();
+    }
+
+    public static EmployeeKey of(Long accountId, String accountFriendlyName, String employeeId) {
+        if (employeeId == null) {
+            throw new IllegalArgumentException("employeeId is required for an employee cache key");
+        }
+        return new EmployeeKey(AccountNameKey.of(accountId, accountFriendlyName), employeeId);
+    }
+
+    @Override
+    public long accountId() {
+        return account.accountId();
+    }
+
+    public String accountFriendlyName() {
+        return account.name();
+    }
+
+    public String employeeId() {
+        return employeeId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof EmployeeKey other
+                && other.hash == hash
+                && other.account.equals(account)
+                && other.employeeId.equals(employeeId));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeKey[accountId=" + account.accountId() + ", accountFriendlyName=" + account.name()
+                + ", employeeId=" + employeeId + "]";
+    }
+}
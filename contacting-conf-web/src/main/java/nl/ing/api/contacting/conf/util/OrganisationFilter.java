@@ -1,5 +1,6 @@
 package nl.ing.api.contacting.conf.util;
 
+import nl.ing.api.contacting.conf.domain.model.organisation.OrganisationTree;
 import nl.ing.api.contacting.java.domain.OrganisationVO;
 import nl.ing.api.contacting.trust.rest.context.EmployeeContext;
 import nl.ing.api.contacting.trust.rest.context.SessionContext;
@@ -9,11 +10,27 @@ import nl.ing.api.contacting.trust.rest.feature.permissions.*;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class OrganisationFilter {
 
     public static List<OrganisationVO> getAllowedOrganisations(SessionContext sessionContext, List<OrganisationVO> organisations) {
+        return getAllowedOrganisations(sessionContext, organisations, superCircleIds -> organisations.stream()
+                .filter(organisationVO -> organisationVO.id().isPresent() && superCircleIds.contains(organisationVO.id().get()))
+                .toList());
+    }
+
+    /**
+     * Same as {@link #getAllowedOrganisations(SessionContext, List)}, looking the super circles of the employee up in
+     * the id index of the tree.
+     */
+    public static List<OrganisationVO> getAllowedOrganisations(SessionContext sessionContext, OrganisationTree organisationTree) {
+        return getAllowedOrganisations(sessionContext, organisationTree.roots(), organisationTree::roots);
+    }
+
+    private static List<OrganisationVO> getAllowedOrganisations(SessionContext sessionContext, List<OrganisationVO> organisations,
+                                                                Function<Set<Long>, List<OrganisationVO>> superCirclesById) {
         TrustContext trustContext = sessionContext.trustContext();
         if (trustContext instanceof EmployeeContext employeeContext) {
             OrganisationalRestrictionLevel restriction = getMaxRestrictionLevel(sessionContext);
@@ -27,9 +44,7 @@ public class OrganisationFilter {
                         .map(restrictionOrganisationalUnitDto -> Long.valueOf(restrictionOrganisationalUnitDto.org().superCircleId()))
                         .collect(Collectors.toSet());
 
-                List<OrganisationVO> superCirclesForUser = organisations.stream()
-                        .filter(organisationVO -> organisationVO.id().isPresent() && superCircleIds.contains(organisationVO.id().get()))
-                        .toList();
+                List<OrganisationVO> superCirclesForUser = superCirclesById.apply(superCircleIds);
 
                 if (restriction.level() <= CIRCLE.level()) {
                     return superCirclesForUser.stream()
@@ -62,9 +77,9 @@ public class OrganisationFilter {
     }
 
     private static List<OrganisationVO> getRestrictedCircles(OrganisationVO superCircle, EmployeeContext employeeContext, OrganisationalRestrictionLevel restriction) {
-        List<Long> circleIds = employeeContext.getRestrictionPerOrganisation().stream()
+        Set<Long> circleIds = employeeContext.getRestrictionPerOrganisation().stream()
                 .map(restrictionOrganisationalUnitDto -> Long.valueOf(restrictionOrganisationalUnitDto.org().circleId()))
-                .toList();
+                .collect(Collectors.toSet());
 
         List<OrganisationVO> circlesForUser = superCircle.children().stream()
                 .filter(circle -> circle.id().isPresent() && circleIds.contains(circle.id().get()))
@@ -5,6 +5,7 @@ import nl.ing.api.contacting.conf.domain.model.permission.ContactingConfigVO;
 import nl.ing.api.contacting.conf.domain.model.permission.EmployeeAccountsVO;
 import nl.ing.api.contacting.conf.domain.model.permission.EmployeeBusinessFunctionVO;
 import nl.ing.api.contacting.conf.domain.model.permission.OrganisationalRestriction;
+import nl.ing.api.contacting.conf.domain.model.permission.PermissionMatrix;
 import nl.ing.api.contacting.conf.domain.model.permission.PermissionOrganisationVO;
 import nl.ing.api.contacting.conf.exception.Errors;
 
@@ -16,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static nl.ing.api.contacting.conf.service.PermissionService.*;
@@ -30,6 +32,19 @@ public class PermissionUtils {
     public static Map<String, Object> getPermissionsForEmployeeContextVO(
             Optional<EmployeeAccountsVO> employee,
             List<BusinessFunctionVO> businessFunctions) {
+        return getPermissionsForEmployeeContextVO(employee, businessFunctions, roles -> filterMaxRestrictions(businessFunctions, roles));
+    }
+
+    public static Map<String, Object> getPermissionsForEmployeeContextVO(
+            Optional<EmployeeAccountsVO> employee,
+            PermissionMatrix permissionMatrix) {
+        return getPermissionsForEmployeeContextVO(employee, permissionMatrix.businessFunctions(), permissionMatrix::maxRestrictions);
+    }
+
+    private static Map<String, Object> getPermissionsForEmployeeContextVO(
+            Optional<EmployeeAccountsVO> employee,
+            List<BusinessFunctionVO> businessFunctions,
+            Function<Set<String>, List<BusinessFunctionVO>> maxRestrictions) {
 
         Map<String, Object> response = new LinkedHashMap<>();
 
@@ -56,7 +71,7 @@ public class PermissionUtils {
             response.put("organisationalRestrictions", organisationalRestrictions);
 
             EmployeeBusinessFunctionVO employeeBusinessFunctionVO =
-                    new EmployeeBusinessFunctionVO(organisationVO, getFilteredBusinessFunctions(businessFunctions, emp.getRolesAsSet()));
+                    new EmployeeBusinessFunctionVO(organisationVO, maxRestrictions.apply(emp.getRolesAsSet()));
 
             response.put("businessFunctions", buildBusinessFunctionList(employeeBusinessFunctionVO.getBusinessFunctions()));
         } else {
@@ -98,6 +113,18 @@ public class PermissionUtils {
     public static Map<String, Object> getPermissionsForEmployeeAndAccountFriendlyNameMap(
             Optional<EmployeeAccountsVO> employee,
             List<BusinessFunctionVO> businessFunctions) {
+        return getPermissionsForEmployeeAndAccountFriendlyNameMap(employee, roles -> filterMaxRestrictions(businessFunctions, roles));
+    }
+
+    public static Map<String, Object> getPermissionsForEmployeeAndAccountFriendlyNameMap(
+            Optional<EmployeeAccountsVO> employee,
+            PermissionMatrix permissionMatrix) {
+        return getPermissionsForEmployeeAndAccountFriendlyNameMap(employee, permissionMatrix::maxRestrictions);
+    }
+
+    private static Map<String, Object> getPermissionsForEmployeeAndAccountFriendlyNameMap(
+            Optional<EmployeeAccountsVO> employee,
+            Function<Set<String>, List<BusinessFunctionVO>> maxRestrictions) {
 
         Map<String, Object> response = new LinkedHashMap<>();
 
@@ -130,7 +157,7 @@ public class PermissionUtils {
             response.put("organisationalRestrictions", restrictionsList);
 
             // Add businessFunctions
-            List<Map<String, Object>> bfList = filterMaxRestrictions(businessFunctions, emp.getRolesAsSet()).stream()
+            List<Map<String, Object>> bfList = maxRestrictions.apply(emp.getRolesAsSet()).stream()
                     .map(bf -> {
                                 Map<String, Object> restrictionMap = new LinkedHashMap<>();
                                 restrictionMap.put("businessFunction", bf.businessFunction());
@@ -144,7 +171,7 @@ public class PermissionUtils {
         } else {
             response.put("organisation", Map.of());
             response.put("organisationalRestrictions", List.of());
-            response.put("businessFunctions", getFilteredBusinessFunctions(businessFunctions, Set.of()).stream()
+            response.put("businessFunctions", maxRestrictions.apply(Set.of()).stream()
                     .map(bf -> Map.of(
                             "businessFunction", bf.businessFunction(),
                             "role", bf.role(),
@@ -166,10 +193,6 @@ public class PermissionUtils {
                 .findFirst();
     }
 
-    private static List<BusinessFunctionVO> getFilteredBusinessFunctions(List<BusinessFunctionVO> businessFunctions, Set<String> roles) {
-        return filterMaxRestrictions(businessFunctions, roles);
-    }
-
     public static List<BusinessFunctionVO> filterMaxRestrictions(
             List<BusinessFunctionVO> businessFunctions,
             Set<String> roles) {
@@ -0,0 +1,129 @@
+package nl.ing.api.contacting.conf.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor that runs at most {@code permits} tasks of one datasource at a time on a delegate executor, so the
+ * connection pool of that datasource is not flooded when the delegate itself is unbounded (a cached or a virtual
+ * thread pool). Tasks over the limit wait in a queue instead of on a thread; a finishing task hands its permit to the
+ * next queued one. A task the delegate rejects, e.g. while it shuts down, runs on the thread that dequeued it, so its
+ * future still completes.
+ */
+@Slf4j
+public final class PermitLimitedExecutor implements Executor {
+
+    private final String datasource;
+    private final Executor delegate;
+    private final int maxPermits;
+    private final Semaphore permits;
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final LongAdder rejected = new LongAdder();
+
+    public PermitLimitedExecutor(String datasource, Executor delegate, int permits) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Datasource " + datasource + " needs at least one permit, got " + permits);
+        }
+        this.datasource = datasource;
+        this.delegate = delegate;
+        this.maxPermits = permits;
+        this.permits = new Semaphore(permits);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        queue.add(task);
+        drain();
+    }
+
+    private void drain() {
+        while (!queue.isEmpty() && permits.tryAcquire()) {
+            Runnable next = queue.poll();
+            if (next == null) {
+                // another thread took the task, the loop re-checks the queue after giving the permit back
+                permits.release();
+                continue;
+            }
+            try {
+                delegate.execute(() -> runAndRelease(next));
+            } catch (RuntimeException e) {
+                rejected.increment();
+                log.warn("Executor of datasource {} rejected a task, running it on the calling thread", datasource, e);
+                runInline(next);
+            }
+        }
+    }
+
+    private void runAndRelease(Runnable task) {
+        try {
+            task.run();
+        } finally {
+            permits.release();
+            drain();
+        }
+    }
+
+    private void runInline(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            // the task of a CompletableFuture completes its own future; anything else must not reach the submitter
+            log.warn("Task of datasource {} failed", datasource, e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Registers the queue-depth, active and rejected meters of the executor, tagged with its datasource.
+     */
+    public void registerMeters(MeterRegistry registry) {
+        Gauge.builder("datasource.executor.queue.depth", this, PermitLimitedExecutor::queued)
+                .tag("datasource", datasource)
+                .description("Tasks waiting for a permit of the datasource")
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder("datasource.executor.active", this, PermitLimitedExecutor::active)
+                .tag("datasource", datasource)
+                .description("Tasks holding a permit of the datasource")
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder("datasource.executor.permits", this, executor -> executor.maxPermits)
+                .tag("datasource", datasource)
+                .description("Tasks of the datasource allowed to run at a time")
+                .strongReference(true)
+                .register(registry);
+        FunctionCounter.builder("datasource.executor.rejected", this, PermitLimitedExecutor::rejectedCount)
+                .tag("datasource", datasource)
+                .description("Tasks of the datasource rejected by the delegate executor and run on the calling thread")
+                .register(registry);
+    }
+
+    public String datasource() {
+        return datasource;
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int active() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -26,9 +26,11 @@ import nl.ing.api.contacting.repository.ContactingDataSourceFactory
 import nl.ing.api.contacting.trust.rest.SessionContextProvider
 import nl.ing.api.contacting.trust.rest.feature.permissions.PermissionsDynamicFeature
 import nl.ing.api.contacting.trust.rest.filter.CC2AutoConfiguration
+import nl.ing.api.java.contacting.caching.core.ContactingCache
 import nl.ing.tomcat.utils.jdbc.DataSourceFactory
 import org.glassfish.jersey.server.ResourceConfig
 import org.jasypt.encryption.StringEncryptor
+import org.springframework.beans.factory.DisposableBean
 import org.springframework.beans.factory.annotation.{Autowired, Value}
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer
@@ -88,6 +90,21 @@ class CoreConfiguration {
   }
 
 
+  /**
+   * Shares cache invalidations between the nodes, so an update on one node evicts the entry on all of them.
+   */
+  @Bean
+  @ConditionalOnProperty(name = Array("cache.invalidation.kafka.enabled"), havingValue = "true")
+  protected def cacheInvalidationBus(systemModule: CoreModule, contactingCache: ContactingCache): DisposableBean = {
+    val bus = systemModule.cacheInvalidationBus
+    contactingCache.useInvalidationBus(bus)
+    bus.start()
+    () => {
+      contactingCache.flushInvalidations()
+      bus.close()
+    }
+  }
+
   @Bean
   def observationRegistry(promRegistry: PrometheusRegistry) = {
     val observationRegistry = ObservationRegistry.create
@@ -5,6 +5,7 @@ import com.ing.apisdk.toolkit.connectivity.kafka.kafkaserde.util.KafkaSerdeConfi
 import com.typesafe.scalalogging.LazyLogging
 import io.confluent.kafka.serializers.{AbstractKafkaSchemaSerDeConfig, KafkaAvroDeserializer}
 import nl.ing.api.contacting.conf.SSLConfig
+import nl.ing.api.contacting.conf.configuration.KafkaInvalidationBus
 import nl.ing.api.contacting.conf.surveytrigger.{SelfServiceSurveyTriggerEventConsumer, ContactingSurveyTriggerEventConsumer}
 import org.apache.avro.generic.GenericRecord
 import org.apache.kafka.clients.consumer.{ConsumerConfig, KafkaConsumer}
@@ -23,6 +24,8 @@ trait KafkaModule {
   def stopSelfServiceSurveyEventConsumer(): Unit
 
   val entityEventProducer: KafkaProducer[String, GenericRecord]
+
+  def cacheInvalidationBus: KafkaInvalidationBus
 }
 
 trait DefaultKafkaModule extends KafkaModule with LazyLogging {
@@ -49,6 +52,36 @@ trait DefaultKafkaModule extends KafkaModule with LazyLogging {
     new KafkaProducer[String, GenericRecord](props)
   }
 
+  /**
+   * Cache invalidations between the nodes: plain string records on the entity event cluster, produced with the
+   * delivery settings of the entity event producer. Each node assigns itself every partition without a consumer group,
+   * so every node sees every batch and nothing is left on the broker when a node restarts.
+   */
+  lazy val cacheInvalidationBus: KafkaInvalidationBus = {
+    val topic = config.getString("cache-invalidation.topic")
+    val producerProps: Properties = new Properties()
+    producerProps.put(ProducerConfig.CLIENT_ID_CONFIG, s"${entityEventProducerConfig.producerClientId}-cache-invalidation")
+    producerProps.put(ProducerConfig.ACKS_CONFIG, entityEventProducerConfig.ackConfig)
+    producerProps.put(ProducerConfig.RETRIES_CONFIG, entityEventProducerConfig.retriesConfig)
+    producerProps.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, entityEventProducerConfig.retryBackOff)
+    producerProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, entityEventProducerConfig.maxInFlight)
+    producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, classOf[StringSerializer].getName)
+    producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, classOf[StringSerializer].getName)
+    producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfig.bootstrapServers)
+    setSslProps(producerProps, entityEventProducerConfig.securityProtocol, kafkaConfig.sslConfig)
+
+    val consumerProps = new Properties()
+    consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfig.bootstrapServers)
+    consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest")
+    consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, Boolean.box(false))
+    consumerProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, classOf[StringDeserializer].getName)
+    consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, classOf[StringDeserializer].getName)
+    setSslProps(consumerProps, entityEventProducerConfig.securityProtocol, kafkaConfig.sslConfig)
+
+    new KafkaInvalidationBus(topic, new KafkaProducer[String, String](producerProps),
+      () => new KafkaConsumer[String, String](consumerProps))
+  }
+
   override def startContactingSurveyEventConsumer(): Unit = {
     contactingSurveyTriggerEventConsumer = createConsumer(surveyTriggerConsumerConfig)
     contactingSurveyTriggerEventConsumer.subscribe(util.Arrays.asList(surveyTriggerConsumerConfig.topic))
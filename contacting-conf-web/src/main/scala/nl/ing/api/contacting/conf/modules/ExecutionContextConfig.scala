@@ -2,7 +2,9 @@ package nl.ing.api.contacting.conf.modules
 
 import cats.effect.unsafe.IORuntime
 import com.google.common.util.concurrent.{ListeningExecutorService, MoreExecutors}
+import com.typesafe.config.{Config, ConfigFactory}
 import nl.ing.api.contacting.cc2.{CC2GlobalExecutionContext, ExecutionContextDecorator}
+import nl.ing.api.contacting.conf.util.PermitLimitedExecutor
 
 import java.util.concurrent.{ExecutorService, Executors}
 import scala.concurrent.{ExecutionContext, ExecutionContextExecutor}
@@ -12,7 +14,34 @@ import cats.effect.unsafe.implicits.global
  * @author Ayush Mittal
  */
 object ExecutionContextConfig {
-  val unboundedExecutor: ExecutorService = new ExecutionContextDecorator(Executors.newCachedThreadPool())
+  private val executorsConfig: Config = ConfigFactory.load()
+
+  /**
+   * `contacting.executors.virtual-threads = true` runs blocking work on virtual threads instead of a cached pool of
+   * platform threads, which under DB latency spikes can grow to thousands of threads.
+   */
+  val virtualThreads: Boolean =
+    executorsConfig.hasPath("contacting.executors.virtual-threads") && executorsConfig.getBoolean("contacting.executors.virtual-threads")
+
+  val unboundedExecutor: ExecutorService = new ExecutionContextDecorator(
+    if (virtualThreads) Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("io-", 1).factory())
+    else Executors.newCachedThreadPool())
+
+  /**
+   * Executor for blocking calls on the given datasource: runs on [[unboundedExecutor]] with at most
+   * `contacting.executors.datasource-permits.<datasource>` (default 10, Hikari's default pool size) calls at a time.
+   */
+  def datasourceExecutor(datasource: String): PermitLimitedExecutor = {
+    val path = s"contacting.executors.datasource-permits.$datasource"
+    val permits = if (executorsConfig.hasPath(path)) executorsConfig.getInt(path) else 10
+    new PermitLimitedExecutor(datasource, unboundedExecutor, permits)
+  }
+
+  /**
+   * Executor for blocking JPA calls on the Oracle datasource. Only submit the JPA calls themselves: work that reads
+   * from Cassandra or the caches belongs on [[unboundedExecutor]], not in the queue for an Oracle connection.
+   */
+  val oracleExecutor: PermitLimitedExecutor = datasourceExecutor("oracle")
 
   /**
    * Execution context backed by unbounded threads. To be used for
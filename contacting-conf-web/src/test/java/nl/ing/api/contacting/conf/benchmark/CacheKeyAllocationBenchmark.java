@@ -0,0 +1,124 @@
+package nl.ing.api.contacting.conf.benchmark;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import nl.ing.api.contacting.conf.util.AccountKey;
+import nl.ing.api.contacting.conf.util.AccountNameKey;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation per cache hit of the account scoped repository caches: the former string concatenated keys
+ * against the interned {@link AccountKey} and {@link AccountNameKey}.
+ * <p>
+ * Run with {@code main}; the GC profiler reports the allocation per operation as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheKeyAllocationBenchmark {
+
+    private static final String CACHE_NAME = "benchmark-cache";
+    private static final String CACHE_KEY_PREFIX = "active-connection-all-";
+    private static final int ACCOUNTS = 64;
+
+    private final Config config = ConfigFactory.parseString(
+            "caching." + CACHE_NAME + " { refresh-duration = 10m, expire-duration = 10m, max-size = " + ACCOUNTS * 4 + " }");
+    private final ContactingCache contactingCache = new ContactingCache() {
+        @Override
+        public Config config() {
+            return config;
+        }
+    };
+    private final CacheHandle<AccountKey, List<String>> byAccountKey =
+            contactingCache.handle(CACHE_NAME, key -> List.of(String.valueOf(key.accountId())));
+    private final CacheHandle<AccountNameKey, List<String>> byAccountNameKey =
+            contactingCache.handle(CACHE_NAME, key -> List.of(key.name()));
+
+    // Boxed once, as ContactingContext.accountId() hands them out
+    private final Long[] accountIds = new Long[ACCOUNTS];
+    private final String[] friendlyNames = new String[ACCOUNTS];
+    private int next;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accountIds[i] = 1_000_000L + i;
+            friendlyNames[i] = "account-" + i;
+        }
+        for (int i = 0; i < ACCOUNTS; i++) {
+            stringKey();
+            stringNameKey();
+            accountKey();
+            accountNameKey();
+        }
+    }
+
+    @Benchmark
+    public List<String> stringKey() {
+        Long accountId = accountIds[nextIndex()];
+        return contactingCache.fromCacheableSyncFunction(
+                CACHE_NAME,
+                CACHE_KEY_PREFIX.concat(String.valueOf(accountId)),
+                key -> List.of(key),
+                (k, v, c) -> {},
+                CacheOps.Flags.DEFAULT);
+    }
+
+    @Benchmark
+    public List<String> accountKey() {
+        return byAccountKey.get(AccountKey.of(accountIds[nextIndex()]), CacheOps.Flags.DEFAULT);
+    }
+
+    @Benchmark
+    public List<String> stringNameKey() {
+        int index = nextIndex();
+        return contactingCache.fromCacheableSyncFunction(
+                CACHE_NAME,
+                accountIds[index].toString().concat(friendlyNames[index]),
+                key -> List.of(key),
+                (k, v, c) -> {},
+                CacheOps.Flags.DEFAULT);
+    }
+
+    @Benchmark
+    public List<String> accountNameKey() {
+        int index = nextIndex();
+        return byAccountNameKey.get(AccountNameKey.of(accountIds[index], friendlyNames[index]), CacheOps.Flags.DEFAULT);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (ACCOUNTS - 1);
+        return next;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CacheKeyAllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,124 @@
+package nl.ing.api.contacting.conf.benchmark;
+
+import nl.ing.api.contacting.conf.util.PermitLimitedExecutor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the executors for blocking JPA calls, like {@code ExecutionContextConfig.oracleExecutor}: bursts of
+ * requests against a simulated connection pool of {@value #POOL_SIZE} connections, run on the cached platform thread
+ * pool or on virtual threads, with and without the per-datasource permit limit ({@code permits = 0} is the unlimited
+ * executor).
+ * <p>
+ * Run with {@code main}. Throughput is reported as bursts per second, the sample mode reports the p99 burst latency,
+ * and {@code peakThreads} reports the peak number of live platform threads per iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DbExecutorLoadBenchmark {
+
+    private static final int POOL_SIZE = 10;
+    private static final int BURST = 200;
+    private static final long QUERY_MILLIS = 2;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"0", "10"})
+    private int permits;
+
+    private final Semaphore connections = new Semaphore(POOL_SIZE, true);
+    private ExecutorService unbounded;
+    private Executor dbExecutor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        unbounded = "virtual".equals(mode) ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newCachedThreadPool();
+        dbExecutor = permits > 0 ? new PermitLimitedExecutor("oracle", unbounded, permits) : unbounded;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        unbounded.shutdownNow();
+    }
+
+    @Benchmark
+    public void burst(ThreadCounters counters) {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[BURST];
+        for (int i = 0; i < BURST; i++) {
+            calls[i] = CompletableFuture.runAsync(this::query, dbExecutor);
+        }
+        CompletableFuture.allOf(calls).join();
+    }
+
+    /**
+     * A query holding one pooled connection; callers beyond the pool size block like on Hikari's getConnection.
+     */
+    private void query() {
+        connections.acquireUninterruptibly();
+        try {
+            Thread.sleep(QUERY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connections.release();
+        }
+    }
+
+    /**
+     * Reported next to the primary results; virtual threads only count through their carrier threads.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ThreadCounters {
+
+        public int peakThreads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            THREADS.resetPeakThreadCount();
+        }
+
+        @TearDown(Level.Iteration)
+        public void record() {
+            peakThreads = THREADS.getPeakThreadCount();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DbExecutorLoadBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,129 @@
+package nl.ing.api.contacting.conf.benchmark;
+
+import com.ing.api.contacting.dto.java.resource.organisation.FlatOrganisationUnitDto;
+import nl.ing.api.contacting.conf.domain.model.settingsmetadata.OrganisationSettingVO;
+import nl.ing.api.contacting.conf.domain.model.settingsmetadata.OrganisationSettingsHierarchy;
+import nl.ing.api.contacting.conf.service.OrganisationSettingsServiceJava;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The organisation settings of an employee with three organisations in an account with 10k settings: scanning all
+ * settings per organisation against looking the organisations up in the compiled {@link OrganisationSettingsHierarchy}.
+ * {@code compileHierarchy} is the one-off cost paid on a cache miss.
+ * <p>
+ * Run with {@code main}; the GC profiler reports the allocation per operation as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrganisationSettingsHierarchyBenchmark {
+
+    private static final int SETTINGS = 10_000;
+    private static final int KEYS = 50;
+    private static final int SUPER_CIRCLES = 10;
+    private static final int CIRCLES_PER_SUPER_CIRCLE = 10;
+    private static final int TEAMS_PER_CIRCLE = 10;
+    private static final int EMPLOYEES = 16;
+
+    private List<OrganisationSettingVO> settings;
+    private OrganisationSettingsHierarchy hierarchy;
+    private final List<List<FlatOrganisationUnitDto>> employees = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setup() {
+        List<FlatOrganisationUnitDto> organisations = new ArrayList<>();
+        List<Long> orgIds = new ArrayList<>();
+        long id = 1;
+        for (int s = 0; s < SUPER_CIRCLES; s++) {
+            long superCircleId = id++;
+            orgIds.add(superCircleId);
+            for (int c = 0; c < CIRCLES_PER_SUPER_CIRCLE; c++) {
+                long circleId = id++;
+                orgIds.add(circleId);
+                for (int t = 0; t < TEAMS_PER_CIRCLE; t++) {
+                    long teamId = id++;
+                    orgIds.add(teamId);
+                    organisations.add(new FlatOrganisationUnitDto(teamId, "team", circleId, "circle", superCircleId, "super"));
+                }
+            }
+        }
+
+        settings = new ArrayList<>(SETTINGS);
+        for (long orgId : orgIds) {
+            for (int key = (int) (orgId % 5); key < KEYS && settings.size() < SETTINGS; key += 5) {
+                settings.add(new OrganisationSettingVO(Optional.of((long) settings.size()), "key-" + key,
+                        "value-" + orgId, 1L, orgId, true, List.of()));
+            }
+        }
+        hierarchy = OrganisationSettingsHierarchy.compile(settings);
+
+        for (int e = 0; e < EMPLOYEES; e++) {
+            employees.add(List.of(
+                    organisations.get((e * 37) % organisations.size()),
+                    organisations.get((e * 37 + 11) % organisations.size()),
+                    organisations.get((e * 37 + 23) % organisations.size())));
+        }
+    }
+
+    @Benchmark
+    public void scanSettings(Blackhole blackhole) {
+        for (FlatOrganisationUnitDto organisation : nextEmployee()) {
+            Map<String, OrganisationSettingVO> effective = new LinkedHashMap<>();
+            OrganisationSettingsServiceJava.getSettingsForOrganisation(settings, organisation)
+                    .forEach(setting -> effective.putIfAbsent(setting.key(), setting));
+            settings.forEach(setting -> effective.putIfAbsent(setting.key(), setting));
+            blackhole.consume(effective);
+        }
+    }
+
+    @Benchmark
+    public void hierarchyEffectiveSettings(Blackhole blackhole) {
+        for (FlatOrganisationUnitDto organisation : nextEmployee()) {
+            blackhole.consume(hierarchy.effectiveSettings(organisation));
+        }
+    }
+
+    @Benchmark
+    public OrganisationSettingsHierarchy compileHierarchy() {
+        return OrganisationSettingsHierarchy.compile(settings);
+    }
+
+    private List<FlatOrganisationUnitDto> nextEmployee() {
+        next = (next + 1) & (EMPLOYEES - 1);
+        return employees.get(next);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(OrganisationSettingsHierarchyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
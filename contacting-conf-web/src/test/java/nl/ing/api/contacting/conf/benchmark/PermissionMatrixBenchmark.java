@@ -0,0 +1,92 @@
+package nl.ing.api.contacting.conf.benchmark;
+
+import nl.ing.api.contacting.conf.domain.model.permission.BusinessFunctionVO;
+import nl.ing.api.contacting.conf.domain.model.permission.OrganisationalRestrictionLevel;
+import nl.ing.api.contacting.conf.domain.model.permission.PermissionMatrix;
+import nl.ing.api.contacting.conf.util.PermissionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Permission resolution of one request: filtering the business functions of the account per call against looking the
+ * role set up in the compiled {@link PermissionMatrix}, for accounts with a growing number of business functions.
+ * <p>
+ * Run with {@code main}; the GC profiler reports the allocation per operation as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PermissionMatrixBenchmark {
+
+    private static final String[] ROLES = {"AGENT", "SUPERVISOR", "ADMIN", "DEVELOPER", "CONTACTING", "FOREIGN_API"};
+    private static final OrganisationalRestrictionLevel[] LEVELS = OrganisationalRestrictionLevel.values();
+    private static final int ROLE_SETS = 8;
+
+    @Param({"50", "500"})
+    private int businessFunctionCount;
+
+    private List<BusinessFunctionVO> businessFunctions;
+    private PermissionMatrix matrix;
+    private final List<Set<String>> roleSets = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setup() {
+        businessFunctions = new ArrayList<>();
+        for (int i = 0; i < businessFunctionCount; i++) {
+            String role = ROLES[i % ROLES.length];
+            int organisationId = i % 5 == 0 ? i : -1;
+            businessFunctions.add(new BusinessFunctionVO("account", "function-" + i / ROLES.length, role,
+                    LEVELS[i % LEVELS.length], organisationId));
+        }
+        matrix = PermissionMatrix.compile(businessFunctions);
+        for (int i = 0; i < ROLE_SETS; i++) {
+            roleSets.add(Set.of(ROLES[i % ROLES.length], ROLES[(i + 2) % ROLES.length]));
+        }
+    }
+
+    @Benchmark
+    public List<BusinessFunctionVO> filterMaxRestrictions() {
+        return PermissionUtils.filterMaxRestrictions(businessFunctions, nextRoles());
+    }
+
+    @Benchmark
+    public List<BusinessFunctionVO> matrixMaxRestrictions() {
+        return matrix.maxRestrictions(nextRoles());
+    }
+
+    private Set<String> nextRoles() {
+        next = (next + 1) & (ROLE_SETS - 1);
+        return roleSets.get(next);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PermissionMatrixBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
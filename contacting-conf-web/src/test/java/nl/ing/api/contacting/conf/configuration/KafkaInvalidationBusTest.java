@@ -0,0 +1,98 @@
+package nl.ing.api.contacting.conf.configuration;
+
+import nl.ing.api.contacting.conf.util.AccountKey;
+import nl.ing.api.contacting.conf.util.AccountNameKey;
+import nl.ing.api.contacting.conf.util.EmployeeKey;
+import nl.ing.api.java.contacting.caching.core.InvalidationBus.Batch;
+import nl.ing.api.java.contacting.caching.core.InvalidationBus.Invalidation;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KafkaInvalidationBusTest {
+
+    private static final String TOPIC = "contacting_cache_invalidation";
+
+    private final MockProducer<String, String> producer =
+            new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+    private final MockConsumer<String, String> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+
+    @Test
+    void publish_shouldSendOneRecordPerBatchKeyedByOrigin() {
+        KafkaInvalidationBus bus = new KafkaInvalidationBus(TOPIC, producer, () -> consumer);
+
+        bus.publish(new Batch("node-1", List.of(
+                Invalidation.of("active-connection-all", AccountKey.of(1L)),
+                Invalidation.of("active-connection-all", AccountKey.of(2L)),
+                Invalidation.all("pf-as-by-account"))));
+
+        assertThat(producer.history()).hasSize(1);
+        ProducerRecord<String, String> record = producer.history().get(0);
+        assertThat(record.topic()).isEqualTo(TOPIC);
+        assertThat(record.key()).isEqualTo("node-1");
+        assertThat(record.value()).isEqualTo("active-connection-all\ta:1\nactive-connection-all\ta:2\npf-as-by-account\n");
+    }
+
+    @Test
+    void decode_shouldRestoreInternedKeys() {
+        List<Invalidation> invalidations = List.of(
+                Invalidation.of("active-connection-all", AccountKey.of(1L)),
+                Invalidation.of("bf-by-account", AccountNameKey.of(1L, "name:with\tseparators")),
+                Invalidation.of("employees-by-account", EmployeeKey.of(1L, "name:with:colons", "EMP1")),
+                Invalidation.of("database-all", "all-connections"),
+                Invalidation.all("pf-as-by-account"));
+
+        List<Invalidation> decoded = KafkaInvalidationBus.decode(KafkaInvalidationBus.encode(invalidations));
+
+        assertThat(decoded).isEqualTo(invalidations);
+        assertThat(decoded.get(0).key()).containsSame(AccountKey.of(1L));
+    }
+
+    @Test
+    void encode_shouldInvalidateWholeCacheForUnknownKeys() {
+        List<Invalidation> decoded = KafkaInvalidationBus.decode(
+                KafkaInvalidationBus.encode(List.of(Invalidation.of("database-by-id", 42L))));
+
+        assertThat(decoded).containsExactly(Invalidation.all("database-by-id"));
+    }
+
+    @Test
+    void start_shouldDeliverConsumedBatchesToListeners() throws Exception {
+        TopicPartition partition = new TopicPartition(TOPIC, 0);
+        consumer.updatePartitions(TOPIC, List.of(new PartitionInfo(TOPIC, 0, null, null, null)));
+        consumer.updateEndOffsets(Map.of(partition, 3L));
+        consumer.schedulePollTask(() -> {
+            // published before the node started, behind the end offset it seeks to
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 2L, "node-3", "active-connection-all\ta:6\n"));
+            consumer.addRecord(new ConsumerRecord<>(TOPIC, 0, 3L, "node-2", "active-connection-all\ta:7\n"));
+        });
+        KafkaInvalidationBus bus = new KafkaInvalidationBus(TOPIC, producer, () -> consumer);
+        CompletableFuture<Batch> received = new CompletableFuture<>();
+        bus.subscribe(received::complete);
+
+        bus.start();
+        try {
+            Batch batch = received.get(5, TimeUnit.SECONDS);
+            assertThat(batch.origin()).isEqualTo("node-2");
+            assertThat(batch.invalidations()).containsExactly(Invalidation.of("active-connection-all", AccountKey.of(7L)));
+        } finally {
+            bus.close();
+        }
+        assertThat(consumer.subscription()).isEmpty();
+        assertThat(consumer.assignment()).containsExactly(partition);
+        assertThat(producer.closed()).isTrue();
+    }
+}
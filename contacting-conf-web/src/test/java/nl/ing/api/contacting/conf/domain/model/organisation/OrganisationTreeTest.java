@@ -0,0 +1,105 @@
+package nl.ing.api.contacting.conf.domain.model.organisation;
+
+import nl.ing.api.contacting.conf.helper.OrganisationHierarchyData;
+import nl.ing.api.contacting.conf.mapper.OrganisationMapperJava;
+import nl.ing.api.contacting.java.domain.OrganisationVO;
+import nl.ing.api.contacting.java.repository.model.organisation.OrganisationEntity;
+import nl.ing.api.contacting.java.repository.model.organisation.OrganisationLevelEnumeration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrganisationTreeTest {
+
+    private List<OrganisationEntity[]> rows;
+    private OrganisationTree tree;
+
+    @BeforeEach
+    void setUp() {
+        rows = OrganisationHierarchyData.getOrgTree(1L);
+        tree = OrganisationTree.of(rows, OrganisationLevelEnumeration.SUPER_CIRCLE);
+    }
+
+    @Test
+    @DisplayName("roots and subtrees match the mapped hierarchy")
+    void shouldMatchMappedHierarchy() {
+        assertEquals(OrganisationMapperJava.organisationHierarchyToVo(rows), tree.roots());
+        assertEquals(OrganisationMapperJava.organisationSubtreeById(3L, rows), tree.find(3L));
+        assertEquals(OrganisationMapperJava.organisationSubtreeById(14L, rows), tree.find(14L));
+        assertEquals(16, tree.size());
+        assertTrue(tree.find(99L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("roots are looked up by id, ordered by name")
+    void shouldFindRootsById() {
+        assertEquals(List.of("SC1", "SC_1"), tree.roots(Set.of(11L, 1L, 2L, 99L)).stream().map(OrganisationVO::name).toList());
+    }
+
+    @Test
+    @DisplayName("adding, renaming and moving organisations matches a tree read again")
+    void shouldMatchRebuiltTreeAfterSaves() {
+        OrganisationEntity newTeam = organisation(19L, "CLT0", 2L, OrganisationLevelEnumeration.CLT);
+        OrganisationEntity renamedCircle = organisation(3L, "C0", 1L, OrganisationLevelEnumeration.CIRCLE);
+        OrganisationEntity movedTeam = organisation(5L, "CLT2", 13L, OrganisationLevelEnumeration.CLT);
+
+        OrganisationTree updated = tree.withOrganisation(newTeam)
+                .withOrganisation(renamedCircle)
+                .withOrganisation(movedTeam);
+
+        assertEquals(rebuilt(newTeam, renamedCircle, movedTeam).roots(), updated.roots());
+        assertEquals(List.of("CLT2", "CLT_4", "CLT_5"),
+                updated.find(13L).orElseThrow().children().stream().map(OrganisationVO::name).toList());
+        assertSame(tree.find(11L).orElseThrow().children().get(0), updated.find(12L).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("deleting an organisation removes it with everything below it")
+    void shouldRemoveSubtreeOnDelete() {
+        OrganisationTree updated = tree.withoutOrganisation(2L);
+
+        assertEquals(13, updated.size());
+        assertTrue(updated.find(4L).isEmpty());
+        assertEquals(List.of("C3"), updated.find(1L).orElseThrow().children().stream().map(OrganisationVO::name).toList());
+        assertEquals(16, tree.size());
+    }
+
+    @Test
+    @DisplayName("organisations outside of the root level hierarchy are not added")
+    void shouldIgnoreOrganisationsOutsideTheTree() {
+        OrganisationTree updated = tree.withOrganisation(organisation(30L, "Orphan", 99L, OrganisationLevelEnumeration.CLT))
+                .withOrganisation(organisation(31L, "Circle root", null, OrganisationLevelEnumeration.CIRCLE))
+                .withOrganisation(organisation(11L, "SC_1", 14L, OrganisationLevelEnumeration.SUPER_CIRCLE));
+
+        assertEquals(8, updated.size());
+        assertEquals(List.of("SC1"), updated.roots().stream().map(OrganisationVO::name).toList());
+    }
+
+    private OrganisationTree rebuilt(OrganisationEntity... saved) {
+        List<OrganisationEntity[]> changedRows = new ArrayList<>(rows);
+        for (OrganisationEntity organisation : saved) {
+            changedRows.replaceAll(row -> Arrays.stream(row)
+                    .filter(entity -> !entity.getId().equals(organisation.getId()))
+                    .toArray(OrganisationEntity[]::new));
+            changedRows.add(new OrganisationEntity[]{organisation});
+        }
+        return OrganisationTree.of(changedRows, OrganisationLevelEnumeration.SUPER_CIRCLE);
+    }
+
+    private static OrganisationEntity organisation(Long id, String name, Long parentId, OrganisationLevelEnumeration level) {
+        return OrganisationEntity.builder()
+                .id(id)
+                .name(name)
+                .accountId(1L)
+                .parentId(parentId)
+                .orgLevel(level)
+                .build();
+    }
+}
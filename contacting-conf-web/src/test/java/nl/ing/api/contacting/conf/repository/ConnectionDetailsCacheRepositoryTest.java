@@ -3,12 +3,17 @@ package nl.ing.api.contacting.conf.repository;
 import com.ing.api.contacting.dto.java.context.ContactingContext;
 import nl.ing.api.contacting.conf.domain.entity.ConnectionDetailsEntity;
 import nl.ing.api.contacting.conf.domain.model.connection.ConnectionDetailsDTO;
+import nl.ing.api.contacting.conf.util.AccountKey;
 import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
 import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -17,6 +22,7 @@ import java.util.Optional;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -33,6 +39,12 @@ class ConnectionDetailsCacheRepositoryTest {
     @Mock
     private ContactingContext contactingContext;
 
+    @Mock
+    private CacheHandle<AccountKey, List<ConnectionDetailsDTO>> connectionsByAccount;
+
+    @Captor
+    private ArgumentCaptor<Function<AccountKey, List<ConnectionDetailsDTO>>> loaderCaptor;
+
     private ConnectionDetailsCacheRepository connectionDetailsCacheRepository;
 
     private ConnectionDetailsDTO testConnectionDetailsDTO;
@@ -41,6 +53,8 @@ class ConnectionDetailsCacheRepositoryTest {
 
     @BeforeEach
     void setUp() {
+        when(contactingCache.handle(eq(CacheType.ACTIVE_CONNECTION.cacheName()), loaderCaptor.capture()))
+                .thenReturn(connectionsByAccount);
         connectionDetailsCacheRepository = new ConnectionDetailsCacheRepository(
                 contactingCache, jpaRepository);
 
@@ -62,18 +76,15 @@ class ConnectionDetailsCacheRepositoryTest {
     void shouldFindAllConnectionsForAccountWithCacheHit() {
         when(contactingContext.accountId()).thenReturn(123L);
         when(contactingContext.byPassCache()).thenReturn(false);
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenReturn(testConnectionDetailsList);
+        when(connectionsByAccount.get(AccountKey.of(123L), CacheOps.Flags.DEFAULT)).thenReturn(testConnectionDetailsList);
 
         List<ConnectionDetailsDTO> result = connectionDetailsCacheRepository
                 .findAllForAccount(contactingContext);
 
         assertThat(result).hasSize(1);
         assertThat(result).containsExactly(testConnectionDetailsDTO);
-        verify(contactingCache).fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        );
+        verify(connectionsByAccount).get(AccountKey.of(123L), CacheOps.Flags.DEFAULT);
+        verifyNoInteractions(jpaRepository);
     }
 
     @Test
@@ -83,13 +94,9 @@ class ConnectionDetailsCacheRepositoryTest {
         when(contactingContext.byPassCache()).thenReturn(false);
         when(jpaRepository.findAllDataByAccountId(123L)).thenReturn(testConnectionDetailsList);
 
-        // Simulate cache miss by calling the supplier function
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenAnswer(invocation -> {
-            Function<String, List<ConnectionDetailsDTO>> supplier = invocation.getArgument(2);
-            return supplier.apply("-for-account-123");
-        });
+        // Simulate cache miss by calling the loader bound to the handle
+        when(connectionsByAccount.get(AccountKey.of(123L), CacheOps.Flags.DEFAULT))
+                .thenAnswer(invocation -> loaderCaptor.getValue().apply(invocation.getArgument(0)));
 
         List<ConnectionDetailsDTO> result = connectionDetailsCacheRepository
                 .findAllForAccount(contactingContext);
@@ -106,20 +113,14 @@ class ConnectionDetailsCacheRepositoryTest {
         when(contactingContext.byPassCache()).thenReturn(true);
         when(jpaRepository.findAllDataByAccountId(123L)).thenReturn(testConnectionDetailsList);
 
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenAnswer(invocation -> {
-            Function<String, List<ConnectionDetailsDTO>> supplier = invocation.getArgument(2);
-            return supplier.apply("-for-account-123");
-        });
+        when(connectionsByAccount.get(AccountKey.of(123L), CacheOps.Flags.SKIP_CACHE))
+                .thenAnswer(invocation -> loaderCaptor.getValue().apply(invocation.getArgument(0)));
 
         List<ConnectionDetailsDTO> result = connectionDetailsCacheRepository
                 .findAllForAccount(contactingContext);
 
         assertThat(result).hasSize(1);
-        verify(contactingCache).fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        );
+        verify(connectionsByAccount).get(AccountKey.of(123L), CacheOps.Flags.SKIP_CACHE);
     }
 
     @Test
@@ -127,9 +128,7 @@ class ConnectionDetailsCacheRepositoryTest {
     void shouldHandleEmptyCachedListGracefully() {
         when(contactingContext.accountId()).thenReturn(123L);
         when(contactingContext.byPassCache()).thenReturn(false);
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenReturn(List.of());
+        when(connectionsByAccount.get(AccountKey.of(123L), CacheOps.Flags.DEFAULT)).thenReturn(List.of());
 
         List<ConnectionDetailsDTO> result = connectionDetailsCacheRepository
                 .findAllForAccount(contactingContext);
@@ -159,7 +158,7 @@ class ConnectionDetailsCacheRepositoryTest {
         verify(jpaRepository).save(testConnectionDetailsEntity);
         verify(contactingCache).invalidateCache(
                 CacheType.ACTIVE_CONNECTION.cacheName(),
-                Optional.of("-for-account-123")
+                Optional.of(AccountKey.of(123L))
         );
     }
 
@@ -168,19 +167,12 @@ class ConnectionDetailsCacheRepositoryTest {
     void shouldUseCorrectCacheParametersForFindAllForAccount() {
         when(contactingContext.accountId()).thenReturn(456L);
         when(contactingContext.byPassCache()).thenReturn(false);
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenReturn(testConnectionDetailsList);
+        when(connectionsByAccount.get(AccountKey.of(456L), CacheOps.Flags.DEFAULT)).thenReturn(testConnectionDetailsList);
 
         connectionDetailsCacheRepository.findAllForAccount(contactingContext);
 
-        verify(contactingCache).fromCacheableSyncFunction(
-                eq(CacheType.ACTIVE_CONNECTION.cacheName()),
-                eq("-for-account-456"),
-                any(),
-                any(),
-                any()
-        );
+        verify(contactingCache).handle(eq(CacheType.ACTIVE_CONNECTION.cacheName()), any());
+        verify(connectionsByAccount).get(AccountKey.of(456L), CacheOps.Flags.DEFAULT);
     }
 
     @Test
@@ -193,9 +185,7 @@ class ConnectionDetailsCacheRepositoryTest {
         ConnectionDetailsDTO anotherConnectionDto = mock(ConnectionDetailsDTO.class);
         List<ConnectionDetailsDTO> anotherAccountConnections = List.of(anotherConnectionDto);
 
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenReturn(anotherAccountConnections);
+        when(connectionsByAccount.get(AccountKey.of(789L), CacheOps.Flags.DEFAULT)).thenReturn(anotherAccountConnections);
 
         List<ConnectionDetailsDTO> result = connectionDetailsCacheRepository
                 .findAllForAccount(anotherContext);
@@ -203,13 +193,7 @@ class ConnectionDetailsCacheRepositoryTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0)).isEqualTo(anotherConnectionDto);
 
-        verify(contactingCache).fromCacheableSyncFunction(
-                eq(CacheType.ACTIVE_CONNECTION.cacheName()),
-                eq("-for-account-789"),
-                any(),
-                any(),
-                any()
-        );
+        verify(connectionsByAccount).get(AccountKey.of(789L), CacheOps.Flags.DEFAULT);
     }
 
     @Test
@@ -219,7 +203,7 @@ class ConnectionDetailsCacheRepositoryTest {
 
         verify(contactingCache).invalidateCache(
                 CacheType.ACTIVE_CONNECTION.cacheName(),
-                Optional.of("-for-account-555")
+                Optional.of(AccountKey.of(555L))
         );
     }
 
@@ -246,7 +230,7 @@ class ConnectionDetailsCacheRepositoryTest {
         verify(jpaRepository).save(testConnectionDetailsEntity);
         verify(contactingCache).invalidateCache(
                 CacheType.ACTIVE_CONNECTION.cacheName(),
-                Optional.of("-for-account-123")
+                Optional.of(AccountKey.of(123L))
         );
     }
 
@@ -256,19 +240,11 @@ class ConnectionDetailsCacheRepositoryTest {
         Long largeAccountId = 9999999999L;
         when(contactingContext.accountId()).thenReturn(largeAccountId);
         when(contactingContext.byPassCache()).thenReturn(false);
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenReturn(testConnectionDetailsList);
+        when(connectionsByAccount.get(AccountKey.of(largeAccountId), CacheOps.Flags.DEFAULT)).thenReturn(testConnectionDetailsList);
 
         connectionDetailsCacheRepository.findAllForAccount(contactingContext);
 
-        verify(contactingCache).fromCacheableSyncFunction(
-                eq(CacheType.ACTIVE_CONNECTION.cacheName()),
-                eq("-for-account-9999999999"),
-                any(),
-                any(),
-                any()
-        );
+        verify(connectionsByAccount).get(AccountKey.of(largeAccountId), CacheOps.Flags.DEFAULT);
     }
 
     @Test
@@ -319,30 +295,34 @@ class ConnectionDetailsCacheRepositoryTest {
         // Verify cache was evicted for both operations
         verify(contactingCache, times(2)).invalidateCache(
                 CacheType.ACTIVE_CONNECTION.cacheName(),
-                Optional.of("-for-account-888")
+                Optional.of(AccountKey.of(888L))
         );
     }
 
     @Test
-    @DisplayName("should handle null account ID gracefully")
-    void shouldHandleNullAccountIdGracefully() {
+    @DisplayName("should reject null account ID before touching cache or database")
+    void shouldRejectNullAccountId() {
         when(contactingContext.accountId()).thenReturn(null);
-        when(contactingContext.byPassCache()).thenReturn(false);
 
-        // Should handle null account ID without throwing exception
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenAnswer(invocation -> {
-            Function<String, List<ConnectionDetailsDTO>> supplier = invocation.getArgument(2);
-            return supplier.apply("-for-account-null");
-        });
+        assertThatThrownBy(() -> connectionDetailsCacheRepository.findAllForAccount(contactingContext))
+                .isInstanceOf(IllegalArgumentException.class);
 
-        when(jpaRepository.findAllDataByAccountId(null)).thenReturn(List.of());
+        verifyNoInteractions(connectionsByAccount, jpaRepository);
+    }
 
-        List<ConnectionDetailsDTO> result = connectionDetailsCacheRepository
-                .findAllForAccount(contactingContext);
+    @Test
+    @DisplayName("should key the cache with the same interned account key for equal account IDs")
+    void shouldUseInternedAccountKey() {
+        when(contactingContext.accountId()).thenReturn(9999999999L);
+        when(contactingContext.byPassCache()).thenReturn(false);
+        when(connectionsByAccount.get(any(), eq(CacheOps.Flags.DEFAULT))).thenReturn(testConnectionDetailsList);
+        ArgumentCaptor<AccountKey> keyCaptor = ArgumentCaptor.forClass(AccountKey.class);
 
-        assertThat(result).isEmpty();
-        verify(jpaRepository).findAllDataByAccountId(null);
+        connectionDetailsCacheRepository.findAllForAccount(contactingContext);
+        connectionDetailsCacheRepository.findAllForAccount(contactingContext);
+
+        verify(connectionsByAccount, times(2)).get(keyCaptor.capture(), eq(CacheOps.Flags.DEFAULT));
+        assertThat(keyCaptor.getAllValues().get(0)).isSameAs(keyCaptor.getAllValues().get(1));
+        assertThat(keyCaptor.getValue().accountId()).isEqualTo(9999999999L);
     }
 }
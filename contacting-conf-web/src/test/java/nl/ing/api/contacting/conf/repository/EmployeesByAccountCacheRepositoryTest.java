@@ -0,0 +1,116 @@
+package nl.ing.api.contacting.conf.repository;
+
+import com.ing.api.contacting.dto.java.context.ContactingContext;
+import nl.ing.api.contacting.conf.domain.entity.cassandra.EmployeesByAccountEntity;
+import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.contacting.conf.util.EmployeeKey;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmployeesByAccountCacheRepository Tests")
+class EmployeesByAccountCacheRepositoryTest {
+
+    private static final String ACCOUNT_FRIENDLY_NAME = "test-account";
+
+    @Mock
+    private ContactingCache contactingCache;
+
+    @Mock
+    private EmployeesByAccountRepository cassandraRepository;
+
+    @Mock
+    private ContactingContext contactingContext;
+
+    @Mock
+    private CacheHandle<EmployeeKey, Optional<EmployeesByAccountEntity>> employeesByAccount;
+
+    @Captor
+    private ArgumentCaptor<Function<EmployeeKey, Optional<EmployeesByAccountEntity>>> loaderCaptor;
+
+    private EmployeesByAccountCacheRepository repository;
+    private EmployeesByAccountEntity employee;
+
+    @BeforeEach
+    void setUp() {
+        when(contactingCache.handle(eq(CacheType.EMPLOYEES_BY_ACCOUNT.cacheName()), loaderCaptor.capture()))
+                .thenReturn(employeesByAccount);
+        repository = new EmployeesByAccountCacheRepository(contactingCache, cassandraRepository);
+        employee = EmployeesByAccountEntity.builder()
+                .employeeId("EMP1")
+                .accountFriendlyName(ACCOUNT_FRIENDLY_NAME)
+                .roles("AGENT")
+                .build();
+    }
+
+    @Test
+    @DisplayName("should serve the employee from the cache")
+    void shouldFindEmployeeWithCacheHit() {
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(contactingContext.byPassCache()).thenReturn(false);
+        when(employeesByAccount.get(EmployeeKey.of(123L, ACCOUNT_FRIENDLY_NAME, "EMP1"), CacheOps.Flags.DEFAULT))
+                .thenReturn(Optional.of(employee));
+
+        Optional<EmployeesByAccountEntity> result =
+                repository.findByEmployeeIdAndAccountFriendlyName(contactingContext, "EMP1", ACCOUNT_FRIENDLY_NAME);
+
+        assertThat(result).containsSame(employee);
+        verifyNoInteractions(cassandraRepository);
+    }
+
+    @Test
+    @DisplayName("should load the employee from Cassandra on a cache miss")
+    void shouldFindEmployeeWithCacheMiss() {
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(contactingContext.byPassCache()).thenReturn(false);
+        when(cassandraRepository.findByEmployeeIdAndAccountFriendlyName("EMP1", ACCOUNT_FRIENDLY_NAME))
+                .thenReturn(Optional.of(employee));
+        when(employeesByAccount.get(EmployeeKey.of(123L, ACCOUNT_FRIENDLY_NAME, "EMP1"), CacheOps.Flags.DEFAULT))
+                .thenAnswer(invocation -> loaderCaptor.getValue().apply(invocation.getArgument(0)));
+
+        Optional<EmployeesByAccountEntity> result =
+                repository.findByEmployeeIdAndAccountFriendlyName(contactingContext, "EMP1", ACCOUNT_FRIENDLY_NAME);
+
+        assertThat(result).containsSame(employee);
+        verify(cassandraRepository).findByEmployeeIdAndAccountFriendlyName("EMP1", ACCOUNT_FRIENDLY_NAME);
+    }
+
+    @Test
+    @DisplayName("should cache unknown employees as an empty Optional")
+    void shouldLoadUnknownEmployeeAsEmpty() {
+        when(cassandraRepository.findByEmployeeIdAndAccountFriendlyName("UNKNOWN", ACCOUNT_FRIENDLY_NAME)).thenReturn(null);
+
+        Optional<EmployeesByAccountEntity> loaded =
+                loaderCaptor.getValue().apply(EmployeeKey.of(123L, ACCOUNT_FRIENDLY_NAME, "UNKNOWN"));
+
+        assertThat(loaded).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should bypass the cache when the context asks for it")
+    void shouldFindEmployeeWithCacheBypass() {
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(contactingContext.byPassCache()).thenReturn(true);
+        when(employeesByAccount.get(EmployeeKey.of(123L, ACCOUNT_FRIENDLY_NAME, "EMP1"), CacheOps.Flags.SKIP_CACHE))
+                .thenReturn(Optional.of(employee));
+
+        repository.findByEmployeeIdAndAccountFriendlyName(contactingContext, "EMP1", ACCOUNT_FRIENDLY_NAME);
+
+        verify(employeesByAccount).get(EmployeeKey.of(123L, ACCOUNT_FRIENDLY_NAME, "EMP1"), CacheOps.Flags.SKIP_CACHE);
+    }
+}
@@ -0,0 +1,150 @@
+package nl.ing.api.contacting.conf.repository;
+
+import com.ing.api.contacting.dto.java.context.ContactingContext;
+import com.ing.api.contacting.dto.java.resource.organisation.FlatOrganisationUnitDto;
+import nl.ing.api.contacting.conf.domain.entity.OrganisationSettingsEntity;
+import nl.ing.api.contacting.conf.domain.model.settingsmetadata.OrganisationSettingVO;
+import nl.ing.api.contacting.conf.domain.model.settingsmetadata.OrganisationSettingsHierarchy;
+import nl.ing.api.contacting.conf.util.AccountKey;
+import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrganisationSettingsCacheRepository Tests")
+class OrganisationSettingsCacheRepositoryTest {
+
+    @Mock
+    private ContactingCache contactingCache;
+
+    @Mock
+    private OrganisationSettingsJpaRepository jpaRepository;
+
+    @Mock
+    private ContactingContext contactingContext;
+
+    @Mock
+    private CacheHandle<AccountKey, OrganisationSettingsHierarchy> settingsByAccount;
+
+    @Captor
+    private ArgumentCaptor<Function<AccountKey, OrganisationSettingsHierarchy>> loaderCaptor;
+
+    private OrganisationSettingsCacheRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        when(contactingCache.handle(eq(CacheType.ORGANISATION_SETTINGS.cacheName()), loaderCaptor.capture()))
+                .thenReturn(settingsByAccount);
+        repository = new OrganisationSettingsCacheRepository(contactingCache, jpaRepository);
+    }
+
+    @Test
+    @DisplayName("should serve the hierarchy of the account from the cache")
+    void shouldFindHierarchyWithCacheHit() {
+        OrganisationSettingsHierarchy hierarchy = OrganisationSettingsHierarchy.compile(List.of());
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(contactingContext.byPassCache()).thenReturn(false);
+        when(settingsByAccount.get(AccountKey.of(123L), CacheOps.Flags.DEFAULT)).thenReturn(hierarchy);
+
+        assertThat(repository.findHierarchyByAccount(contactingContext)).isSameAs(hierarchy);
+        verifyNoInteractions(jpaRepository);
+    }
+
+    @Test
+    @DisplayName("should bypass the cache when the context asks for it")
+    void shouldFindHierarchyWithCacheBypass() {
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(contactingContext.byPassCache()).thenReturn(true);
+
+        repository.findHierarchyByAccount(contactingContext);
+
+        verify(settingsByAccount).get(AccountKey.of(123L), CacheOps.Flags.SKIP_CACHE);
+    }
+
+    @Test
+    @DisplayName("should compile the hierarchy from the settings of the account only")
+    void shouldCompileHierarchyFromAccountSettings() {
+        when(jpaRepository.findByAccountIdOrderByOrgId(123L)).thenReturn(List.of(
+                setting(1L, "language", "en", 2L),
+                setting(2L, "language", "nl", 3L)));
+
+        OrganisationSettingsHierarchy hierarchy = loaderCaptor.getValue().apply(AccountKey.of(123L));
+
+        assertThat(hierarchy.settings()).hasSize(2);
+        assertThat(hierarchy.effectiveSettings(new FlatOrganisationUnitDto(3L, "clt", 2L, "circle", 1L, "super")))
+                .extracting(OrganisationSettingVO::value)
+                .containsExactly("nl");
+        verify(jpaRepository).findByAccountIdOrderByOrgId(123L);
+    }
+
+    @Test
+    @DisplayName("should evict the hierarchy of the account")
+    void shouldEvictHierarchyOfAccount() {
+        repository.evictCacheAfterUpdate(123L);
+
+        verify(contactingCache).invalidateCache(CacheType.ORGANISATION_SETTINGS.cacheName(), Optional.of(AccountKey.of(123L)));
+    }
+
+    @Test
+    @DisplayName("should evict the hierarchy only after the transaction committed")
+    void shouldEvictHierarchyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            repository.evictCacheAfterUpdate(123L);
+
+            verify(contactingCache, never()).invalidateCache(any(), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(contactingCache).invalidateCache(CacheType.ORGANISATION_SETTINGS.cacheName(), Optional.of(AccountKey.of(123L)));
+    }
+
+    @Test
+    @DisplayName("should not evict the hierarchy when the transaction rolls back")
+    void shouldNotEvictHierarchyOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            repository.evictCacheAfterUpdate(123L);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(contactingCache, never()).invalidateCache(any(), any());
+    }
+
+    private static OrganisationSettingsEntity setting(Long id, String key, String value, Long orgId) {
+        return OrganisationSettingsEntity.builder()
+                .id(id)
+                .key(key)
+                .value(value)
+                .accountId(123L)
+                .orgId(orgId)
+                .enabled(true)
+                .build();
+    }
+}
@@ -0,0 +1,132 @@
+package nl.ing.api.contacting.conf.repository;
+
+import com.ing.api.contacting.dto.java.context.ContactingContext;
+import nl.ing.api.contacting.conf.domain.model.organisation.OrganisationTree;
+import nl.ing.api.contacting.conf.helper.OrganisationHierarchyData;
+import nl.ing.api.contacting.conf.util.AccountKey;
+import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.contacting.java.repository.model.organisation.OrganisationEntity;
+import nl.ing.api.contacting.java.repository.model.organisation.OrganisationLevelEnumeration;
+import nl.ing.api.contacting.java.repository.organisation.OrganisationJpaRepository;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrganisationTreeCacheRepository Tests")
+class OrganisationTreeCacheRepositoryTest {
+
+    @Mock
+    private ContactingCache contactingCache;
+
+    @Mock
+    private OrganisationJpaRepository jpaRepository;
+
+    @Mock
+    private ContactingContext contactingContext;
+
+    @Mock
+    private CacheHandle<AccountKey, OrganisationTree> treeByAccount;
+
+    @Captor
+    private ArgumentCaptor<Function<AccountKey, OrganisationTree>> loaderCaptor;
+
+    @Captor
+    private ArgumentCaptor<UnaryOperator<OrganisationTree>> updateCaptor;
+
+    private OrganisationTreeCacheRepository repository;
+    private OrganisationTree tree;
+
+    @BeforeEach
+    void setUp() {
+        when(contactingCache.handle(eq(CacheType.ORGANISATION_TREE.cacheName()), loaderCaptor.capture()))
+                .thenReturn(treeByAccount);
+        repository = new OrganisationTreeCacheRepository(contactingCache, jpaRepository);
+        tree = OrganisationTree.of(OrganisationHierarchyData.getOrgTree(123L), OrganisationLevelEnumeration.SUPER_CIRCLE);
+    }
+
+    @Test
+    @DisplayName("should serve the tree of the account from the cache")
+    void shouldFindTreeWithCacheHit() {
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(contactingContext.byPassCache()).thenReturn(false);
+        when(treeByAccount.get(AccountKey.of(123L), CacheOps.Flags.DEFAULT)).thenReturn(tree);
+
+        assertThat(repository.findOrgTree(contactingContext)).isSameAs(tree);
+        verifyNoInteractions(jpaRepository);
+    }
+
+    @Test
+    @DisplayName("should bypass the cache when the context asks for it")
+    void shouldFindTreeWithCacheBypass() {
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(contactingContext.byPassCache()).thenReturn(true);
+
+        repository.findOrgTree(contactingContext);
+
+        verify(treeByAccount).get(AccountKey.of(123L), CacheOps.Flags.SKIP_CACHE);
+    }
+
+    @Test
+    @DisplayName("should read the tree from the super circles of the account on a cache miss")
+    void shouldLoadTreeFromSuperCircles() {
+        when(jpaRepository.findOrgTree(123L, OrganisationLevelEnumeration.SUPER_CIRCLE))
+                .thenReturn(OrganisationHierarchyData.getOrgTree(123L));
+
+        OrganisationTree loaded = loaderCaptor.getValue().apply(AccountKey.of(123L));
+
+        assertThat(loaded.roots()).isEqualTo(tree.roots());
+    }
+
+    @Test
+    @DisplayName("should patch the cached tree with a saved organisation")
+    void shouldPatchTreeAfterSave() {
+        OrganisationEntity team = OrganisationEntity.builder()
+                .id(19L)
+                .name("CLT6")
+                .accountId(123L)
+                .parentId(3L)
+                .orgLevel(OrganisationLevelEnumeration.CLT)
+                .build();
+
+        repository.updateAfterSave(123L, team);
+
+        verify(treeByAccount).updateIfPresent(eq(AccountKey.of(123L)), updateCaptor.capture());
+        assertThat(updateCaptor.getValue().apply(tree).find(3L).orElseThrow().children()).hasSize(4);
+        verifyNoInteractions(jpaRepository);
+    }
+
+    @Test
+    @DisplayName("should patch the cached tree with a deleted organisation")
+    void shouldPatchTreeAfterDelete() {
+        repository.updateAfterDelete(123L, 2L);
+
+        verify(treeByAccount).updateIfPresent(eq(AccountKey.of(123L)), updateCaptor.capture());
+        assertThat(updateCaptor.getValue().apply(tree).find(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should not fail the change when the tree cannot be patched")
+    void shouldSwallowPatchFailure() {
+        doThrow(new IllegalStateException("broken patch")).when(treeByAccount).updateIfPresent(any(), any());
+
+        assertThatCode(() -> repository.updateAfterDelete(123L, 2L)).doesNotThrowAnyException();
+    }
+}
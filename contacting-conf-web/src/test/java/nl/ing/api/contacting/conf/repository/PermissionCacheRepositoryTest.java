@@ -0,0 +1,99 @@
+package nl.ing.api.contacting.conf.repository;
+
+import com.ing.api.contacting.dto.java.context.ContactingContext;
+import nl.ing.api.contacting.conf.domain.entity.cassandra.BusinessFunctionOnTeamEntity;
+import nl.ing.api.contacting.conf.domain.model.permission.BusinessFunctionVO;
+import nl.ing.api.contacting.conf.domain.model.permission.PermissionMatrix;
+import nl.ing.api.contacting.conf.util.AccountNameKey;
+import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
+import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PermissionCacheRepository Tests")
+class PermissionCacheRepositoryTest {
+
+    private static final String ACCOUNT_FRIENDLY_NAME = "test-account";
+    private static final AccountNameKey KEY = AccountNameKey.of(123L, ACCOUNT_FRIENDLY_NAME);
+
+    @Mock
+    private ContactingCache contactingCache;
+
+    @Mock
+    private BusinessFunctionOnTeamRepository cassandraRepository;
+
+    @Mock
+    private ContactingContext contactingContext;
+
+    @Mock
+    private CacheHandle<AccountNameKey, List<BusinessFunctionOnTeamEntity>> permissionsByAccount;
+
+    @Mock
+    private CacheHandle<AccountNameKey, PermissionMatrix> permissionMatrixByAccount;
+
+    @Captor
+    private ArgumentCaptor<Function<AccountNameKey, PermissionMatrix>> matrixLoaderCaptor;
+
+    private PermissionCacheRepository repository;
+    private final PermissionMatrix matrix = PermissionMatrix.compile(List.of(BusinessFunctionVO.SYSTEM_TOOLING_BUSINESS_FUNCTION));
+
+    @BeforeEach
+    void setUp() {
+        doReturn(permissionsByAccount).when(contactingCache).handle(eq(CacheType.CONNECTING_PERMISSION.cacheName()), any());
+        when(contactingCache.handle(eq(CacheType.PERMISSION_MATRIX.cacheName()), matrixLoaderCaptor.capture()))
+                .thenReturn(permissionMatrixByAccount);
+        repository = new PermissionCacheRepository(contactingCache, cassandraRepository);
+    }
+
+    @Test
+    @DisplayName("should serve the matrix of the account from the cache")
+    void shouldFindMatrixWithCacheHit() {
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(contactingContext.byPassCache()).thenReturn(false);
+        when(permissionMatrixByAccount.get(KEY, CacheOps.Flags.DEFAULT)).thenReturn(matrix);
+
+        assertThat(repository.findPermissionMatrixCache(contactingContext, ACCOUNT_FRIENDLY_NAME)).isSameAs(matrix);
+        verifyNoInteractions(permissionsByAccount);
+    }
+
+    @Test
+    @DisplayName("should store the matrix compiled on a cache bypass for later readers")
+    void shouldRefreshCachedMatrixOnBypass() {
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(contactingContext.byPassCache()).thenReturn(true);
+        when(permissionMatrixByAccount.get(KEY, CacheOps.Flags.SKIP_CACHE)).thenReturn(matrix);
+
+        assertThat(repository.findPermissionMatrixCache(contactingContext, ACCOUNT_FRIENDLY_NAME)).isSameAs(matrix);
+
+        InOrder inOrder = inOrder(permissionsByAccount, permissionMatrixByAccount);
+        inOrder.verify(permissionsByAccount).get(KEY, CacheOps.Flags.SKIP_CACHE);
+        inOrder.verify(permissionMatrixByAccount).get(KEY, CacheOps.Flags.SKIP_CACHE);
+    }
+
+    @Test
+    @DisplayName("should compile the matrix from the cached business functions with system tooling")
+    void shouldCompileMatrixFromCachedBusinessFunctions() {
+        when(permissionsByAccount.get(KEY)).thenReturn(List.of());
+
+        PermissionMatrix compiled = matrixLoaderCaptor.getValue().apply(KEY);
+
+        assertThat(compiled.businessFunctions()).containsExactly(BusinessFunctionVO.SYSTEM_TOOLING_BUSINESS_FUNCTION);
+    }
+}
@@ -2,12 +2,17 @@ package nl.ing.api.contacting.conf.repository;
 
 import com.ing.api.contacting.dto.java.context.ContactingContext;
 import nl.ing.api.contacting.conf.domain.entity.PlatformAccountSettingsEntity;
+import nl.ing.api.contacting.conf.util.AccountKey;
 import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
 import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -32,6 +37,12 @@ class PlatformAccountSettingsCacheRepositoryTest {
     @Mock
     private ContactingContext contactingContext;
 
+    @Mock
+    private CacheHandle<AccountKey, List<PlatformAccountSettingsEntity>> settingsByAccount;
+
+    @Captor
+    private ArgumentCaptor<Function<AccountKey, List<PlatformAccountSettingsEntity>>> loaderCaptor;
+
     private PlatformAccountSettingsCacheRepository platformAccountSettingsCacheRepository;
 
     private PlatformAccountSettingsEntity themeSetting;
@@ -40,6 +51,8 @@ class PlatformAccountSettingsCacheRepositoryTest {
 
     @BeforeEach
     void setUp() {
+        when(contactingCache.handle(eq(CacheType.PLATFORM_ACCOUNT_SETTINGS.cacheName()), loaderCaptor.capture()))
+                .thenReturn(settingsByAccount);
         platformAccountSettingsCacheRepository = new PlatformAccountSettingsCacheRepository(
                 contactingCache, jpaRepository);
 
@@ -63,18 +76,16 @@ class PlatformAccountSettingsCacheRepositoryTest {
     @Test
     @DisplayName("should find settings by account ID with cache hit")
     void shouldFindByAccountIdWithCacheHit() {
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenReturn(testSettings);
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(settingsByAccount.get(AccountKey.of(123L), CacheOps.Flags.DEFAULT)).thenReturn(testSettings);
 
         List<PlatformAccountSettingsEntity> result = platformAccountSettingsCacheRepository
                 .findByAccountId(contactingContext);
 
         assertThat(result).hasSize(2);
         assertThat(result).containsExactlyInAnyOrder(themeSetting, languageSetting);
-        verify(contactingCache).fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        );
+        verify(settingsByAccount).get(AccountKey.of(123L), CacheOps.Flags.DEFAULT);
+        verifyNoInteractions(jpaRepository);
     }
 
     @Test
@@ -82,15 +93,10 @@ class PlatformAccountSettingsCacheRepositoryTest {
     void shouldFindByAccountIdWithCacheMiss() {
         when(jpaRepository.findByAccountId(123L)).thenReturn(testSettings);
         when(contactingContext.accountId()).thenReturn(123L);
-        when(contactingContext.accountCacheKey()).thenReturn("account:123");
         when(contactingContext.byPassCache()).thenReturn(false);
-        // Simulate cache miss by calling the supplier function
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenAnswer(invocation -> {
-            Function<String, List<PlatformAccountSettingsEntity>> supplier = invocation.getArgument(2);
-            return supplier.apply("account:123");
-        });
+        // Simulate cache miss by calling the loader bound to the handle
+        when(settingsByAccount.get(AccountKey.of(123L), CacheOps.Flags.DEFAULT))
+                .thenAnswer(invocation -> loaderCaptor.getValue().apply(invocation.getArgument(0)));
 
         List<PlatformAccountSettingsEntity> result = platformAccountSettingsCacheRepository
                 .findByAccountId(contactingContext);
@@ -106,30 +112,21 @@ class PlatformAccountSettingsCacheRepositoryTest {
         when(contactingContext.byPassCache()).thenReturn(true);
         when(jpaRepository.findByAccountId(123L)).thenReturn(testSettings);
         when(contactingContext.accountId()).thenReturn(123L);
-        when(contactingContext.accountCacheKey()).thenReturn("account:123");
-        when(contactingContext.byPassCache()).thenReturn(false);
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenAnswer(invocation -> {
-            Function<String, List<PlatformAccountSettingsEntity>> supplier = invocation.getArgument(2);
-            return supplier.apply("account:123");
-        });
+        when(settingsByAccount.get(AccountKey.of(123L), CacheOps.Flags.SKIP_CACHE))
+                .thenAnswer(invocation -> loaderCaptor.getValue().apply(invocation.getArgument(0)));
 
         List<PlatformAccountSettingsEntity> result = platformAccountSettingsCacheRepository
                 .findByAccountId(contactingContext);
 
         assertThat(result).hasSize(2);
-        verify(contactingCache).fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        );
+        verify(settingsByAccount).get(AccountKey.of(123L), CacheOps.Flags.SKIP_CACHE);
     }
 
     @Test
     @DisplayName("should find entity by ID when exists in cached list")
     void shouldFindByIdWhenExistsInCachedList() {
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenReturn(testSettings);
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(settingsByAccount.get(AccountKey.of(123L), CacheOps.Flags.DEFAULT)).thenReturn(testSettings);
 
         Optional<PlatformAccountSettingsEntity> result = platformAccountSettingsCacheRepository
                 .findById(1L, contactingContext);
@@ -142,9 +139,8 @@ class PlatformAccountSettingsCacheRepositoryTest {
     @Test
     @DisplayName("should return empty when finding by non-existing ID")
     void shouldReturnEmptyWhenFindingByNonExistingId() {
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenReturn(testSettings);
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(settingsByAccount.get(AccountKey.of(123L), CacheOps.Flags.DEFAULT)).thenReturn(testSettings);
 
         Optional<PlatformAccountSettingsEntity> result = platformAccountSettingsCacheRepository
                 .findById(999L, contactingContext);
@@ -170,7 +166,7 @@ class PlatformAccountSettingsCacheRepositoryTest {
 
         when(jpaRepository.save(newSetting)).thenReturn(savedSetting);
 
-        when(contactingContext.accountCacheKey()).thenReturn("account:123");
+        when(contactingContext.accountId()).thenReturn(123L);
         PlatformAccountSettingsEntity result = platformAccountSettingsCacheRepository
                 .save(newSetting, contactingContext);
 
@@ -181,16 +177,15 @@ class PlatformAccountSettingsCacheRepositoryTest {
         verify(jpaRepository).save(newSetting);
         verify(contactingCache).invalidateCache(
                 CacheType.PLATFORM_ACCOUNT_SETTINGS.cacheName(),
-                Optional.of("account:123")
+                Optional.of(AccountKey.of(123L))
         );
     }
 
     @Test
     @DisplayName("should handle empty cached list gracefully")
     void shouldHandleEmptyCachedListGracefully() {
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenReturn(List.of());
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(settingsByAccount.get(AccountKey.of(123L), CacheOps.Flags.DEFAULT)).thenReturn(List.of());
 
         List<PlatformAccountSettingsEntity> result = platformAccountSettingsCacheRepository
                 .findByAccountId(contactingContext);
@@ -201,15 +196,13 @@ class PlatformAccountSettingsCacheRepositoryTest {
     @Test
     @DisplayName("should use correct cache parameters for findByAccountId")
     void shouldUseCorrectCacheParametersForFindByAccountId() {
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenReturn(testSettings);
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(settingsByAccount.get(AccountKey.of(123L), CacheOps.Flags.DEFAULT)).thenReturn(testSettings);
 
         platformAccountSettingsCacheRepository.findByAccountId(contactingContext);
 
-        verify(contactingCache).fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        );
+        verify(contactingCache).handle(eq(CacheType.PLATFORM_ACCOUNT_SETTINGS.cacheName()), any());
+        verify(settingsByAccount).get(AccountKey.of(123L), CacheOps.Flags.DEFAULT);
     }
 
     @Test
@@ -227,9 +220,8 @@ class PlatformAccountSettingsCacheRepositoryTest {
                 themeSetting, languageSetting, currencySetting
         );
 
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenReturn(multipleSettings);
+        when(contactingContext.accountId()).thenReturn(123L);
+        when(settingsByAccount.get(AccountKey.of(123L), CacheOps.Flags.DEFAULT)).thenReturn(multipleSettings);
 
         Optional<PlatformAccountSettingsEntity> result = platformAccountSettingsCacheRepository
                 .findById(2L, contactingContext);
@@ -244,7 +236,7 @@ class PlatformAccountSettingsCacheRepositoryTest {
     @DisplayName("should handle save operation with null entity gracefully")
     void shouldHandleSaveOperationWithNullEntityGracefully() {
         when(jpaRepository.save(any())).thenThrow(new IllegalArgumentException("Entity cannot be null"));
-        when(contactingContext.accountCacheKey()).thenReturn("account:123"); // Add this line
+        when(contactingContext.accountId()).thenReturn(123L);
 
         assertThat(org.junit.jupiter.api.Assertions.assertThrows(IllegalArgumentException.class, () ->
                 platformAccountSettingsCacheRepository.save(null, contactingContext)
@@ -254,7 +246,7 @@ class PlatformAccountSettingsCacheRepositoryTest {
         // Cache should still be evicted despite the exception
         verify(contactingCache).invalidateCache(
                 CacheType.PLATFORM_ACCOUNT_SETTINGS.cacheName(),
-                Optional.of("account:123")
+                Optional.of(AccountKey.of(123L))
         );
     }
 
@@ -269,7 +261,7 @@ class PlatformAccountSettingsCacheRepositoryTest {
                 .build();
 
         when(jpaRepository.save(newSetting)).thenThrow(new RuntimeException("Database error"));
-        when(contactingContext.accountCacheKey()).thenReturn("account:123"); // Add this line
+        when(contactingContext.accountId()).thenReturn(123L);
 
         assertThat(org.junit.jupiter.api.Assertions.assertThrows(RuntimeException.class, () ->
                 platformAccountSettingsCacheRepository.save(newSetting, contactingContext)
@@ -278,7 +270,7 @@ class PlatformAccountSettingsCacheRepositoryTest {
         verify(jpaRepository).save(newSetting);
         verify(contactingCache).invalidateCache(
                 CacheType.PLATFORM_ACCOUNT_SETTINGS.cacheName(),
-                Optional.of("account:123")
+                Optional.of(AccountKey.of(123L))
         );
     }
 
@@ -288,7 +280,6 @@ class PlatformAccountSettingsCacheRepositoryTest {
     void shouldHandleDifferentAccountContextsCorrectly() {
         ContactingContext anotherContext = mock(ContactingContext.class);
         when(anotherContext.accountId()).thenReturn(456L);
-        when(anotherContext.accountCacheKey()).thenReturn("account:456");
         when(anotherContext.byPassCache()).thenReturn(false);
 
         List<PlatformAccountSettingsEntity> anotherAccountSettings = List.of(
@@ -300,9 +291,7 @@ class PlatformAccountSettingsCacheRepositoryTest {
                         .build()
         );
 
-        when(contactingCache.fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        )).thenReturn(anotherAccountSettings);
+        when(settingsByAccount.get(AccountKey.of(456L), CacheOps.Flags.DEFAULT)).thenReturn(anotherAccountSettings);
 
         List<PlatformAccountSettingsEntity> result = platformAccountSettingsCacheRepository
                 .findByAccountId(anotherContext);
@@ -311,9 +300,7 @@ class PlatformAccountSettingsCacheRepositoryTest {
         assertThat(result.get(0).getAccountId()).isEqualTo(456L);
         assertThat(result.get(0).getValue()).isEqualTo("light");
 
-        verify(contactingCache).fromCacheableSyncFunction(
-                any(), any(), any(), any(), any()
-        );
+        verify(settingsByAccount).get(AccountKey.of(456L), CacheOps.Flags.DEFAULT);
     }
 }
 
@@ -1,7 +1,12 @@
 package nl.ing.api.contacting.conf.repository.support;
 
 import com.ing.api.contacting.dto.java.context.ContactingContext;
+import nl.ing.api.contacting.conf.util.AccountKey;
+import nl.ing.api.contacting.conf.util.AccountNameKey;
+import nl.ing.api.contacting.conf.util.CacheType;
+import nl.ing.api.java.contacting.caching.core.CacheHandle;
 import nl.ing.api.java.contacting.caching.core.ContactingCache;
+import nl.ing.api.java.contacting.caching.util.CacheOps;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -27,6 +32,9 @@ class CacheAwareRepositoryTest {
     @Mock
     private ContactingContext contactingContext;
 
+    @Mock
+    private CacheHandle<Long, List<String>> cacheHandle;
+
     private TestCacheAwareRepository testRepository;
 
     // Test implementation of abstract class
@@ -117,5 +125,35 @@ class CacheAwareRepositoryTest {
 
         assertThat(result).isNull();
     }
-}
 
+    @Test
+    @DisplayName("should find in cache through handle honouring bypass flag")
+    void shouldFindInCacheThroughHandle() {
+        when(contactingContext.byPassCache()).thenReturn(true);
+        when(cacheHandle.get(1L, CacheOps.Flags.SKIP_CACHE)).thenReturn(List.of("item1"));
+
+        List<String> result = testRepository.findInCache(contactingContext, cacheHandle, 1L);
+
+        assertThat(result).containsExactly("item1");
+        verifyNoInteractions(contactingCache);
+    }
+
+    @Test
+    @DisplayName("should reject a handle whose key type the cache type does not accept")
+    void shouldRejectHandleWithWrongKeyType() {
+        assertThatThrownBy(() -> testRepository.cacheHandle(CacheType.ACTIVE_CONNECTION, AccountNameKey.class, key -> List.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(CacheType.ACTIVE_CONNECTION.cacheName());
+        verifyNoInteractions(contactingCache);
+    }
+
+    @Test
+    @DisplayName("should evict cache by typed key")
+    void shouldEvictCacheByTypedKey() {
+        testRepository.evictCache(CacheType.ACTIVE_CONNECTION, AccountKey.of(42L));
+
+        verify(contactingCache).invalidateCache(CacheType.ACTIVE_CONNECTION.cacheName(), Optional.of(AccountKey.of(42L)));
+        assertThatThrownBy(() -> testRepository.evictCache(CacheType.ACTIVE_CONNECTION, AccountNameKey.of(42L, "account")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -19,7 +19,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
-import java.util.Optional;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -55,15 +54,16 @@ class ActiveConnectionServiceJavaTest {
         var connectionEntity = mock(ConnectionEntity.class);
         var connectionDetailsEntity = mock(ConnectionDetailsEntity.class);
         when(connectionEntity.getAccountId()).thenReturn(123L);
+        when(connectionDetailsEntity.getId()).thenReturn(101L);
 
         var entity = ActiveConnectionEntity.builder()
-                .connectionId(connectionEntity.getId())
+                .connectionId(1L)
                 .connectionDetails(connectionDetailsEntity)
                 .connection(connectionEntity)
                 .build();
 
-        when(activeConnectionJpaRepository.findById(1L)).thenReturn(Optional.of(entity));
-        when(connectionDetailsJpaRepository.findById(101L)).thenReturn(Optional.of(connectionDetailsEntity));
+        when(activeConnectionJpaRepository.findAllById(List.of(1L))).thenReturn(List.of(entity));
+        when(connectionDetailsJpaRepository.findAllById(List.of(101L))).thenReturn(List.of(connectionDetailsEntity));
         when(activeConnectionJpaRepository.save(any())).thenReturn(entity);
 
         doNothing().when(webhookConnectionService).onlyOneActiveWebhook(anyList());
@@ -72,6 +72,7 @@ class ActiveConnectionServiceJavaTest {
         assertDoesNotThrow(() -> activeConnectionServiceJava.saveOrUpdate(activateDto));
 
         verify(activeConnectionJpaRepository).save(entity);
+        verify(connectionDetailsCacheRepository).evictCacheAfterUpdate(123L);
         verify(webhookConnectionService).activate(anyList());
     }
 
@@ -97,7 +98,8 @@ class ActiveConnectionServiceJavaTest {
         WebhookDto dto2 = new WebhookDto(2L, ConnectionType.PRIMARY, "http://test2", 101L, 0);
         List<WebhookDto> webhookDtos = List.of(dto1, dto2);
         var activateDto = new ActivateDto(List.of(connectionDto), webhookDtos);
-        when(activeConnectionJpaRepository.findById(2L)).thenReturn(Optional.empty());
+        when(activeConnectionJpaRepository.findAllById(List.of(2L))).thenReturn(List.of());
+        when(connectionDetailsJpaRepository.findAllById(List.of(202L))).thenReturn(List.of());
         doNothing().when(webhookConnectionService).onlyOneActiveWebhook(anyList());
         doNothing().when(webhookConnectionService).activate(anyList());
 
@@ -112,10 +114,35 @@ class ActiveConnectionServiceJavaTest {
         var connectionDto = new ActiveConnectionsDto(1L, 101L);
         var activateDto = new ActivateDto(List.of(connectionDto), List.of());
 
-        when(activeConnectionJpaRepository.findById(1L)).thenThrow(new RuntimeException("DB error"));
+        when(activeConnectionJpaRepository.findAllById(List.of(1L))).thenThrow(new RuntimeException("DB error"));
         doNothing().when(webhookConnectionService).onlyOneActiveWebhook(anyList());
 
         var ex = assertThrows(RuntimeException.class, () -> activeConnectionServiceJava.saveOrUpdate(activateDto));
         assertTrue(ex.getMessage().contains("DB error"));
     }
+
+    @Test
+    @DisplayName("saveOrUpdate fetches all connections in one query and evicts each account once")
+    void saveOrUpdate_batchesLookups() {
+        var activateDto = new ActivateDto(
+                List.of(new ActiveConnectionsDto(1L, 101L), new ActiveConnectionsDto(2L, 102L)), List.of());
+
+        var connectionEntity = mock(ConnectionEntity.class);
+        when(connectionEntity.getAccountId()).thenReturn(123L);
+        var details1 = ConnectionDetailsEntity.builder().id(101L).build();
+        var details2 = ConnectionDetailsEntity.builder().id(102L).build();
+        var entity1 = ActiveConnectionEntity.builder().connectionId(1L).connection(connectionEntity).build();
+        var entity2 = ActiveConnectionEntity.builder().connectionId(2L).connection(connectionEntity).build();
+
+        when(activeConnectionJpaRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(entity1, entity2));
+        when(connectionDetailsJpaRepository.findAllById(List.of(101L, 102L))).thenReturn(List.of(details1, details2));
+
+        activeConnectionServiceJava.saveOrUpdate(activateDto);
+
+        assertSame(details1, entity1.getConnectionDetails());
+        assertSame(details2, entity2.getConnectionDetails());
+        verify(activeConnectionJpaRepository, never()).findById(any());
+        verify(connectionDetailsJpaRepository, never()).findById(any());
+        verify(connectionDetailsCacheRepository, times(1)).evictCacheAfterUpdate(123L);
+    }
 }
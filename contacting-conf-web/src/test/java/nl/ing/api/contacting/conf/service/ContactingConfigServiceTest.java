@@ -1,7 +1,10 @@
 package nl.ing.api.contacting.conf.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import nl.ing.api.contacting.conf.domain.entity.cassandra.ContactingConfigEntity;
+import nl.ing.api.contacting.conf.domain.model.permission.ContactingConfigVO;
 import nl.ing.api.contacting.conf.repository.ContactingConfigRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,13 +13,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ContactingConfigServiceTest {
@@ -24,6 +29,8 @@ class ContactingConfigServiceTest {
     @Mock
     private ContactingConfigRepository contactingConfigRepository;
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private ContactingConfigService contactingConfigService;
 
     private ContactingConfigEntity configEntity1;
@@ -32,42 +39,55 @@ class ContactingConfigServiceTest {
 
     @BeforeEach
     void setUp() {
-        contactingConfigService = new ContactingConfigService(contactingConfigRepository);
+        contactingConfigService = new ContactingConfigService(contactingConfigRepository, Duration.ofHours(1), meterRegistry);
 
-        configEntity1 = getContactingConfigEntity();
-        configEntity2 = getContactingConfigEntity();
+        configEntity1 = getContactingConfigEntity("key1", "value1,value2");
+        configEntity2 = getContactingConfigEntity("key2", "value3");
 
         allConfigEntities = Arrays.asList(configEntity1, configEntity2);
     }
 
+    @AfterEach
+    void tearDown() {
+        contactingConfigService.stop();
+    }
+
     @Nested
     class FindByKeyTests {
 
         @Test
         @DisplayName("findByKey: success with multiple entities")
         void testFindByKeySuccess() {
-            String testKey = "test.key";
-            when(contactingConfigRepository.findByKey(testKey))
-                    .thenReturn(Arrays.asList(configEntity1, configEntity2));
+            when(contactingConfigRepository.findAll()).thenReturn(allConfigEntities);
 
-            Set<String> result = contactingConfigService.findByKey(testKey);
+            Set<String> result = contactingConfigService.findByKey("key1");
 
-            assertNotNull(result);
-            assertInstanceOf(Set.class, result);
+            assertEquals(Set.of("value1", "value2"), result);
         }
 
         @Test
         @DisplayName("findByKey: returns empty set when no entities found")
         void testFindByKeyEmpty() {
-            String testKey = "nonexistent.key";
-            when(contactingConfigRepository.findByKey(testKey))
-                    .thenReturn(Collections.emptyList());
+            when(contactingConfigRepository.findAll()).thenReturn(allConfigEntities);
 
-            Set<String> result = contactingConfigService.findByKey(testKey);
+            Set<String> result = contactingConfigService.findByKey("nonexistent.key");
 
             assertNotNull(result);
             assertTrue(result.isEmpty());
         }
+
+        @Test
+        @DisplayName("findByKey: reads Cassandra only once")
+        void testFindByKeyServedFromSnapshot() {
+            when(contactingConfigRepository.findAll()).thenReturn(allConfigEntities);
+
+            contactingConfigService.findByKey("key1");
+            contactingConfigService.findByKey("key2");
+            contactingConfigService.findAll();
+
+            verify(contactingConfigRepository, times(1)).findAll();
+            verifyNoMoreInteractions(contactingConfigRepository);
+        }
     }
 
     @Nested
@@ -79,11 +99,24 @@ class ContactingConfigServiceTest {
             when(contactingConfigRepository.findAll())
                     .thenReturn(allConfigEntities);
 
-            List<ContactingConfigEntity> result = contactingConfigService.findAll();
+            List<ContactingConfigVO> result = contactingConfigService.findAll();
 
             assertNotNull(result);
             assertEquals(2, result.size());
-            assertEquals(allConfigEntities, result);
+            assertEquals("key1", result.get(0).key());
+            assertEquals("value3", result.get(1).values());
+        }
+
+        @Test
+        @DisplayName("findAll: callers cannot change the snapshot")
+        void testFindAllUnmodifiable() {
+            when(contactingConfigRepository.findAll()).thenReturn(allConfigEntities);
+
+            List<ContactingConfigVO> result = contactingConfigService.findAll();
+            configEntity1.setValues("changed");
+
+            assertThrows(UnsupportedOperationException.class, () -> result.add(new ContactingConfigVO("key3", "value5")));
+            assertEquals("value1,value2", contactingConfigService.findAll().get(0).values());
         }
 
         @Test
@@ -92,19 +125,93 @@ class ContactingConfigServiceTest {
             when(contactingConfigRepository.findAll())
                     .thenReturn(Collections.emptyList());
 
-            List<ContactingConfigEntity> result = contactingConfigService.findAll();
+            List<ContactingConfigVO> result = contactingConfigService.findAll();
 
             assertNotNull(result);
             assertTrue(result.isEmpty());
         }
     }
 
-    private ContactingConfigEntity  getContactingConfigEntity(){
+    @Nested
+    class RefreshTests {
+
+        @Test
+        @DisplayName("refresh: swaps in changed values")
+        void testRefreshSwapsChangedValues() {
+            when(contactingConfigRepository.findAll())
+                    .thenReturn(allConfigEntities)
+                    .thenReturn(List.of(getContactingConfigEntity("key1", "value4")));
+            assertEquals(Set.of("value1", "value2"), contactingConfigService.findByKey("key1"));
+
+            contactingConfigService.refresh();
+
+            assertEquals(Set.of("value4"), contactingConfigService.findByKey("key1"));
+            assertTrue(contactingConfigService.findByKey("key2").isEmpty());
+        }
+
+        @Test
+        @DisplayName("refresh: keeps the snapshot when Cassandra fails")
+        void testRefreshKeepsSnapshotOnFailure() {
+            when(contactingConfigRepository.findAll())
+                    .thenReturn(allConfigEntities)
+                    .thenThrow(new RuntimeException("Cassandra unavailable"));
+            contactingConfigService.findAll();
+
+            contactingConfigService.refresh();
+
+            assertEquals(Set.of("value3"), contactingConfigService.findByKey("key2"));
+        }
+
+        @Test
+        @DisplayName("refresh: reports snapshot age and size")
+        void testRefreshReportsGauges() {
+            when(contactingConfigRepository.findAll()).thenReturn(allConfigEntities);
+
+            contactingConfigService.refresh();
+
+            assertEquals(2, meterRegistry.get("contacting.config.snapshot.size").gauge().value());
+            double age = meterRegistry.get("contacting.config.snapshot.age").timeGauge().value(TimeUnit.SECONDS);
+            assertTrue(age >= 0 && age < 60, "age " + age);
+        }
+    }
+
+    @Nested
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("lifecycle: refreshes only between start and stop")
+        void testRefreshesWhileRunning() {
+            ContactingConfigService running = new ContactingConfigService(contactingConfigRepository, Duration.ofMillis(10), null);
+            assertFalse(running.isRunning());
+
+            running.start();
+            try {
+                assertTrue(running.isRunning());
+                verify(contactingConfigRepository, timeout(5000).atLeastOnce()).findAll();
+            } finally {
+                running.stop();
+            }
+
+            assertFalse(running.isRunning());
+        }
+
+        @Test
+        @DisplayName("lifecycle: constructing the service does not refresh")
+        void testNoRefreshBeforeStart() throws InterruptedException {
+            new ContactingConfigService(contactingConfigRepository, Duration.ofMillis(10), null);
+
+            Thread.sleep(50);
+
+            verifyNoInteractions(contactingConfigRepository);
+        }
+    }
+
+    private ContactingConfigEntity getContactingConfigEntity(String key, String values) {
 
         return ContactingConfigEntity.builder()
-                .key("key1")
-                .values("value1")
+                .key(key)
+                .values(values)
                 .build();
     }
 
-}
\ No newline at end of file
+}
@@ -2,7 +2,10 @@ package nl.ing.api.contacting.conf.service;
 
 import com.ing.api.contacting.dto.java.context.ContactingContext;
 import nl.ing.api.contacting.conf.entityevents.EntityEventSenderJava;
+import nl.ing.api.contacting.conf.domain.model.organisation.OrganisationTree;
+import nl.ing.api.contacting.conf.helper.OrganisationHierarchyData;
 import nl.ing.api.contacting.conf.repository.OrganisationAuditRepository;
+import nl.ing.api.contacting.conf.repository.OrganisationTreeCacheRepository;
 import nl.ing.api.contacting.java.repository.model.organisation.OrganisationEntity;
 import nl.ing.api.contacting.java.repository.model.organisation.OrganisationLevelEnumeration;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,9 +16,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +33,8 @@ class OrganisationServiceJavaTest {
     private ContactingContext context;
     @Mock
     private EntityEventSenderJava entityEventSender;
+    @Mock
+    private OrganisationTreeCacheRepository organisationTreeCacheRepository;
     private OrganisationServiceJava organisationService;
 
     private OrganisationEntity parentOfParent;
@@ -40,7 +48,7 @@ class OrganisationServiceJavaTest {
 
     @BeforeEach
     void setUp() {
-        organisationService = new OrganisationServiceJava(organisationRepository, entityEventSender);
+        organisationService = new OrganisationServiceJava(organisationRepository, entityEventSender, organisationTreeCacheRepository);
 
         parentOfParent = OrganisationEntity.builder()
                 .id(4L)
@@ -113,10 +121,12 @@ class OrganisationServiceJavaTest {
                     .thenReturn(true);
             when(organisationRepository.auditSave(newOrganisation, context))
                     .thenReturn(savedOrganisation);
+            when(context.accountId()).thenReturn(1L);
 
             var result = organisationService.create(newOrganisation, context);
             assertInstanceOf(Long.class, result);
             assertEquals(savedOrganisation.getId(), result);
+            verify(organisationTreeCacheRepository).updateAfterSave(1L, savedOrganisation);
         }
 
         @Test
@@ -167,9 +177,32 @@ class OrganisationServiceJavaTest {
 
 
 
+        @Test
+        @DisplayName("getOrganisationTree: should be served from the cached tree")
+        void getOrganisationTree_fromCachedTree() {
+            var tree = OrganisationTree.of(OrganisationHierarchyData.getOrgTree(1L), OrganisationLevelEnumeration.SUPER_CIRCLE);
+            when(organisationTreeCacheRepository.findOrgTree(context)).thenReturn(tree);
+
+            assertEquals(tree.roots(), organisationService.getOrganisationTree(context));
+            verifyNoInteractions(organisationRepository);
+        }
+
+        @Test
+        @DisplayName("getById: should be served from the cached tree")
+        void getById_fromCachedTree() {
+            var tree = OrganisationTree.of(OrganisationHierarchyData.getOrgTree(1L), OrganisationLevelEnumeration.SUPER_CIRCLE);
+            when(organisationTreeCacheRepository.findOrgTree(context)).thenReturn(tree);
+
+            assertEquals(tree.find(3L), organisationService.getById(3L, context));
+            verifyNoInteractions(organisationRepository);
+        }
+
         @Test
         @DisplayName("getById: should return empty when not found")
         void getById_returnsEmpty() {
+            when(organisationTreeCacheRepository.findOrgTree(context))
+                    .thenReturn(OrganisationTree.of(List.of(), OrganisationLevelEnumeration.SUPER_CIRCLE));
+            when(organisationRepository.findOrgById(99L, context)).thenReturn(List.of());
 
             var result = organisationService.getById(99L, context);
             assertTrue(result.isEmpty());
@@ -6,9 +6,10 @@ import com.ing.api.contacting.dto.java.resource.organisation.settings.Organisati
 import com.ing.api.contacting.dto.resource.organisation.FlatOrganisationUnitDto;
 import nl.ing.api.contacting.conf.domain.entity.OrganisationSettingsEntity;
 import nl.ing.api.contacting.conf.domain.model.settingsmetadata.OrganisationSettingVO;
+import nl.ing.api.contacting.conf.domain.model.settingsmetadata.OrganisationSettingsHierarchy;
 import nl.ing.api.contacting.conf.domain.model.settingsmetadata.SettingCapability;
-import nl.ing.api.contacting.conf.mapper.OrganisationSettingMapperJava;
 import nl.ing.api.contacting.conf.repository.OrganisationSettingsAuditRepository;
+import nl.ing.api.contacting.conf.repository.OrganisationSettingsCacheRepository;
 import nl.ing.api.contacting.conf.repository.OrganisationSettingsJpaRepository;
 import nl.ing.api.contacting.trust.rest.feature.permissions.OrganisationalRestrictionLevel;
 import nl.ing.api.contacting.trust.rest.feature.permissions.RestrictionOrganisationalUnitDto;
@@ -33,6 +34,7 @@ class OrganisationSettingsServiceTest {
 
     private OrganisationSettingsJpaRepository organisationSettingsRepository;
     private OrganisationSettingsAuditRepository organisationAuditRepository;
+    private OrganisationSettingsCacheRepository organisationSettingsCacheRepository;
     private SettingsMetadataServiceJava settingsMetadataService;
     private OrganisationSettingsServiceJava organisationSettingsService;
     private ContactingContext context;
@@ -43,12 +45,14 @@ class OrganisationSettingsServiceTest {
         settingsMetadataService = mock(SettingsMetadataServiceJava.class);
         organisationSettingsService = mock(OrganisationSettingsServiceJava.class);
         organisationSettingsRepository = mock(OrganisationSettingsJpaRepository.class);
+        organisationSettingsCacheRepository = mock(OrganisationSettingsCacheRepository.class);
 
         context = new ContactingContext(1L, null);
         organisationSettingsService = new OrganisationSettingsServiceJava(
                 organisationAuditRepository,
                 settingsMetadataService,
-                organisationSettingsRepository
+                organisationSettingsRepository,
+                organisationSettingsCacheRepository
         );
     }
 
@@ -149,6 +153,7 @@ class OrganisationSettingsServiceTest {
 
             assertDoesNotThrow(() -> organisationSettingsService.deleteOrganisationSetting(id, context));
             verify(organisationAuditRepository).deleteById(id);
+            verify(organisationSettingsCacheRepository).evictCacheAfterUpdate(context.accountId());
         }
     }
     @Test
@@ -167,9 +172,8 @@ class OrganisationSettingsServiceTest {
 
         OrganisationSettingVO outboundSettingForTeam1 = new OrganisationSettingVO(Optional.of(1L), "outbound_allowed", "WK123456", 1L, 4L, true, List.of());
 
-        when(organisationAuditRepository.findAll(context)).thenReturn(List.of(
-                OrganisationSettingMapperJava.toEntity(outboundSettingForTeam1)
-        ));
+        when(organisationSettingsCacheRepository.findHierarchyByAccount(context))
+                .thenReturn(OrganisationSettingsHierarchy.compile(List.of(outboundSettingForTeam1)));
 
         // Act
         EmployeeOrganisationSettings result = organisationSettingsService.getOrganisationSettingsForEmployee(
@@ -188,6 +192,37 @@ class OrganisationSettingsServiceTest {
         var orgSettingsForTeam2 = result.orgSettings().stream().filter(s -> s.orgId() == 1L).findFirst().orElseThrow();
         var settingsForTeam2 = orgSettingsForTeam2.settings();
         assertEquals(1, settingsForTeam2.size());
+        verify(organisationSettingsCacheRepository, times(1)).findHierarchyByAccount(context);
+        verifyNoInteractions(organisationAuditRepository);
 
     }
+
+    @Test
+    @DisplayName("org settings for employee are inherited from team, then circle, then super circle")
+    void getOrganisationSettingsForEmployeeInheritsFromHierarchy() {
+        FlatOrganisationUnitDto team = new FlatOrganisationUnitDto(10, "clt", 20, "circle", 30, "supercircle");
+        scala.collection.immutable.Set<RestrictionOrganisationalUnitDto> restrictionSet =
+                scala.collection.JavaConverters.asScalaBuffer(
+                        List.of(new RestrictionOrganisationalUnitDto(team, "SUPERVISOR", OrganisationalRestrictionLevel.fromLevel(5)))
+                ).toSet();
+        when(organisationSettingsCacheRepository.findHierarchyByAccount(context))
+                .thenReturn(OrganisationSettingsHierarchy.compile(List.of(
+                        new OrganisationSettingVO(Optional.of(1L), "timezone", "UTC", 1L, 5L, true, List.of()),
+                        new OrganisationSettingVO(Optional.of(2L), "language", "nl", 1L, 10L, true, List.of()),
+                        new OrganisationSettingVO(Optional.of(3L), "language", "en", 1L, 20L, true, List.of()),
+                        new OrganisationSettingVO(Optional.of(4L), "queue", "circle", 1L, 20L, true, List.of()),
+                        new OrganisationSettingVO(Optional.of(5L), "queue", "supercircle", 1L, 30L, true, List.of()),
+                        new OrganisationSettingVO(Optional.of(6L), "theme", "dark", 1L, 30L, true, List.of()))));
+
+        EmployeeOrganisationSettings result = organisationSettingsService.getOrganisationSettingsForEmployee(
+                context, restrictionSet, scala.Option.apply(team));
+
+        var orgSettingsForTeam = result.orgSettings().stream().filter(s -> s.orgId() == 10L).findFirst().orElseThrow();
+        assertEquals(Set.of(
+                        new OrganisationSetting("language", true, "nl"),
+                        new OrganisationSetting("queue", true, "circle"),
+                        new OrganisationSetting("theme", true, "dark"),
+                        new OrganisationSetting("timezone", true, "UTC")),
+                Set.copyOf(orgSettingsForTeam.settings()));
+    }
 }
\ No newline at end of file
@@ -5,10 +5,9 @@ import com.ing.api.contacting.dto.java.context.ContactingContext;
 import com.ing.api.contacting.dto.resource.account.AccountDto;
 import nl.ing.api.contacting.conf.configuration.AuditLoggerService;
 import nl.ing.api.contacting.conf.domain.entity.cassandra.BusinessFunctionOnTeamEntity;
-import nl.ing.api.contacting.conf.domain.entity.cassandra.ContactingConfigEntity;
 import nl.ing.api.contacting.conf.domain.model.permission.*;
 import nl.ing.api.contacting.conf.helper.PermissionTestData;
-import nl.ing.api.contacting.conf.repository.EmployeesByAccountRepository;
+import nl.ing.api.contacting.conf.repository.EmployeesByAccountCacheRepository;
 import nl.ing.api.contacting.conf.repository.PermissionCacheRepository;
 import nl.ing.api.contacting.trust.rest.context.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,7 +32,7 @@ class PermissionServiceTest {
     @Mock
     private ContactingConfigService contactingConfigService;
     @Mock
-    private EmployeesByAccountRepository employeesByAccountRepository;
+    private EmployeesByAccountCacheRepository employeesByAccountCacheRepository;
     @Mock
     private PermissionCacheRepository permissionCacheRepository;
 
@@ -47,7 +46,7 @@ class PermissionServiceTest {
     void setUp() {
         permissionService = new PermissionService(
             contactingConfigService,
-            employeesByAccountRepository,
+            employeesByAccountCacheRepository,
             permissionCacheRepository,
                 auditLoggerService
         );
@@ -128,8 +127,8 @@ class PermissionServiceTest {
                 new BusinessFunctionVO(ACCOUNT_FRIENDLY_NAME, "invalid-func", "ADMIN", TEAM, -1)
             );
 
-            List<ContactingConfigEntity> configs = List.of(
-                new ContactingConfigEntity("BUSINESS_FUNCTIONS", "func1,func2")
+            List<ContactingConfigVO> configs = List.of(
+                new ContactingConfigVO("BUSINESS_FUNCTIONS", "func1,func2")
             );
 
             when(contactingConfigService.findAll()).thenReturn(configs);
@@ -148,13 +147,13 @@ class PermissionServiceTest {
         void fetchPermissions_employeeContext_returnsEmployeeVO() {
             EmployeeContext employeeContext = mock(EmployeeContext.class);
             when(employeeContext.employeeId()).thenReturn("emp1");
-            List<BusinessFunctionVO> businessFunctions = List.of(
+            PermissionMatrix businessFunctions = PermissionMatrix.compile(List.of(
                     new BusinessFunctionVO("acc", "func", "role", OrganisationalRestrictionLevel.SELF, -1)
-            );
+            ));
             PermissionService spyService = spy(permissionService);
-            doReturn(businessFunctions).when(spyService).getAllBusinessFunctions(contactingContext, "acc");
+            doReturn(businessFunctions).when(spyService).getPermissionMatrix(contactingContext, "acc");
             doReturn( PermissionTestData.getNonEmployeePermissionMap()).when(spyService)
-                    .getPermissionsForEmployeeContext("emp1", "acc", businessFunctions);
+                    .getPermissionsForEmployeeContext(contactingContext, "emp1", "acc", businessFunctions);
 
             Map<String, Object> result = spyService.fetchPermissions(employeeContext, contactingContext, "acc");
             assertTrue(result.containsKey("businessFunctions"));
@@ -164,9 +163,9 @@ class PermissionServiceTest {
         @Test
         void fetchPermissions_customerContext_returnsNonEmployeeVO() {
             CustomerContext customerContext = mock(CustomerContext.class);
-            List<BusinessFunctionVO> businessFunctions = List.of();
+            PermissionMatrix businessFunctions = PermissionMatrix.compile(List.of());
             PermissionService spyService = spy(permissionService);
-            doReturn(businessFunctions).when(spyService).getAllBusinessFunctions(contactingContext, "acc");
+            doReturn(businessFunctions).when(spyService).getPermissionMatrix(contactingContext, "acc");
             doReturn(PermissionTestData.getNonEmployeePermissionMap()).when(spyService)
                     .createNonEmployeePermissionVO(businessFunctions, Set.of("CUSTOMER_AUTHENTICATED"));
 
@@ -178,9 +177,9 @@ class PermissionServiceTest {
         @Test
         void fetchPermissions_foreignApiContext_returnsNonEmployeeVO() {
             ForeignApiContext foreignApiContext = mock(ForeignApiContext.class);
-            List<BusinessFunctionVO> businessFunctions = List.of();
+            PermissionMatrix businessFunctions = PermissionMatrix.compile(List.of());
             PermissionService spyService = spy(permissionService);
-            doReturn(businessFunctions).when(spyService).getAllBusinessFunctions(contactingContext, "acc");
+            doReturn(businessFunctions).when(spyService).getPermissionMatrix(contactingContext, "acc");
             doReturn(PermissionTestData.getNonEmployeePermissionMap()).when(spyService)
                     .createNonEmployeePermissionVO(businessFunctions, Set.of("FOREIGN_API"));
 
@@ -192,9 +191,9 @@ class PermissionServiceTest {
         @Test
         void fetchPermissions_default_returnsNonEmployeeVO() {
             AuthorizationContext unknownContext = mock(AuthorizationContext.class);
-            List<BusinessFunctionVO> businessFunctions = List.of();
+            PermissionMatrix businessFunctions = PermissionMatrix.compile(List.of());
             PermissionService spyService = spy(permissionService);
-            doReturn(businessFunctions).when(spyService).getAllBusinessFunctions(contactingContext, "acc");
+            doReturn(businessFunctions).when(spyService).getPermissionMatrix(contactingContext, "acc");
             doReturn(PermissionTestData.getNonEmployeePermissionMap()).when(spyService)
                     .createNonEmployeePermissionVO(businessFunctions, Set.of("CUSTOMER_UNAUTHENTICATED"));
 
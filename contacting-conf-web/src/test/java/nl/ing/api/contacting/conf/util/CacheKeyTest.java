@@ -0,0 +1,92 @@
+package nl.ing.api.contacting.conf.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheKeyTest {
+
+    @Test
+    void accountKey_is_interned_per_accountId() {
+        AccountKey key = AccountKey.of(9999999999L);
+
+        assertSame(key, AccountKey.of(Long.valueOf(9999999999L)));
+        assertEquals(9999999999L, key.accountId());
+        assertEquals(Long.hashCode(9999999999L), key.hashCode());
+        assertNotEquals(key, AccountKey.of(1L));
+    }
+
+    @Test
+    void accountNameKey_is_interned_per_accountId_and_name() {
+        AccountNameKey key = AccountNameKey.of(1L, "account");
+
+        assertSame(key, AccountNameKey.of(1L, new String("account")));
+        assertEquals("account", key.name());
+        assertNotEquals(key, AccountNameKey.of(2L, "account"));
+        assertNotEquals(key, AccountNameKey.of(1L, "other"));
+    }
+
+    @Test
+    void employeeKey_is_a_value_of_account_and_employee() {
+        EmployeeKey key = EmployeeKey.of(1L, "account", "EMP1");
+
+        assertEquals(key, EmployeeKey.of(1L, new String("account"), new String("EMP1")));
+        assertEquals(key.hashCode(), EmployeeKey.of(1L, new String("account"), new String("EMP1")).hashCode());
+        assertEquals(1L, key.accountId());
+        assertEquals("account", key.accountFriendlyName());
+        assertEquals("EMP1", key.employeeId());
+        assertNotEquals(key, EmployeeKey.of(2L, "account", "EMP1"));
+        assertNotEquals(key, EmployeeKey.of(1L, "other", "EMP1"));
+        assertNotEquals(key, EmployeeKey.of(1L, "account", "EMP2"));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeKey.of(1L, "account", null));
+    }
+
+    @Test
+    void keys_of_different_types_never_collide() {
+        assertNotEquals(AccountKey.of(1L), AccountNameKey.of(1L, "1"));
+        assertTrue(CacheType.ACTIVE_CONNECTION.accepts(AccountKey.class));
+        assertFalse(CacheType.ACTIVE_CONNECTION.accepts(AccountNameKey.class));
+        assertTrue(CacheType.CONNECTING_PERMISSION.accepts(AccountNameKey.class));
+    }
+
+    @Test
+    void keys_require_an_accountId() {
+        assertThrows(IllegalArgumentException.class, () -> AccountKey.of(null));
+        assertThrows(IllegalArgumentException.class, () -> AccountNameKey.of(null, "account"));
+        assertThrows(IllegalArgumentException.class, () -> AccountNameKey.of(1L, null));
+    }
+
+    @Test
+    void keys_deserialize_to_the_interned_instance() throws Exception {
+        AccountKey accountKey = AccountKey.of(42L);
+        AccountNameKey accountNameKey = AccountNameKey.of(42L, "account");
+
+        assertSame(accountKey, roundTrip(accountKey));
+        assertSame(accountNameKey, roundTrip(accountNameKey));
+    }
+
+    @Test
+    void employeeKey_deserializes_to_an_equal_key() throws Exception {
+        EmployeeKey employeeKey = EmployeeKey.of(42L, "account", "EMP1");
+
+        Object deserialized = roundTrip(employeeKey);
+
+        assertEquals(employeeKey, deserialized);
+        assertEquals(employeeKey.hashCode(), deserialized.hashCode());
+    }
+
+    private static Object roundTrip(Object key) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(key);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+}
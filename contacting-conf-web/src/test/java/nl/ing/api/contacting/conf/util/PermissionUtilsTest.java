@@ -93,6 +93,47 @@ class PermissionUtilsTest {
         assertTrue(filtered.isEmpty());
     }
 
+    @Test
+    void permissionMatrix_maxRestrictions_matches_filterMaxRestrictions() {
+        List<BusinessFunctionVO> bfs = List.of(
+                bf("acc1", "FUNC_A", "ADMIN", OrganisationalRestrictionLevel.TEAM, 10),
+                bf("acc1", "FUNC_A", "ADMIN", OrganisationalRestrictionLevel.ACCOUNT, 10),
+                bf("acc1", "FUNC_A", "USER", OrganisationalRestrictionLevel.SELF, 10),
+                bf("acc1", "FUNC_A", "USER", OrganisationalRestrictionLevel.ACCOUNT, 20),
+                bf("acc1", "FUNC_B", "USER", OrganisationalRestrictionLevel.TEAM, 20),
+                bf("acc1", "FUNC_B", "AGENT", OrganisationalRestrictionLevel.TEAM, 20),
+                bf("acc1", "FUNC_C", "AGENT", OrganisationalRestrictionLevel.SELF, ORG_ID_FOR_ACCOUNT)
+        );
+        PermissionMatrix matrix = PermissionMatrix.compile(bfs);
+
+        for (Set<String> roles : List.of(Set.<String>of(), Set.of("ADMIN"), Set.of("USER"), Set.of("ADMIN", "USER"),
+                Set.of("USER", "AGENT"), Set.of("ADMIN", "USER", "AGENT", "UNKNOWN"))) {
+            List<BusinessFunctionVO> expected = PermissionUtils.filterMaxRestrictions(bfs, roles);
+            List<BusinessFunctionVO> actual = matrix.maxRestrictions(roles);
+            assertEquals(new HashSet<>(expected), new HashSet<>(actual), "roles " + roles);
+            assertEquals(expected.size(), actual.size(), "roles " + roles);
+            assertSame(actual, matrix.maxRestrictions(new HashSet<>(roles)));
+        }
+    }
+
+    @Test
+    void permissionMatrix_responses_match_list_based_responses() {
+        Set<OrganisationalRestriction> restrictions = Set.of(restriction(2, false), restriction(1, true));
+        EmployeeAccountsVO emp = new EmployeeAccountsVO("emp1", "acc1", true, "ADMIN,USER", "BU", "Dept", "Team", restrictions, Map.of(), "sid");
+        List<BusinessFunctionVO> bfs = List.of(
+                bf("acc1", "FUNC_A", "ADMIN", OrganisationalRestrictionLevel.TEAM, 10),
+                bf("acc1", "FUNC_A", "USER", OrganisationalRestrictionLevel.ACCOUNT, 10)
+        );
+        PermissionMatrix matrix = PermissionMatrix.compile(bfs);
+
+        assertEquals(PermissionUtils.getPermissionsForEmployeeContextVO(Optional.of(emp), bfs),
+                PermissionUtils.getPermissionsForEmployeeContextVO(Optional.of(emp), matrix));
+        assertEquals(PermissionUtils.getPermissionsForEmployeeContextVO(Optional.empty(), bfs),
+                PermissionUtils.getPermissionsForEmployeeContextVO(Optional.empty(), matrix));
+        assertEquals(PermissionUtils.getPermissionsForEmployeeAndAccountFriendlyNameMap(Optional.of(emp), bfs),
+                PermissionUtils.getPermissionsForEmployeeAndAccountFriendlyNameMap(Optional.of(emp), matrix));
+    }
+
     @Test
     void validate_valid_config_returns_true() {
         List<ContactingConfigVO> config = List.of(
@@ -0,0 +1,139 @@
+package nl.ing.api.contacting.conf.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PermitLimitedExecutorTest {
+
+    private final ExecutorService unbounded = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        unbounded.shutdownNow();
+    }
+
+    @Test
+    void runs_at_most_permits_tasks_at_once_and_queues_the_rest() throws Exception {
+        PermitLimitedExecutor executor = new PermitLimitedExecutor("oracle", unbounded, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<CompletableFuture<Void>> calls = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            calls.add(CompletableFuture.runAsync(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+            }, executor));
+        }
+
+        assertThat(executor.availablePermits()).isZero();
+        assertThat(executor.queued()).isEqualTo(8);
+        // let both permitted tasks start before any of them finishes
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (running.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        assertThat(maxRunning.get()).isEqualTo(2);
+        assertThat(executor.queued()).isZero();
+        awaitPermits(executor, 2);
+    }
+
+    @Test
+    void releases_the_permit_of_a_failing_task() throws Exception {
+        PermitLimitedExecutor executor = new PermitLimitedExecutor("oracle", unbounded, 1);
+
+        CompletableFuture<Object> failing = CompletableFuture.supplyAsync(() -> {
+            throw new IllegalStateException("db down");
+        }, executor);
+
+        assertThat(failing).failsWithin(5, TimeUnit.SECONDS);
+        assertThat(CompletableFuture.supplyAsync(() -> "ok", executor).get(5, TimeUnit.SECONDS)).isEqualTo("ok");
+    }
+
+    @Test
+    void runs_a_task_rejected_by_the_delegate_on_the_calling_thread() throws Exception {
+        PermitLimitedExecutor executor = new PermitLimitedExecutor("oracle", task -> {
+            throw new RejectedExecutionException("shut down");
+        }, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executor.registerMeters(registry);
+
+        CompletableFuture<String> call = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor);
+        CompletableFuture<Object> failing = CompletableFuture.supplyAsync(() -> {
+            throw new IllegalStateException("db down");
+        }, executor);
+
+        assertThat(call.get(5, TimeUnit.SECONDS)).isEqualTo(Thread.currentThread().getName());
+        assertThat(failing).failsWithin(5, TimeUnit.SECONDS);
+        assertThat(executor.availablePermits()).isEqualTo(1);
+        assertThat(executor.queued()).isZero();
+        assertThat(registry.get("datasource.executor.rejected").tag("datasource", "oracle").functionCounter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void reports_queued_and_active_tasks() throws Exception {
+        PermitLimitedExecutor executor = new PermitLimitedExecutor("oracle", unbounded, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        executor.registerMeters(registry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, executor);
+        CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> {
+        }, executor);
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThat(registry.get("datasource.executor.active").tag("datasource", "oracle").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("datasource.executor.queue.depth").tag("datasource", "oracle").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("datasource.executor.permits").tag("datasource", "oracle").gauge().value()).isEqualTo(1);
+        release.countDown();
+        CompletableFuture.allOf(running, queued).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void requires_a_permit() {
+        assertThatThrownBy(() -> new PermitLimitedExecutor("oracle", unbounded, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void awaitPermits(PermitLimitedExecutor executor, int permits) throws InterruptedException {
+        // a task completes its future before it hands back its permit
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.availablePermits() < permits && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(executor.availablePermits()).isEqualTo(permits);
+    }
+}
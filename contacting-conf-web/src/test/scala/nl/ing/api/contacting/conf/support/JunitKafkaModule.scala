@@ -1,5 +1,6 @@
 package nl.ing.api.contacting.conf.support
 
+import nl.ing.api.contacting.conf.configuration.KafkaInvalidationBus
 import nl.ing.api.contacting.conf.modules.{CoreModule, KafkaModule}
 import org.apache.avro.generic.GenericRecord
 import org.apache.kafka.clients.producer.KafkaProducer
@@ -16,4 +17,6 @@ trait JunitKafkaModule extends KafkaModule {
   override def startSelfServiceSurveyEventConsumer(): Unit = {}
 
   override val entityEventProducer: KafkaProducer[String, GenericRecord] = null
+
+  override def cacheInvalidationBus: KafkaInvalidationBus = null
 }